@@ -0,0 +1,74 @@
+package com.lv2dev.echonet.config;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import com.lv2dev.echonet.dto.FeedbackDTO;
+import com.lv2dev.echonet.dto.MemberProfileDTO;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 응답 DTO 직렬화 처리량 비교.
+ * reflection: 스프링 부트 기본 설정과 같은 ObjectMapper, blackbird: JacksonConfig처럼 Blackbird 모듈을 등록한 경우.
+ * 배치 프로필 조회(GET /members?ids=)와 피드백 목록 응답 크기를 기준으로 100개씩 직렬화합니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class JacksonSerializationBenchmark {
+    private ObjectMapper reflectionMapper;
+
+    private ObjectMapper blackbirdMapper;
+
+    private List<MemberProfileDTO> profiles;
+
+    private List<FeedbackDTO> feedbacks;
+
+    @Setup
+    public void setUp() {
+        reflectionMapper = newMapper();
+        blackbirdMapper = newMapper().registerModule(new BlackbirdModule());
+
+        profiles = new ArrayList<>();
+        feedbacks = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+        for (long id = 1; id <= 100; id++) {
+            profiles.add(new MemberProfileDTO(id, "user" + id, "https://echonet.s3.amazonaws.com/blobs/ab/" + id + ".png", id % 7));
+            feedbacks.add(new FeedbackDTO(id, id % 13, "The chat view takes a while to load when many members are online. #" + id,
+                    now.minusMinutes(id)));
+        }
+    }
+
+    private static ObjectMapper newMapper() {
+        return new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    }
+
+    @Benchmark
+    public byte[] profilesReflection() throws JsonProcessingException {
+        return reflectionMapper.writeValueAsBytes(profiles);
+    }
+
+    @Benchmark
+    public byte[] profilesBlackbird() throws JsonProcessingException {
+        return blackbirdMapper.writeValueAsBytes(profiles);
+    }
+
+    @Benchmark
+    public byte[] feedbacksReflection() throws JsonProcessingException {
+        return reflectionMapper.writeValueAsBytes(feedbacks);
+    }
+
+    @Benchmark
+    public byte[] feedbacksBlackbird() throws JsonProcessingException {
+        return blackbirdMapper.writeValueAsBytes(feedbacks);
+    }
+}
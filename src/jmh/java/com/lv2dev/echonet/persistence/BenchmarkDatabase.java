@@ -0,0 +1,52 @@
+package com.lv2dev.echonet.persistence;
+
+import ch.vorburger.mariadb4j.DB;
+import ch.vorburger.mariadb4j.DBConfigurationBuilder;
+import org.flywaydb.core.Flyway;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+
+/**
+ * 벤치마크용 내장 MariaDB(MariaDB4j)입니다.
+ * 애플리케이션과 같이 Flyway 마이그레이션으로 스키마를 만들므로 인덱스와 시퀀스가 운영 환경과 같습니다.
+ */
+final class BenchmarkDatabase implements AutoCloseable {
+    private final DB db;
+
+    private final String url;
+
+    private BenchmarkDatabase(DB db, String url) {
+        this.db = db;
+        this.url = url;
+    }
+
+    static BenchmarkDatabase start(String name) throws Exception {
+        DBConfigurationBuilder config = DBConfigurationBuilder.newBuilder();
+        config.setPort(0); // 사용 가능한 포트 자동 선택
+        DB db = DB.newEmbeddedDB(config.build());
+        db.start();
+        db.createDB(name);
+        String url = config.getURL(name);
+
+        Flyway.configure()
+                .dataSource(url, "root", "")
+                .locations("classpath:db/migration")
+                .load()
+                .migrate();
+        return new BenchmarkDatabase(db, url);
+    }
+
+    /**
+     * @param properties 연결 URL에 붙일 드라이버 설정 (예: "?useBulkStmts=true"); 없으면 빈 문자열.
+     */
+    Connection connect(String properties) throws SQLException {
+        return DriverManager.getConnection(url + properties, "root", "");
+    }
+
+    @Override
+    public void close() throws Exception {
+        db.stop();
+    }
+}
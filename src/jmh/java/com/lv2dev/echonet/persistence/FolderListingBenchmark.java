@@ -0,0 +1,188 @@
+package com.lv2dev.echonet.persistence;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 항목이 10만 개인 폴더의 목록 조회 비용 비교.
+ * keyset: StoredFileRepository.findChildren과 같은 이름 기준 키셋 페이징, offset: 같은 페이지를 OFFSET으로 읽는 경우,
+ * changesSinceCursor: 전체 목록 대신 FileChangeRepository로 커서 이후 변경분만 받는 경우.
+ * 페이지 크기는 FileService의 최대 페이지 크기(1000)와 같습니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class FolderListingBenchmark {
+    private static final long OWNER_ID = 1;
+
+    private static final String FOLDER = "/big";
+
+    private static final int ENTRIES = 100_000;
+
+    private static final int PAGE_SIZE = 1000;
+
+    private static final String LIST_KEYSET = "SELECT id, path, name, folder, size, content_type, storage_url, modified_at " +
+            "FROM stored_file WHERE owner_id = ? AND parent_path = ? AND name > ? ORDER BY name LIMIT ?";
+
+    private static final String LIST_OFFSET = "SELECT id, path, name, folder, size, content_type, storage_url, modified_at " +
+            "FROM stored_file WHERE owner_id = ? AND parent_path = ? ORDER BY name LIMIT ? OFFSET ?";
+
+    private static final String CHANGES = "SELECT id, file_id, path, folder, change_type, changed_at " +
+            "FROM file_change WHERE owner_id = ? AND id > ? ORDER BY id LIMIT ?";
+
+    private BenchmarkDatabase database;
+
+    private Connection connection;
+
+    private long recentCursor;
+
+    @Setup
+    public void setUp() throws Exception {
+        database = BenchmarkDatabase.start("echonet_listing");
+        connection = database.connect("");
+        insertEntries(OWNER_ID, FOLDER, ENTRIES);
+        // 다른 사용자의 항목이 섞여 있어도 인덱스 범위만 읽는지 확인하기 위한 데이터
+        insertEntries(OWNER_ID + 1, FOLDER, ENTRIES / 10);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("ANALYZE TABLE stored_file, file_change");
+            try (ResultSet rs = statement.executeQuery("SELECT MAX(id) FROM file_change WHERE owner_id = " + OWNER_ID)) {
+                rs.next();
+                // 클라이언트가 마지막 동기화 이후 변경 500건을 받는 경우
+                recentCursor = rs.getLong(1) - 500;
+            }
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        connection.close();
+        database.close();
+    }
+
+    private void insertEntries(long ownerId, String folder, int count) throws SQLException {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        connection.setAutoCommit(false);
+        try (PreparedStatement file = connection.prepareStatement(
+                "INSERT INTO stored_file (owner_id, path, parent_path, name, folder, size, content_type, storage_url, created_at, modified_at) " +
+                        "VALUES (?, ?, ?, ?, 0, 1024, 'text/plain', ?, ?, ?)");
+             PreparedStatement change = connection.prepareStatement(
+                     "INSERT INTO file_change (owner_id, path, folder, change_type, changed_at) VALUES (?, ?, 0, 'CREATED', ?)")) {
+            for (int i = 0; i < count; i++) {
+                String name = name(i);
+                String path = folder + "/" + name;
+                file.setLong(1, ownerId);
+                file.setString(2, path);
+                file.setString(3, folder);
+                file.setString(4, name);
+                file.setString(5, "https://echonet.s3.amazonaws.com/blobs/" + ownerId + "/" + i);
+                file.setTimestamp(6, now);
+                file.setTimestamp(7, now);
+                file.addBatch();
+                change.setLong(1, ownerId);
+                change.setString(2, path);
+                change.setTimestamp(3, now);
+                change.addBatch();
+                if (i % 1000 == 999) {
+                    file.executeBatch();
+                    change.executeBatch();
+                }
+            }
+            file.executeBatch();
+            change.executeBatch();
+        }
+        connection.commit();
+        connection.setAutoCommit(true);
+    }
+
+    private static String name(int index) {
+        return String.format("file-%06d.txt", index);
+    }
+
+    @Benchmark
+    public int firstPageKeyset() throws SQLException {
+        return listKeyset("");
+    }
+
+    @Benchmark
+    public int lastPageKeyset() throws SQLException {
+        return listKeyset(name(ENTRIES - PAGE_SIZE - 1));
+    }
+
+    @Benchmark
+    public int lastPageOffset() throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(LIST_OFFSET)) {
+            statement.setLong(1, OWNER_ID);
+            statement.setString(2, FOLDER);
+            statement.setInt(3, PAGE_SIZE);
+            statement.setInt(4, ENTRIES - PAGE_SIZE);
+            return count(statement);
+        }
+    }
+
+    /**
+     * 폴더 전체를 키셋 페이지로 끝까지 읽습니다. (처음 동기화하는 클라이언트)
+     */
+    @Benchmark
+    public int fullListingKeyset() throws SQLException {
+        int total = 0;
+        String after = "";
+        try (PreparedStatement statement = connection.prepareStatement(LIST_KEYSET)) {
+            while (true) {
+                statement.setLong(1, OWNER_ID);
+                statement.setString(2, FOLDER);
+                statement.setString(3, after);
+                statement.setInt(4, PAGE_SIZE);
+                int rows = 0;
+                try (ResultSet rs = statement.executeQuery()) {
+                    while (rs.next()) {
+                        after = rs.getString("name");
+                        rows++;
+                    }
+                }
+                total += rows;
+                if (rows < PAGE_SIZE) {
+                    return total;
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public int changesSinceCursor() throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(CHANGES)) {
+            statement.setLong(1, OWNER_ID);
+            statement.setLong(2, recentCursor);
+            // FileService.getChanges처럼 다음 페이지 확인용으로 한 건 더 읽음
+            statement.setInt(3, PAGE_SIZE + 1);
+            return count(statement);
+        }
+    }
+
+    private int listKeyset(String after) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(LIST_KEYSET)) {
+            statement.setLong(1, OWNER_ID);
+            statement.setString(2, FOLDER);
+            statement.setString(3, after);
+            statement.setInt(4, PAGE_SIZE);
+            return count(statement);
+        }
+    }
+
+    private static int count(PreparedStatement statement) throws SQLException {
+        int rows = 0;
+        try (ResultSet rs = statement.executeQuery()) {
+            while (rs.next()) {
+                rows++;
+            }
+        }
+        return rows;
+    }
+}
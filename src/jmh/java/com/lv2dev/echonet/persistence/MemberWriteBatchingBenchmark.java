@@ -0,0 +1,189 @@
+package com.lv2dev.echonet.persistence;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 회원 가입과 로그인 기록 대량 INSERT 비용 비교 (시퀀스 ID와 JDBC 배치 적용 전후).
+ * Hibernate가 각 설정에서 보내는 SQL을 JDBC로 그대로 재현합니다.
+ * identityRowByRow: 이전 IDENTITY 매핑. 생성된 ID를 받아야 하므로 행마다 INSERT를 바로 실행.
+ * sequenceBatched: 현재 설정. 시퀀스에서 50개씩 ID를 할당하고 50건씩 배치로 전송 (useBulkStmts).
+ * sequenceBatchedWithoutBulk: 배치는 같고 드라이버의 bulk 전송만 끈 경우.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class MemberWriteBatchingBenchmark {
+    // hibernate.jdbc.batch_size, 시퀀스 allocationSize와 같음
+    private static final int BATCH_SIZE = 50;
+
+    private static final String MEMBER_COLUMNS = "email, nickname, password, join_day, role, state, login_attempt, version";
+
+    private static final String HISTORY_COLUMNS = "member_id, login_time, ip_address, browser_info, device_info";
+
+    @Param({"500"})
+    private int signups;
+
+    private BenchmarkDatabase database;
+
+    private Connection bulkConnection;
+
+    private Connection plainConnection;
+
+    private long next;
+
+    @Setup
+    public void setUp() throws Exception {
+        database = BenchmarkDatabase.start("echonet_batching");
+        bulkConnection = database.connect("?useBulkStmts=true");
+        plainConnection = database.connect("?useBulkStmts=false");
+        try (Statement statement = plainConnection.createStatement()) {
+            // IDENTITY 매핑을 쓰던 때의 테이블 (인덱스와 외래 키는 같음)
+            statement.execute("CREATE TABLE member_identity LIKE member");
+            statement.execute("ALTER TABLE member_identity MODIFY id BIGINT NOT NULL AUTO_INCREMENT");
+            statement.execute("CREATE TABLE login_history_identity LIKE login_history");
+            statement.execute("ALTER TABLE login_history_identity MODIFY id BIGINT NOT NULL AUTO_INCREMENT");
+            statement.execute("ALTER TABLE login_history_identity ADD CONSTRAINT fk_login_history_identity_member " +
+                    "FOREIGN KEY (member_id) REFERENCES member_identity (id)");
+        }
+        bulkConnection.setAutoCommit(false);
+        plainConnection.setAutoCommit(false);
+    }
+
+    @TearDown(Level.Iteration)
+    public void clear() throws SQLException {
+        try (Statement statement = plainConnection.createStatement()) {
+            statement.execute("DELETE FROM login_history_identity");
+            statement.execute("DELETE FROM member_identity");
+            statement.execute("DELETE FROM login_history");
+            statement.execute("DELETE FROM member");
+        }
+        plainConnection.commit();
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        bulkConnection.close();
+        plainConnection.close();
+        database.close();
+    }
+
+    @Benchmark
+    public long identityRowByRow() throws SQLException {
+        long[] memberIds = new long[signups];
+        try (PreparedStatement member = plainConnection.prepareStatement(
+                "INSERT INTO member_identity (" + MEMBER_COLUMNS + ") VALUES (?, ?, ?, ?, 0, 0, 0, 0)",
+                Statement.RETURN_GENERATED_KEYS);
+             PreparedStatement history = plainConnection.prepareStatement(
+                     "INSERT INTO login_history_identity (" + HISTORY_COLUMNS + ") VALUES (?, ?, ?, ?, ?)")) {
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+            for (int i = 0; i < signups; i++) {
+                bindMember(member, next++, now);
+                member.executeUpdate();
+                try (ResultSet keys = member.getGeneratedKeys()) {
+                    keys.next();
+                    memberIds[i] = keys.getLong(1);
+                }
+            }
+            for (long memberId : memberIds) {
+                bindHistory(history, memberId, now);
+                history.executeUpdate();
+            }
+        }
+        plainConnection.commit();
+        return memberIds[signups - 1];
+    }
+
+    @Benchmark
+    public long sequenceBatched() throws SQLException {
+        return insertBatched(bulkConnection);
+    }
+
+    @Benchmark
+    public long sequenceBatchedWithoutBulk() throws SQLException {
+        return insertBatched(plainConnection);
+    }
+
+    private long insertBatched(Connection connection) throws SQLException {
+        long[] memberIds = new long[signups];
+        try (PreparedStatement member = connection.prepareStatement(
+                "INSERT INTO member (id, " + MEMBER_COLUMNS + ") VALUES (?, ?, ?, ?, ?, 0, 0, 0, 0)");
+             PreparedStatement history = connection.prepareStatement(
+                     "INSERT INTO login_history (id, " + HISTORY_COLUMNS + ") VALUES (?, ?, ?, ?, ?, ?)")) {
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+            // hibernate.order_inserts: 회원을 모두 보낸 뒤 로그인 기록을 보냄
+            long memberSequence = 0;
+            for (int i = 0; i < signups; i++) {
+                if (i % BATCH_SIZE == 0) {
+                    memberSequence = nextSequenceBlock(connection, "member_seq");
+                }
+                memberIds[i] = memberSequence + i % BATCH_SIZE;
+                member.setLong(1, memberIds[i]);
+                bindMember(member, next++, now, 2);
+                member.addBatch();
+                if (i % BATCH_SIZE == BATCH_SIZE - 1) {
+                    member.executeBatch();
+                }
+            }
+            member.executeBatch();
+
+            long historySequence = 0;
+            for (int i = 0; i < signups; i++) {
+                if (i % BATCH_SIZE == 0) {
+                    historySequence = nextSequenceBlock(connection, "login_history_seq");
+                }
+                history.setLong(1, historySequence + i % BATCH_SIZE);
+                bindHistory(history, memberIds[i], now, 2);
+                history.addBatch();
+                if (i % BATCH_SIZE == BATCH_SIZE - 1) {
+                    history.executeBatch();
+                }
+            }
+            history.executeBatch();
+        }
+        connection.commit();
+        return memberIds[signups - 1];
+    }
+
+    /**
+     * 시퀀스 값 하나로 BATCH_SIZE개의 ID를 할당합니다. (시퀀스는 BATCH_SIZE씩 증가)
+     */
+    private static long nextSequenceBlock(Connection connection, String sequence) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT NEXTVAL(" + sequence + ")")) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
+    private static void bindMember(PreparedStatement statement, long n, Timestamp now) throws SQLException {
+        bindMember(statement, n, now, 1);
+    }
+
+    private static void bindMember(PreparedStatement statement, long n, Timestamp now, int first) throws SQLException {
+        statement.setString(first, "user" + n + "@example.com");
+        statement.setString(first + 1, "user" + n);
+        statement.setString(first + 2, "$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWX4Z7lXbGQj5Gq7W6tLqYq1Gx1a");
+        statement.setTimestamp(first + 3, now);
+    }
+
+    private static void bindHistory(PreparedStatement statement, long memberId, Timestamp now) throws SQLException {
+        bindHistory(statement, memberId, now, 1);
+    }
+
+    private static void bindHistory(PreparedStatement statement, long memberId, Timestamp now, int first) throws SQLException {
+        statement.setLong(first, memberId);
+        statement.setTimestamp(first + 1, now);
+        statement.setString(first + 2, "203.0.113.7");
+        statement.setString(first + 3, "Chrome 120");
+        statement.setString(first + 4, "Desktop");
+    }
+}
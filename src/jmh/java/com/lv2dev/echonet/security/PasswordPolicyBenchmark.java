@@ -0,0 +1,48 @@
+package com.lv2dev.echonet.security;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * 비밀번호 검증 비용 비교.
+ * regex: 기존 전방 탐색 정규식, policy: 한 번만 훑는 PasswordPolicy.
+ * adversarial 입력은 조건 하나를 끝까지 만족하지 못하는 긴 문자열로, 전방 탐색마다 입력 전체를 다시 읽게 합니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PasswordPolicyBenchmark {
+    private static final Pattern LEGACY_PATTERN =
+            Pattern.compile("^(?=.*[0-9])(?=.*[a-z])(?=.*[A-Z])(?=.*[@#$%^&+=])(?=\\S+$).{8,}$");
+
+    @Param({"typical", "adversarial"})
+    public String input;
+
+    private String password;
+
+    private PasswordPolicy policy;
+
+    @Setup
+    public void setUp() {
+        password = "typical".equals(input) ? "Echonet@2024" : "aA1".repeat(20_000);
+        // 길이 제한 없이 문자 종류 검사만 비교
+        policy = new PasswordPolicy(8, Integer.MAX_VALUE, true, true, true, true, "!@#$%^&*()-_+=", null);
+    }
+
+    @Benchmark
+    public boolean regex() {
+        return password.matches(LEGACY_PATTERN.pattern());
+    }
+
+    @Benchmark
+    public boolean precompiledRegex() {
+        return LEGACY_PATTERN.matcher(password).matches();
+    }
+
+    @Benchmark
+    public PasswordPolicy.Result policy() {
+        return policy.check(password);
+    }
+}
@@ -0,0 +1,59 @@
+package com.lv2dev.echonet.service;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * User-Agent 분류 비용 비교.
+ * cached: 로그인 경로와 같이 캐시를 거치는 경우, uncached: 매번 정규식으로 분류하는 경우.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class UserAgentParserBenchmark {
+    private static final String[] TEMPLATES = {
+            "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/%d.0.0.0 Safari/537.36",
+            "Mozilla/5.0 (iPhone; CPU iPhone OS 17_%d like Mac OS X) AppleWebKit/605.1.15 (KHTML, like Gecko) Version/17.1 Mobile/15E148 Safari/604.1",
+            "Mozilla/5.0 (Linux; Android 14; SM-S918N) AppleWebKit/537.36 (KHTML, like Gecko) SamsungBrowser/%d.0 Chrome/115.0.0.0 Mobile Safari/537.36",
+            "Mozilla/5.0 (Macintosh; Intel Mac OS X 10_15_7) AppleWebKit/605.1.15 (KHTML, like Gecko) Version/%d.2 Safari/605.1.15",
+            "Mozilla/5.0 (X11; Linux x86_64; rv:121.0) Gecko/20100101 Firefox/%d.0"
+    };
+
+    private List<String> userAgents;
+
+    private UserAgentParser parser;
+
+    private int next;
+
+    @Setup
+    public void setUp() {
+        // 실제 트래픽처럼 수백 개의 서로 다른 User-Agent
+        userAgents = new ArrayList<>();
+        for (int version = 0; version < 60; version++) {
+            for (String template : TEMPLATES) {
+                userAgents.add(String.format(template, 60 + version));
+            }
+        }
+        parser = new UserAgentParser(1024);
+        userAgents.forEach(parser::parse);
+    }
+
+    private String nextUserAgent() {
+        String userAgent = userAgents.get(next);
+        next = (next + 1) % userAgents.size();
+        return userAgent;
+    }
+
+    @Benchmark
+    public UserAgentParser.Info cached() {
+        return parser.parse(nextUserAgent());
+    }
+
+    @Benchmark
+    public UserAgentParser.Info uncached() {
+        return UserAgentParser.classify(nextUserAgent());
+    }
+}
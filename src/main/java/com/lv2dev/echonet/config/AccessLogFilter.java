@@ -0,0 +1,142 @@
+package com.lv2dev.echonet.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static net.logstash.logback.argument.StructuredArguments.kv;
+
+/**
+ * 요청마다 구조화된 접근 로그(JSON) 한 줄을 남기는 필터입니다.
+ *
+ * 경로별 샘플링 비율에 따라 일부 요청만 기록하되, 서버 오류와 느린 요청은 항상 기록합니다.
+ * 샘플링에서 빠진 요청은 문자열을 만들지 않으므로 비용이 거의 없고, 기록할 요청은 echonet.access 로거로 보내
+ * logback-spring.xml의 비동기 링 버퍼 appender가 요청 스레드 밖에서 직렬화합니다.
+ * 이메일, 토큰, IP는 기록 전에 가립니다. ({@link PiiScrubber})
+ *
+ * 트레이싱 필터 안쪽에서 실행되므로 MDC의 traceId/spanId가 함께 기록됩니다.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 2)
+public class AccessLogFilter extends OncePerRequestFilter {
+    // JwtAuthenticationFilter가 인증한 사용자 ID를 남기는 요청 속성
+    public static final String USER_ID_ATTRIBUTE = AccessLogFilter.class.getName() + ".userId";
+
+    private static final Logger ACCESS_LOG = LoggerFactory.getLogger("echonet.access");
+
+    private record RouteRate(String pattern, double rate) {
+    }
+
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    private final List<RouteRate> routeRates = new ArrayList<>();
+
+    private final boolean enabled;
+
+    private final double defaultRate;
+
+    private final long slowThresholdNanos;
+
+    private final AtomicLong loggedCount = new AtomicLong();
+
+    private final AtomicLong sampledOutCount = new AtomicLong();
+
+    public AccessLogFilter(@Value("${echonet.access-log.enabled}") boolean enabled,
+                           @Value("${echonet.access-log.sample-rate}") double defaultRate,
+                           @Value("${echonet.access-log.route-sample-rates}") String routeSampleRates,
+                           @Value("${echonet.access-log.slow-threshold-ms}") long slowThresholdMs) {
+        this.enabled = enabled;
+        this.defaultRate = defaultRate;
+        this.slowThresholdNanos = TimeUnit.MILLISECONDS.toNanos(slowThresholdMs);
+        // 형식: 경로패턴=비율,경로패턴=비율 (먼저 일치하는 항목 사용)
+        for (String entry : routeSampleRates.split(",")) {
+            int eq = entry.lastIndexOf('=');
+            if (eq > 0) {
+                routeRates.add(new RouteRate(entry.substring(0, eq).trim(), Double.parseDouble(entry.substring(eq + 1).trim())));
+            }
+        }
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (!enabled || !ACCESS_LOG.isInfoEnabled()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        long started = System.nanoTime();
+        int status = HttpServletResponse.SC_INTERNAL_SERVER_ERROR;
+        try {
+            filterChain.doFilter(request, response);
+            status = response.getStatus();
+        } finally {
+            long elapsed = System.nanoTime() - started;
+            if (shouldLog(request.getRequestURI(), status, elapsed)) {
+                write(request, status, elapsed);
+                loggedCount.incrementAndGet();
+            } else {
+                sampledOutCount.incrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * 서버 오류와 느린 요청은 항상, 나머지는 경로별 비율로 기록
+     */
+    boolean shouldLog(String path, int status, long elapsedNanos) {
+        if (status >= 500 || elapsedNanos >= slowThresholdNanos) {
+            return true;
+        }
+        double rate = rateFor(path);
+        return rate >= 1.0 || (rate > 0.0 && ThreadLocalRandom.current().nextDouble() < rate);
+    }
+
+    double rateFor(String path) {
+        for (RouteRate routeRate : routeRates) {
+            if (pathMatcher.match(routeRate.pattern(), path)) {
+                return routeRate.rate();
+            }
+        }
+        return defaultRate;
+    }
+
+    private void write(HttpServletRequest request, int status, long elapsedNanos) {
+        Object route = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        Object userId = request.getAttribute(USER_ID_ATTRIBUTE);
+        ACCESS_LOG.info("{} {} {} {}",
+                kv("method", request.getMethod()),
+                kv("path", PiiScrubber.scrubPath(request.getRequestURI())),
+                kv("status", status),
+                kv("durationMs", TimeUnit.NANOSECONDS.toMillis(elapsedNanos)),
+                kv("route", route),
+                kv("query", PiiScrubber.scrubQuery(request.getQueryString())),
+                kv("userId", userId),
+                kv("clientIp", PiiScrubber.maskIp(request.getRemoteAddr())),
+                kv("userAgent", request.getHeader("User-Agent")));
+    }
+
+    public long getLoggedCount() {
+        return loggedCount.get();
+    }
+
+    public long getSampledOutCount() {
+        return sampledOutCount.get();
+    }
+}
@@ -0,0 +1,53 @@
+package com.lv2dev.echonet.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.spi.CachingProvider;
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hibernate 2차 캐시 설정입니다.
+ *
+ * 인스턴스 안의 Caffeine(JCache) 캐시를 사용하고, 영역(region)별 최대 항목 수와 유지 시간은 echonet.cache.regions로 정합니다.
+ * 설정에 없는 영역을 엔티티가 사용하면 시작할 때 실패하므로 크기 제한 없는 캐시가 생기지 않습니다.
+ * 같은 인스턴스의 변경은 커밋 시 캐시에 반영되고, 다른 인스턴스의 회원 변경은 {@link MemberCacheInvalidator}가 지웁니다.
+ *
+ * 네이티브 쓰기 쿼리(@Modifying, nativeQuery)에는 변경하는 테이블을 HibernateHints.HINT_NATIVE_SPACES로 선언해야 합니다.
+ * 선언하지 않으면 Hibernate는 쿼리가 모든 테이블을 바꿀 수 있다고 보고 실행할 때마다 회원 영역을 포함한 모든 영역을 비웁니다.
+ */
+@Configuration
+public class CacheConfig {
+
+    @Bean
+    public CacheManager hibernateCacheManager(@Value("${echonet.cache.regions}") String regions) {
+        // 애플리케이션 컨텍스트마다 별도의 관리자를 사용 (전역 Caching 레지스트리를 공유하지 않음)
+        CachingProvider provider = new CaffeineCachingProvider();
+        CacheManager cacheManager = provider.getCacheManager(provider.getDefaultURI(), provider.getDefaultClassLoader());
+        // 형식: 영역:최대항목수:유지시간(초),영역:최대항목수:유지시간(초)
+        for (String entry : regions.split(",")) {
+            String[] parts = entry.trim().split(":");
+            CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+            configuration.setMaximumSize(OptionalLong.of(Long.parseLong(parts[1].trim())));
+            configuration.setExpireAfterWrite(OptionalLong.of(TimeUnit.SECONDS.toNanos(Long.parseLong(parts[2].trim()))));
+            configuration.setStatisticsEnabled(true); // 영역별 적중/실패/제거 수 (MetricsConfig)
+            cacheManager.createCache(parts[0].trim(), configuration);
+        }
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer hibernateCacheCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> {
+            properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+        };
+    }
+}
@@ -0,0 +1,82 @@
+package com.lv2dev.echonet.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * 주 데이터베이스와 읽기 복제본을 함께 사용하는 데이터소스 설정입니다.
+ * echonet.datasource.replica.enabled=true일 때만 적용되며, 그렇지 않으면 스프링 부트 기본 데이터소스를 사용합니다.
+ *
+ * 두 커넥션 풀은 각각 primary, replica라는 이름의 Hikari 풀이므로 hikaricp.* 메트릭이 풀별로 분리됩니다.
+ */
+@Configuration
+@ConditionalOnProperty(name = "echonet.datasource.replica.enabled", havingValue = "true")
+public class DataSourceRoutingConfig {
+
+    // 주 데이터베이스 풀 (spring.datasource.*)
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    // 읽기 복제본 풀 (echonet.datasource.replica.*)
+    @Bean
+    @ConfigurationProperties("echonet.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(@Value("${echonet.datasource.replica.url}") String url,
+                                              @Value("${echonet.datasource.replica.username}") String username,
+                                              @Value("${echonet.datasource.replica.password}") String password) {
+        HikariDataSource dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(url)
+                .username(username)
+                .password(password)
+                .build();
+        dataSource.setPoolName("replica");
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(@Qualifier("replicaDataSource") DataSource replica,
+                                               @Value("${echonet.datasource.replica.lag-query}") String lagQuery,
+                                               @Value("${echonet.datasource.replica.max-lag-seconds}") long maxLagSeconds) {
+        return new ReplicaLagMonitor(replica, lagQuery, maxLagSeconds);
+    }
+
+    // JPA, Flyway 등이 사용하는 데이터소스. 첫 쿼리 시점에 트랜잭션의 읽기 전용 여부를 보고 풀을 고름
+    @Bean
+    @Primary
+    public DataSource routingDataSource(@Qualifier("primaryDataSource") DataSource primary,
+                                 @Qualifier("replicaDataSource") DataSource replica,
+                                 ReplicaLagMonitor lagMonitor) {
+        return new LazyConnectionDataSourceProxy(new ReplicaRoutingDataSource(primary, replica, lagMonitor));
+    }
+
+    // 복제 지연과 복제본 사용 여부
+    @Bean
+    public MeterBinder replicaLagMetrics(ReplicaLagMonitor lagMonitor) {
+        return registry -> {
+            Gauge.builder("echonet.datasource.replica.lag", lagMonitor, ReplicaLagMonitor::getLagSeconds)
+                    .baseUnit("seconds")
+                    .register(registry);
+            Gauge.builder("echonet.datasource.replica.available", lagMonitor, m -> m.isAvailable() ? 1 : 0)
+                    .register(registry);
+        };
+    }
+}
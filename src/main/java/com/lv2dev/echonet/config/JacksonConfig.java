@@ -0,0 +1,22 @@
+package com.lv2dev.echonet.config;
+
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * JSON 직렬화 설정입니다.
+ *
+ * 스프링 부트는 Module 빈을 기본 ObjectMapper에 등록합니다.
+ * Blackbird는 getter/setter와 생성자 호출을 리플렉션(Method.invoke) 대신 LambdaMetafactory로 만든 호출로 바꿔
+ * 응답 DTO 직렬화 비용을 줄입니다. (src/jmh의 JacksonSerializationBenchmark로 비교)
+ */
+@Configuration
+public class JacksonConfig {
+
+    @Bean
+    public Module blackbirdModule() {
+        return new BlackbirdModule();
+    }
+}
@@ -0,0 +1,68 @@
+package com.lv2dev.echonet.config;
+
+import com.lv2dev.echonet.model.Member;
+import com.lv2dev.echonet.persistence.MemberRepository;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 다른 인스턴스에서 바뀐 회원을 이 인스턴스의 2차 캐시에서 지웁니다.
+ *
+ * 회원 캐시는 인스턴스마다 따로 있으므로, 회원 정보(닉네임, 비밀번호, 프로필)나 탈퇴 상태를 바꾸는 쓰기는 changed_at을 함께 기록하고
+ * 각 인스턴스는 최근 lookback-seconds 동안 바뀐 회원을 주기적으로 조회해 캐시 항목을 지웁니다.
+ * 로그인과 토큰 갱신, 요청 인증(탈퇴 여부 확인)은 캐시를 읽으므로, 다른 인스턴스의 변경은 조회 주기(poll-ms) 안에 반영됩니다.
+ *
+ * 항목을 여러 번 지워도 다음 조회 한 번이 데이터베이스로 갈 뿐이므로 커서 없이 매번 같은 구간을 다시 읽습니다.
+ * 그래서 늦게 커밋된 변경과, 복제본에서 읽혀 다시 캐시된 이전 값도 구간 안에서는 다시 지워집니다.
+ * 조회에 실패했거나 마지막 조회 후 구간보다 오래 지났으면 변경을 놓쳤을 수 있으므로 회원 영역 전체를 지웁니다.
+ */
+@Slf4j
+@Component
+public class MemberCacheInvalidator {
+    private final MemberRepository memberRepository;
+
+    private final Cache cache;
+
+    private final int lookbackSeconds;
+
+    private long lastPollNanos = System.nanoTime(); // 마지막으로 성공한 조회 시각
+
+    public MemberCacheInvalidator(MemberRepository memberRepository, EntityManagerFactory entityManagerFactory,
+                                  @Value("${echonet.cache.member-invalidation.lookback-seconds}") int lookbackSeconds) {
+        this.memberRepository = memberRepository;
+        this.cache = entityManagerFactory.getCache();
+        this.lookbackSeconds = lookbackSeconds;
+    }
+
+    /**
+     * 최근에 바뀐 회원의 캐시 항목을 지웁니다.
+     */
+    @Scheduled(fixedDelayString = "${echonet.cache.member-invalidation.poll-ms}")
+    public synchronized void evictChanged() {
+        long startedNanos = System.nanoTime();
+        List<Long> changed;
+        try {
+            changed = memberRepository.findChangedWithin(lookbackSeconds);
+        } catch (DataAccessException e) {
+            log.warn("Member cache invalidation poll failed, evicting the member region", e);
+            cache.evict(Member.class);
+            return;
+        }
+        if (startedNanos - lastPollNanos > TimeUnit.SECONDS.toNanos(lookbackSeconds)) {
+            log.warn("Member cache invalidation poll was delayed beyond {}s, evicting the member region", lookbackSeconds);
+            cache.evict(Member.class);
+        }
+        for (Long id : changed) {
+            cache.evict(Member.class, id);
+        }
+        lastPollNanos = startedNanos;
+    }
+}
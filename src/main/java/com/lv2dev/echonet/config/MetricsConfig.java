@@ -0,0 +1,96 @@
+package com.lv2dev.echonet.config;
+
+import com.lv2dev.echonet.service.FeedbackService;
+import com.lv2dev.echonet.service.MemberDeletionService;
+import com.lv2dev.echonet.service.S3DeletionQueue;
+import com.lv2dev.echonet.service.S3OrphanReconciler;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+
+@Configuration // 메트릭 관련 빈 설정
+public class MetricsConfig {
+
+    // S3 삭제 큐와 고아 객체 정리 작업의 진행 상황
+    @Bean
+    public MeterBinder s3CleanupMetrics(S3DeletionQueue deletionQueue, S3OrphanReconciler reconciler) {
+        return registry -> {
+            Gauge.builder("echonet.s3.deletion.pending", deletionQueue, S3DeletionQueue::getPendingCount)
+                    .register(registry);
+            FunctionCounter.builder("echonet.s3.deletion.keys", deletionQueue, S3DeletionQueue::getEnqueuedCount)
+                    .tag("result", "enqueued").register(registry);
+            FunctionCounter.builder("echonet.s3.deletion.keys", deletionQueue, S3DeletionQueue::getDeletedCount)
+                    .tag("result", "deleted").register(registry);
+            FunctionCounter.builder("echonet.s3.deletion.keys", deletionQueue, S3DeletionQueue::getFailedCount)
+                    .tag("result", "failed").register(registry);
+            FunctionCounter.builder("echonet.s3.deletion.keys", deletionQueue, S3DeletionQueue::getDroppedCount)
+                    .tag("result", "dropped").register(registry);
+            FunctionCounter.builder("echonet.s3.reconcile.objects", reconciler, S3OrphanReconciler::getScannedCount)
+                    .tag("result", "scanned").register(registry);
+            FunctionCounter.builder("echonet.s3.reconcile.objects", reconciler, S3OrphanReconciler::getOrphanCount)
+                    .tag("result", "orphan").register(registry);
+            Gauge.builder("echonet.s3.reconcile.running", reconciler, r -> r.isRunning() ? 1 : 0)
+                    .register(registry);
+        };
+    }
+
+    // 피드백 수집 큐의 적체와 접수 결과
+    @Bean
+    public MeterBinder feedbackIngestionMetrics(FeedbackService feedbackService) {
+        return registry -> {
+            Gauge.builder("echonet.feedback.pending", feedbackService, FeedbackService::getPendingCount)
+                    .register(registry);
+            FunctionCounter.builder("echonet.feedback.submissions", feedbackService, FeedbackService::getAcceptedCount)
+                    .tag("result", "accepted").register(registry);
+            FunctionCounter.builder("echonet.feedback.submissions", feedbackService, FeedbackService::getDuplicateCount)
+                    .tag("result", "duplicate").register(registry);
+            FunctionCounter.builder("echonet.feedback.submissions", feedbackService, FeedbackService::getThrottledCount)
+                    .tag("result", "throttled").register(registry);
+            FunctionCounter.builder("echonet.feedback.submissions", feedbackService, FeedbackService::getRejectedCount)
+                    .tag("result", "rejected").register(registry);
+            FunctionCounter.builder("echonet.feedback.writes", feedbackService, FeedbackService::getWrittenCount)
+                    .tag("result", "written").register(registry);
+            FunctionCounter.builder("echonet.feedback.writes", feedbackService, FeedbackService::getFailedCount)
+                    .tag("result", "dropped").register(registry);
+        };
+    }
+
+    // 접근 로그 샘플링 결과
+    @Bean
+    public MeterBinder accessLogMetrics(AccessLogFilter accessLogFilter) {
+        return registry -> {
+            FunctionCounter.builder("echonet.access.log.requests", accessLogFilter, AccessLogFilter::getLoggedCount)
+                    .tag("result", "logged").register(registry);
+            FunctionCounter.builder("echonet.access.log.requests", accessLogFilter, AccessLogFilter::getSampledOutCount)
+                    .tag("result", "sampled_out").register(registry);
+        };
+    }
+
+    // 회원 탈퇴 요청과 정리 진행
+    @Bean
+    public MeterBinder memberDeletionMetrics(MemberDeletionService memberDeletionService) {
+        return registry -> {
+            FunctionCounter.builder("echonet.member.deletion", memberDeletionService, MemberDeletionService::getRequestedCount)
+                    .tag("stage", "requested").register(registry);
+            FunctionCounter.builder("echonet.member.deletion", memberDeletionService, MemberDeletionService::getPurgedCount)
+                    .tag("stage", "purged").register(registry);
+            FunctionCounter.builder("echonet.member.deletion.rows", memberDeletionService, MemberDeletionService::getDeletedRowCount)
+                    .register(registry);
+        };
+    }
+
+    // Hibernate 2차 캐시 영역별 적중/실패/제거 수 (cache.gets, cache.evictions 등의 cache 태그가 영역 이름)
+    @Bean
+    public MeterBinder secondLevelCacheMetrics(CacheManager hibernateCacheManager) {
+        return registry -> {
+            for (String region : hibernateCacheManager.getCacheNames()) {
+                JCacheMetrics.monitor(registry, hibernateCacheManager.getCache(region));
+            }
+        };
+    }
+}
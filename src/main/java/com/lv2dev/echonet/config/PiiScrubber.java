@@ -0,0 +1,144 @@
+package com.lv2dev.echonet.config;
+
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * 로그에 남기기 전에 개인정보(이메일, 토큰, IP)를 가리는 유틸리티입니다.
+ *
+ * 샘플링된 요청에만 적용되므로 정규식 없이 한 번의 문자열 순회로 처리합니다.
+ */
+final class PiiScrubber {
+    static final String MASK = "***";
+
+    // 값 전체를 가리는 쿼리 파라미터 이름 (소문자)
+    private static final Set<String> SECRET_PARAMS = Set.of(
+            "token", "access_token", "refresh_token", "refreshtoken", "id_token", "code",
+            "password", "newpassword", "currentpassword", "secret", "key", "signature");
+
+    private PiiScrubber() {
+    }
+
+    /**
+     * 이메일의 로컬 부분을 첫 글자만 남기고 가립니다. (alice@example.com -> a***@example.com)
+     */
+    static String maskEmail(String email) {
+        int at = email.indexOf('@');
+        if (at <= 0) {
+            return MASK;
+        }
+        return email.charAt(0) + MASK + email.substring(at);
+    }
+
+    /**
+     * IP 주소의 호스트 부분을 지웁니다. IPv4는 /24, IPv6는 /48 단위로 남깁니다.
+     */
+    static String maskIp(String ip) {
+        if (ip == null || ip.isEmpty()) {
+            return ip;
+        }
+        if (ip.indexOf(':') >= 0) {
+            int groups = 0;
+            for (int i = 0; i < ip.length(); i++) {
+                if (ip.charAt(i) == ':' && ++groups == 3) {
+                    return ip.substring(0, i) + "::";
+                }
+            }
+            return ip;
+        }
+        int lastDot = ip.lastIndexOf('.');
+        return lastDot < 0 ? MASK : ip.substring(0, lastDot) + ".0";
+    }
+
+    /**
+     * 쿼리 문자열에서 비밀 값은 가리고, 이메일이나 JWT처럼 보이는 값도 가립니다.
+     */
+    static String scrubQuery(String query) {
+        if (query == null || query.isEmpty()) {
+            return query;
+        }
+        StringBuilder result = new StringBuilder(query.length());
+        int start = 0;
+        while (start <= query.length()) {
+            int end = query.indexOf('&', start);
+            if (end < 0) {
+                end = query.length();
+            }
+            if (start > 0) {
+                result.append('&');
+            }
+            int eq = query.indexOf('=', start);
+            if (eq < 0 || eq > end) {
+                result.append(scrubValue(null, query.substring(start, end)));
+            } else {
+                String name = query.substring(start, eq);
+                result.append(name).append('=').append(scrubValue(name, query.substring(eq + 1, end)));
+            }
+            start = end + 1;
+        }
+        return result.toString();
+    }
+
+    /**
+     * 경로의 각 구간 중 이메일이나 토큰처럼 보이는 값을 가립니다. (/api/members/email/alice@example.com)
+     */
+    static String scrubPath(String path) {
+        if (path == null || (path.indexOf('@') < 0 && path.indexOf("%40") < 0 && path.length() < 32)) {
+            return path;
+        }
+        StringBuilder result = new StringBuilder(path.length());
+        int start = 0;
+        while (start <= path.length()) {
+            int end = path.indexOf('/', start);
+            if (end < 0) {
+                end = path.length();
+            }
+            if (start > 0) {
+                result.append('/');
+            }
+            result.append(scrubValue(null, path.substring(start, end)));
+            start = end + 1;
+        }
+        return result.toString();
+    }
+
+    /**
+     * 값 하나를 검사합니다. 이름이 비밀 파라미터이거나 값이 토큰처럼 보이면 전체를 가립니다.
+     */
+    static String scrubValue(String name, String value) {
+        if (value.isEmpty()) {
+            return value;
+        }
+        if (name != null && SECRET_PARAMS.contains(name.toLowerCase(Locale.ROOT))) {
+            return MASK;
+        }
+        if (value.indexOf('@') > 0 || value.contains("%40")) {
+            return maskEmail(value.replace("%40", "@"));
+        }
+        if (looksLikeToken(value)) {
+            return MASK;
+        }
+        return value;
+    }
+
+    /**
+     * JWT(eyJ로 시작하고 점 두 개) 또는 32자 이상의 base64url 문자열
+     */
+    private static boolean looksLikeToken(String value) {
+        if (value.startsWith("eyJ") && value.indexOf('.') > 0) {
+            return true;
+        }
+        if (value.length() < 32) {
+            return false;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            boolean base64 = (c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9')
+                    || c == '-' || c == '_' || c == '=' || c == '.';
+            if (!base64) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,72 @@
+package com.lv2dev.echonet.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+
+/**
+ * 복제본의 복제 지연을 주기적으로 확인합니다.
+ *
+ * 지연 조회(기본 SHOW SLAVE STATUS)의 Seconds_Behind_Master 값이 허용치 이하일 때만 복제본을 사용 가능으로 봅니다.
+ * 조회 실패, 복제 중단(NULL), 복제 설정 없음(결과 없음)은 모두 사용 불가로 처리해 주 데이터베이스로 돌립니다.
+ */
+@Slf4j
+public class ReplicaLagMonitor {
+    static final String LAG_COLUMN = "Seconds_Behind_Master";
+
+    private final JdbcTemplate replicaJdbcTemplate;
+
+    private final String lagQuery;
+
+    private final long maxLagSeconds;
+
+    private volatile boolean available;
+
+    private volatile long lagSeconds = -1; // 마지막으로 확인한 지연 시간, 알 수 없으면 -1
+
+    public ReplicaLagMonitor(DataSource replica, String lagQuery, long maxLagSeconds) {
+        this.replicaJdbcTemplate = new JdbcTemplate(replica);
+        this.lagQuery = lagQuery;
+        this.maxLagSeconds = maxLagSeconds;
+    }
+
+    /**
+     * 복제 지연을 확인하고 복제본 사용 여부를 갱신합니다.
+     */
+    @Scheduled(fixedDelayString = "${echonet.datasource.replica.lag-check-interval-ms}")
+    public void check() {
+        Long lag;
+        try {
+            lag = replicaJdbcTemplate.query(lagQuery, (ResultSetExtractor<Long>) rs -> {
+                if (!rs.next()) {
+                    return null;
+                }
+                long value = rs.getLong(LAG_COLUMN);
+                return rs.wasNull() ? null : value;
+            });
+        } catch (DataAccessException e) {
+            log.warn("Replica lag check failed", e);
+            lag = null;
+        }
+
+        boolean wasAvailable = available;
+        lagSeconds = lag == null ? -1 : lag;
+        available = lag != null && lag <= maxLagSeconds;
+        if (wasAvailable != available) {
+            log.info("Replica {} (lag {}s, max {}s)", available ? "enabled for reads" : "disabled, reads go to primary",
+                    lagSeconds, maxLagSeconds);
+        }
+    }
+
+    public boolean isAvailable() {
+        return available;
+    }
+
+    public long getLagSeconds() {
+        return lagSeconds;
+    }
+}
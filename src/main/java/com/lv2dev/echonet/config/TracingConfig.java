@@ -0,0 +1,34 @@
+package com.lv2dev.echonet.config;
+
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.observation.aop.ObservedAspect;
+import io.opentelemetry.exporter.logging.LoggingSpanExporter;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.core.task.support.ContextPropagatingTaskDecorator;
+
+@Configuration // 분산 추적(OpenTelemetry) 관련 빈 설정
+public class TracingConfig {
+
+    // @Observed 어노테이션이 붙은 서비스 메소드를 span으로 기록
+    @Bean
+    public ObservedAspect observedAspect(ObservationRegistry registry) {
+        return new ObservedAspect(registry);
+    }
+
+    // 비동기 실행기(applicationTaskExecutor)로 넘긴 작업에 트레이스 컨텍스트와 MDC를 전달
+    @Bean
+    public TaskDecorator contextPropagatingTaskDecorator() {
+        return new ContextPropagatingTaskDecorator();
+    }
+
+    // 수집기 없이 확인할 때 span을 로그로 출력 (spring.profiles.active=tracing-log)
+    @Bean
+    @Profile("tracing-log")
+    public SpanExporter loggingSpanExporter() {
+        return LoggingSpanExporter.create();
+    }
+}
@@ -1,7 +1,10 @@
 package com.lv2dev.echonet.config;
 
 import com.lv2dev.echonet.security.JwtAuthenticationFilter;
+import com.lv2dev.echonet.security.ObservedPasswordEncoder;
+import io.micrometer.observation.ObservationRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpStatus;
@@ -41,6 +44,9 @@ public class WebSecurityConfig {
                 // 특정 경로에 대한 접근 허용 (인증되지 않은 사용자도 접근 가능)
                 .authorizeHttpRequests((authorize) -> authorize
                         .requestMatchers(SWAGGER_URI).permitAll()
+                        // 관리 포트(management.server.port)의 actuator 엔드포인트 중 상태 확인과 수집용만 공개
+                        .requestMatchers(EndpointRequest.to("health", "prometheus")).permitAll()
+                        .requestMatchers(EndpointRequest.toAnyEndpoint()).authenticated()
                         .requestMatchers(
                                 "/",
                                 "/api/unauth/**",
@@ -66,8 +72,9 @@ public class WebSecurityConfig {
     }
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(ObservationRegistry observationRegistry) {
+        // BCrypt 연산 시간을 트레이스에서 따로 볼 수 있도록 감쌈
+        return new ObservedPasswordEncoder(new BCryptPasswordEncoder(), observationRegistry);
     }
 
 
@@ -0,0 +1,117 @@
+package com.lv2dev.echonet.controller;
+
+import com.lv2dev.echonet.service.ExportService;
+import com.lv2dev.echonet.service.MemberService;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.WebAsyncTask;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDateTime;
+
+/**
+ * 관리자용 대량 내보내기 API입니다.
+ * 결과는 CSV(format=CSV) 또는 NDJSON(format=NDJSON)으로 스트리밍되며, 클라이언트가 gzip을 받을 수 있으면 압축해서 보냅니다.
+ * 대량 내보내기가 끝날 수 있도록 이 API의 비동기 응답에만 긴 시간 제한을 적용합니다.
+ */
+@RestController
+@RequestMapping("/admin/export")
+public class ExportController {
+
+    @Autowired
+    private ExportService exportService;
+
+    @Autowired
+    private MemberService memberService;
+
+    // 내보내기 응답의 시간 제한 (밀리초). 다른 비동기 요청은 기본 시간 제한을 따름
+    @Value("${echonet.export.timeout-ms}")
+    private long timeoutMs;
+
+    /**
+     * 전체 회원을 내보냅니다. 비밀번호와 토큰은 포함하지 않습니다.
+     *
+     * @param userId 인증된 사용자 ID.
+     * @param format 출력 형식.
+     * @param acceptEncoding 클라이언트가 받을 수 있는 인코딩.
+     * @param response 결과를 스트리밍할 응답.
+     * @return 스트리밍 작업.
+     */
+    @GetMapping("/members")
+    public WebAsyncTask<Void> exportMembers(@AuthenticationPrincipal String userId,
+                                            @RequestParam(defaultValue = "CSV") ExportService.Format format,
+                                            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+                                            HttpServletResponse response) {
+        memberService.requireAdmin(Long.parseLong(userId));
+        boolean gzip = acceptsGzip(acceptEncoding);
+        return stream(response, "members", format, gzip, exportService.exportMembers(format, gzip));
+    }
+
+    /**
+     * 전체 피드백을 내보냅니다.
+     *
+     * @param userId 인증된 사용자 ID.
+     * @param format 출력 형식.
+     * @param acceptEncoding 클라이언트가 받을 수 있는 인코딩.
+     * @param response 결과를 스트리밍할 응답.
+     * @return 스트리밍 작업.
+     */
+    @GetMapping("/feedback")
+    public WebAsyncTask<Void> exportFeedback(@AuthenticationPrincipal String userId,
+                                             @RequestParam(defaultValue = "CSV") ExportService.Format format,
+                                             @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+                                             HttpServletResponse response) {
+        memberService.requireAdmin(Long.parseLong(userId));
+        boolean gzip = acceptsGzip(acceptEncoding);
+        return stream(response, "feedback", format, gzip, exportService.exportFeedback(format, gzip));
+    }
+
+    /**
+     * 기간 내 로그인 기록을 내보냅니다.
+     *
+     * @param userId 인증된 사용자 ID.
+     * @param format 출력 형식.
+     * @param from 시작 시각.
+     * @param to 종료 시각 (포함하지 않음).
+     * @param acceptEncoding 클라이언트가 받을 수 있는 인코딩.
+     * @param response 결과를 스트리밍할 응답.
+     * @return 스트리밍 작업.
+     */
+    @GetMapping("/login-history")
+    public WebAsyncTask<Void> exportLoginHistory(@AuthenticationPrincipal String userId,
+                                                 @RequestParam(defaultValue = "CSV") ExportService.Format format,
+                                                 @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                                 @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+                                                 @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+                                                 HttpServletResponse response) {
+        memberService.requireAdmin(Long.parseLong(userId));
+        boolean gzip = acceptsGzip(acceptEncoding);
+        return stream(response, "login-history", format, gzip, exportService.exportLoginHistory(format, gzip, from, to));
+    }
+
+    private static boolean acceptsGzip(String acceptEncoding) {
+        return acceptEncoding != null && acceptEncoding.toLowerCase().contains("gzip");
+    }
+
+    private WebAsyncTask<Void> stream(HttpServletResponse response, String name, ExportService.Format format, boolean gzip,
+                                      StreamingResponseBody body) {
+        response.setContentType(format.getContentType() + ";charset=UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename(name + "." + format.getExtension()).build().toString());
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return new WebAsyncTask<>(timeoutMs, () -> {
+            body.writeTo(response.getOutputStream());
+            response.flushBuffer();
+            return null;
+        });
+    }
+}
@@ -1,8 +1,12 @@
 package com.lv2dev.echonet.controller;
 
-import com.lv2dev.echonet.model.Feedback;
+import com.lv2dev.echonet.dto.FeedbackDTO;
+import com.lv2dev.echonet.dto.FeedbackSubmissionDTO;
 import com.lv2dev.echonet.service.FeedbackService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -13,13 +17,21 @@ public class FeedbackController {
     @Autowired
     private FeedbackService feedbackService;
 
+    /**
+     * 피드백을 접수합니다. 저장은 비동기로 이루어지므로 202와 접수 번호를 반환합니다.
+     * 202는 메모리 큐에 접수되었다는 뜻이며 저장을 보장하지 않습니다. 저장 전에 서버가 비정상 종료되면 피드백이 유실될 수 있습니다.
+     *
+     * @param userId 인증된 사용자 ID.
+     * @param content 피드백 내용.
+     * @return 접수 번호와 중복 여부.
+     */
     @PostMapping
-    public Feedback createFeedback(@RequestParam Long userId, @RequestParam String content) {
-        return feedbackService.createFeedback(userId, content);
+    public ResponseEntity<FeedbackSubmissionDTO> createFeedback(@AuthenticationPrincipal String userId, @RequestParam String content) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(feedbackService.submitFeedback(Long.parseLong(userId), content));
     }
 
     @GetMapping
-    public List<Feedback> getAllFeedbacks() {
+    public List<FeedbackDTO> getAllFeedbacks() {
         return feedbackService.getAllFeedbacks();
     }
 }
@@ -0,0 +1,110 @@
+package com.lv2dev.echonet.controller;
+
+import com.lv2dev.echonet.dto.FileChangesDTO;
+import com.lv2dev.echonet.model.StoredFile;
+import com.lv2dev.echonet.service.FileService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.util.List;
+
+@RestController
+@RequestMapping("/files")
+public class FileController {
+
+    @Autowired
+    private FileService fileService;
+
+    /**
+     * 폴더의 하위 항목을 조회합니다.
+     *
+     * @param userId 인증된 사용자 ID.
+     * @param path 조회할 폴더 경로.
+     * @param after 이전 페이지의 마지막 항목 이름.
+     * @param size 페이지 크기.
+     * @return 하위 항목 목록.
+     */
+    @GetMapping
+    public List<StoredFile> listFolder(@AuthenticationPrincipal String userId,
+                                       @RequestParam(defaultValue = FileService.ROOT) String path,
+                                       @RequestParam(required = false) String after,
+                                       @RequestParam(defaultValue = "100") int size) {
+        return fileService.listFolder(Long.parseLong(userId), path, after, size);
+    }
+
+    /**
+     * 폴더를 생성합니다.
+     *
+     * @param userId 인증된 사용자 ID.
+     * @param parentPath 상위 폴더 경로.
+     * @param name 폴더 이름.
+     * @return 생성된 폴더.
+     */
+    @PostMapping("/folders")
+    public ResponseEntity<StoredFile> createFolder(@AuthenticationPrincipal String userId,
+                                                   @RequestParam(defaultValue = FileService.ROOT) String parentPath,
+                                                   @RequestParam String name) {
+        StoredFile folder = fileService.createFolder(Long.parseLong(userId), parentPath, name);
+        return ResponseEntity.status(HttpStatus.CREATED).body(folder);
+    }
+
+    /**
+     * 파일을 업로드합니다.
+     *
+     * @param userId 인증된 사용자 ID.
+     * @param parentPath 업로드할 폴더 경로.
+     * @param file 업로드할 파일.
+     * @return 등록된 파일.
+     */
+    @PostMapping
+    public ResponseEntity<StoredFile> uploadFile(@AuthenticationPrincipal String userId,
+                                                 @RequestParam(defaultValue = FileService.ROOT) String parentPath,
+                                                 @RequestParam MultipartFile file) throws IOException {
+        StoredFile stored = fileService.uploadFile(Long.parseLong(userId), parentPath, file);
+        return ResponseEntity.status(HttpStatus.CREATED).body(stored);
+    }
+
+    /**
+     * 파일 또는 폴더를 삭제합니다.
+     *
+     * @param userId 인증된 사용자 ID.
+     * @param path 삭제할 경로.
+     * @return HTTP 상태 코드를 포함한 ResponseEntity.
+     */
+    @DeleteMapping
+    public ResponseEntity<Void> delete(@AuthenticationPrincipal String userId, @RequestParam String path) {
+        fileService.delete(Long.parseLong(userId), path);
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * 커서 이후의 변경분을 조회합니다.
+     *
+     * @param userId 인증된 사용자 ID.
+     * @param cursor 마지막으로 받은 변경 커서.
+     * @param limit 최대 변경 수.
+     * @return 변경 목록과 다음 커서.
+     */
+    @GetMapping("/changes")
+    public FileChangesDTO getChanges(@AuthenticationPrincipal String userId,
+                                     @RequestParam(defaultValue = "0") long cursor,
+                                     @RequestParam(defaultValue = "500") int limit) {
+        return fileService.getChanges(Long.parseLong(userId), cursor, limit);
+    }
+
+    /**
+     * 현재 변경 커서를 조회합니다.
+     *
+     * @param userId 인증된 사용자 ID.
+     * @return 가장 최근 변경 커서.
+     */
+    @GetMapping("/changes/latest")
+    public long getLatestCursor(@AuthenticationPrincipal String userId) {
+        return fileService.getLatestCursor(Long.parseLong(userId));
+    }
+}
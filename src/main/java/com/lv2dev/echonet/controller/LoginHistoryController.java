@@ -0,0 +1,59 @@
+package com.lv2dev.echonet.controller;
+
+import com.lv2dev.echonet.dto.LoginActivityDTO;
+import com.lv2dev.echonet.dto.LoginHistoryPageDTO;
+import com.lv2dev.echonet.model.RollupGranularity;
+import com.lv2dev.echonet.service.LoginAnalyticsService;
+import com.lv2dev.echonet.service.MemberService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+
+@RestController
+@RequestMapping("/login-history")
+public class LoginHistoryController {
+
+    @Autowired
+    private LoginAnalyticsService loginAnalyticsService;
+
+    @Autowired
+    private MemberService memberService;
+
+    /**
+     * 내 최근 로그인 기록을 최신순으로 조회합니다.
+     *
+     * @param userId 인증된 사용자 ID.
+     * @param beforeTime 이전 페이지의 nextBeforeTime.
+     * @param beforeId 이전 페이지의 nextBeforeId.
+     * @param size 페이지 크기.
+     * @return 로그인 기록 페이지.
+     */
+    @GetMapping
+    public LoginHistoryPageDTO getRecentLogins(@AuthenticationPrincipal String userId,
+                                               @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime beforeTime,
+                                               @RequestParam(required = false) Long beforeId,
+                                               @RequestParam(defaultValue = "20") int size) {
+        return loginAnalyticsService.getRecentLogins(Long.parseLong(userId), beforeTime, beforeId, size);
+    }
+
+    /**
+     * 기간별 활성 사용자 통계를 조회합니다. 관리자만 사용할 수 있습니다.
+     *
+     * @param userId 인증된 사용자 ID.
+     * @param granularity 구간 단위 (HOUR, DAY).
+     * @param from 시작 시각.
+     * @param to 종료 시각 (포함하지 않음).
+     * @return 구간별 통계.
+     */
+    @GetMapping("/activity")
+    public LoginActivityDTO getActivity(@AuthenticationPrincipal String userId,
+                                        @RequestParam(defaultValue = "DAY") RollupGranularity granularity,
+                                        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        memberService.requireAdmin(Long.parseLong(userId));
+        return loginAnalyticsService.getActivity(granularity, from, to);
+    }
+}
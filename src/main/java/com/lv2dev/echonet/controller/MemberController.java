@@ -2,9 +2,12 @@ package com.lv2dev.echonet.controller;
 
 import com.lv2dev.echonet.dto.ChangePasswordRequest;
 import com.lv2dev.echonet.dto.MemberDTO;
+import com.lv2dev.echonet.dto.MemberProfileDTO;
 import com.lv2dev.echonet.model.Member;
 import com.lv2dev.echonet.service.MemberService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -13,6 +16,8 @@ import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 @RestController
 @RequestMapping("/members")
@@ -23,6 +28,64 @@ public class MemberController {
 
     private PasswordEncoder passwordEncoder;
 
+    // 프로필 응답을 클라이언트가 다시 확인하지 않고 사용할 수 있는 시간 (초)
+    @Value("${echonet.profile.cache-max-age-seconds}")
+    private long profileMaxAgeSeconds;
+
+    /**
+     * 회원 프로필(ID, 닉네임, 프로필 이미지 URL)을 조회합니다.
+     * 응답에는 회원 버전으로 만든 ETag가 붙고, If-None-Match가 같으면 본문 없이 304를 반환합니다.
+     *
+     * @param memberId 조회할 회원의 ID.
+     * @return 회원 프로필.
+     */
+    @GetMapping("/{memberId}")
+    public ResponseEntity<MemberProfileDTO> getProfile(@PathVariable Long memberId) {
+        MemberProfileDTO profile = memberService.getProfile(memberId);
+        // ETag가 If-None-Match와 같으면 HttpEntityMethodProcessor가 본문을 쓰지 않고 304로 바꿈
+        return ResponseEntity.ok()
+                .cacheControl(profileCacheControl())
+                .eTag(profile.id() + "-" + profile.version())
+                .body(profile);
+    }
+
+    /**
+     * 여러 회원의 프로필을 한 번에 조회합니다. (GET /members?ids=1,2,3)
+     * 결과는 요청한 순서이며 없는 회원은 빠집니다. ETag는 결과에 포함된 회원들의 ID와 버전으로 만듭니다.
+     *
+     * @param ids 조회할 회원 ID 목록.
+     * @return 회원 프로필 목록.
+     */
+    @GetMapping(params = "ids")
+    public ResponseEntity<List<MemberProfileDTO>> getProfiles(@RequestParam List<Long> ids) {
+        List<MemberProfileDTO> profiles = memberService.getProfiles(ids);
+        return ResponseEntity.ok()
+                .cacheControl(profileCacheControl())
+                .eTag(batchETag(profiles))
+                .body(profiles);
+    }
+
+    // 인증이 필요한 응답이므로 공유 캐시에는 저장하지 않음
+    private CacheControl profileCacheControl() {
+        return CacheControl.maxAge(profileMaxAgeSeconds, TimeUnit.SECONDS).cachePrivate();
+    }
+
+    /**
+     * (ID, 버전) 목록의 64비트 FNV-1a 해시. 목록의 순서나 어느 회원의 버전이 바뀌어도 달라짐
+     */
+    private static String batchETag(List<MemberProfileDTO> profiles) {
+        long hash = 0xcbf29ce484222325L;
+        for (MemberProfileDTO profile : profiles) {
+            for (long value : new long[]{profile.id(), profile.version()}) {
+                for (int shift = 0; shift < 64; shift += 8) {
+                    hash ^= (value >>> shift) & 0xff;
+                    hash *= 0x100000001b3L;
+                }
+            }
+        }
+        return profiles.size() + "-" + Long.toHexString(hash);
+    }
+
     @PostMapping("/signup")
     public ResponseEntity<?> signUp(@RequestBody MemberDTO memberDTO) {
         try {
@@ -47,11 +110,12 @@ public class MemberController {
      */
     @PutMapping("/change-password")
     public ResponseEntity<String> changePassword(@RequestParam String email, @RequestParam String currentPassword, @RequestParam String newPassword) {
-        Member member = memberService.findMemberByEmail(email);
-        if (!passwordEncoder.matches(currentPassword, member.getPassword())) {
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Current password is incorrect");
+        // 현재 비밀번호는 캐시가 아닌 주 데이터베이스의 값으로 확인 (다른 인스턴스에서 바뀐 비밀번호로 통과하지 않도록)
+        try {
+            memberService.changePassword(email, currentPassword, newPassword);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
         }
-        memberService.resetPassword(email, newPassword);
         return ResponseEntity.ok().body("Password changed successfully");
     }
 
@@ -0,0 +1,61 @@
+package com.lv2dev.echonet.controller;
+
+import com.lv2dev.echonet.dto.MemberImportStatusDTO;
+import com.lv2dev.echonet.service.MemberImportService;
+import com.lv2dev.echonet.service.MemberService;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.net.URI;
+
+/**
+ * 관리자용 회원 일괄 가입 API입니다.
+ *
+ * 1. POST /admin/members/import 로 CSV 본문(text/csv)을 보내면 202와 작업 번호를 반환
+ * 2. GET /admin/members/import/{jobId} 로 진행 상황과 행별 오류를 조회
+ */
+@RestController
+@RequestMapping("/admin/members/import")
+public class MemberImportController {
+
+    @Autowired
+    private MemberImportService memberImportService;
+
+    @Autowired
+    private MemberService memberService;
+
+    /**
+     * 일괄 가입 작업을 등록합니다. 본문은 메모리에 올리지 않고 임시 파일로 바로 복사됩니다.
+     *
+     * @param userId 인증된 사용자 ID.
+     * @param request CSV 본문을 담은 요청.
+     * @return 작업 위치(Location)와 상태를 담은 응답.
+     */
+    @PostMapping(consumes = "text/csv")
+    public ResponseEntity<MemberImportStatusDTO> importMembers(@AuthenticationPrincipal String userId,
+                                                               HttpServletRequest request) throws IOException {
+        memberService.requireAdmin(Long.parseLong(userId));
+        MemberImportStatusDTO status = memberImportService.submit(request.getInputStream());
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .location(URI.create("/admin/members/import/" + status.getJobId()))
+                .body(status);
+    }
+
+    /**
+     * 일괄 가입 작업의 상태를 조회합니다.
+     *
+     * @param userId 인증된 사용자 ID.
+     * @param jobId 작업 번호.
+     * @return 작업 상태.
+     */
+    @GetMapping("/{jobId}")
+    public MemberImportStatusDTO getStatus(@AuthenticationPrincipal String userId, @PathVariable String jobId) {
+        memberService.requireAdmin(Long.parseLong(userId));
+        return memberImportService.getStatus(jobId);
+    }
+}
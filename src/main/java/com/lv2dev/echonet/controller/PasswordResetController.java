@@ -0,0 +1,44 @@
+package com.lv2dev.echonet.controller;
+
+import com.lv2dev.echonet.service.PasswordResetService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * 로그인하지 않은 사용자의 비밀번호 재설정 API입니다.
+ */
+@RestController
+@RequestMapping("/api/unauth/password-reset")
+public class PasswordResetController {
+
+    @Autowired
+    private PasswordResetService passwordResetService;
+
+    /**
+     * 비밀번호 재설정 링크를 이메일로 요청합니다.
+     * 가입되지 않은 이메일이어도 같은 응답을 반환합니다.
+     *
+     * @param email 비밀번호를 재설정하려는 사용자의 이메일 주소입니다.
+     * @return HTTP 202 응답입니다.
+     */
+    @PostMapping
+    public ResponseEntity<String> requestReset(@RequestParam String email) {
+        passwordResetService.requestReset(email);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body("If the email is registered, a reset link has been sent");
+    }
+
+    /**
+     * 이메일로 받은 토큰으로 비밀번호를 재설정합니다.
+     *
+     * @param token 비밀번호 재설정 토큰입니다.
+     * @param newPassword 사용자가 설정할 새로운 비밀번호입니다.
+     * @return ResponseEntity 변경 성공 메시지를 담은 HTTP 응답입니다.
+     */
+    @PostMapping("/confirm")
+    public ResponseEntity<String> confirmReset(@RequestParam String token, @RequestParam String newPassword) {
+        passwordResetService.resetPassword(token, newPassword);
+        return ResponseEntity.ok().body("Password reset successfully");
+    }
+}
@@ -1,5 +1,6 @@
 package com.lv2dev.echonet.controller;
 
+import com.lv2dev.echonet.dto.LoginRequest;
 import com.lv2dev.echonet.model.Member;
 import com.lv2dev.echonet.persistence.MemberRepository;
 import com.lv2dev.echonet.service.MemberService;
@@ -22,8 +23,10 @@ public class TokenController {
     @Autowired
     private TokenService tokenService;
 
+    @Autowired
     private MemberRepository memberRepository;
 
+    @Autowired
     private PasswordEncoder passwordEncoder;
 
     @Autowired
@@ -33,19 +36,22 @@ public class TokenController {
      * 사용자 로그인 처리.
      * 성공 시, AccessToken을 반환하고 RefreshToken을 HttpOnly 쿠키로 설정.
      *
-     * @param loginDetails 로그인 정보
+     * @param loginDetails 로그인 정보 (이메일, 비밀번호)
      * @param response     클라이언트 응답 객체
      * @param request HttpServletRequest 객체
      * @return AccessToken 문자열
      */
     @PostMapping("/login")
-    public ResponseEntity<String> login(@RequestBody Member loginDetails, HttpServletResponse response, HttpServletRequest request) {
-        // 사용자 이메일로 멤버 조회
-        Member member = memberRepository.findByEmail(loginDetails.getEmail())
+    public ResponseEntity<String> login(@RequestBody LoginRequest loginDetails, HttpServletResponse response, HttpServletRequest request) {
+        // 사용자 이메일로 멤버 조회 (2차 캐시, 다른 인스턴스의 변경은 MemberCacheInvalidator가 지움)
+        Member member = memberRepository.findByEmail(loginDetails.email())
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid email or password"));
+        if (member.getState() == Member.STATE_DELETED) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid email or password");
+        }
 
         // 비밀번호 검증
-        if (!passwordEncoder.matches(loginDetails.getPassword(), member.getPassword())) {
+        if (!passwordEncoder.matches(loginDetails.password(), member.getPassword())) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid email or password");
         }
 
@@ -56,8 +62,7 @@ public class TokenController {
         String accessToken = tokenService.createAccessToken(member);
         // RefreshToken 생성 및 저장
         String refreshToken = tokenService.createRefreshToken(member);
-        member.setRefreshToken(refreshToken);
-        memberRepository.save(member);
+        tokenService.saveRefreshToken(member, refreshToken);
 
         // RefreshToken을 HttpOnly 쿠키로 설정
         setRefreshTokenCookie(response, refreshToken);
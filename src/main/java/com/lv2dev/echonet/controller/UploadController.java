@@ -0,0 +1,125 @@
+package com.lv2dev.echonet.controller;
+
+import com.lv2dev.echonet.model.StoredFile;
+import com.lv2dev.echonet.model.UploadSession;
+import com.lv2dev.echonet.service.FileService;
+import com.lv2dev.echonet.service.UploadService;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.net.URI;
+
+/**
+ * 이어받기 가능한 분할 업로드 API입니다. 헤더 이름은 tus 프로토콜을 따릅니다.
+ *
+ * 1. POST /uploads 로 세션 생성 (Upload-Length 헤더)
+ * 2. PATCH /uploads/{uploadId} 로 청크 전송 (Upload-Offset 헤더, application/offset+octet-stream 본문)
+ * 3. 연결이 끊기면 HEAD /uploads/{uploadId} 로 오프셋을 확인하고 이어서 전송
+ * 4. POST /uploads/{uploadId}/complete 로 파트를 조립하고 파일로 등록
+ */
+@RestController
+@RequestMapping("/uploads")
+public class UploadController {
+    private static final String UPLOAD_OFFSET = "Upload-Offset";
+
+    private static final String UPLOAD_LENGTH = "Upload-Length";
+
+    @Autowired
+    private UploadService uploadService;
+
+    /**
+     * 분할 업로드 세션을 생성합니다.
+     *
+     * @param userId 인증된 사용자 ID.
+     * @param uploadLength 전체 파일 크기.
+     * @param parentPath 완료 후 파일을 등록할 폴더 경로.
+     * @param fileName 파일 이름.
+     * @param contentType 파일의 Content-Type.
+     * @return 세션 위치(Location)와 오프셋을 담은 응답.
+     */
+    @PostMapping
+    public ResponseEntity<Void> createSession(@AuthenticationPrincipal String userId,
+                                              @RequestHeader(UPLOAD_LENGTH) long uploadLength,
+                                              @RequestParam(defaultValue = FileService.ROOT) String parentPath,
+                                              @RequestParam String fileName,
+                                              @RequestParam(required = false) String contentType) {
+        UploadSession session = uploadService.createSession(Long.parseLong(userId), parentPath, fileName, contentType, uploadLength);
+        return ResponseEntity.created(URI.create("/uploads/" + session.getUploadId()))
+                .header(UPLOAD_OFFSET, "0")
+                .header(UPLOAD_LENGTH, String.valueOf(session.getTotalLength()))
+                .build();
+    }
+
+    /**
+     * 현재까지 받은 오프셋을 조회합니다.
+     *
+     * @param userId 인증된 사용자 ID.
+     * @param uploadId 세션 식별자.
+     * @return 오프셋과 전체 크기를 담은 응답.
+     */
+    @RequestMapping(value = "/{uploadId}", method = RequestMethod.HEAD)
+    public ResponseEntity<Void> getOffset(@AuthenticationPrincipal String userId, @PathVariable String uploadId) {
+        UploadSession session = uploadService.getSession(Long.parseLong(userId), uploadId);
+        return ResponseEntity.ok()
+                .header(UPLOAD_OFFSET, String.valueOf(session.getUploadOffset()))
+                .header(UPLOAD_LENGTH, String.valueOf(session.getTotalLength()))
+                .header(HttpHeaders.CACHE_CONTROL, "no-store")
+                .build();
+    }
+
+    /**
+     * 청크를 전송합니다. 본문은 버퍼링 없이 S3로 바로 전달됩니다.
+     *
+     * @param userId 인증된 사용자 ID.
+     * @param uploadId 세션 식별자.
+     * @param offset 청크의 시작 오프셋.
+     * @param request 청크 본문을 담은 요청.
+     * @return 새 오프셋을 담은 응답.
+     */
+    @PatchMapping(value = "/{uploadId}", consumes = "application/offset+octet-stream")
+    public ResponseEntity<Void> appendChunk(@AuthenticationPrincipal String userId,
+                                            @PathVariable String uploadId,
+                                            @RequestHeader(UPLOAD_OFFSET) long offset,
+                                            HttpServletRequest request) throws IOException {
+        long length = request.getContentLengthLong();
+        if (length < 0) {
+            return ResponseEntity.status(HttpStatus.LENGTH_REQUIRED).build();
+        }
+        long newOffset = uploadService.appendChunk(Long.parseLong(userId), uploadId, offset, length, request.getInputStream());
+        return ResponseEntity.noContent()
+                .header(UPLOAD_OFFSET, String.valueOf(newOffset))
+                .build();
+    }
+
+    /**
+     * 업로드를 완료하고 파일로 등록합니다.
+     *
+     * @param userId 인증된 사용자 ID.
+     * @param uploadId 세션 식별자.
+     * @return 등록된 파일.
+     */
+    @PostMapping("/{uploadId}/complete")
+    public ResponseEntity<StoredFile> complete(@AuthenticationPrincipal String userId, @PathVariable String uploadId) {
+        StoredFile file = uploadService.complete(Long.parseLong(userId), uploadId);
+        return ResponseEntity.status(HttpStatus.CREATED).body(file);
+    }
+
+    /**
+     * 업로드를 취소합니다.
+     *
+     * @param userId 인증된 사용자 ID.
+     * @param uploadId 세션 식별자.
+     * @return HTTP 상태 코드를 포함한 ResponseEntity.
+     */
+    @DeleteMapping("/{uploadId}")
+    public ResponseEntity<Void> abort(@AuthenticationPrincipal String userId, @PathVariable String uploadId) {
+        uploadService.abort(Long.parseLong(userId), uploadId);
+        return ResponseEntity.noContent().build();
+    }
+}
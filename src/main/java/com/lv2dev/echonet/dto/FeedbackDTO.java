@@ -0,0 +1,9 @@
+package com.lv2dev.echonet.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * 피드백 조회 응답입니다. 엔티티 대신 JPQL 생성자 프로젝션으로 읽습니다.
+ */
+public record FeedbackDTO(Long id, Long userId, String content, LocalDateTime createdDate) {
+}
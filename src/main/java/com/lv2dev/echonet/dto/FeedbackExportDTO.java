@@ -0,0 +1,25 @@
+package com.lv2dev.echonet.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 피드백 내보내기 행
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FeedbackExportDTO {
+    private Long id;
+
+    private Long userId;
+
+    private String content;
+
+    private LocalDateTime createdDate;
+}
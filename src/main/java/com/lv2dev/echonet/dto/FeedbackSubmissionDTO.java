@@ -0,0 +1,16 @@
+package com.lv2dev.echonet.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FeedbackSubmissionDTO {
+    private String submissionId; // 접수 번호 (저장된 피드백의 submission_id)
+
+    private boolean duplicate; // 최근에 같은 내용으로 접수된 피드백이 있어 새로 저장하지 않았는지 여부
+}
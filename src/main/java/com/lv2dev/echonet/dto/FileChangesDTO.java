@@ -0,0 +1,21 @@
+package com.lv2dev.echonet.dto;
+
+import com.lv2dev.echonet.model.FileChange;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FileChangesDTO {
+    private List<FileChange> changes;
+
+    private long cursor; // 다음 요청에 사용할 커서
+
+    private boolean hasMore; // 커서 이후에 변경분이 더 남아있는지 여부
+}
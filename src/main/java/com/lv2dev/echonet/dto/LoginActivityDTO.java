@@ -0,0 +1,43 @@
+package com.lv2dev.echonet.dto;
+
+import com.lv2dev.echonet.model.RollupGranularity;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 기간별 활성 사용자 통계입니다.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LoginActivityDTO {
+    private RollupGranularity granularity;
+
+    private List<Bucket> buckets;
+
+    private long activeUsers; // 전체 기간의 고유 활성 사용자 수
+
+    private long logins; // 전체 기간의 로그인 수
+
+    private long uniqueIps; // 전체 기간의 고유 IP 수 (근사값)
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Bucket {
+        private LocalDateTime start;
+
+        private long activeUsers;
+
+        private long logins;
+
+        private long uniqueIps; // 근사값
+    }
+}
@@ -0,0 +1,29 @@
+package com.lv2dev.echonet.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 로그인 기록 조회 결과입니다. 회원 엔티티를 함께 읽지 않도록 필요한 컬럼만 담습니다.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LoginHistoryDTO {
+    private Long id;
+
+    private Long memberId;
+
+    private LocalDateTime loginTime;
+
+    private String ipAddress;
+
+    private String browserInfo;
+
+    private String deviceInfo;
+}
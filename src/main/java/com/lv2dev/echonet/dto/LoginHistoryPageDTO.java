@@ -0,0 +1,23 @@
+package com.lv2dev.echonet.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LoginHistoryPageDTO {
+    private List<LoginHistoryDTO> items;
+
+    private boolean hasMore; // 이후 페이지가 더 남아있는지 여부
+
+    private LocalDateTime nextBeforeTime; // 다음 페이지 요청에 사용할 커서 (마지막 항목의 시각)
+
+    private Long nextBeforeId; // 다음 페이지 요청에 사용할 커서 (마지막 항목의 id)
+}
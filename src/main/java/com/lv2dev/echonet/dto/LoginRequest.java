@@ -0,0 +1,7 @@
+package com.lv2dev.echonet.dto;
+
+/**
+ * 로그인 요청 본문입니다. 엔티티(Member)를 요청 본문으로 직접 받지 않도록 필요한 값만 둡니다.
+ */
+public record LoginRequest(String email, String password) {
+}
@@ -1,6 +1,8 @@
 package com.lv2dev.echonet.dto;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -14,12 +16,16 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 public class MemberDTO {
+    // 요청으로만 받는 값. 응답으로 직렬화되지 않음
+    @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
     private String token;
 
     private Long id; // 사용자에게 고유하게 부여되는 값
 
+    @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
     private String refreshToken;
 
+    @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
     private String password;
 
     private String nickname;
@@ -29,7 +35,8 @@ public class MemberDTO {
     @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd'T'HH:mm:ss", timezone = "Asia/Seoul")
     private LocalDateTime joinDay;
 
-    private MultipartFile profile; // 프로필 이미지가 들어있는 경로
+    @JsonIgnore
+    private MultipartFile profile; // 업로드할 프로필 이미지 (multipart로만 받음)
 
     private String profileUrl; // 프로필 이미지가 들어있는 경로
 
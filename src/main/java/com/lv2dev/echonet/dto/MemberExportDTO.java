@@ -0,0 +1,29 @@
+package com.lv2dev.echonet.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 회원 내보내기 행 (비밀번호, 리프레시 토큰 제외)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MemberExportDTO {
+    private Long id;
+
+    private String email;
+
+    private String nickname;
+
+    private LocalDateTime joinDay;
+
+    private int role;
+
+    private int state;
+}
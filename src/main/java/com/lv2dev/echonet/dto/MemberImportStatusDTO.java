@@ -0,0 +1,45 @@
+package com.lv2dev.echonet.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MemberImportStatusDTO {
+    private String jobId;
+
+    private String state; // QUEUED, RUNNING, COMPLETED, FAILED
+
+    private int processedRows;
+
+    private int importedRows;
+
+    private int failedRows;
+
+    private List<RowError> errors; // 실패한 행 (최대 개수까지)
+
+    private boolean errorsTruncated; // 실패한 행이 최대 개수를 넘어 일부만 담겼는지 여부
+
+    private LocalDateTime createdAt;
+
+    private LocalDateTime finishedAt;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RowError {
+        private int line; // CSV 줄 번호 (헤더가 1)
+
+        private String email;
+
+        private String message;
+    }
+}
@@ -0,0 +1,13 @@
+package com.lv2dev.echonet.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+/**
+ * 다른 사용자에게 보여주는 회원 프로필입니다. (채팅, 피드백 화면의 닉네임과 프로필 이미지)
+ * JPQL 생성자 프로젝션으로 필요한 컬럼만 읽습니다.
+ *
+ * @param profileUrl 프로필 이미지 URL
+ * @param version ETag 계산용. 닉네임이나 프로필이 바뀌면 증가
+ */
+public record MemberProfileDTO(Long id, String nickname, String profileUrl, @JsonIgnore long version) {
+}
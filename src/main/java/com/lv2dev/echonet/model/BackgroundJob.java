@@ -0,0 +1,71 @@
+package com.lv2dev.echonet.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 데이터베이스에 저장되는 백그라운드 작업입니다.
+ * 여러 인스턴스의 작업자가 SELECT ... FOR UPDATE SKIP LOCKED로 서로 다른 작업을 점유해 실행합니다.
+ */
+@Data
+@Entity
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "background_job", indexes = {
+        @Index(name = "ux_background_job_idempotency_key", columnList = "idempotency_key", unique = true),
+        @Index(name = "ix_background_job_claim", columnList = "queue, status, run_at"),
+        @Index(name = "ix_background_job_lock", columnList = "status, locked_until"),
+        @Index(name = "ix_background_job_finished", columnList = "finished_at")
+})
+public class BackgroundJob {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id")
+    private Long id;
+
+    @Column(name = "queue", nullable = false, length = 64)
+    private String queue;
+
+    @Column(name = "type", nullable = false, length = 64)
+    private String type;
+
+    @Column(name = "payload", columnDefinition = "mediumtext")
+    private String payload; // 작업 내용 (JSON). 비밀 정보가 남지 않도록 성공하면 비움
+
+    @Column(name = "idempotency_key")
+    private String idempotencyKey;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 16)
+    private BackgroundJobStatus status;
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    @Column(name = "max_attempts", nullable = false)
+    private int maxAttempts;
+
+    @Column(name = "run_at", nullable = false)
+    private LocalDateTime runAt; // 이 시각 이후에 실행 (재시도 대기에 사용)
+
+    @Column(name = "locked_by", length = 128)
+    private String lockedBy; // 점유한 작업자
+
+    @Column(name = "locked_until")
+    private LocalDateTime lockedUntil; // 점유 기한. 지나면 다른 작업자가 다시 가져감
+
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+}
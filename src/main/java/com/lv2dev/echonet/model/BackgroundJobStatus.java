@@ -0,0 +1,11 @@
+package com.lv2dev.echonet.model;
+
+/**
+ * 백그라운드 작업 상태
+ */
+public enum BackgroundJobStatus {
+    PENDING,   // 실행 대기 (run_at 이후 실행)
+    RUNNING,   // 작업자가 점유해 실행 중
+    SUCCEEDED, // 성공
+    FAILED     // 최대 시도 횟수를 넘겨 실패
+}
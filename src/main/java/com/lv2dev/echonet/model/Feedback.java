@@ -8,13 +8,22 @@ import lombok.Setter;
 import java.time.LocalDateTime;
 
 @Entity
+@Table(name = "feedback", indexes = {
+        @Index(name = "ix_feedback_user_created", columnList = "user_id, created_date"),
+        @Index(name = "ix_feedback_created", columnList = "created_date"),
+        @Index(name = "ux_feedback_submission_id", columnList = "submission_id", unique = true)
+})
 @Getter
 @Setter
 public class Feedback {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "feedback_seq")
+    @SequenceGenerator(name = "feedback_seq", sequenceName = "feedback_seq", allocationSize = 50)
     private Long id;
 
+    @Column(name = "submission_id", length = 36)
+    private String submissionId; // 접수 시 발급한 번호
+
     private Long userId;
 
     @Column(length = 1000)
@@ -0,0 +1,53 @@
+package com.lv2dev.echonet.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 파일 메타데이터 변경 이력(저널)을 나타내는 엔티티입니다.
+ * id가 단조 증가하므로 클라이언트는 마지막으로 받은 id를 커서로 사용해 "X 이후 변경분"만 요청할 수 있습니다.
+ * id는 커밋 순서가 아니므로, 기록된 지 일정 시간(changedAt 기준)이 지난 변경만 커서로 내보냅니다.
+ */
+@Data
+@Entity
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "file_change", indexes = {
+        @Index(name = "ix_file_change_owner_id", columnList = "owner_id, id")
+})
+public class FileChange {
+
+    public enum Type {
+        CREATED, UPDATED, DELETED
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id")
+    private Long id; // 변경 커서
+
+    @Column(name = "owner_id", nullable = false)
+    private Long ownerId;
+
+    @Column(name = "file_id")
+    private Long fileId;
+
+    @Column(name = "path", nullable = false, length = 512)
+    private String path;
+
+    @Column(name = "folder", nullable = false)
+    private boolean folder;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "change_type", nullable = false, length = 16)
+    private Type changeType;
+
+    @Column(name = "changed_at")
+    private LocalDateTime changedAt;
+}
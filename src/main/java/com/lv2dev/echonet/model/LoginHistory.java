@@ -4,7 +4,9 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 import java.time.LocalDateTime;
 
@@ -13,14 +15,21 @@ import java.time.LocalDateTime;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-@Table(name = "login_history")
+@Table(name = "login_history", indexes = {
+        @Index(name = "ix_login_history_member_time", columnList = "member_id, login_time"),
+        @Index(name = "ix_login_history_login_time", columnList = "login_time, id")
+})
 public class LoginHistory {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "login_history_seq")
+    @SequenceGenerator(name = "login_history_seq", sequenceName = "login_history_seq", allocationSize = 50)
     private Long id;
 
-    @ManyToOne
+    // 목록 조회마다 회원을 따로 읽지 않도록 지연 로딩. 회원이 필요한 조회는 fetch join이나 엔티티 그래프 사용
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "member_id")
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private Member member;
 
     private LocalDateTime loginTime;
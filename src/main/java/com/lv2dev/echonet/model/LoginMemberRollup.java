@@ -0,0 +1,42 @@
+package com.lv2dev.echonet.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 회원별, 구간별 로그인 횟수 집계입니다.
+ * 구간 안에 행이 있으면 그 회원은 해당 구간의 활성 사용자입니다.
+ */
+@Data
+@Entity
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "login_member_rollup", indexes = {
+        @Index(name = "ux_login_member_rollup_bucket_member", columnList = "granularity, bucket_start, member_id", unique = true),
+        @Index(name = "ix_login_member_rollup_member_id", columnList = "member_id")
+})
+public class LoginMemberRollup {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id")
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "granularity", nullable = false, length = 8)
+    private RollupGranularity granularity;
+
+    @Column(name = "bucket_start", nullable = false)
+    private LocalDateTime bucketStart;
+
+    @Column(name = "member_id", nullable = false)
+    private Long memberId;
+
+    @Column(name = "login_count", nullable = false)
+    private long loginCount;
+}
@@ -0,0 +1,41 @@
+package com.lv2dev.echonet.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 구간별 전체 로그인 집계입니다.
+ * 고유 IP 수는 HyperLogLog 레지스터로 저장해 여러 구간을 합친 기간의 고유 IP 수도 계산할 수 있습니다.
+ */
+@Data
+@Entity
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "login_period_rollup", indexes = {
+        @Index(name = "ux_login_period_rollup_bucket", columnList = "granularity, bucket_start", unique = true)
+})
+public class LoginPeriodRollup {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id")
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "granularity", nullable = false, length = 8)
+    private RollupGranularity granularity;
+
+    @Column(name = "bucket_start", nullable = false)
+    private LocalDateTime bucketStart;
+
+    @Column(name = "login_count", nullable = false)
+    private long loginCount;
+
+    @Column(name = "ip_sketch", nullable = false, length = 4096)
+    private byte[] ipSketch; // 고유 IP HyperLogLog 레지스터
+}
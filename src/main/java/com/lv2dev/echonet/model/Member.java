@@ -1,10 +1,17 @@
 package com.lv2dev.echonet.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
+import org.hibernate.annotations.OptimisticLock;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -14,20 +21,37 @@ import java.time.LocalDateTime;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-@Table(name = "member")
+@Table(name = "member", indexes = {
+        @Index(name = "ux_member_email", columnList = "email", unique = true),
+        @Index(name = "ux_member_nickname", columnList = "nickname", unique = true),
+        @Index(name = "ix_member_changed_at", columnList = "changed_at")
+})
+@DynamicUpdate // 변경된 컬럼만 UPDATE
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "member") // 2차 캐시 (CacheConfig). 엔티티를 수정해 저장하면 캐시도 함께 갱신
+@NaturalIdCache(region = "member-email") // 이메일 -> ID 캐시
 public class Member {
+    public static final int STATE_ACTIVE = 0;
+
+    public static final int STATE_DELETED = 1; // 탈퇴 요청됨. 관련 데이터는 백그라운드 작업이 정리한 뒤 행을 삭제
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY) // DB에서 자동증가
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "member_seq") // 시퀀스에서 50개씩 미리 할당 (배치 INSERT 가능)
+    @SequenceGenerator(name = "member_seq", sequenceName = "member_seq", allocationSize = 50)
     @Column(name = "id")
     private Long id; // 사용자에게 고유하게 부여되는 값
 
+    // 엔티티는 응답으로 직렬화하지 않지만, 실수로 직렬화되더라도 비밀 값은 빠지도록
+    @JsonIgnore
     @Column(name = "refresh_token")
+    @OptimisticLock(excluded = true) // 상태 값은 버전을 올리지 않음
     private String refreshToken;
 
+    @JsonIgnore
     @Column(name = "password")
     private String password;
 
+    @NaturalId // 변경되지 않는 자연 키. findByEmail이 2차 캐시에서 조회됨
     @Column(name = "email")
     private String email;
 
@@ -44,11 +68,20 @@ public class Member {
     private int role; // 0:학생, 1:선생, 2:관리자
 
     @Column(name = "state")
-    private int state;
+    private int state; // 0:정상, 1:탈퇴 처리 중
 
     @Column(name = "login_attempt")
+    @OptimisticLock(excluded = true)
     private int loginAttempt; // 로그인 시도 횟수
 
     @Column(name = "last_login_attempt")
+    @OptimisticLock(excluded = true)
     private LocalDateTime lastLoginAttempt; // 마지막 로그인 시도 시각
+
+    @Column(name = "changed_at")
+    private LocalDateTime changedAt; // 회원 정보(닉네임, 비밀번호, 프로필)나 탈퇴 상태가 마지막으로 바뀐 시각. 다른 인스턴스가 캐시 항목을 지우는 신호 (MemberCacheInvalidator)
+
+    @Version
+    @Column(name = "version", nullable = false, columnDefinition = "bigint default 0 not null")
+    private long version; // 낙관적 잠금용 버전. 회원 정보(닉네임, 비밀번호, 프로필)가 바뀔 때마다 증가
 }
@@ -1,61 +1,57 @@
 package com.lv2dev.echonet.model;
 
 import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
 
-import java.util.Calendar;
-import java.util.Date;
+import java.time.LocalDateTime;
 
 /**
  * 비밀번호 재설정 토큰을 나타내는 엔티티입니다.
- * 이 엔티티는 사용자, 토큰, 만료 날짜를 가지고 있습니다.
+ * 이 엔티티는 사용자, 토큰 해시, 만료 날짜를 가지고 있으며, 회원당 하나만 존재합니다.
+ * 토큰 원문은 이메일로만 전달하고 데이터베이스에는 SHA-256 해시만 저장합니다.
  */
+@Getter
+@Setter
 @Entity
+@NoArgsConstructor
+@Table(name = "password_reset_token", indexes = {
+        @Index(name = "ux_password_reset_token_hash", columnList = "token_hash", unique = true),
+        @Index(name = "ix_password_reset_token_expiry", columnList = "expiry_date")
+})
 public class PasswordResetToken {
 
-    private static final int EXPIRATION = 60 * 24;
-
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "password_reset_token_seq")
+    @SequenceGenerator(name = "password_reset_token_seq", sequenceName = "password_reset_token_seq", allocationSize = 50)
     private Long id;
 
-    private String token;
+    @Column(name = "token_hash", nullable = false, length = 64)
+    private String tokenHash; // 토큰의 SHA-256 해시 (16진수)
 
-    @OneToOne(targetEntity = Member.class, fetch = FetchType.EAGER)
-    @JoinColumn(nullable = false, name = "user_id")
+    // 토큰 조회마다 회원을 함께 읽지 않도록 지연 로딩. 회원이 필요한 findByTokenHash는 엔티티 그래프로 함께 조회
+    @OneToOne(targetEntity = Member.class, fetch = FetchType.LAZY)
+    @JoinColumn(nullable = false, name = "user_id", unique = true)
     private Member member;
 
-    private Date expiryDate;
-
-    public PasswordResetToken() {}
+    @Column(name = "expiry_date", nullable = false)
+    private LocalDateTime expiryDate;
 
     /**
-     * 토큰과 사용자를 받아서 새로운 PasswordResetToken 객체를 생성합니다.
-     * 만료 날짜는 현재 시간에서 24시간 뒤로 설정됩니다.
+     * 토큰 해시와 사용자를 받아서 새로운 PasswordResetToken 객체를 생성합니다.
      *
-     * @param token 비밀번호 재설정 토큰 문자열
-     * @param user 토큰을 발급받는 사용자
+     * @param tokenHash 비밀번호 재설정 토큰의 해시
+     * @param member 토큰을 발급받는 사용자
+     * @param expiryDate 만료 날짜
      */
-    public PasswordResetToken(final String token, final Member member) {
-        super();
-
-        this.token = token;
+    public PasswordResetToken(final String tokenHash, final Member member, final LocalDateTime expiryDate) {
+        this.tokenHash = tokenHash;
         this.member = member;
-        this.expiryDate = calculateExpiryDate(EXPIRATION);
+        this.expiryDate = expiryDate;
     }
 
-    // getters and setters
-
-    /**
-     * 만료 날짜를 계산하는 메소드입니다.
-     * 현재 시간에서 입력받은 분만큼 더한 시간을 반환합니다.
-     *
-     * @param expiryTimeInMinutes 만료 시간(분)
-     * @return 만료 날짜
-     */
-    private Date calculateExpiryDate(final int expiryTimeInMinutes) {
-        final Calendar cal = Calendar.getInstance();
-        cal.setTimeInMillis(new Date().getTime());
-        cal.add(Calendar.MINUTE, expiryTimeInMinutes);
-        return new Date(cal.getTime().getTime());
+    public boolean isExpired(LocalDateTime now) {
+        return !expiryDate.isAfter(now);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,31 @@
+package com.lv2dev.echonet.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 증분 집계 작업의 진행 위치입니다.
+ * 원본 행을 (시각, id) 순으로 읽으므로 마지막으로 처리한 행의 시각과 id를 함께 기록합니다.
+ */
+@Data
+@Entity
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "rollup_checkpoint")
+public class RollupCheckpoint {
+    @Id
+    @Column(name = "name", length = 64)
+    private String name;
+
+    @Column(name = "last_time", nullable = false)
+    private LocalDateTime lastTime;
+
+    @Column(name = "last_id", nullable = false)
+    private long lastId;
+}
@@ -0,0 +1,74 @@
+package com.lv2dev.echonet.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+
+/**
+ * 내용 주소 기반(content-addressed)으로 저장된 S3 객체를 나타내는 엔티티입니다.
+ * 같은 내용의 파일은 SHA-256 해시가 같으므로 한 번만 저장되고, 참조 수(refCount)로 사용처를 관리합니다.
+ * refCount가 -1이면 가비지 컬렉터가 삭제 중인 상태입니다.
+ *
+ * 해시를 직접 식별자로 쓰므로 {@link Persistable}을 구현해 save 시 merge가 아닌 INSERT가 실행되도록 합니다.
+ * 같은 해시가 이미 있으면 기본 키 충돌로 실패하며, 서비스는 이를 동시 등록 경합으로 처리합니다.
+ */
+@Data
+@Entity
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "stored_blob", indexes = {
+        @Index(name = "ix_stored_blob_gc", columnList = "ref_count, released_at")
+})
+public class StoredBlob implements Persistable<String> {
+
+    @Id
+    @Column(name = "hash", length = 64)
+    private String hash; // 내용의 SHA-256 (hex)
+
+    @Column(name = "storage_key", nullable = false, length = 255)
+    private String storageKey;
+
+    @Column(name = "storage_url", nullable = false, length = 1024)
+    private String storageUrl;
+
+    @Column(name = "size")
+    private long size;
+
+    @Column(name = "content_type")
+    private String contentType;
+
+    @Column(name = "ref_count", nullable = false)
+    private int refCount;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @Column(name = "released_at")
+    private LocalDateTime releasedAt; // 마지막으로 참조가 해제된 시각
+
+    @Transient
+    @Builder.Default
+    private boolean newEntity = true;
+
+    @Override
+    public String getId() {
+        return hash;
+    }
+
+    @Override
+    public boolean isNew() {
+        return newEntity;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.newEntity = false;
+    }
+}
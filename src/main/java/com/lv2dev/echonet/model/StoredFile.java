@@ -0,0 +1,61 @@
+package com.lv2dev.echonet.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 클라우드 스토리지에 저장된 파일 또는 폴더의 메타데이터를 나타내는 엔티티입니다.
+ * 폴더 목록은 (owner_id, parent_path, name) 인덱스를 따라 키셋 페이징으로 조회하므로
+ * S3 LIST 호출 없이 사용자의 파일 목록을 제공할 수 있습니다.
+ */
+@Data
+@Entity
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "stored_file", indexes = {
+        @Index(name = "ux_stored_file_owner_path", columnList = "owner_id, path", unique = true),
+        @Index(name = "ix_stored_file_owner_parent_name", columnList = "owner_id, parent_path, name")
+})
+public class StoredFile {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id")
+    private Long id;
+
+    @Column(name = "owner_id", nullable = false)
+    private Long ownerId; // 파일 소유자(Member)의 ID
+
+    @Column(name = "path", nullable = false, length = 512)
+    private String path; // 전체 경로 (예: /docs/report.pdf)
+
+    @Column(name = "parent_path", nullable = false, length = 512)
+    private String parentPath; // 상위 폴더 경로 (루트는 /)
+
+    @Column(name = "name", nullable = false, length = 200)
+    private String name;
+
+    @Column(name = "folder", nullable = false)
+    private boolean folder;
+
+    @Column(name = "size")
+    private long size;
+
+    @Column(name = "content_type")
+    private String contentType;
+
+    @Column(name = "storage_url", length = 1024)
+    private String storageUrl; // S3 객체 URL, 폴더는 null
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @Column(name = "modified_at")
+    private LocalDateTime modifiedAt;
+}
@@ -0,0 +1,39 @@
+package com.lv2dev.echonet.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 업로드 세션에서 S3에 전달이 끝난 파트 하나를 나타내는 엔티티입니다.
+ * 완료 시 ETag 목록으로 멀티파트 업로드를 조립합니다.
+ */
+@Data
+@Entity
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "upload_part", indexes = {
+        @Index(name = "ux_upload_part_session_part", columnList = "session_id, part_number", unique = true)
+})
+public class UploadPart {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id")
+    private Long id;
+
+    @Column(name = "session_id", nullable = false)
+    private Long sessionId;
+
+    @Column(name = "part_number", nullable = false)
+    private int partNumber;
+
+    @Column(name = "etag", nullable = false)
+    private String etag;
+
+    @Column(name = "size", nullable = false)
+    private long size;
+}
@@ -0,0 +1,69 @@
+package com.lv2dev.echonet.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 이어받기 가능한 분할 업로드 세션을 나타내는 엔티티입니다.
+ * 각 청크는 S3 멀티파트 업로드의 파트 하나로 바로 전달되며, 서버는 지금까지 받은 오프셋만 기억합니다.
+ */
+@Data
+@Entity
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "upload_session", indexes = {
+        @Index(name = "ux_upload_session_upload_id", columnList = "upload_id", unique = true),
+        @Index(name = "ix_upload_session_expires_at", columnList = "expires_at")
+})
+public class UploadSession {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id")
+    private Long id;
+
+    @Column(name = "upload_id", nullable = false, length = 36)
+    private String uploadId; // 클라이언트에 노출되는 세션 식별자
+
+    @Column(name = "owner_id", nullable = false)
+    private Long ownerId;
+
+    @Column(name = "parent_path", nullable = false, length = 512)
+    private String parentPath; // 완료 후 파일이 등록될 폴더
+
+    @Column(name = "file_name", nullable = false, length = 200)
+    private String fileName;
+
+    @Column(name = "content_type")
+    private String contentType;
+
+    @Column(name = "total_length", nullable = false)
+    private long totalLength;
+
+    @Column(name = "upload_offset", nullable = false)
+    private long uploadOffset; // 지금까지 받은 바이트 수
+
+    @Column(name = "next_part_number", nullable = false)
+    private int nextPartNumber;
+
+    @Column(name = "storage_key", nullable = false, length = 255)
+    private String storageKey;
+
+    @Column(name = "s3_upload_id", nullable = false, length = 1024)
+    private String s3UploadId;
+
+    @Column(name = "locked_until")
+    private LocalDateTime lockedUntil; // 청크를 받는 중인 요청의 점유 기한
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @Column(name = "expires_at")
+    private LocalDateTime expiresAt;
+}
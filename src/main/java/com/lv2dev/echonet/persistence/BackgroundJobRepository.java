@@ -0,0 +1,129 @@
+package com.lv2dev.echonet.persistence;
+
+import com.lv2dev.echonet.model.BackgroundJob;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 백그라운드 작업을 데이터베이스에 저장하는 인터페이스입니다.
+ * 상태 변경은 모두 조건부 UPDATE로, 점유한 작업자(locked_by)만 결과를 기록할 수 있습니다.
+ */
+@Repository
+public interface BackgroundJobRepository extends JpaRepository<BackgroundJob, Long> {
+
+    interface QueueBacklog {
+        String getQueue();
+
+        long getReady();
+
+        LocalDateTime getOldestRunAt();
+    }
+
+    /**
+     * 작업 등록. 같은 멱등성 키의 작업이 이미 있으면 아무것도 하지 않고 0을 반환
+     * 예외 없이 처리되므로 호출한 쪽의 트랜잭션 안에서 사용해도 트랜잭션이 롤백 전용으로 바뀌지 않습니다.
+     * (ON DUPLICATE KEY UPDATE는 드라이버 기본값(found rows)에서 중복이어도 1을 반환하므로 INSERT IGNORE 사용)
+     * */
+    @Modifying
+    @Transactional
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "background_job"))
+    @Query(value = "INSERT IGNORE INTO background_job (queue, type, payload, idempotency_key, status, attempts, max_attempts, run_at, created_at) " +
+            "VALUES (:queue, :type, :payload, :idempotencyKey, 'PENDING', 0, :maxAttempts, :runAt, :now)", nativeQuery = true)
+    int insertIfAbsent(@Param("queue") String queue, @Param("type") String type, @Param("payload") String payload,
+                       @Param("idempotencyKey") String idempotencyKey, @Param("maxAttempts") int maxAttempts,
+                       @Param("runAt") LocalDateTime runAt, @Param("now") LocalDateTime now);
+
+    /**
+     * 실행할 작업 점유 (ix_background_job_claim)
+     * 다른 작업자가 잠근 행은 기다리지 않고 건너뛰므로 여러 인스턴스가 같은 큐를 나누어 처리합니다.
+     * 트랜잭션 안에서 markRunning과 함께 사용해야 합니다.
+     * */
+    @Query(value = "SELECT id FROM background_job WHERE queue = :queue AND status = 'PENDING' AND run_at <= :now " +
+            "ORDER BY run_at, id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<Long> findClaimable(@Param("queue") String queue, @Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    /**
+     * 점유한 작업을 실행 중으로 변경
+     * */
+    @Modifying
+    @Transactional
+    @Query("update BackgroundJob j set j.status = com.lv2dev.echonet.model.BackgroundJobStatus.RUNNING, " +
+            "j.attempts = j.attempts + 1, j.lockedBy = :worker, j.lockedUntil = :lockedUntil where j.id in :ids")
+    int markRunning(@Param("ids") List<Long> ids, @Param("worker") String worker, @Param("lockedUntil") LocalDateTime lockedUntil);
+
+    /**
+     * 성공 처리. 작업 내용은 비움
+     * */
+    @Modifying
+    @Transactional
+    @Query("update BackgroundJob j set j.status = com.lv2dev.echonet.model.BackgroundJobStatus.SUCCEEDED, j.payload = null, " +
+            "j.lockedBy = null, j.lockedUntil = null, j.finishedAt = :now " +
+            "where j.id = :id and j.lockedBy = :worker and j.status = com.lv2dev.echonet.model.BackgroundJobStatus.RUNNING")
+    int markSucceeded(@Param("id") Long id, @Param("worker") String worker, @Param("now") LocalDateTime now);
+
+    /**
+     * 재시도 예약
+     * */
+    @Modifying
+    @Transactional
+    @Query("update BackgroundJob j set j.status = com.lv2dev.echonet.model.BackgroundJobStatus.PENDING, j.runAt = :runAt, " +
+            "j.lastError = :error, j.lockedBy = null, j.lockedUntil = null " +
+            "where j.id = :id and j.lockedBy = :worker and j.status = com.lv2dev.echonet.model.BackgroundJobStatus.RUNNING")
+    int markRetry(@Param("id") Long id, @Param("worker") String worker, @Param("runAt") LocalDateTime runAt, @Param("error") String error);
+
+    /**
+     * 실패 처리
+     * */
+    @Modifying
+    @Transactional
+    @Query("update BackgroundJob j set j.status = com.lv2dev.echonet.model.BackgroundJobStatus.FAILED, j.lastError = :error, " +
+            "j.lockedBy = null, j.lockedUntil = null, j.finishedAt = :now " +
+            "where j.id = :id and j.lockedBy = :worker and j.status = com.lv2dev.echonet.model.BackgroundJobStatus.RUNNING")
+    int markFailed(@Param("id") Long id, @Param("worker") String worker, @Param("error") String error, @Param("now") LocalDateTime now);
+
+    /**
+     * 점유 기한이 지난 작업(작업자가 중단된 경우)을 다시 대기 상태로 (ix_background_job_lock)
+     * */
+    @Modifying
+    @Transactional
+    @Query("update BackgroundJob j set j.status = com.lv2dev.echonet.model.BackgroundJobStatus.PENDING, " +
+            "j.lastError = 'Lock expired', j.lockedBy = null, j.lockedUntil = null " +
+            "where j.status = com.lv2dev.echonet.model.BackgroundJobStatus.RUNNING and j.lockedUntil < :now and j.attempts < j.maxAttempts")
+    int releaseExpiredLocks(@Param("now") LocalDateTime now);
+
+    /**
+     * 점유 기한이 지났고 더 시도할 수 없는 작업을 실패 처리
+     * */
+    @Modifying
+    @Transactional
+    @Query("update BackgroundJob j set j.status = com.lv2dev.echonet.model.BackgroundJobStatus.FAILED, " +
+            "j.lastError = 'Lock expired', j.lockedBy = null, j.lockedUntil = null, j.finishedAt = :now " +
+            "where j.status = com.lv2dev.echonet.model.BackgroundJobStatus.RUNNING and j.lockedUntil < :now and j.attempts >= j.maxAttempts")
+    int failExpiredLocks(@Param("now") LocalDateTime now);
+
+    /**
+     * 끝난 지 오래된 작업을 최대 limit개 삭제 (ix_background_job_finished)
+     * */
+    @Modifying
+    @Transactional
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "background_job"))
+    @Query(value = "DELETE FROM background_job WHERE finished_at < :cutoff ORDER BY finished_at LIMIT :limit", nativeQuery = true)
+    int deleteFinishedBefore(@Param("cutoff") LocalDateTime cutoff, @Param("limit") int limit);
+
+    /**
+     * 큐별 실행 가능한 대기 작업 수와 가장 오래된 실행 예정 시각 (지연 메트릭)
+     * */
+    @Query("select j.queue as queue, count(j) as ready, min(j.runAt) as oldestRunAt from BackgroundJob j " +
+            "where j.status = com.lv2dev.echonet.model.BackgroundJobStatus.PENDING and j.runAt <= :now group by j.queue")
+    List<QueueBacklog> findBacklog(@Param("now") LocalDateTime now);
+}
@@ -1,7 +1,51 @@
 package com.lv2dev.echonet.persistence;
 
+import com.lv2dev.echonet.dto.FeedbackDTO;
+import com.lv2dev.echonet.dto.FeedbackExportDTO;
 import com.lv2dev.echonet.model.Feedback;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.stream.Stream;
 
 public interface FeedbackRepository extends JpaRepository<Feedback, Long> {
+    /**
+     * 전체 피드백을 최신순으로 조회 (ix_feedback_created)
+     * 엔티티 대신 응답 레코드로 바로 읽습니다.
+     * */
+    @Query("select new com.lv2dev.echonet.dto.FeedbackDTO(f.id, f.userId, f.content, f.createdDate) from Feedback f order by f.createdDate desc")
+    List<FeedbackDTO> findAllByOrderByCreatedDateDesc();
+
+    /**
+     * 사용자의 피드백을 최신순으로 조회 (ix_feedback_user_created)
+     * */
+    List<Feedback> findByUserIdOrderByCreatedDateDesc(Long userId, Pageable pageable);
+
+    /**
+     * 사용자의 피드백을 최대 limit개 삭제 (ix_feedback_user_created)
+     * */
+    @Modifying
+    @Transactional
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "feedback"))
+    @Query(value = "DELETE FROM feedback WHERE user_id = :userId LIMIT :limit", nativeQuery = true)
+    int deleteByUserId(@Param("userId") Long userId, @Param("limit") int limit);
+
+    /**
+     * 내보내기용 전체 피드백 스트림 (id순)
+     * 트랜잭션 안에서 사용하고 다 읽은 뒤 닫아야 합니다.
+     * */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select new com.lv2dev.echonet.dto.FeedbackExportDTO(f.id, f.userId, f.content, f.createdDate) from Feedback f order by f.id")
+    Stream<FeedbackExportDTO> streamForExport();
 }
@@ -0,0 +1,43 @@
+package com.lv2dev.echonet.persistence;
+
+import com.lv2dev.echonet.model.FileChange;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 파일 변경 저널을 데이터베이스에 저장하는 인터페이스입니다.
+ */
+@Repository
+public interface FileChangeRepository extends JpaRepository<FileChange, Long> {
+
+    /**
+     * 커서 이후의 변경분 조회
+     * */
+    List<FileChange> findByOwnerIdAndIdGreaterThanOrderByIdAsc(Long ownerId, Long cursor, Pageable pageable);
+
+    /**
+     * until 이전에 기록된 가장 최근 변경 조회 (현재 커서)
+     * */
+    Optional<FileChange> findTopByOwnerIdAndChangedAtBeforeOrderByIdDesc(Long ownerId, LocalDateTime until);
+
+    /**
+     * 소유자의 변경 기록을 최대 limit개 삭제 (ix_file_change_owner_id)
+     * */
+    @Modifying
+    @Transactional
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "file_change"))
+    @Query(value = "DELETE FROM file_change WHERE owner_id = :ownerId LIMIT :limit", nativeQuery = true)
+    int deleteByOwnerId(@Param("ownerId") Long ownerId, @Param("limit") int limit);
+}
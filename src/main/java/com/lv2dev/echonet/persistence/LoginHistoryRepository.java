@@ -1,12 +1,99 @@
 package com.lv2dev.echonet.persistence;
 
+import com.lv2dev.echonet.dto.LoginHistoryDTO;
 import com.lv2dev.echonet.model.LoginHistory;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * 로그인 기록을 데이터베이스에 저장하는 인터페이스입니다.
  */
 @Repository
 public interface LoginHistoryRepository extends JpaRepository<LoginHistory, Long> {
+    /**
+     * 회원의 최근 로그인 기록 첫 페이지 (ix_login_history_member_time)
+     * */
+    @Query("select new com.lv2dev.echonet.dto.LoginHistoryDTO(h.id, h.member.id, h.loginTime, h.ipAddress, h.browserInfo, h.deviceInfo) " +
+            "from LoginHistory h where h.member.id = :memberId order by h.loginTime desc, h.id desc")
+    List<LoginHistoryDTO> findRecent(@Param("memberId") Long memberId, Pageable pageable);
+
+    /**
+     * 회원의 최근 로그인 기록 다음 페이지 (키셋 페이징)
+     * 마지막으로 받은 (시각, id) 이전 항목만 읽으므로 페이지가 깊어져도 비용이 일정합니다.
+     * */
+    @Query("select new com.lv2dev.echonet.dto.LoginHistoryDTO(h.id, h.member.id, h.loginTime, h.ipAddress, h.browserInfo, h.deviceInfo) " +
+            "from LoginHistory h where h.member.id = :memberId " +
+            "and (h.loginTime < :beforeTime or (h.loginTime = :beforeTime and h.id < :beforeId)) " +
+            "order by h.loginTime desc, h.id desc")
+    List<LoginHistoryDTO> findRecentBefore(@Param("memberId") Long memberId, @Param("beforeTime") LocalDateTime beforeTime,
+                                           @Param("beforeId") Long beforeId, Pageable pageable);
+
+    /**
+     * 집계할 로그인 기록 조회. (afterTime, afterId) 이후부터 until 이전까지 시각순 (ix_login_history_login_time)
+     * */
+    @Query("select new com.lv2dev.echonet.dto.LoginHistoryDTO(h.id, h.member.id, h.loginTime, h.ipAddress, h.browserInfo, h.deviceInfo) " +
+            "from LoginHistory h where (h.loginTime > :afterTime or (h.loginTime = :afterTime and h.id > :afterId)) " +
+            "and h.loginTime < :until order by h.loginTime asc, h.id asc")
+    List<LoginHistoryDTO> findForRollup(@Param("afterTime") LocalDateTime afterTime, @Param("afterId") long afterId,
+                                        @Param("until") LocalDateTime until, Pageable pageable);
+
+    /**
+     * 보관 기간이 지난 로그인 기록의 id 조회
+     * */
+    @Query("select h.id from LoginHistory h where h.loginTime < :cutoff order by h.loginTime asc, h.id asc")
+    List<Long> findIdsBefore(@Param("cutoff") LocalDateTime cutoff, Pageable pageable);
+
+    /**
+     * 로그인 기록을 보관 테이블로 복사
+     * */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "login_history_archive"))
+    @Query(value = "insert into login_history_archive (id, member_id, login_time, ip_address, browser_info, device_info) " +
+            "select id, member_id, login_time, ip_address, browser_info, device_info from login_history where id in (:ids)",
+            nativeQuery = true)
+    int copyToArchive(@Param("ids") Collection<Long> ids);
+
+    /**
+     * 회원의 로그인 기록을 최대 limit개 삭제 (ix_login_history_member_time)
+     * 한 번에 잠그는 행 수를 제한하므로 기록이 많은 회원도 잠금을 오래 잡지 않습니다.
+     * */
+    @Modifying
+    @Transactional
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "login_history"))
+    @Query(value = "DELETE FROM login_history WHERE member_id = :memberId LIMIT :limit", nativeQuery = true)
+    int deleteByMemberId(@Param("memberId") Long memberId, @Param("limit") int limit);
+
+    /**
+     * 회원의 보관된 로그인 기록을 최대 limit개 삭제 (ix_login_history_archive_member_time)
+     * */
+    @Modifying
+    @Transactional
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "login_history_archive"))
+    @Query(value = "DELETE FROM login_history_archive WHERE member_id = :memberId LIMIT :limit", nativeQuery = true)
+    int deleteArchivedByMemberId(@Param("memberId") Long memberId, @Param("limit") int limit);
+
+    /**
+     * 내보내기용 로그인 기록 스트림 (기간 내 시각순, ix_login_history_login_time)
+     * 트랜잭션 안에서 사용하고 다 읽은 뒤 닫아야 합니다.
+     * */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select new com.lv2dev.echonet.dto.LoginHistoryDTO(h.id, h.member.id, h.loginTime, h.ipAddress, h.browserInfo, h.deviceInfo) " +
+            "from LoginHistory h where h.loginTime >= :from and h.loginTime < :to order by h.loginTime, h.id")
+    Stream<LoginHistoryDTO> streamForExport(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
 }
@@ -0,0 +1,58 @@
+package com.lv2dev.echonet.persistence;
+
+import com.lv2dev.echonet.model.LoginMemberRollup;
+import com.lv2dev.echonet.model.RollupGranularity;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 회원별 로그인 집계를 조회하는 인터페이스입니다.
+ * 집계 반영은 여러 행을 한 번에 upsert해야 하므로 {@link com.lv2dev.echonet.service.LoginAnalyticsService}에서 JDBC 배치로 처리합니다.
+ */
+@Repository
+public interface LoginMemberRollupRepository extends JpaRepository<LoginMemberRollup, Long> {
+
+    interface BucketActivity {
+        LocalDateTime getBucketStart();
+
+        long getActiveUsers();
+
+        long getLogins();
+    }
+
+    /**
+     * 구간별 활성 사용자 수와 로그인 수
+     * */
+    @Query("select r.bucketStart as bucketStart, count(r) as activeUsers, sum(r.loginCount) as logins " +
+            "from LoginMemberRollup r where r.granularity = :granularity and r.bucketStart >= :from and r.bucketStart < :to " +
+            "group by r.bucketStart order by r.bucketStart asc")
+    List<BucketActivity> findActivity(@Param("granularity") RollupGranularity granularity,
+                                      @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    /**
+     * 기간 전체의 고유 활성 사용자 수
+     * */
+    @Query("select count(distinct r.memberId) from LoginMemberRollup r " +
+            "where r.granularity = :granularity and r.bucketStart >= :from and r.bucketStart < :to")
+    long countActiveMembers(@Param("granularity") RollupGranularity granularity,
+                            @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    /**
+     * 회원의 집계를 최대 limit개 삭제 (ix_login_member_rollup_member_id)
+     * */
+    @Modifying
+    @Transactional
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "login_member_rollup"))
+    @Query(value = "DELETE FROM login_member_rollup WHERE member_id = :memberId LIMIT :limit", nativeQuery = true)
+    int deleteByMemberId(@Param("memberId") Long memberId, @Param("limit") int limit);
+}
@@ -0,0 +1,28 @@
+package com.lv2dev.echonet.persistence;
+
+import com.lv2dev.echonet.model.LoginPeriodRollup;
+import com.lv2dev.echonet.model.RollupGranularity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface LoginPeriodRollupRepository extends JpaRepository<LoginPeriodRollup, Long> {
+    /**
+     * 구간 시작 시각으로 찾기
+     * */
+    List<LoginPeriodRollup> findByGranularityAndBucketStartIn(RollupGranularity granularity, Collection<LocalDateTime> bucketStarts);
+
+    /**
+     * 기간 안의 구간 조회
+     * */
+    @Query("select r from LoginPeriodRollup r where r.granularity = :granularity " +
+            "and r.bucketStart >= :from and r.bucketStart < :to order by r.bucketStart asc")
+    List<LoginPeriodRollup> findRange(@Param("granularity") RollupGranularity granularity,
+                                      @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+}
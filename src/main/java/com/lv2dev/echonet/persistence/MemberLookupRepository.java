@@ -0,0 +1,18 @@
+package com.lv2dev.echonet.persistence;
+
+import com.lv2dev.echonet.model.Member;
+
+import java.util.Optional;
+
+/**
+ * 2차 캐시를 사용하는 회원 조회 메소드입니다. (MemberRepository에 포함됨)
+ */
+public interface MemberLookupRepository {
+    /**
+     * 이메일로 찾기
+     * 이메일은 회원의 자연 키이므로 이메일 -> ID 캐시와 회원 캐시에 있으면 데이터베이스를 거치지 않습니다.
+     * 다른 인스턴스의 변경은 {@link com.lv2dev.echonet.config.MemberCacheInvalidator}의 조회 주기 안에 반영되므로 로그인에 사용합니다.
+     * 그 밖의 인증 확인(현재 비밀번호 확인 등)에는 {@link MemberRepository#findCredentialsByEmail}을 사용합니다.
+     * */
+    Optional<Member> findByEmail(String email);
+}
@@ -0,0 +1,38 @@
+package com.lv2dev.echonet.persistence;
+
+import com.lv2dev.echonet.model.Member;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+/**
+ * 파생 쿼리(where email = ?)는 2차 캐시를 거치지 않으므로 자연 키 조회로 구현합니다.
+ */
+public class MemberLookupRepositoryImpl implements MemberLookupRepository {
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // 캐시에 없을 때 지연된 복제본의 행을 캐시에 올리지 않도록 주 데이터베이스에서 읽음
+    @Override
+    @Transactional
+    public Optional<Member> findByEmail(String email) {
+        if (email == null) {
+            return Optional.empty();
+        }
+        Optional<Member> member = entityManager.unwrap(Session.class).bySimpleNaturalId(Member.class).loadOptional(email);
+        if (member.isPresent() && member.get().getState() != Member.STATE_DELETED) {
+            return member;
+        }
+        // 이메일 -> ID 캐시는 정리된 회원을 계속 가리킬 수 있으므로(같은 이메일로 다시 가입한 경우) 데이터베이스에서 다시 확인
+        return entityManager.createQuery("select m from Member m where m.email = :email", Member.class)
+                .setParameter("email", email)
+                .setHint(HibernateHints.HINT_CACHE_MODE, CacheMode.REFRESH)
+                .getResultStream()
+                .findFirst();
+    }
+}
@@ -1,19 +1,27 @@
 package com.lv2dev.echonet.persistence;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.lv2dev.echonet.dto.MemberExportDTO;
+import com.lv2dev.echonet.dto.MemberProfileDTO;
 import com.lv2dev.echonet.model.Member;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface MemberRepository extends JpaRepository<Member, Long> {
-    /**
-     * 이메일로 찾기
-     * */
-    Optional<Member> findByEmail(String email);
-
+public interface MemberRepository extends JpaRepository<Member, Long>, MemberLookupRepository {
     /**
      * existsByEmail
      * */
@@ -29,4 +37,158 @@ public interface MemberRepository extends JpaRepository<Member, Long> {
      * */
     Optional<Member> findById(Long id);
 
+    /**
+     * 인증용 이메일 조회 (현재 비밀번호 확인, 비밀번호 재설정 요청)
+     * 자주 실행되지 않는 인증 확인은 다른 인스턴스의 변경이 캐시에서 지워지기를 기다리지 않도록
+     * 주 데이터베이스에서 읽고 캐시는 읽지 않습니다. 읽은 값으로 캐시 항목을 갱신합니다. (CacheMode.REFRESH)
+     * 로그인과 토큰 갱신은 캐시를 사용합니다. ({@link com.lv2dev.echonet.config.MemberCacheInvalidator})
+     * */
+    @Transactional
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "REFRESH"))
+    @Query("select m from Member m where m.email = :email")
+    Optional<Member> findCredentialsByEmail(@Param("email") String email);
+
+    /**
+     * 인증용 ID 조회 (관리자 확인). findCredentialsByEmail과 같이 주 데이터베이스에서 캐시 없이 읽습니다.
+     * */
+    @Transactional
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "REFRESH"))
+    @Query("select m from Member m where m.id = :id")
+    Optional<Member> findCredentialsById(@Param("id") Long id);
+
+    /**
+     * 최근 seconds초 동안 정보나 탈퇴 상태가 바뀐 회원 ID (ix_member_changed_at)
+     * 캐시를 지우는 데 쓰므로 복제본이 아닌 주 데이터베이스에서, 데이터베이스 시각 기준으로 조회합니다.
+     * */
+    @Transactional
+    @Query(value = "SELECT id FROM member WHERE changed_at >= NOW(6) - INTERVAL :seconds SECOND", nativeQuery = true)
+    List<Long> findChangedWithin(@Param("seconds") int seconds);
+
+    /**
+     * 회원 프로필 조회 (탈퇴 처리 중인 회원 제외)
+     * 필요한 컬럼만 읽고 영속성 컨텍스트에 올리지 않습니다.
+     * */
+    @Query("select new com.lv2dev.echonet.dto.MemberProfileDTO(m.id, m.nickname, m.profile, m.version) from Member m " +
+            "where m.id = :id and m.state = com.lv2dev.echonet.model.Member.STATE_ACTIVE")
+    Optional<MemberProfileDTO> findProfile(@Param("id") Long id);
+
+    /**
+     * 여러 회원의 프로필을 한 번의 쿼리로 조회 (기본 키 IN 검색)
+     * */
+    @Query("select new com.lv2dev.echonet.dto.MemberProfileDTO(m.id, m.nickname, m.profile, m.version) from Member m " +
+            "where m.id in :ids and m.state = com.lv2dev.echonet.model.Member.STATE_ACTIVE")
+    List<MemberProfileDTO> findProfiles(@Param("ids") Collection<Long> ids);
+
+    interface Identity {
+        String getEmail();
+
+        String getNickname();
+    }
+
+    /**
+     * 주어진 이메일이나 닉네임을 이미 사용하는 회원 조회 (일괄 가입용)
+     * 한 번의 쿼리로 두 고유 인덱스(ux_member_email, ux_member_nickname)를 함께 확인합니다.
+     * */
+    @Query("select m.email as email, m.nickname as nickname from Member m where m.email in :emails or m.nickname in :nicknames")
+    List<Identity> findIdentities(@Param("emails") Collection<String> emails, @Param("nicknames") Collection<String> nicknames);
+
+    /**
+     * 주어진 URL 중 회원 프로필로 사용 중인 URL 조회 (고아 객체 정리용)
+     * */
+    @Query("select m.profile from Member m where m.profile in :profiles")
+    List<String> findExistingProfiles(@Param("profiles") Collection<String> profiles);
+
+    /*
+     * 아래 부분 갱신 메소드는 엔티티를 읽지 않고 UPDATE 한 번으로 처리합니다. 반환값은 갱신된 행 수입니다.
+     * 회원 정보(닉네임, 비밀번호, 프로필) 변경은 버전을 올리고,
+     * 로그인 시도 횟수와 리프레시 토큰 같은 상태 값은 버전을 올리지 않습니다.
+     * 버전을 올리는 변경은 changed_at도 기록해 다른 인스턴스가 캐시 항목을 지우게 합니다. (MemberCacheInvalidator)
+     * UPDATE 문은 실행될 때마다 회원 2차 캐시 영역 전체를 비우므로, 로그인처럼 자주 실행되는 변경은 엔티티를 수정해 저장합니다.
+     */
+
+    /**
+     * 닉네임 변경
+     * */
+    @Transactional
+    @Modifying
+    @Query("update Member m set m.nickname = :nickname, m.version = m.version + 1, m.changedAt = local datetime where m.id = :id")
+    int updateNickname(@Param("id") Long id, @Param("nickname") String nickname);
+
+    /**
+     * 프로필 변경. 읽은 시점의 버전과 같을 때만 변경합니다.
+     * */
+    @Transactional
+    @Modifying
+    @Query("update Member m set m.profile = :profile, m.version = m.version + 1, m.changedAt = local datetime where m.id = :id and m.version = :version")
+    int updateProfile(@Param("id") Long id, @Param("profile") String profile, @Param("version") long version);
+
+    /**
+     * 비밀번호 변경. 읽은 시점의 버전과 같을 때만 변경합니다.
+     * */
+    @Transactional
+    @Modifying
+    @Query("update Member m set m.password = :password, m.version = m.version + 1, m.changedAt = local datetime where m.id = :id and m.version = :version")
+    int updatePassword(@Param("id") Long id, @Param("password") String password, @Param("version") long version);
+
+    /**
+     * 이메일로 비밀번호 변경
+     * */
+    @Transactional
+    @Modifying
+    @Query("update Member m set m.password = :password, m.version = m.version + 1, m.changedAt = local datetime where m.email = :email")
+    int updatePasswordByEmail(@Param("email") String email, @Param("password") String password);
+
+    /**
+     * 로그인 실패 횟수 증가
+     * */
+    @Transactional
+    @Modifying
+    @Query("update Member m set m.loginAttempt = m.loginAttempt + 1, m.lastLoginAttempt = :attemptedAt where m.id = :id")
+    int incrementLoginAttempt(@Param("id") Long id, @Param("attemptedAt") LocalDateTime attemptedAt);
+
+    /**
+     * 잠금 해제 후 첫 로그인 실패 기록
+     * */
+    @Transactional
+    @Modifying
+    @Query("update Member m set m.loginAttempt = 1, m.lastLoginAttempt = :attemptedAt where m.id = :id")
+    int restartLoginAttempt(@Param("id") Long id, @Param("attemptedAt") LocalDateTime attemptedAt);
+
+    /**
+     * 로그인 실패 횟수 초기화
+     * */
+    @Transactional
+    @Modifying
+    @Query("update Member m set m.loginAttempt = 0 where m.id = :id and m.loginAttempt <> 0")
+    int resetLoginAttempt(@Param("id") Long id);
+
+    /**
+     * 탈퇴 처리. 상태를 바꾸고 리프레시 토큰을 폐기합니다. 이미 탈퇴 처리된 회원이면 0을 반환
+     * */
+    @Transactional
+    @Modifying
+    @Query("update Member m set m.state = com.lv2dev.echonet.model.Member.STATE_DELETED, m.refreshToken = null, " +
+            "m.version = m.version + 1, m.changedAt = local datetime where m.id = :id and m.state <> com.lv2dev.echonet.model.Member.STATE_DELETED")
+    int markDeleted(@Param("id") Long id);
+
+    /**
+     * 탈퇴 처리된 회원 행 삭제. 정리 작업이 다시 실행되어도 한 번만 1을 반환
+     * */
+    @Transactional
+    @Modifying
+    @Query("delete from Member m where m.id = :id and m.state = com.lv2dev.echonet.model.Member.STATE_DELETED")
+    int deleteIfDeleted(@Param("id") Long id);
+
+    /**
+     * 내보내기용 전체 회원 스트림 (id순)
+     * 엔티티 대신 DTO로 읽고 드라이버가 fetch size 단위로 가져오므로, 회원 수와 관계없이 메모리 사용량이 일정합니다.
+     * 트랜잭션 안에서 사용하고 다 읽은 뒤 닫아야 합니다.
+     * */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select new com.lv2dev.echonet.dto.MemberExportDTO(m.id, m.email, m.nickname, m.joinDay, m.role, m.state) " +
+            "from Member m order by m.id")
+    Stream<MemberExportDTO> streamForExport();
 }
@@ -1,8 +1,69 @@
 package com.lv2dev.echonet.persistence;
 
-import com.lv2dev.echonet.model.Member;
 import com.lv2dev.echonet.model.PasswordResetToken;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
 
 public interface PasswordResetTokenRepository extends JpaRepository<PasswordResetToken, Long> {
+
+    /**
+     * 토큰 해시로 찾기
+     * 재설정에 회원 이메일이 필요하므로 회원을 같은 쿼리에서 join으로 함께 읽습니다.
+     * */
+    @EntityGraph(attributePaths = "member")
+    Optional<PasswordResetToken> findByTokenHash(String tokenHash);
+
+    /**
+     * 회원의 토큰 찾기 (회원당 하나)
+     * */
+    Optional<PasswordResetToken> findByMemberId(Long memberId);
+
+    /**
+     * 회원의 토큰을 발급하거나 교체 (회원당 하나, ux_password_reset_token_user)
+     * 한 문장으로 처리하므로 같은 회원의 요청이 동시에 와도 고유 제약 위반 없이 마지막 요청의 토큰만 남습니다.
+     * */
+    @Modifying
+    @Transactional
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "password_reset_token"))
+    @Query(value = "INSERT INTO password_reset_token (id, token_hash, user_id, expiry_date) " +
+            "VALUES (NEXTVAL(password_reset_token_seq), :tokenHash, :memberId, :expiryDate) " +
+            "ON DUPLICATE KEY UPDATE token_hash = VALUES(token_hash), expiry_date = VALUES(expiry_date)", nativeQuery = true)
+    int upsert(@Param("memberId") Long memberId, @Param("tokenHash") String tokenHash, @Param("expiryDate") LocalDateTime expiryDate);
+
+    /**
+     * 토큰 사용 처리
+     * 같은 토큰으로 동시에 요청해도 한 요청만 1을 받습니다.
+     * */
+    @Modifying
+    @Transactional
+    @Query("delete from PasswordResetToken t where t.id = :id and t.tokenHash = :tokenHash")
+    int consume(@Param("id") Long id, @Param("tokenHash") String tokenHash);
+
+    /**
+     * 회원의 토큰 삭제
+     * */
+    @Modifying
+    @Transactional
+    @Query("delete from PasswordResetToken t where t.member.id = :memberId")
+    int deleteByMemberId(@Param("memberId") Long memberId);
+
+    /**
+     * 만료된 토큰을 최대 limit개 삭제
+     * 만료 시각 인덱스 범위만 읽으므로 테이블 크기와 관계없이 한 번의 비용이 limit에 비례합니다.
+     * */
+    @Modifying
+    @Transactional
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "password_reset_token"))
+    @Query(value = "DELETE FROM password_reset_token WHERE expiry_date < :now ORDER BY expiry_date LIMIT :limit", nativeQuery = true)
+    int deleteExpired(@Param("now") LocalDateTime now, @Param("limit") int limit);
 }
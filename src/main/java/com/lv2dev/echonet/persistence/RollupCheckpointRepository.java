@@ -0,0 +1,21 @@
+package com.lv2dev.echonet.persistence;
+
+import com.lv2dev.echonet.model.RollupCheckpoint;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface RollupCheckpointRepository extends JpaRepository<RollupCheckpoint, String> {
+    /**
+     * 진행 위치를 잠그고 조회. 여러 인스턴스 중 한 곳만 같은 구간을 집계하도록 트랜잭션 안에서 사용합니다.
+     * */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select c from RollupCheckpoint c where c.name = :name")
+    Optional<RollupCheckpoint> findForUpdate(@Param("name") String name);
+}
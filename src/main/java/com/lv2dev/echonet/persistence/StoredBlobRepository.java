@@ -0,0 +1,58 @@
+package com.lv2dev.echonet.persistence;
+
+import com.lv2dev.echonet.model.StoredBlob;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 내용 주소 기반 객체의 참조 수를 관리하는 인터페이스입니다.
+ * 참조 수 변경은 모두 단일 UPDATE 문으로 처리해 동시 업로드 간 경합을 데이터베이스에 맡깁니다.
+ */
+@Repository
+public interface StoredBlobRepository extends JpaRepository<StoredBlob, String> {
+
+    /**
+     * 참조 수 증가. 삭제 중(-1)인 객체는 증가시키지 않습니다.
+     * */
+    @Transactional
+    @Modifying
+    @Query("update StoredBlob b set b.refCount = b.refCount + 1, b.releasedAt = null where b.hash = :hash and b.refCount >= 0")
+    int acquire(@Param("hash") String hash);
+
+    /**
+     * 참조 수 감소
+     * */
+    @Transactional
+    @Modifying
+    @Query("update StoredBlob b set b.refCount = b.refCount - 1, b.releasedAt = :now where b.hash = :hash and b.refCount > 0")
+    int release(@Param("hash") String hash, @Param("now") LocalDateTime now);
+
+    /**
+     * 가비지 컬렉션 대상 선점. 참조 수가 여전히 0일 때만 삭제 중(-1)으로 표시합니다.
+     * */
+    @Transactional
+    @Modifying
+    @Query("update StoredBlob b set b.refCount = -1 where b.hash = :hash and b.refCount = 0")
+    int claimForCollection(@Param("hash") String hash);
+
+    /**
+     * 유예 시간이 지난 미참조 객체 조회 (이전 수거 중 중단된 -1 상태 포함)
+     * */
+    @Query("select b from StoredBlob b where b.refCount <= 0 and b.releasedAt < :cutoff")
+    List<StoredBlob> findUnreferenced(@Param("cutoff") LocalDateTime cutoff, Pageable pageable);
+
+    /**
+     * 주어진 키 중 등록된 객체 키 조회 (고아 객체 정리용)
+     * */
+    @Query("select b.storageKey from StoredBlob b where b.storageKey in :keys")
+    List<String> findExistingKeys(@Param("keys") Collection<String> keys);
+}
@@ -0,0 +1,49 @@
+package com.lv2dev.echonet.persistence;
+
+import com.lv2dev.echonet.model.StoredFile;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 파일 메타데이터를 데이터베이스에 저장하는 인터페이스입니다.
+ */
+@Repository
+public interface StoredFileRepository extends JpaRepository<StoredFile, Long> {
+
+    /**
+     * 소유자와 경로로 찾기
+     * */
+    Optional<StoredFile> findByOwnerIdAndPath(Long ownerId, String path);
+
+    /**
+     * 폴더의 하위 항목을 이름순으로 조회 (키셋 페이징)
+     * OFFSET 없이 마지막으로 받은 이름 이후만 읽으므로 항목이 많아도 페이지 비용이 일정합니다.
+     * */
+    @Query("select f from StoredFile f where f.ownerId = :ownerId and f.parentPath = :parentPath and f.name > :after order by f.name asc")
+    List<StoredFile> findChildren(@Param("ownerId") Long ownerId, @Param("parentPath") String parentPath,
+                                  @Param("after") String after, Pageable pageable);
+
+    /**
+     * 특정 경로 하위의 항목을 최대 pageable 크기만큼 조회 (폴더 삭제용, ux_stored_file_owner_path 범위 탐색)
+     * */
+    List<StoredFile> findByOwnerIdAndPathStartingWith(Long ownerId, String pathPrefix, Pageable pageable);
+
+    /**
+     * 소유자의 항목을 최대 pageable 크기만큼 조회 (탈퇴 정리용, ux_stored_file_owner_path)
+     * */
+    @Query("select f from StoredFile f where f.ownerId = :ownerId")
+    List<StoredFile> findByOwnerId(@Param("ownerId") Long ownerId, Pageable pageable);
+
+    /**
+     * 주어진 URL 중 파일로 등록된 URL 조회 (고아 객체 정리용)
+     * */
+    @Query("select f.storageUrl from StoredFile f where f.storageUrl in :urls")
+    List<String> findExistingStorageUrls(@Param("urls") Collection<String> urls);
+}
@@ -0,0 +1,29 @@
+package com.lv2dev.echonet.persistence;
+
+import com.lv2dev.echonet.model.UploadPart;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * 업로드 세션의 파트 목록을 데이터베이스에 저장하는 인터페이스입니다.
+ */
+@Repository
+public interface UploadPartRepository extends JpaRepository<UploadPart, Long> {
+
+    /**
+     * 세션의 파트를 파트 번호순으로 조회
+     * */
+    List<UploadPart> findBySessionIdOrderByPartNumberAsc(Long sessionId);
+
+    /**
+     * 세션의 파트 삭제
+     * */
+    @Modifying
+    @Query("delete from UploadPart p where p.sessionId = :sessionId")
+    int deleteBySessionId(@Param("sessionId") Long sessionId);
+}
@@ -0,0 +1,57 @@
+package com.lv2dev.echonet.persistence;
+
+import com.lv2dev.echonet.model.UploadSession;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 분할 업로드 세션을 데이터베이스에 저장하는 인터페이스입니다.
+ */
+@Repository
+public interface UploadSessionRepository extends JpaRepository<UploadSession, Long> {
+
+    /**
+     * 세션 식별자로 찾기
+     * */
+    Optional<UploadSession> findByUploadId(String uploadId);
+
+    /**
+     * 청크 수신을 위해 세션을 점유. 다른 요청이 점유 중이면 0을 반환합니다.
+     * 데이터베이스 락을 잡은 채로 S3 전송을 기다리지 않도록 기한이 있는 점유 표시를 사용합니다.
+     * */
+    @Transactional
+    @Modifying
+    @Query("update UploadSession s set s.lockedUntil = :until where s.uploadId = :uploadId and (s.lockedUntil is null or s.lockedUntil < :now)")
+    int claim(@Param("uploadId") String uploadId, @Param("now") LocalDateTime now, @Param("until") LocalDateTime until);
+
+    /**
+     * 청크 반영 후 오프셋을 전진시키고 점유를 해제
+     * */
+    @Transactional
+    @Modifying
+    @Query("update UploadSession s set s.uploadOffset = s.uploadOffset + :length, s.nextPartNumber = s.nextPartNumber + 1, s.lockedUntil = null where s.id = :id")
+    int advance(@Param("id") Long id, @Param("length") long length);
+
+    /**
+     * 점유 해제
+     * */
+    @Transactional
+    @Modifying
+    @Query("update UploadSession s set s.lockedUntil = null where s.id = :id")
+    int unclaim(@Param("id") Long id);
+
+    /**
+     * 만료된 세션 중 점유되지 않은 세션 조회
+     * */
+    @Query("select s from UploadSession s where s.expiresAt < :now and (s.lockedUntil is null or s.lockedUntil < :now)")
+    List<UploadSession> findExpired(@Param("now") LocalDateTime now, Pageable pageable);
+}
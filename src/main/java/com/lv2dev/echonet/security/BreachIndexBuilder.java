@@ -0,0 +1,90 @@
+package com.lv2dev.echonet.security;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * 유출 비밀번호 SHA-1 목록을 {@link BreachIndexChecker}가 매핑하는 인덱스 파일로 변환합니다.
+ *
+ * 입력은 해시 순으로 정렬된 "SHA1HEX[:count]" 형식의 텍스트(.gz 가능)입니다. (Have I Been Pwned의 ordered-by-hash 목록)
+ * 출력은 20바이트 해시를 중복 없이 이어 붙인 파일이며, 입력이 정렬되어 있지 않으면 중단합니다.
+ * 실행: ./gradlew buildBreachIndex -PbreachCorpus=... -PbreachIndex=...
+ */
+public class BreachIndexBuilder {
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: BreachIndexBuilder <corpus.txt[.gz]> <index.bin>");
+            System.exit(1);
+        }
+        long count = build(Path.of(args[0]), Path.of(args[1]));
+        System.out.println("Wrote " + count + " hashes to " + args[1]);
+    }
+
+    /**
+     * @return 기록한 해시 수.
+     */
+    static long build(Path corpus, Path index) throws IOException {
+        Path temp = Files.createTempFile(index.toAbsolutePath().getParent(), index.getFileName().toString(), ".tmp");
+        long count = 0;
+        try (InputStream raw = Files.newInputStream(corpus);
+             InputStream in = corpus.toString().endsWith(".gz") ? new GZIPInputStream(raw, 1 << 16) : raw;
+             BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.US_ASCII), 1 << 16);
+             OutputStream out = new BufferedOutputStream(Files.newOutputStream(temp), 1 << 16)) {
+            byte[] previous = null;
+            byte[] current = new byte[BreachIndexChecker.RECORD_BYTES];
+            String line;
+            long lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                if (!parseSha1(line, current)) {
+                    throw new IllegalArgumentException("Line " + lineNumber + " is not a SHA-1 hash");
+                }
+
+                if (previous != null) {
+                    int cmp = Arrays.compareUnsigned(previous, current);
+                    if (cmp == 0) {
+                        continue;
+                    }
+                    if (cmp > 0) {
+                        throw new IllegalArgumentException("Corpus is not sorted by hash at line " + lineNumber);
+                    }
+                } else {
+                    previous = new byte[BreachIndexChecker.RECORD_BYTES];
+                }
+                out.write(current);
+                System.arraycopy(current, 0, previous, 0, current.length);
+                count++;
+            }
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        // 완성된 파일만 보이도록 마지막에 이동
+        Files.move(temp, index, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return count;
+    }
+
+    private static boolean parseSha1(String line, byte[] out) {
+        if (line.length() < 40) {
+            return false;
+        }
+        for (int i = 0; i < out.length; i++) {
+            int high = Character.digit(line.charAt(i * 2), 16);
+            int low = Character.digit(line.charAt(i * 2 + 1), 16);
+            if (high < 0 || low < 0) {
+                return false;
+            }
+            out[i] = (byte) (high << 4 | low);
+        }
+        return true;
+    }
+}
@@ -0,0 +1,184 @@
+package com.lv2dev.echonet.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * 메모리 매핑한 SHA-1 인덱스 파일로 유출 여부를 확인합니다.
+ *
+ * 인덱스는 {@link BreachIndexBuilder}가 만든 파일로, 20바이트 SHA-1 해시가 오름차순으로 이어져 있습니다.
+ * 수억 개의 해시를 힙에 올리지 않도록 파일을 그대로 매핑하고 이진 탐색하므로, 필요한 페이지만 OS 페이지 캐시에 올라옵니다.
+ * 하나의 매핑은 2GB를 넘을 수 없어 레코드 경계에 맞춘 여러 구간으로 나누어 매핑합니다.
+ * 해시 계산과 비교에는 스레드별 버퍼를 재사용하므로 조회마다 객체를 할당하지 않습니다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "echonet.password.breach-check", havingValue = "index")
+public class BreachIndexChecker implements BreachedPasswordChecker {
+    static final int RECORD_BYTES = 20;
+
+    // 구간 하나에 담을 레코드 수 (매핑 크기가 Integer.MAX_VALUE를 넘지 않도록)
+    private final long recordsPerSegment;
+
+    private final MappedByteBuffer[] segments;
+
+    private final long recordCount;
+
+    private final ThreadLocal<Scratch> scratch = ThreadLocal.withInitial(Scratch::new);
+
+    public BreachIndexChecker(@Value("${echonet.password.breach-index}") String indexPath) {
+        this(Path.of(indexPath), Integer.MAX_VALUE / RECORD_BYTES);
+    }
+
+    BreachIndexChecker(Path indexPath, long recordsPerSegment) {
+        this.recordsPerSegment = recordsPerSegment;
+        try (FileChannel channel = FileChannel.open(indexPath, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size % RECORD_BYTES != 0) {
+                throw new IllegalStateException("Breach index " + indexPath + " is not a multiple of " + RECORD_BYTES + " bytes");
+            }
+            this.recordCount = size / RECORD_BYTES;
+
+            int segmentCount = (int) ((recordCount + recordsPerSegment - 1) / recordsPerSegment);
+            this.segments = new MappedByteBuffer[segmentCount];
+            long segmentBytes = recordsPerSegment * RECORD_BYTES;
+            for (int i = 0; i < segmentCount; i++) {
+                long position = i * segmentBytes;
+                // 매핑은 채널을 닫은 뒤에도 유지됨
+                segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(segmentBytes, size - position));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to map breach index " + indexPath, e);
+        }
+        log.info("Mapped breach index {} ({} hashes in {} segments)", indexPath, recordCount, segments.length);
+    }
+
+    @Override
+    public boolean isBreached(CharSequence password) {
+        byte[] hash = scratch.get().sha1(password);
+        long high = readLong(hash, 0);
+        long middle = readLong(hash, 8);
+        int low = readInt(hash, 16);
+
+        long from = 0;
+        long to = recordCount - 1;
+        while (from <= to) {
+            long mid = (from + to) >>> 1;
+            int cmp = compare(mid, high, middle, low);
+            if (cmp < 0) {
+                from = mid + 1;
+            } else if (cmp > 0) {
+                to = mid - 1;
+            } else {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public long size() {
+        return recordCount;
+    }
+
+    /**
+     * index번째 레코드와 찾는 해시를 부호 없는 빅엔디언 순서로 비교합니다.
+     */
+    private int compare(long index, long high, long middle, int low) {
+        MappedByteBuffer segment = segments[(int) (index / recordsPerSegment)];
+        int offset = (int) (index % recordsPerSegment) * RECORD_BYTES;
+        int cmp = Long.compareUnsigned(segment.getLong(offset), high);
+        if (cmp != 0) {
+            return cmp;
+        }
+        cmp = Long.compareUnsigned(segment.getLong(offset + 8), middle);
+        if (cmp != 0) {
+            return cmp;
+        }
+        return Integer.compareUnsigned(segment.getInt(offset + 16), low);
+    }
+
+    private static long readLong(byte[] bytes, int offset) {
+        return ((long) readInt(bytes, offset) << 32) | (readInt(bytes, offset + 4) & 0xffffffffL);
+    }
+
+    private static int readInt(byte[] bytes, int offset) {
+        return (bytes[offset] & 0xff) << 24 | (bytes[offset + 1] & 0xff) << 16
+                | (bytes[offset + 2] & 0xff) << 8 | (bytes[offset + 3] & 0xff);
+    }
+
+    /**
+     * 스레드별로 재사용하는 SHA-1 계산 버퍼
+     */
+    private static final class Scratch {
+        private final MessageDigest digest;
+
+        private final byte[] hash = new byte[RECORD_BYTES];
+
+        private byte[] utf8 = new byte[256];
+
+        Scratch() {
+            try {
+                digest = MessageDigest.getInstance("SHA-1");
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        byte[] sha1(CharSequence value) {
+            if (utf8.length < value.length() * 3) {
+                utf8 = new byte[value.length() * 3];
+            }
+            int length = encodeUtf8(value, utf8);
+            digest.update(utf8, 0, length);
+            try {
+                digest.digest(hash, 0, RECORD_BYTES);
+            } catch (DigestException e) {
+                throw new IllegalStateException(e);
+            }
+            return hash;
+        }
+    }
+
+    /**
+     * 문자열 복사 없이 UTF-8로 인코딩합니다. 짝이 맞지 않는 서로게이트는 '?'로 바꿉니다.
+     *
+     * @return 기록한 바이트 수.
+     */
+    static int encodeUtf8(CharSequence value, byte[] out) {
+        int length = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                out[length++] = (byte) c;
+            } else if (c < 0x800) {
+                out[length++] = (byte) (0xc0 | c >> 6);
+                out[length++] = (byte) (0x80 | c & 0x3f);
+            } else if (Character.isHighSurrogate(c) && i + 1 < value.length() && Character.isLowSurrogate(value.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                out[length++] = (byte) (0xf0 | codePoint >> 18);
+                out[length++] = (byte) (0x80 | codePoint >> 12 & 0x3f);
+                out[length++] = (byte) (0x80 | codePoint >> 6 & 0x3f);
+                out[length++] = (byte) (0x80 | codePoint & 0x3f);
+            } else if (Character.isSurrogate(c)) {
+                out[length++] = '?';
+            } else {
+                out[length++] = (byte) (0xe0 | c >> 12);
+                out[length++] = (byte) (0x80 | c >> 6 & 0x3f);
+                out[length++] = (byte) (0x80 | c & 0x3f);
+            }
+        }
+        return length;
+    }
+}
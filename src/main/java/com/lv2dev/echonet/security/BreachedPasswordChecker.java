@@ -0,0 +1,14 @@
+package com.lv2dev.echonet.security;
+
+/**
+ * 유출된 비밀번호 목록에 포함된 비밀번호인지 확인하는 인터페이스입니다.
+ * echonet.password.breach-check 설정에 따라 구현이 선택되며, none이면 확인하지 않습니다.
+ */
+public interface BreachedPasswordChecker {
+
+    /**
+     * @param password 확인할 평문 비밀번호.
+     * @return 유출 목록에 있으면 true.
+     */
+    boolean isBreached(CharSequence password);
+}
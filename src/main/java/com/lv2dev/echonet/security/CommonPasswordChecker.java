@@ -0,0 +1,83 @@
+package com.lv2dev.echonet.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * 로컬 목록(한 줄에 비밀번호 하나, .gz 가능)으로 유출 여부를 확인합니다.
+ *
+ * 목록은 문자열 대신 64비트 해시의 정렬된 long 배열로 압축해 보관하고 이진 탐색으로 조회하므로
+ * 조회 시 객체를 할당하지 않습니다.
+ */
+@Component
+@ConditionalOnProperty(name = "echonet.password.breach-check", havingValue = "list")
+public class CommonPasswordChecker implements BreachedPasswordChecker {
+    private final long[] hashes;
+
+    public CommonPasswordChecker(@Value("${echonet.password.breach-list}") Resource list) {
+        this.hashes = load(list);
+    }
+
+    CommonPasswordChecker(long[] sortedHashes) {
+        this.hashes = sortedHashes;
+    }
+
+    @Override
+    public boolean isBreached(CharSequence password) {
+        return Arrays.binarySearch(hashes, hash(password)) >= 0;
+    }
+
+    public int size() {
+        return hashes.length;
+    }
+
+    private static long[] load(Resource list) {
+        long[] loaded = new long[1024];
+        int count = 0;
+        try (InputStream raw = list.getInputStream();
+             InputStream in = list.getFilename() != null && list.getFilename().endsWith(".gz") ? new GZIPInputStream(raw) : raw;
+             BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                if (count == loaded.length) {
+                    loaded = Arrays.copyOf(loaded, count * 2);
+                }
+                loaded[count++] = hash(line);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to load breached password list " + list, e);
+        }
+        long[] sorted = Arrays.copyOf(loaded, count);
+        Arrays.sort(sorted);
+        return sorted;
+    }
+
+    /**
+     * 64비트 FNV-1a 해시 (문자 단위로 계산해 문자열 복사나 인코딩 없이 처리)
+     */
+    static long hash(CharSequence value) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            h ^= c & 0xff;
+            h *= 0x100000001b3L;
+            h ^= c >>> 8;
+            h *= 0x100000001b3L;
+        }
+        return h;
+    }
+}
@@ -1,5 +1,10 @@
 package com.lv2dev.echonet.security;
 
+import com.lv2dev.echonet.config.AccessLogFilter;
+import com.lv2dev.echonet.model.Member;
+import com.lv2dev.echonet.persistence.MemberRepository;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -25,10 +30,20 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private TokenProvider tokenProvider; // 사용자 정보를 받아 JWT를 생성하는 클래스
     // 토큰을 디코딩 및 파싱하고 위조 여부를 확인 후 subject를 리턴하는 기능 포함
 
+    @Autowired
+    private MemberRepository memberRepository; // 탈퇴 여부 확인. 2차 캐시에서 읽으므로 요청마다 데이터베이스에 가지 않음
+
+    @Autowired
+    private ObservationRegistry observationRegistry; // 토큰 검증 구간의 메트릭과 트레이스 span 기록
+
     // doFilter 대신 스프링에선 doFilterInternal를 오버라이딩. 하지만 내부에서 토큰을 파싱해 인증한다는 점은 같음.
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
-        try {
+        Observation observation = Observation.createNotStarted("echonet.security.jwt.filter", observationRegistry)
+                .contextualName("jwt authentication")
+                .start();
+        String outcome = "anonymous"; // 태그는 anonymous, authenticated, rejected, error 중 하나
+        try (Observation.Scope scope = observation.openScope()) {
             // 요청에서 토큰 가져오기
             String token = parseBearerToken(request);// Http 요청의 헤더를 파싱해 토큰을 리턴하는 함수
 
@@ -36,9 +51,14 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             if (token != null && !token.equalsIgnoreCase("null")){
                 // userId 가져오기. 위조된 경우 예외 처리된다.
                 // 토큰의 위조 여부를 확인하고 subject(userId)를 리턴하는 TokenProvider의 메서드 사용
-                if(tokenProvider.validateToken(token)){
-                    String userId = tokenProvider.validateAndGetUserId(token);
-                    log.info("Authenticated user ID : " + userId);
+                outcome = "rejected";
+                String userId = tokenProvider.validateToken(token) ? tokenProvider.validateAndGetUserId(token) : null;
+                // 탈퇴한 회원의 토큰은 만료 전이라도 거절. 다른 인스턴스의 탈퇴는 캐시 무효화 주기 안에 반영됨
+                if(userId != null && isActiveMember(userId)){
+                    outcome = "authenticated";
+                    // 요청마다 실행되므로 INFO로 남기지 않음. 사용자 ID는 접근 로그에 함께 기록
+                    log.debug("Authenticated user ID : {}", userId);
+                    request.setAttribute(AccessLogFilter.USER_ID_ATTRIBUTE, userId);
                     // 인증 완료. SecurityContextHolder에 등록해야 인증된 사용자라고 생각한다.
                     // 이 객체에 사용자의 인증 정보를 저장
                     AbstractAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
@@ -56,15 +76,24 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                 }
             }
         } catch(Exception ex){
+            outcome = "error";
+            observation.error(ex);
             log.error("Could not set user authentication in security context", ex);
         }
+        // 필터 체인의 나머지가 아닌 토큰 검증 구간만 측정
+        observation.lowCardinalityKeyValue("outcome", outcome).stop();
 
         filterChain.doFilter(request,response);
     }
 
+    private boolean isActiveMember(String userId) {
+        return memberRepository.findById(Long.parseLong(userId))
+                .map(member -> member.getState() != Member.STATE_DELETED)
+                .orElse(false);
+    }
+
     private String parseBearerToken(HttpServletRequest request) {
         String bearerToken = request.getHeader("Authorization");
-        log.debug("Authorization Header: " + bearerToken);
         if (StringUtils.hasText(bearerToken) && bearerToken.startsWith("Bearer ")) {
             return bearerToken.substring(7);
         }
@@ -0,0 +1,42 @@
+package com.lv2dev.echonet.security;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * 비밀번호 해시 계산 구간을 span으로 기록하는 PasswordEncoder 래퍼입니다.
+ * 로그인 지연이 BCrypt 연산 때문인지 DB 조회 때문인지 트레이스에서 구분할 수 있습니다.
+ */
+public class ObservedPasswordEncoder implements PasswordEncoder {
+    private final PasswordEncoder delegate;
+
+    private final ObservationRegistry observationRegistry;
+
+    public ObservedPasswordEncoder(PasswordEncoder delegate, ObservationRegistry observationRegistry) {
+        this.delegate = delegate;
+        this.observationRegistry = observationRegistry;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return observation("encode").observe(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        Boolean matched = observation("matches").observe(() -> delegate.matches(rawPassword, encodedPassword));
+        return Boolean.TRUE.equals(matched);
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    private Observation observation(String operation) {
+        return Observation.createNotStarted("echonet.security.password", observationRegistry)
+                .contextualName("password " + operation)
+                .lowCardinalityKeyValue("operation", operation);
+    }
+}
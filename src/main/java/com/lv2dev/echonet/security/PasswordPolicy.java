@@ -0,0 +1,139 @@
+package com.lv2dev.echonet.security;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 비밀번호 규칙을 검사합니다.
+ *
+ * 정규식 대신 문자열을 한 번만 훑으며 문자 종류를 비트로 기록하므로 입력 길이에 비례하는 시간만 걸리고 객체를 할당하지 않습니다.
+ * 최대 길이를 먼저 확인해 매우 긴 입력으로 CPU를 소모시키는 요청도 바로 거절합니다.
+ * 유출 비밀번호 확인은 {@link BreachedPasswordChecker} 구현이 등록된 경우에만 수행합니다.
+ */
+@Component
+public class PasswordPolicy {
+
+    public enum Result {
+        OK("ok"),
+        TOO_SHORT("is too short"),
+        TOO_LONG("is too long"),
+        WHITESPACE("must not contain whitespace"),
+        MISSING_UPPERCASE("must contain an uppercase letter"),
+        MISSING_LOWERCASE("must contain a lowercase letter"),
+        MISSING_DIGIT("must contain a digit"),
+        MISSING_SPECIAL("must contain a special character"),
+        BREACHED("appears in a list of breached passwords");
+
+        private final String message;
+
+        Result(String message) {
+            this.message = message;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+    }
+
+    private static final int UPPER = 1;
+
+    private static final int LOWER = 1 << 1;
+
+    private static final int DIGIT = 1 << 2;
+
+    private static final int SPECIAL = 1 << 3;
+
+    private final int minLength;
+
+    private final int maxLength;
+
+    private final int requiredClasses;
+
+    // ASCII 특수문자 조회 테이블
+    private final boolean[] specials = new boolean[128];
+
+    private final BreachedPasswordChecker breachedPasswordChecker;
+
+    public PasswordPolicy(@Value("${echonet.password.min-length}") int minLength,
+                          @Value("${echonet.password.max-length}") int maxLength,
+                          @Value("${echonet.password.require-uppercase}") boolean requireUppercase,
+                          @Value("${echonet.password.require-lowercase}") boolean requireLowercase,
+                          @Value("${echonet.password.require-digit}") boolean requireDigit,
+                          @Value("${echonet.password.require-special}") boolean requireSpecial,
+                          @Value("${echonet.password.special-characters}") String specialCharacters,
+                          ObjectProvider<BreachedPasswordChecker> breachedPasswordChecker) {
+        this(minLength, maxLength, requireUppercase, requireLowercase, requireDigit, requireSpecial, specialCharacters,
+                breachedPasswordChecker.getIfAvailable());
+    }
+
+    PasswordPolicy(int minLength, int maxLength, boolean requireUppercase, boolean requireLowercase, boolean requireDigit,
+                   boolean requireSpecial, String specialCharacters, BreachedPasswordChecker breachedPasswordChecker) {
+        this.minLength = minLength;
+        this.maxLength = maxLength;
+        this.requiredClasses = (requireUppercase ? UPPER : 0) | (requireLowercase ? LOWER : 0)
+                | (requireDigit ? DIGIT : 0) | (requireSpecial ? SPECIAL : 0);
+        for (int i = 0; i < specialCharacters.length(); i++) {
+            char c = specialCharacters.charAt(i);
+            if (c < 128) {
+                specials[c] = true;
+            }
+        }
+        this.breachedPasswordChecker = breachedPasswordChecker;
+    }
+
+    /**
+     * 비밀번호를 검사합니다. 여러 규칙을 어기면 처음 발견한 규칙을 반환합니다.
+     *
+     * @param password 검사할 평문 비밀번호.
+     * @return 검사 결과.
+     */
+    public Result check(CharSequence password) {
+        if (password == null || password.length() < minLength) {
+            return Result.TOO_SHORT;
+        }
+        if (password.length() > maxLength) {
+            return Result.TOO_LONG;
+        }
+
+        int classes = 0;
+        for (int i = 0; i < password.length(); i++) {
+            char c = password.charAt(i);
+            if (c >= 'a' && c <= 'z') {
+                classes |= LOWER;
+            } else if (c >= 'A' && c <= 'Z') {
+                classes |= UPPER;
+            } else if (c >= '0' && c <= '9') {
+                classes |= DIGIT;
+            } else if (c < 128) {
+                if (c <= ' ' || c == 127) {
+                    return Result.WHITESPACE;
+                }
+                if (specials[c]) {
+                    classes |= SPECIAL;
+                }
+            } else if (Character.isWhitespace(c) || Character.isSpaceChar(c)) {
+                return Result.WHITESPACE;
+            }
+        }
+
+        int missing = requiredClasses & ~classes;
+        if ((missing & UPPER) != 0) {
+            return Result.MISSING_UPPERCASE;
+        }
+        if ((missing & LOWER) != 0) {
+            return Result.MISSING_LOWERCASE;
+        }
+        if ((missing & DIGIT) != 0) {
+            return Result.MISSING_DIGIT;
+        }
+        if ((missing & SPECIAL) != 0) {
+            return Result.MISSING_SPECIAL;
+        }
+
+        if (breachedPasswordChecker != null && breachedPasswordChecker.isBreached(password)) {
+            return Result.BREACHED;
+        }
+        return Result.OK;
+    }
+}
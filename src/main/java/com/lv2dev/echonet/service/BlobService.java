@@ -0,0 +1,217 @@
+package com.lv2dev.echonet.service;
+
+import com.lv2dev.echonet.model.StoredBlob;
+import com.lv2dev.echonet.persistence.StoredBlobRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * 내용 주소 기반으로 업로드 파일을 중복 없이 저장하는 서비스입니다.
+ *
+ * 업로드는 임시(staging) 키로 스트리밍되며 그 과정에서 SHA-256을 계산합니다.
+ * 같은 해시의 객체가 이미 있으면 참조 수만 올리고 임시 객체를 지우며,
+ * 없으면 임시 객체를 blobs/{해시} 키로 서버 측 이동한 뒤에 참조 수 1로 등록합니다.
+ * 참조가 모두 해제된 객체는 유예 시간이 지난 뒤 백그라운드 수거 작업이 삭제합니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BlobService {
+    static final String BLOB_PREFIX = "blobs";
+
+    static final String STAGING_PREFIX = "staging";
+
+    // 가비지 컬렉터가 삭제 중인 객체와 경합할 때의 최대 재시도 횟수
+    private static final int MAX_ACQUIRE_ATTEMPTS = 5;
+
+    // 한 번의 수거 작업에서 처리할 최대 객체 수 (다중 객체 삭제 한 번의 최대치)
+    private static final int GC_BATCH_SIZE = S3DeletionQueue.MAX_BATCH_SIZE;
+
+    private final StoredBlobRepository storedBlobRepository;
+
+    private final S3Service s3Service;
+
+    private final S3DeletionQueue s3DeletionQueue;
+
+    private final PlatformTransactionManager transactionManager;
+
+    // 참조 해제 후 실제 삭제까지의 유예 시간 (분 단위)
+    @Value("${echonet.storage.blob-gc-grace-minutes}")
+    private int gcGraceMinutes;
+
+    /**
+     * 파일을 저장하고 참조를 하나 획득합니다.
+     * 참조는 호출자의 트랜잭션과 따로 커밋되므로, 호출자가 이후에 실패하면 참조를 해제해야 합니다.
+     * (트랜잭션 안에서는 {@link #releaseOnRollback(String)}, 밖에서는 실패 시 {@link #release(String)})
+     *
+     * @param file 저장할 파일.
+     * @return 저장된(또는 이미 존재하던) 객체.
+     * @throws IOException 파일 업로드 중 오류 발생 시.
+     */
+    // 등록 경합 시 재시도해야 하므로 호출자의 트랜잭션에 참여하지 않고 쿼리마다 짧은 트랜잭션을 사용
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public StoredBlob store(MultipartFile file) throws IOException {
+        S3Service.HashedObject staged = s3Service.uploadFileWithDigest(file, STAGING_PREFIX, UUID.randomUUID().toString());
+        String hash = staged.sha256();
+
+        boolean moved = false; // 임시 객체를 blobs/{해시}로 옮겼는지
+        for (int attempt = 0; attempt < MAX_ACQUIRE_ATTEMPTS; attempt++) {
+            // 이미 같은 내용이 있으면 메타데이터만 갱신
+            if (storedBlobRepository.acquire(hash) > 0) {
+                if (!moved) {
+                    s3Service.deleteObject(staged.key());
+                }
+                return storedBlobRepository.findById(hash).orElseThrow();
+            }
+            // 수거 중(-1)인 행이 남아있으면 그 객체는 곧 삭제되므로, 덮어쓰지 않고 행이 지워질 때까지 기다림
+            if (storedBlobRepository.existsById(hash)) {
+                log.debug("Blob {} is being collected, retrying", hash);
+                backOff(attempt);
+                continue;
+            }
+
+            // 객체를 먼저 제자리에 옮긴 뒤 행을 등록하므로, 행을 보고 참조를 얻은 요청은 항상 존재하는 객체를 받음
+            // 같은 해시면 내용도 같으므로 동시에 같은 키로 옮겨도 결과는 같음
+            String key = blobKey(hash);
+            if (!moved) {
+                s3Service.moveObject(staged.key(), key);
+                moved = true;
+            }
+            try {
+                return storedBlobRepository.saveAndFlush(StoredBlob.builder()
+                        .hash(hash)
+                        .storageKey(key)
+                        .storageUrl(s3Service.getUrl(key))
+                        .size(staged.size())
+                        .contentType(file.getContentType())
+                        .refCount(1)
+                        .createdAt(LocalDateTime.now())
+                        .build());
+            } catch (DataIntegrityViolationException e) {
+                // 다른 요청이 같은 내용을 먼저 등록함 -> 다음 시도에서 참조를 얻음
+                log.debug("Blob {} registration raced, retrying", hash);
+                backOff(attempt);
+            }
+        }
+
+        // 옮긴 객체는 행이 없으므로 고아 객체 정리(S3OrphanReconciler)가 유예 시간 뒤에 지움
+        if (!moved) {
+            s3Service.deleteObject(staged.key());
+        }
+        throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Storage is busy, please retry");
+    }
+
+    /**
+     * URL이 가리키는 객체의 참조를 하나 해제합니다.
+     * 내용 주소 기반이 아닌 이전 방식의 객체는 삭제 큐에 넣습니다.
+     *
+     * @param url 해제할 객체의 URL.
+     */
+    public void release(String url) {
+        if (url == null || url.isEmpty()) {
+            return;
+        }
+        String key = s3Service.extractKeyFromUrl(url);
+        if (!key.startsWith(BLOB_PREFIX + "/")) {
+            s3DeletionQueue.enqueue(key);
+            return;
+        }
+        String hash = key.substring(key.lastIndexOf('/') + 1);
+        if (storedBlobRepository.release(hash, LocalDateTime.now()) == 0) {
+            log.warn("Released blob {} had no outstanding references", hash);
+        }
+    }
+
+    /**
+     * 현재 트랜잭션이 롤백되면 참조를 하나 해제하도록 등록합니다.
+     * 커밋 여부를 알 수 없는 경우에는 해제하지 않습니다. (사용 중인 객체가 수거되는 것보다 남는 편이 안전)
+     *
+     * @param url {@link #store(MultipartFile)}로 얻은 객체의 URL.
+     */
+    public void releaseOnRollback(String url) {
+        if (url == null || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_ROLLED_BACK) {
+                    return;
+                }
+                // 끝난 트랜잭션에 참여하지 않도록 새 트랜잭션에서 해제
+                TransactionTemplate template = new TransactionTemplate(transactionManager);
+                template.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+                try {
+                    template.executeWithoutResult(s -> release(url));
+                } catch (RuntimeException e) {
+                    log.warn("Failed to release blob reference {} after rollback", url, e);
+                }
+            }
+        });
+    }
+
+    /**
+     * 참조가 없는 객체를 주기적으로 수거합니다.
+     * 유예 시간 동안은 같은 내용이 다시 업로드되면 그대로 재사용됩니다.
+     *
+     * 같은 키로 다시 업로드될 수 있으므로 삭제 큐를 거치지 않고,
+     * 선점한 객체를 다중 객체 삭제 한 번으로 지운 뒤에야 행을 삭제합니다.
+     */
+    @Scheduled(fixedDelayString = "${echonet.storage.blob-gc-interval-ms}")
+    public void collectGarbage() {
+        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(gcGraceMinutes);
+        List<StoredBlob> candidates = storedBlobRepository.findUnreferenced(cutoff, PageRequest.of(0, GC_BATCH_SIZE));
+
+        Map<String, String> claimed = new HashMap<>();
+        for (StoredBlob blob : candidates) {
+            // 선점에 실패하면 그 사이 다시 참조된 것이므로 건너뜀
+            if (blob.getRefCount() == 0 && storedBlobRepository.claimForCollection(blob.getHash()) == 0) {
+                continue;
+            }
+            claimed.put(blob.getStorageKey(), blob.getHash());
+        }
+        if (claimed.isEmpty()) {
+            return;
+        }
+
+        // 삭제에 실패한 객체는 -1 상태로 남아 다음 수거 때 다시 시도됨
+        Set<String> failed = new HashSet<>(s3Service.deleteObjects(new ArrayList<>(claimed.keySet())));
+        List<String> collected = claimed.entrySet().stream()
+                .filter(entry -> !failed.contains(entry.getKey()))
+                .map(Map.Entry::getValue)
+                .toList();
+        storedBlobRepository.deleteAllByIdInBatch(collected);
+        log.info("Collected {} unreferenced blobs ({} failed)", collected.size(), failed.size());
+    }
+
+    private void backOff(int attempt) {
+        try {
+            Thread.sleep(50L * (attempt + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    static String blobKey(String hash) {
+        return BLOB_PREFIX + "/" + hash.substring(0, 2) + "/" + hash;
+    }
+}
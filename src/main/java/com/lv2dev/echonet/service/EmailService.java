@@ -1,5 +1,6 @@
 package com.lv2dev.echonet.service;
 
+import io.micrometer.observation.annotation.Observed;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.mail.SimpleMailMessage;
 import org.springframework.mail.javamail.JavaMailSender;
@@ -7,24 +8,58 @@ import org.springframework.stereotype.Service;
 
 /**
  * 이메일 전송 서비스를 담당합니다.
+ * 전송은 백그라운드 작업으로 등록되어 요청 스레드가 SMTP 응답을 기다리지 않고, 실패하면 재시도됩니다.
  */
 @Service
-public class EmailService {
+public class EmailService implements JobHandler {
+    static final String QUEUE = "mail";
+
+    static final String TYPE = "mail.send";
+
     private final JavaMailSender javaMailSender;
 
+    private final JobService jobService;
+
     @Autowired
-    public EmailService(JavaMailSender javaMailSender) {
+    public EmailService(JavaMailSender javaMailSender, JobService jobService) {
         this.javaMailSender = javaMailSender;
+        this.jobService = jobService;
     }
 
     /**
-     * 비밀번호 변경 알림을 사용자 이메일로 전송합니다.
+     * 알림을 사용자 이메일로 전송합니다. 본문은 작업 내용으로 데이터베이스에 저장되므로 토큰 같은 비밀 값을 넣으면 안 됩니다.
      *
      * @param to 받는 사람의 이메일 주소입니다.
      * @param subject 이메일 제목입니다.
      * @param text 이메일 본문입니다.
      */
     public void sendEmailNotification(String to, String subject, String text) {
+        jobService.enqueue(QUEUE, TYPE, new Mail(to, subject, text));
+    }
+
+    @Override
+    public String getType() {
+        return TYPE;
+    }
+
+    @Override
+    public String getQueue() {
+        return QUEUE;
+    }
+
+    @Override
+    @Observed(name = "echonet.mail.send", contextualName = "smtp send")
+    public void handle(String payload) throws Exception {
+        Mail mail = jobService.readPayload(payload, Mail.class);
+        send(mail.to(), mail.subject(), mail.text());
+    }
+
+    /**
+     * 이메일을 바로 전송합니다. 작업자 스레드에서만 사용합니다.
+     * 비밀 값이 들어가는 메일은 본문을 작업 내용에 저장하지 않도록, 작업 처리기가 전송 시점에 본문을 만들어 이 메소드로 보냅니다.
+     */
+    @Observed(name = "echonet.mail.send", contextualName = "smtp send")
+    public void send(String to, String subject, String text) {
         SimpleMailMessage message = new SimpleMailMessage();
         message.setTo(to);
         message.setSubject(subject);
@@ -33,4 +68,7 @@ public class EmailService {
         // 이메일 전송
         javaMailSender.send(message);
     }
+
+    record Mail(String to, String subject, String text) {
+    }
 }
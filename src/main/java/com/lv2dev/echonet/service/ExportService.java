@@ -0,0 +1,235 @@
+package com.lv2dev.echonet.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lv2dev.echonet.dto.FeedbackExportDTO;
+import com.lv2dev.echonet.dto.LoginHistoryDTO;
+import com.lv2dev.echonet.dto.MemberExportDTO;
+import com.lv2dev.echonet.persistence.FeedbackRepository;
+import com.lv2dev.echonet.persistence.LoginHistoryRepository;
+import com.lv2dev.echonet.persistence.MemberRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 관리자용 대량 내보내기 서비스입니다.
+ *
+ * 읽기 전용 트랜잭션에서 JPA Stream(서버 측 커서, fetch size 1000)으로 DTO를 한 행씩 읽어 바로 응답 스트림에 씁니다.
+ * 엔티티를 영속성 컨텍스트에 쌓거나 결과 전체를 목록으로 만들지 않으므로 행 수와 관계없이 메모리 사용량은 버퍼 크기로 일정합니다.
+ * 읽기 전용 트랜잭션이므로 복제본이 설정되어 있으면 복제본에서 읽습니다.
+ * 내보내기 중에 실패하면 스트림을 마무리하지 않고 예외를 전파하므로, 잘린 응답이 끝까지 받은 파일처럼 보이지 않습니다.
+ */
+@Slf4j
+@Service
+public class ExportService {
+    private static final int BUFFER_BYTES = 64 * 1024;
+
+    private static final String[] MEMBER_COLUMNS = {"id", "email", "nickname", "joinDay", "role", "state"};
+
+    private static final String[] FEEDBACK_COLUMNS = {"id", "userId", "content", "createdDate"};
+
+    private static final String[] LOGIN_HISTORY_COLUMNS = {"id", "memberId", "loginTime", "ipAddress", "browserInfo", "deviceInfo"};
+
+    public enum Format {
+        CSV("text/csv", "csv"),
+        NDJSON("application/x-ndjson", "ndjson");
+
+        private final String contentType;
+
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+    }
+
+    private final MemberRepository memberRepository;
+
+    private final FeedbackRepository feedbackRepository;
+
+    private final LoginHistoryRepository loginHistoryRepository;
+
+    private final ObjectMapper objectMapper;
+
+    private final TransactionTemplate readOnlyTransaction;
+
+    public ExportService(MemberRepository memberRepository, FeedbackRepository feedbackRepository,
+                         LoginHistoryRepository loginHistoryRepository, ObjectMapper objectMapper,
+                         PlatformTransactionManager transactionManager) {
+        this.memberRepository = memberRepository;
+        this.feedbackRepository = feedbackRepository;
+        this.loginHistoryRepository = loginHistoryRepository;
+        this.objectMapper = objectMapper;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    public StreamingResponseBody exportMembers(Format format, boolean gzip) {
+        return export("members", format, gzip, MEMBER_COLUMNS, memberRepository::streamForExport,
+                (MemberExportDTO m) -> new Object[]{m.getId(), m.getEmail(), m.getNickname(), m.getJoinDay(), m.getRole(), m.getState()});
+    }
+
+    public StreamingResponseBody exportFeedback(Format format, boolean gzip) {
+        return export("feedback", format, gzip, FEEDBACK_COLUMNS, feedbackRepository::streamForExport,
+                (FeedbackExportDTO f) -> new Object[]{f.getId(), f.getUserId(), f.getContent(), f.getCreatedDate()});
+    }
+
+    public StreamingResponseBody exportLoginHistory(Format format, boolean gzip, LocalDateTime from, LocalDateTime to) {
+        return export("login-history", format, gzip, LOGIN_HISTORY_COLUMNS, () -> loginHistoryRepository.streamForExport(from, to),
+                (LoginHistoryDTO h) -> new Object[]{h.getId(), h.getMemberId(), h.getLoginTime(), h.getIpAddress(), h.getBrowserInfo(), h.getDeviceInfo()});
+    }
+
+    private <T> StreamingResponseBody export(String name, Format format, boolean gzip, String[] columns,
+                                             Supplier<Stream<T>> query, Function<T, Object[]> toValues) {
+        return out -> {
+            long started = System.nanoTime();
+            OutputStream target = gzip ? new GZIPOutputStream(out, BUFFER_BYTES) : new BufferedOutputStream(out, BUFFER_BYTES);
+            RowWriter writer = format == Format.CSV ? new CsvRowWriter(target, columns) : new NdjsonRowWriter(objectMapper.getFactory(), target, columns);
+            // 성공했을 때만 닫음. 실패하면 GZIP 트레일러나 남은 버퍼를 쓰지 않은 채로 예외가 전파되어 응답이 중단됨
+            long rows = readOnlyTransaction.execute(status -> {
+                long count = 0;
+                try (Stream<T> stream = query.get()) {
+                    for (T row : (Iterable<T>) stream::iterator) {
+                        writer.write(toValues.apply(row));
+                        count++;
+                    }
+                }
+                return count;
+            });
+            writer.close();
+            log.info("Exported {} {} rows as {} in {} ms", rows, name, format, (System.nanoTime() - started) / 1_000_000);
+        };
+    }
+
+    /**
+     * 한 행씩 출력하는 형식별 작성기
+     */
+    private interface RowWriter extends Closeable {
+        void write(Object[] values);
+    }
+
+    /**
+     * RFC 4180 CSV. 스프레드시트 수식으로 해석될 수 있는 값은 앞에 '를 붙입니다.
+     */
+    private static final class CsvRowWriter implements RowWriter {
+        private final Writer writer;
+
+        CsvRowWriter(OutputStream out, String[] columns) throws IOException {
+            this.writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+            writeLine(columns);
+        }
+
+        @Override
+        public void write(Object[] values) {
+            try {
+                writeLine(values);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private void writeLine(Object[] values) throws IOException {
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                if (values[i] != null) {
+                    writeField(values[i].toString());
+                }
+            }
+            writer.write("\r\n");
+        }
+
+        private void writeField(String value) throws IOException {
+            boolean formula = !value.isEmpty() && "=+-@\t\r".indexOf(value.charAt(0)) >= 0;
+            boolean quote = formula || value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                    || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+            if (!quote) {
+                writer.write(value);
+                return;
+            }
+            writer.write('"');
+            if (formula) {
+                writer.write('\'');
+            }
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c == '"') {
+                    writer.write('"');
+                }
+                writer.write(c);
+            }
+            writer.write('"');
+        }
+
+        @Override
+        public void close() throws IOException {
+            writer.close();
+        }
+    }
+
+    /**
+     * 한 줄에 JSON 객체 하나
+     */
+    private static final class NdjsonRowWriter implements RowWriter {
+        private final JsonGenerator generator;
+
+        private final String[] columns;
+
+        NdjsonRowWriter(JsonFactory jsonFactory, OutputStream out, String[] columns) throws IOException {
+            this.generator = jsonFactory.createGenerator(out);
+            this.columns = columns;
+        }
+
+        @Override
+        public void write(Object[] values) {
+            try {
+                generator.writeStartObject();
+                for (int i = 0; i < columns.length; i++) {
+                    generator.writeFieldName(columns[i]);
+                    // ObjectMapper.writeValue는 값마다 flush하므로 단순 값은 직접 기록
+                    Object value = values[i];
+                    if (value == null) {
+                        generator.writeNull();
+                    } else if (value instanceof Long number) {
+                        generator.writeNumber(number);
+                    } else if (value instanceof Integer number) {
+                        generator.writeNumber(number);
+                    } else {
+                        generator.writeString(value.toString());
+                    }
+                }
+                generator.writeEndObject();
+                generator.writeRaw('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            generator.close();
+        }
+    }
+}
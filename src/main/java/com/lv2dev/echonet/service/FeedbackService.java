@@ -1,27 +1,298 @@
 package com.lv2dev.echonet.service;
 
+import com.lv2dev.echonet.dto.FeedbackDTO;
+import com.lv2dev.echonet.dto.FeedbackSubmissionDTO;
 import com.lv2dev.echonet.model.Feedback;
 import com.lv2dev.echonet.persistence.FeedbackRepository;
-import org.springframework.beans.factory.annotation.Autowired;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HexFormat;
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
+/**
+ * 피드백 접수와 저장을 분리한 수집 서비스입니다.
+ *
+ * 요청 스레드는 사용자별 속도 제한과 중복 확인만 하고 메모리 큐에 넣은 뒤 바로 접수 번호를 반환합니다.
+ * 주기적인 작업이 큐를 배치 단위로 비워 한 트랜잭션에서 일괄 INSERT하므로, 데이터베이스가 느려져도 접수 지연 시간은 일정합니다.
+ * 같은 사용자가 짧은 시간 안에 (공백, 대소문자, 문장부호만 다른) 같은 내용을 다시 보내면 새로 저장하지 않고 처음 접수 번호를 돌려줍니다.
+ * 큐가 가득 차면 503으로 거절하며, 재시작 시 아직 저장되지 않은 항목은 종료 시점에 한 번 더 저장을 시도합니다.
+ * 저장에 실패한 항목은 다음 실행에서 다시 시도하고, 최대 시도 횟수를 넘기면 로그에 남기고 버립니다.
+ *
+ * 큐는 메모리에만 있으므로 접수(202)는 저장을 보장하지 않습니다. 종료 처리 없이 프로세스가 죽으면 아직 저장되지 않은 피드백은 유실됩니다.
+ */
+@Slf4j
 @Service
 public class FeedbackService {
-    @Autowired
-    private FeedbackRepository feedbackRepository;
+    static final int MAX_CONTENT_LENGTH = 1000;
+
+    private final FeedbackRepository feedbackRepository;
+
+    private final BlockingQueue<PendingFeedback> pending;
+
+    // (사용자, 정규화한 내용 해시) -> 처음 접수 정보
+    private final Map<DedupKey, Receipt> recentSubmissions = new ConcurrentHashMap<>();
+
+    private final Map<Long, RateBucket> rateBuckets = new ConcurrentHashMap<>();
+
+    private final int batchSize;
+
+    private final int maxBatchesPerRun;
+
+    // 항목별 최대 저장 시도 횟수
+    private final int maxWriteAttempts;
+
+    private final long dedupWindowNanos;
+
+    private final int dedupMaxEntries;
+
+    private final int rateLimitBurst;
+
+    // 토큰 하나가 다시 채워지는 데 걸리는 시간
+    private final long refillNanos;
+
+    private final AtomicLong acceptedCount = new AtomicLong();
+
+    private final AtomicLong duplicateCount = new AtomicLong();
+
+    private final AtomicLong throttledCount = new AtomicLong();
+
+    private final AtomicLong rejectedCount = new AtomicLong();
+
+    private final AtomicLong writtenCount = new AtomicLong();
+
+    private final AtomicLong failedCount = new AtomicLong();
+
+    public FeedbackService(FeedbackRepository feedbackRepository,
+                           @Value("${echonet.feedback.queue-capacity}") int queueCapacity,
+                           @Value("${echonet.feedback.batch-size}") int batchSize,
+                           @Value("${echonet.feedback.max-batches-per-run}") int maxBatchesPerRun,
+                           @Value("${echonet.feedback.dedup-window-seconds}") int dedupWindowSeconds,
+                           @Value("${echonet.feedback.dedup-max-entries}") int dedupMaxEntries,
+                           @Value("${echonet.feedback.rate-limit-burst}") int rateLimitBurst,
+                           @Value("${echonet.feedback.rate-limit-per-minute}") int rateLimitPerMinute,
+                           @Value("${echonet.feedback.max-write-attempts}") int maxWriteAttempts) {
+        this.feedbackRepository = feedbackRepository;
+        this.pending = new LinkedBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.maxWriteAttempts = maxWriteAttempts;
+        this.dedupWindowNanos = TimeUnit.SECONDS.toNanos(dedupWindowSeconds);
+        this.dedupMaxEntries = dedupMaxEntries;
+        this.rateLimitBurst = rateLimitBurst;
+        this.refillNanos = TimeUnit.MINUTES.toNanos(1) / rateLimitPerMinute;
+    }
+
+    /**
+     * 피드백을 접수합니다. 저장은 비동기로 이루어집니다.
+     *
+     * @param userId 작성자 ID.
+     * @param content 피드백 내용.
+     * @return 접수 번호와 중복 여부.
+     * @throws ResponseStatusException 내용이 잘못되었으면 400, 요청이 너무 잦으면 429, 큐가 가득 차면 503.
+     */
+    public FeedbackSubmissionDTO submitFeedback(Long userId, String content) {
+        if (content == null || content.isBlank()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Feedback content is empty");
+        }
+        if (content.length() > MAX_CONTENT_LENGTH) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Feedback content is longer than " + MAX_CONTENT_LENGTH + " characters");
+        }
+
+        long now = System.nanoTime();
+        if (!rateBuckets.computeIfAbsent(userId, id -> new RateBucket(rateLimitBurst, now)).tryAcquire(now, rateLimitBurst, refillNanos)) {
+            throttledCount.incrementAndGet();
+            throw new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS, "Too many feedback submissions");
+        }
+
+        DedupKey key = new DedupKey(userId, contentHash(content));
+        Receipt receipt = new Receipt(UUID.randomUUID().toString(), now + dedupWindowNanos);
+        Receipt previous = recentSubmissions.size() < dedupMaxEntries
+                ? recentSubmissions.merge(key, receipt, (old, fresh) -> old.expiresAt() - now > 0 ? old : fresh)
+                : receipt; // 캐시가 가득 차면 중복 확인 없이 접수
+        if (previous != receipt) {
+            duplicateCount.incrementAndGet();
+            return FeedbackSubmissionDTO.builder().submissionId(previous.submissionId()).duplicate(true).build();
+        }
 
-    public Feedback createFeedback(Long userId, String content) {
         Feedback feedback = new Feedback();
+        feedback.setSubmissionId(receipt.submissionId());
         feedback.setUserId(userId);
         feedback.setContent(content);
         feedback.setCreatedDate(LocalDateTime.now());
-        return feedbackRepository.save(feedback);
+        if (!pending.offer(new PendingFeedback(feedback, 0))) {
+            recentSubmissions.remove(key, receipt);
+            rejectedCount.incrementAndGet();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Feedback queue is full, try again later");
+        }
+        acceptedCount.incrementAndGet();
+        return FeedbackSubmissionDTO.builder().submissionId(receipt.submissionId()).duplicate(false).build();
+    }
+
+    /**
+     * 큐에 쌓인 피드백을 배치 단위로 저장합니다. 저장에 실패하면 이번 실행을 끝내고 다음 실행에서 다시 시도합니다.
+     */
+    @Scheduled(fixedDelayString = "${echonet.feedback.flush-interval-ms}")
+    public void flush() {
+        for (int i = 0; i < maxBatchesPerRun; i++) {
+            List<PendingFeedback> batch = new ArrayList<>(batchSize);
+            pending.drainTo(batch, batchSize);
+            if (batch.isEmpty() || !writeBatch(batch)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * @return 저장에 성공했는지 여부.
+     */
+    private boolean writeBatch(List<PendingFeedback> batch) {
+        try {
+            feedbackRepository.saveAll(batch.stream().map(PendingFeedback::feedback).toList());
+            writtenCount.addAndGet(batch.size());
+            return true;
+        } catch (RuntimeException e) {
+            log.warn("Failed to write {} feedback entries", batch.size(), e);
+            // 시도 횟수가 남은 항목은 다시 큐에 넣고, 횟수를 넘겼거나 큐에 자리가 없으면 버림
+            for (PendingFeedback entry : batch) {
+                Feedback feedback = entry.feedback();
+                feedback.setId(null);
+                int attempts = entry.attempts() + 1;
+                if (attempts >= maxWriteAttempts || !pending.offer(new PendingFeedback(feedback, attempts))) {
+                    failedCount.incrementAndGet();
+                    log.error("Dropped feedback {} of user {} after {} failed write attempts",
+                            feedback.getSubmissionId(), feedback.getUserId(), attempts);
+                }
+            }
+            return false;
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    /**
+     * 만료된 중복 확인 항목과 가득 찬 속도 제한 버킷을 정리합니다.
+     */
+    @Scheduled(fixedDelayString = "${echonet.feedback.cleanup-interval-ms}")
+    public void cleanup() {
+        long now = System.nanoTime();
+        recentSubmissions.values().removeIf(receipt -> receipt.expiresAt() - now <= 0);
+        rateBuckets.values().removeIf(bucket -> bucket.isFull(now, rateLimitBurst, refillNanos));
     }
 
-    public List<Feedback> getAllFeedbacks() {
-        return feedbackRepository.findAll();
+    @Transactional(readOnly = true)
+    public List<FeedbackDTO> getAllFeedbacks() {
+        return feedbackRepository.findAllByOrderByCreatedDateDesc();
+    }
+
+    /**
+     * 공백, 대소문자, 문장부호를 무시한 내용 해시
+     */
+    static String contentHash(String content) {
+        StringBuilder normalized = new StringBuilder(content.length());
+        content.codePoints()
+                .filter(Character::isLetterOrDigit)
+                .map(Character::toLowerCase)
+                .forEach(normalized::appendCodePoint);
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(normalized.toString().getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    public long getAcceptedCount() {
+        return acceptedCount.get();
+    }
+
+    public long getDuplicateCount() {
+        return duplicateCount.get();
+    }
+
+    public long getThrottledCount() {
+        return throttledCount.get();
+    }
+
+    public long getRejectedCount() {
+        return rejectedCount.get();
+    }
+
+    public long getWrittenCount() {
+        return writtenCount.get();
+    }
+
+    public long getFailedCount() {
+        return failedCount.get();
+    }
+
+    private record DedupKey(long userId, String contentHash) {
+    }
+
+    /**
+     * 저장 대기 중인 피드백과 지금까지 실패한 저장 시도 횟수
+     */
+    private record PendingFeedback(Feedback feedback, int attempts) {
+    }
+
+    private record Receipt(String submissionId, long expiresAt) {
+    }
+
+    /**
+     * 사용자별 토큰 버킷
+     */
+    private static final class RateBucket {
+        private double tokens;
+
+        private long updatedAt;
+
+        RateBucket(int burst, long now) {
+            this.tokens = burst;
+            this.updatedAt = now;
+        }
+
+        synchronized boolean tryAcquire(long now, int burst, long refillNanos) {
+            refill(now, burst, refillNanos);
+            if (tokens < 1) {
+                return false;
+            }
+            tokens -= 1;
+            return true;
+        }
+
+        synchronized boolean isFull(long now, int burst, long refillNanos) {
+            refill(now, burst, refillNanos);
+            return tokens >= burst;
+        }
+
+        private void refill(long now, int burst, long refillNanos) {
+            tokens = Math.min(burst, tokens + (double) (now - updatedAt) / refillNanos);
+            updatedAt = now;
+        }
     }
 }
@@ -0,0 +1,365 @@
+package com.lv2dev.echonet.service;
+
+import com.lv2dev.echonet.dto.FileChangesDTO;
+import com.lv2dev.echonet.model.FileChange;
+import com.lv2dev.echonet.model.StoredFile;
+import com.lv2dev.echonet.persistence.FileChangeRepository;
+import com.lv2dev.echonet.persistence.StoredFileRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 사용자별 파일 메타데이터(카탈로그)를 관리하는 서비스입니다.
+ * 모든 변경은 {@link FileChange} 저널에 기록되어 클라이언트가 커서 기반으로 변경분만 동기화할 수 있습니다.
+ */
+@Service
+public class FileService {
+    public static final String ROOT = "/";
+
+    // 한 번에 조회할 수 있는 최대 항목 수
+    private static final int MAX_PAGE_SIZE = 1000;
+
+    private final StoredFileRepository storedFileRepository;
+
+    private final FileChangeRepository fileChangeRepository;
+
+    private final BlobService blobService;
+
+    private final TransactionTemplate transactionTemplate;
+
+    // 폴더 삭제 시 한 트랜잭션에서 삭제할 최대 하위 항목 수
+    @Value("${echonet.storage.folder-delete-batch-size}")
+    private int deleteBatchSize;
+
+    // 변경 기록이 커밋될 때까지 기다리는 시간 (초 단위). 파일 트랜잭션의 최대 길이보다 길어야 함
+    @Value("${echonet.storage.change-settle-seconds}")
+    private int changeSettleSeconds;
+
+    public FileService(StoredFileRepository storedFileRepository, FileChangeRepository fileChangeRepository,
+                       BlobService blobService, PlatformTransactionManager transactionManager) {
+        this.storedFileRepository = storedFileRepository;
+        this.fileChangeRepository = fileChangeRepository;
+        this.blobService = blobService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * 폴더를 생성합니다.
+     *
+     * @param ownerId 소유자 ID.
+     * @param parentPath 폴더를 생성할 상위 폴더 경로.
+     * @param name 생성할 폴더 이름.
+     * @return 생성된 폴더 메타데이터.
+     */
+    @Transactional
+    public StoredFile createFolder(Long ownerId, String parentPath, String name) {
+        String parent = normalizePath(parentPath);
+        requireFolder(ownerId, parent);
+
+        String path = childPath(parent, validateName(name));
+        if (storedFileRepository.findByOwnerIdAndPath(ownerId, path).isPresent()) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Path already exists: " + path);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        StoredFile folder = storedFileRepository.save(StoredFile.builder()
+                .ownerId(ownerId)
+                .path(path)
+                .parentPath(parent)
+                .name(name)
+                .folder(true)
+                .createdAt(now)
+                .modifiedAt(now)
+                .build());
+        journal(folder, FileChange.Type.CREATED);
+        return folder;
+    }
+
+    /**
+     * 파일을 업로드하고 메타데이터를 등록합니다.
+     * 같은 경로에 파일이 이미 있으면 내용을 교체하고 이전 객체의 참조를 해제합니다.
+     * S3 업로드는 트랜잭션 밖에서 하고 등록만 짧은 트랜잭션으로 처리하므로, 업로드하는 동안 연결을 잡고 있지 않습니다.
+     *
+     * @param ownerId 소유자 ID.
+     * @param parentPath 업로드할 폴더 경로.
+     * @param file 업로드할 파일.
+     * @return 등록된 파일 메타데이터.
+     * @throws IOException 파일 업로드 중 오류 발생 시.
+     */
+    public StoredFile uploadFile(Long ownerId, String parentPath, MultipartFile file) throws IOException {
+        if (file == null || file.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "File is empty");
+        }
+        String name = file.getOriginalFilename();
+        // 잘못된 요청이면 업로드 전에 거절. 폴더는 등록할 때 다시 확인함
+        String parent = transactionTemplate.execute(status -> {
+            String normalized = normalizePath(parentPath);
+            requireFolder(ownerId, normalized);
+            validateName(name);
+            return normalized;
+        });
+
+        String storageUrl = blobService.store(file).getStorageUrl();
+
+        return transactionTemplate.execute(status -> {
+            // 업로드 중 폴더가 삭제되었거나 경로 충돌 등으로 등록이 롤백되면 획득한 참조를 돌려놓음
+            blobService.releaseOnRollback(storageUrl);
+            requireFolder(ownerId, parent);
+            return registerFile(ownerId, parent, name, childPath(parent, name),
+                    file.getSize(), file.getContentType(), storageUrl);
+        });
+    }
+
+    /**
+     * 이미 S3에 올라간 객체를 파일로 등록합니다. 분할 업로드 완료 시 사용됩니다.
+     *
+     * @param ownerId 소유자 ID.
+     * @param parentPath 등록할 폴더 경로.
+     * @param name 파일 이름.
+     * @param size 파일 크기.
+     * @param contentType 파일의 Content-Type.
+     * @param storageUrl S3 객체 URL.
+     * @return 등록된 파일 메타데이터.
+     */
+    @Transactional
+    public StoredFile registerUploadedFile(Long ownerId, String parentPath, String name,
+                                           long size, String contentType, String storageUrl) {
+        String parent = normalizePath(parentPath);
+        requireFolder(ownerId, parent);
+        return registerFile(ownerId, parent, validateName(name), childPath(parent, name), size, contentType, storageUrl);
+    }
+
+    /**
+     * 폴더 경로와 파일 이름이 유효한지 미리 확인합니다.
+     *
+     * @param ownerId 소유자 ID.
+     * @param parentPath 폴더 경로.
+     * @param name 파일 이름.
+     * @return 정규화된 폴더 경로.
+     */
+    @Transactional(readOnly = true)
+    public String validateTarget(Long ownerId, String parentPath, String name) {
+        String parent = normalizePath(parentPath);
+        requireFolder(ownerId, parent);
+        validateName(name);
+        return parent;
+    }
+
+    private StoredFile registerFile(Long ownerId, String parent, String name, String path,
+                                    long size, String contentType, String storageUrl) {
+        LocalDateTime now = LocalDateTime.now();
+        StoredFile existing = storedFileRepository.findByOwnerIdAndPath(ownerId, path).orElse(null);
+
+        if (existing != null) {
+            if (existing.isFolder()) {
+                throw new ResponseStatusException(HttpStatus.CONFLICT, "A folder already exists at: " + path);
+            }
+            String previousUrl = existing.getStorageUrl();
+            existing.setSize(size);
+            existing.setContentType(contentType);
+            existing.setStorageUrl(storageUrl);
+            existing.setModifiedAt(now);
+            StoredFile updated = storedFileRepository.save(existing);
+            journal(updated, FileChange.Type.UPDATED);
+            blobService.release(previousUrl);
+            return updated;
+        }
+
+        StoredFile created = storedFileRepository.save(StoredFile.builder()
+                .ownerId(ownerId)
+                .path(path)
+                .parentPath(parent)
+                .name(name)
+                .folder(false)
+                .size(size)
+                .contentType(contentType)
+                .storageUrl(storageUrl)
+                .createdAt(now)
+                .modifiedAt(now)
+                .build());
+        journal(created, FileChange.Type.CREATED);
+        return created;
+    }
+
+    /**
+     * 폴더의 하위 항목을 이름순으로 조회합니다.
+     *
+     * @param ownerId 소유자 ID.
+     * @param folderPath 조회할 폴더 경로.
+     * @param after 이전 페이지의 마지막 항목 이름; 첫 페이지는 null.
+     * @param size 페이지 크기.
+     * @return 하위 항목 목록.
+     */
+    @Transactional(readOnly = true)
+    public List<StoredFile> listFolder(Long ownerId, String folderPath, String after, int size) {
+        String parent = normalizePath(folderPath);
+        return storedFileRepository.findChildren(ownerId, parent, after == null ? "" : after,
+                PageRequest.of(0, clampPageSize(size)));
+    }
+
+    /**
+     * 파일 또는 폴더를 삭제합니다. 폴더는 하위 항목까지 모두 삭제됩니다.
+     * 하위 항목은 배치마다 별도 트랜잭션으로 삭제하므로 항목이 많은 폴더도 한 트랜잭션이 잡는 잠금은 배치 크기로 제한됩니다.
+     * 폴더 자신은 마지막에 삭제되므로, 중간에 실패하면 남은 항목은 다시 삭제를 요청해 이어서 지울 수 있습니다.
+     *
+     * @param ownerId 소유자 ID.
+     * @param path 삭제할 경로.
+     */
+    public void delete(Long ownerId, String path) {
+        String normalized = normalizePath(path);
+        if (ROOT.equals(normalized)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Root folder cannot be deleted");
+        }
+        StoredFile target = storedFileRepository.findByOwnerIdAndPath(ownerId, normalized)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Path not found: " + normalized));
+
+        if (target.isFolder()) {
+            String prefix = normalized + "/";
+            Integer deleted;
+            do {
+                deleted = transactionTemplate.execute(status -> removeAll(
+                        storedFileRepository.findByOwnerIdAndPathStartingWith(ownerId, prefix, PageRequest.of(0, deleteBatchSize))));
+            } while (deleted != null && deleted == deleteBatchSize);
+        }
+        // 그 사이 다른 요청이 삭제했을 수 있으므로 다시 조회. 참조를 두 번 해제하지 않음
+        transactionTemplate.executeWithoutResult(status -> storedFileRepository.findByOwnerIdAndPath(ownerId, normalized)
+                .ifPresent(file -> removeAll(List.of(file))));
+    }
+
+    private int removeAll(List<StoredFile> files) {
+        storedFileRepository.deleteAllInBatch(files);
+        for (StoredFile file : files) {
+            journal(file, FileChange.Type.DELETED);
+            blobService.release(file.getStorageUrl());
+        }
+        return files.size();
+    }
+
+    /**
+     * 커서 이후의 변경분을 조회합니다.
+     * id는 커밋이 아니라 삽입 시점에 정해지므로, 아직 커밋되지 않은 더 작은 id를 건너뛰지 않도록
+     * 기록된 지 change-settle-seconds가 지난 변경까지만 돌려줍니다.
+     *
+     * @param ownerId 소유자 ID.
+     * @param cursor 마지막으로 받은 변경 커서; 처음부터 받으려면 0.
+     * @param limit 최대 변경 수.
+     * @return 변경 목록과 다음 커서.
+     */
+    @Transactional(readOnly = true)
+    public FileChangesDTO getChanges(Long ownerId, long cursor, int limit) {
+        int pageSize = clampPageSize(limit);
+        // 한 건을 더 읽어 다음 페이지 존재 여부를 판단
+        List<FileChange> changes = fileChangeRepository.findByOwnerIdAndIdGreaterThanOrderByIdAsc(
+                ownerId, cursor, PageRequest.of(0, pageSize + 1));
+
+        boolean hasMore = changes.size() > pageSize;
+        if (hasMore) {
+            changes = changes.subList(0, pageSize);
+        }
+        // 처음 만나는 최근 변경에서 멈춤. 나머지는 다음 요청에서 받음
+        LocalDateTime until = LocalDateTime.now().minusSeconds(changeSettleSeconds);
+        for (int i = 0; i < changes.size(); i++) {
+            if (!isSettled(changes.get(i), until)) {
+                changes = changes.subList(0, i);
+                hasMore = false;
+                break;
+            }
+        }
+        long nextCursor = changes.isEmpty() ? cursor : changes.get(changes.size() - 1).getId();
+
+        return FileChangesDTO.builder()
+                .changes(changes)
+                .cursor(nextCursor)
+                .hasMore(hasMore)
+                .build();
+    }
+
+    /**
+     * 현재 시점의 변경 커서를 조회합니다.
+     * 전체 목록을 받은 클라이언트는 이 커서부터 변경분만 동기화하면 됩니다.
+     * {@link #getChanges(Long, long, int)}와 같이 기록된 지 change-settle-seconds가 지난 변경까지만 반영하므로,
+     * 목록에 이미 반영된 최근 변경은 다시 받을 수 있습니다.
+     *
+     * @param ownerId 소유자 ID.
+     * @return 가장 최근 변경 커서; 변경이 없으면 0.
+     */
+    @Transactional(readOnly = true)
+    public long getLatestCursor(Long ownerId) {
+        LocalDateTime until = LocalDateTime.now().minusSeconds(changeSettleSeconds);
+        return fileChangeRepository.findTopByOwnerIdAndChangedAtBeforeOrderByIdDesc(ownerId, until)
+                .map(FileChange::getId)
+                .orElse(0L);
+    }
+
+    private static boolean isSettled(FileChange change, LocalDateTime until) {
+        return change.getChangedAt() == null || change.getChangedAt().isBefore(until);
+    }
+
+    private void journal(StoredFile file, FileChange.Type type) {
+        fileChangeRepository.save(FileChange.builder()
+                .ownerId(file.getOwnerId())
+                .fileId(file.getId())
+                .path(file.getPath())
+                .folder(file.isFolder())
+                .changeType(type)
+                .changedAt(LocalDateTime.now())
+                .build());
+    }
+
+    private void requireFolder(Long ownerId, String path) {
+        if (ROOT.equals(path)) {
+            return;
+        }
+        StoredFile folder = storedFileRepository.findByOwnerIdAndPath(ownerId, path)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Folder not found: " + path));
+        if (!folder.isFolder()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Not a folder: " + path);
+        }
+    }
+
+    private int clampPageSize(int size) {
+        return Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+    }
+
+    /**
+     * 경로를 정규화합니다. 항상 /로 시작하고, 마지막 /와 빈 구간은 제거합니다.
+     */
+    static String normalizePath(String path) {
+        if (path == null || path.isBlank()) {
+            return ROOT;
+        }
+        StringBuilder normalized = new StringBuilder();
+        for (String segment : path.split("/")) {
+            if (segment.isEmpty() || segment.equals(".")) {
+                continue;
+            }
+            if (segment.equals("..")) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid path: " + path);
+            }
+            normalized.append('/').append(segment);
+        }
+        return normalized.length() == 0 ? ROOT : normalized.toString();
+    }
+
+    private static String childPath(String parent, String name) {
+        return ROOT.equals(parent) ? ROOT + name : parent + "/" + name;
+    }
+
+    private static String validateName(String name) {
+        if (name == null || name.isBlank() || name.contains("/") || name.equals(".") || name.equals("..")) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid name: " + name);
+        }
+        return name;
+    }
+}
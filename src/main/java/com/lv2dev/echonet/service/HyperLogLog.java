@@ -0,0 +1,147 @@
+package com.lv2dev.echonet.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * 고유 값의 개수를 근사하는 HyperLogLog 스케치입니다.
+ *
+ * 2^precision 개의 레지스터(각 1바이트)만으로 개수를 추정하며, 표준 오차는 약 1.04 / sqrt(2^precision)입니다.
+ * 같은 정밀도의 스케치끼리는 레지스터별 최댓값으로 합칠 수 있으므로 시간 구간별 스케치를 저장해 두고
+ * 임의 기간의 고유 개수를 원본 데이터 없이 계산할 수 있습니다.
+ */
+public final class HyperLogLog {
+    // 4096개 레지스터(4KB), 표준 오차 약 1.6%
+    public static final int DEFAULT_PRECISION = 12;
+
+    private final int precision;
+
+    private final byte[] registers;
+
+    public HyperLogLog() {
+        this(DEFAULT_PRECISION);
+    }
+
+    public HyperLogLog(int precision) {
+        if (precision < 4 || precision > 16) {
+            throw new IllegalArgumentException("Precision must be between 4 and 16: " + precision);
+        }
+        this.precision = precision;
+        this.registers = new byte[1 << precision];
+    }
+
+    private HyperLogLog(byte[] registers) {
+        this.precision = Integer.numberOfTrailingZeros(registers.length);
+        this.registers = registers;
+    }
+
+    /**
+     * 저장된 레지스터로 스케치를 복원합니다.
+     *
+     * @param bytes {@link #toBytes()}로 얻은 레지스터.
+     * @return 복원된 스케치.
+     */
+    public static HyperLogLog fromBytes(byte[] bytes) {
+        if (bytes == null || Integer.bitCount(bytes.length) != 1 || bytes.length < 16 || bytes.length > (1 << 16)) {
+            throw new IllegalArgumentException("Invalid HyperLogLog registers");
+        }
+        return new HyperLogLog(bytes.clone());
+    }
+
+    public void add(String value) {
+        addHash(hash(value.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    void addHash(long hash) {
+        // 상위 precision 비트는 레지스터 번호, 나머지 비트의 선행 0 개수 + 1을 기록
+        int index = (int) (hash >>> (64 - precision));
+        long rest = hash << precision;
+        int rank = rest == 0 ? 64 - precision + 1 : Long.numberOfLeadingZeros(rest) + 1;
+        if (rank > registers[index]) {
+            registers[index] = (byte) rank;
+        }
+    }
+
+    /**
+     * 다른 스케치를 합칩니다. 결과는 두 집합의 합집합에 대한 스케치입니다.
+     *
+     * @param other 같은 정밀도의 스케치.
+     */
+    public void merge(HyperLogLog other) {
+        if (other.precision != precision) {
+            throw new IllegalArgumentException("Cannot merge sketches with different precision");
+        }
+        for (int i = 0; i < registers.length; i++) {
+            if (other.registers[i] > registers[i]) {
+                registers[i] = other.registers[i];
+            }
+        }
+    }
+
+    /**
+     * 고유 값의 개수를 추정합니다.
+     *
+     * @return 추정 개수.
+     */
+    public long estimate() {
+        int m = registers.length;
+        double sum = 0;
+        int zeros = 0;
+        for (byte register : registers) {
+            sum += 1.0 / (1L << register);
+            if (register == 0) {
+                zeros++;
+            }
+        }
+        double estimate = alpha(m) * m * m / sum;
+        // 값이 적을 때는 선형 계수(linear counting)가 더 정확
+        if (estimate <= 2.5 * m && zeros > 0) {
+            estimate = m * Math.log((double) m / zeros);
+        }
+        return Math.round(estimate);
+    }
+
+    public byte[] toBytes() {
+        return registers.clone();
+    }
+
+    private static double alpha(int m) {
+        switch (m) {
+            case 16:
+                return 0.673;
+            case 32:
+                return 0.697;
+            case 64:
+                return 0.709;
+            default:
+                return 0.7213 / (1 + 1.079 / m);
+        }
+    }
+
+    /**
+     * 64비트 해시 (FNV-1a 후 MurmurHash3 fmix64로 비트를 고르게 섞음)
+     */
+    static long hash(byte[] bytes) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : bytes) {
+            h ^= b & 0xff;
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb93fe53e88b5L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof HyperLogLog other && Arrays.equals(registers, other.registers);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(registers);
+    }
+}
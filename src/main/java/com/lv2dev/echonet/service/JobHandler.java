@@ -0,0 +1,26 @@
+package com.lv2dev.echonet.service;
+
+/**
+ * 백그라운드 작업 종류 하나를 처리하는 인터페이스입니다.
+ * 구현은 빈으로 등록하면 {@link JobWorker}가 작업 종류(type)로 찾아 실행합니다.
+ *
+ * 작업은 최소 한 번 실행되므로(점유 기한이 지나거나 결과 기록 전에 중단되면 다시 실행) 멱등하게 구현해야 합니다.
+ * 예외를 던지면 재시도하고, 최대 시도 횟수를 넘기면 실패로 남습니다.
+ */
+public interface JobHandler {
+
+    /**
+     * @return 처리하는 작업 종류.
+     */
+    String getType();
+
+    /**
+     * @return 작업이 들어갈 큐. 큐마다 작업자 스레드가 따로 있어 느린 작업이 다른 큐를 막지 않습니다.
+     */
+    String getQueue();
+
+    /**
+     * @param payload 등록할 때 전달한 작업 내용 (JSON).
+     */
+    void handle(String payload) throws Exception;
+}
@@ -0,0 +1,113 @@
+package com.lv2dev.echonet.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lv2dev.echonet.persistence.BackgroundJobRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+
+/**
+ * 백그라운드 작업을 등록하고 작업 테이블을 관리하는 서비스입니다.
+ *
+ * 작업은 호출한 쪽의 트랜잭션 안에서 등록되므로, 트랜잭션이 롤백되면 작업도 등록되지 않습니다.
+ * 멱등성 키를 주면 같은 키의 작업은 한 번만 등록됩니다.
+ */
+@Slf4j
+@Service
+public class JobService {
+    private final BackgroundJobRepository backgroundJobRepository;
+
+    private final ObjectMapper objectMapper;
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${echonet.jobs.max-attempts}")
+    private int defaultMaxAttempts;
+
+    // 끝난 작업 보관 시간 (시간 단위)
+    @Value("${echonet.jobs.retention-hours}")
+    private int retentionHours;
+
+    @Value("${echonet.jobs.purge-batch-size}")
+    private int purgeBatchSize;
+
+    public JobService(BackgroundJobRepository backgroundJobRepository, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.backgroundJobRepository = backgroundJobRepository;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * 작업을 등록합니다.
+     *
+     * @param queue 큐 이름 ({@link JobHandler#getQueue()}).
+     * @param type 작업 종류 ({@link JobHandler#getType()}).
+     * @param payload 작업 내용. JSON으로 저장됩니다.
+     * @param idempotencyKey 멱등성 키. null이면 중복 확인을 하지 않습니다.
+     * @return 새로 등록되었으면 true, 같은 키의 작업이 이미 있으면 false.
+     */
+    public boolean enqueue(String queue, String type, Object payload, String idempotencyKey) {
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Cannot serialize payload of job " + type, e);
+        }
+        LocalDateTime now = LocalDateTime.now();
+        boolean inserted = backgroundJobRepository.insertIfAbsent(queue, type, json, idempotencyKey, defaultMaxAttempts, now, now) > 0;
+        Counter.builder("echonet.jobs.enqueued")
+                .tag("queue", queue)
+                .tag("type", type)
+                .tag("result", inserted ? "enqueued" : "duplicate")
+                .register(meterRegistry)
+                .increment();
+        return inserted;
+    }
+
+    public boolean enqueue(String queue, String type, Object payload) {
+        return enqueue(queue, type, payload, null);
+    }
+
+    /**
+     * 작업 내용을 지정한 타입으로 읽습니다.
+     */
+    public <T> T readPayload(String payload, Class<T> type) throws JsonProcessingException {
+        return objectMapper.readValue(payload, type);
+    }
+
+    /**
+     * 점유 기한이 지난 작업을 복구합니다. 작업자가 실행 중에 중단된 경우입니다.
+     */
+    @Scheduled(fixedDelayString = "${echonet.jobs.recovery-interval-ms}")
+    public void recoverExpiredLocks() {
+        LocalDateTime now = LocalDateTime.now();
+        int released = backgroundJobRepository.releaseExpiredLocks(now);
+        int failed = backgroundJobRepository.failExpiredLocks(now);
+        if (released > 0 || failed > 0) {
+            log.warn("Recovered background jobs with expired locks: {} requeued, {} failed", released, failed);
+        }
+    }
+
+    /**
+     * 보관 기간이 지난 작업을 배치 단위로 삭제합니다.
+     */
+    @Scheduled(cron = "${echonet.jobs.purge-cron}")
+    public void purgeFinishedJobs() {
+        LocalDateTime cutoff = LocalDateTime.now().minusHours(retentionHours);
+        long purged = 0;
+        int deleted;
+        do {
+            deleted = backgroundJobRepository.deleteFinishedBefore(cutoff, purgeBatchSize);
+            purged += deleted;
+        } while (deleted == purgeBatchSize);
+        if (purged > 0) {
+            log.info("Purged {} finished background jobs", purged);
+        }
+    }
+}
@@ -0,0 +1,270 @@
+package com.lv2dev.echonet.service;
+
+import com.lv2dev.echonet.model.BackgroundJob;
+import com.lv2dev.echonet.persistence.BackgroundJobRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 백그라운드 작업을 실행하는 작업자입니다.
+ *
+ * 큐마다 설정한 수만큼 스레드를 두고, 각 스레드는 짧은 트랜잭션에서 SELECT ... FOR UPDATE SKIP LOCKED로 작업 하나를 점유한 뒤
+ * 트랜잭션 밖에서 실행합니다. 점유 결과 기록은 locked_by 조건으로만 반영되므로, 점유 기한이 지나 다른 작업자가 가져간 작업의
+ * 결과를 덮어쓰지 않습니다. 실패한 작업은 지수 백오프(지터 포함)로 재시도합니다.
+ */
+@Slf4j
+@Component
+public class JobWorker implements SmartLifecycle {
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final BackgroundJobRepository backgroundJobRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, JobHandler> handlers = new HashMap<>();
+
+    // 큐 이름 -> 스레드 수
+    private final Map<String, Integer> queueThreads = new LinkedHashMap<>();
+
+    // 인스턴스와 스레드를 구분하는 작업자 이름의 접두어
+    private final String workerPrefix = ManagementFactory.getRuntimeMXBean().getName() + "-" + UUID.randomUUID().toString().substring(0, 8);
+
+    private final Map<String, AtomicLong> readyCounts = new ConcurrentHashMap<>();
+
+    private final Map<String, AtomicLong> lagMillis = new ConcurrentHashMap<>();
+
+    private final boolean enabled;
+
+    @Value("${echonet.jobs.poll-interval-ms}")
+    private long pollIntervalMs;
+
+    @Value("${echonet.jobs.lock-minutes}")
+    private int lockMinutes;
+
+    @Value("${echonet.jobs.backoff-base-ms}")
+    private long backoffBaseMs;
+
+    @Value("${echonet.jobs.backoff-max-ms}")
+    private long backoffMaxMs;
+
+    @Value("${echonet.jobs.shutdown-timeout-seconds}")
+    private int shutdownTimeoutSeconds;
+
+    private volatile boolean running;
+
+    private final List<ExecutorService> executors = new ArrayList<>();
+
+    public JobWorker(BackgroundJobRepository backgroundJobRepository, PlatformTransactionManager transactionManager,
+                     MeterRegistry meterRegistry, List<JobHandler> jobHandlers,
+                     @Value("${echonet.jobs.queues}") String queues,
+                     @Value("${echonet.jobs.worker-enabled}") boolean enabled) {
+        this.backgroundJobRepository = backgroundJobRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        for (JobHandler handler : jobHandlers) {
+            handlers.put(handler.getType(), handler);
+        }
+        // 형식: 큐:스레드수,큐:스레드수
+        for (String entry : queues.split(",")) {
+            String[] parts = entry.trim().split(":");
+            queueThreads.put(parts[0].trim(), parts.length > 1 ? Integer.parseInt(parts[1].trim()) : 1);
+        }
+        for (String queue : queueThreads.keySet()) {
+            readyCounts.put(queue, new AtomicLong());
+            lagMillis.put(queue, new AtomicLong());
+            Gauge.builder("echonet.jobs.ready", readyCounts.get(queue), AtomicLong::get)
+                    .tag("queue", queue).register(meterRegistry);
+            Gauge.builder("echonet.jobs.lag", lagMillis.get(queue), AtomicLong::get)
+                    .tag("queue", queue).baseUnit("milliseconds").register(meterRegistry);
+        }
+        for (JobHandler handler : jobHandlers) {
+            if (!queueThreads.containsKey(handler.getQueue())) {
+                log.warn("No workers are configured for queue {} used by job type {}", handler.getQueue(), handler.getType());
+            }
+        }
+    }
+
+    @Override
+    public void start() {
+        if (!enabled) {
+            log.info("Background job workers are disabled on this instance");
+            return;
+        }
+        running = true;
+        queueThreads.forEach((queue, threads) -> {
+            ExecutorService executor = Executors.newFixedThreadPool(threads, runnable -> {
+                Thread thread = new Thread(runnable);
+                thread.setName("job-" + queue + "-" + thread.getId());
+                thread.setDaemon(true);
+                return thread;
+            });
+            for (int i = 0; i < threads; i++) {
+                String worker = workerPrefix + "-" + queue + "-" + i;
+                executor.execute(() -> poll(queue, worker));
+            }
+            executors.add(executor);
+        });
+        log.info("Started background job workers {}", queueThreads);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        for (ExecutorService executor : executors) {
+            executor.shutdown();
+        }
+        // 실행 중인 작업이 끝날 때까지 기다리고, 넘기면 점유 기한이 지난 뒤 다른 인스턴스가 다시 실행
+        for (ExecutorService executor : executors) {
+            try {
+                if (!executor.awaitTermination(shutdownTimeoutSeconds, TimeUnit.SECONDS)) {
+                    executor.shutdownNow();
+                }
+            } catch (InterruptedException e) {
+                executor.shutdownNow();
+                Thread.currentThread().interrupt();
+            }
+        }
+        executors.clear();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void poll(String queue, String worker) {
+        while (running) {
+            try {
+                BackgroundJob job = claim(queue, worker);
+                if (job == null) {
+                    Thread.sleep(pollIntervalMs);
+                    continue;
+                }
+                execute(job, worker);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.warn("Background job worker {} failed to poll", worker, e);
+                try {
+                    Thread.sleep(pollIntervalMs);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * 작업 하나를 점유합니다. 잠금은 이 짧은 트랜잭션 동안만 유지됩니다.
+     */
+    private BackgroundJob claim(String queue, String worker) {
+        Long id = transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<Long> ids = backgroundJobRepository.findClaimable(queue, now, 1);
+            if (ids.isEmpty()) {
+                return null;
+            }
+            backgroundJobRepository.markRunning(ids, worker, now.plusMinutes(lockMinutes));
+            return ids.get(0);
+        });
+        return id == null ? null : backgroundJobRepository.findById(id).orElse(null);
+    }
+
+    private void execute(BackgroundJob job, String worker) {
+        JobHandler handler = handlers.get(job.getType());
+        long started = System.nanoTime();
+        String outcome;
+        boolean handled = false;
+        try {
+            if (handler == null) {
+                throw new IllegalStateException("No handler for job type " + job.getType());
+            }
+            handler.handle(job.getPayload());
+            handled = true;
+            outcome = "success";
+        } catch (Exception e) {
+            String error = truncate(e.getClass().getSimpleName() + ": " + e.getMessage());
+            if (handler != null && job.getAttempts() < job.getMaxAttempts()) {
+                LocalDateTime runAt = LocalDateTime.now().plus(backoff(job.getAttempts()));
+                backgroundJobRepository.markRetry(job.getId(), worker, runAt, error);
+                outcome = "retry";
+                log.info("Background job {} ({}) failed on attempt {}, retrying at {}: {}",
+                        job.getId(), job.getType(), job.getAttempts(), runAt, error);
+            } else {
+                backgroundJobRepository.markFailed(job.getId(), worker, error, LocalDateTime.now());
+                outcome = "failed";
+                log.warn("Background job {} ({}) failed after {} attempts", job.getId(), job.getType(), job.getAttempts(), e);
+            }
+        }
+        // 성공 기록은 처리와 분리. 기록에 실패해도 재시도로 보내지 않아 메일 발송 같은 작업이 바로 다시 실행되지 않음
+        // (기록되지 않은 작업은 점유 기한이 지난 뒤 복구되어 다시 실행될 수 있으므로 처리는 멱등해야 함)
+        if (handled) {
+            try {
+                backgroundJobRepository.markSucceeded(job.getId(), worker, LocalDateTime.now());
+            } catch (RuntimeException e) {
+                log.warn("Background job {} ({}) succeeded but could not be marked as succeeded", job.getId(), job.getType(), e);
+            }
+        }
+        Timer.builder("echonet.jobs.execution")
+                .tag("queue", job.getQueue())
+                .tag("type", job.getType())
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * 재시도 대기 시간. base * 2^(시도 횟수 - 1)에 최대값을 적용하고, 동시에 실패한 작업이 몰리지 않도록 최대 20% 지터를 더함
+     */
+    private Duration backoff(int attempts) {
+        long delay = backoffBaseMs << Math.min(attempts - 1, 20);
+        delay = Math.min(delay, backoffMaxMs);
+        delay += ThreadLocalRandom.current().nextLong(delay / 5 + 1);
+        return Duration.ofMillis(delay);
+    }
+
+    private static String truncate(String error) {
+        return error.length() <= MAX_ERROR_LENGTH ? error : error.substring(0, MAX_ERROR_LENGTH);
+    }
+
+    /**
+     * 큐별 대기 작업 수와 지연 시간 메트릭을 갱신합니다. (메트릭 수집 때마다 쿼리하지 않도록 주기적으로 계산)
+     */
+    @Scheduled(fixedDelayString = "${echonet.jobs.metrics-interval-ms}")
+    public void refreshBacklogMetrics() {
+        LocalDateTime now = LocalDateTime.now();
+        Map<String, BackgroundJobRepository.QueueBacklog> backlog = new HashMap<>();
+        for (BackgroundJobRepository.QueueBacklog queue : backgroundJobRepository.findBacklog(now)) {
+            backlog.put(queue.getQueue(), queue);
+        }
+        readyCounts.forEach((queue, count) -> {
+            BackgroundJobRepository.QueueBacklog stats = backlog.get(queue);
+            count.set(stats == null ? 0 : stats.getReady());
+            lagMillis.get(queue).set(stats == null ? 0 : Duration.between(stats.getOldestRunAt(), now).toMillis());
+        });
+    }
+}
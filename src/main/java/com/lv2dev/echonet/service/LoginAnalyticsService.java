@@ -0,0 +1,314 @@
+package com.lv2dev.echonet.service;
+
+import com.lv2dev.echonet.dto.LoginActivityDTO;
+import com.lv2dev.echonet.dto.LoginHistoryDTO;
+import com.lv2dev.echonet.dto.LoginHistoryPageDTO;
+import com.lv2dev.echonet.model.LoginPeriodRollup;
+import com.lv2dev.echonet.model.RollupCheckpoint;
+import com.lv2dev.echonet.model.RollupGranularity;
+import com.lv2dev.echonet.persistence.LoginHistoryRepository;
+import com.lv2dev.echonet.persistence.LoginMemberRollupRepository;
+import com.lv2dev.echonet.persistence.LoginPeriodRollupRepository;
+import com.lv2dev.echonet.persistence.RollupCheckpointRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 로그인 기록을 시간 구간별로 집계하고 조회하는 서비스입니다.
+ *
+ * 원본 로그인 기록을 (시각, id) 순으로 증분 처리해 회원별/구간별 로그인 수와 구간별 고유 IP 스케치(HyperLogLog)에 누적합니다.
+ * 대시보드 조회는 집계 테이블만 읽으므로 원본 테이블 크기와 무관하고,
+ * 집계가 끝난 오래된 원본 행은 보관 테이블로 배치 단위로 옮겨 원본 테이블을 작게 유지합니다.
+ */
+@Slf4j
+@Service
+public class LoginAnalyticsService {
+    static final String CHECKPOINT_NAME = "login_history";
+
+    // 한 페이지의 최대 로그인 기록 수
+    private static final int MAX_PAGE_SIZE = 100;
+
+    // 한 번에 조회할 수 있는 최대 구간 수
+    private static final int MAX_BUCKETS = 1000;
+
+    private static final String UPSERT_MEMBER_ROLLUP =
+            "INSERT INTO login_member_rollup (granularity, bucket_start, member_id, login_count) VALUES (?, ?, ?, ?) " +
+            "ON DUPLICATE KEY UPDATE login_count = login_count + VALUES(login_count)";
+
+    private final LoginHistoryRepository loginHistoryRepository;
+
+    private final LoginMemberRollupRepository loginMemberRollupRepository;
+
+    private final LoginPeriodRollupRepository loginPeriodRollupRepository;
+
+    private final RollupCheckpointRepository rollupCheckpointRepository;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate transactionTemplate;
+
+    // 한 번에 집계할 원본 행 수
+    @Value("${echonet.analytics.rollup-batch-size}")
+    private int rollupBatchSize;
+
+    // 한 번의 실행에서 처리할 최대 배치 수
+    @Value("${echonet.analytics.rollup-max-batches-per-run}")
+    private int rollupMaxBatchesPerRun;
+
+    // 아직 커밋되지 않은 행을 건너뛰지 않도록 이 시간보다 최근 행은 다음 실행에서 집계
+    @Value("${echonet.analytics.rollup-settle-seconds}")
+    private int rollupSettleSeconds;
+
+    // 원본 로그인 기록 보관 기간 (일 단위)
+    @Value("${echonet.analytics.archive-retention-days}")
+    private int archiveRetentionDays;
+
+    // 한 트랜잭션에서 보관 테이블로 옮길 행 수
+    @Value("${echonet.analytics.archive-batch-size}")
+    private int archiveBatchSize;
+
+    public LoginAnalyticsService(LoginHistoryRepository loginHistoryRepository,
+                                 LoginMemberRollupRepository loginMemberRollupRepository,
+                                 LoginPeriodRollupRepository loginPeriodRollupRepository,
+                                 RollupCheckpointRepository rollupCheckpointRepository,
+                                 JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.loginHistoryRepository = loginHistoryRepository;
+        this.loginMemberRollupRepository = loginMemberRollupRepository;
+        this.loginPeriodRollupRepository = loginPeriodRollupRepository;
+        this.rollupCheckpointRepository = rollupCheckpointRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * 회원의 최근 로그인 기록을 최신순으로 조회합니다.
+     *
+     * @param memberId 회원 ID.
+     * @param beforeTime 이전 페이지의 nextBeforeTime; 첫 페이지는 null.
+     * @param beforeId 이전 페이지의 nextBeforeId; 첫 페이지는 null.
+     * @param size 페이지 크기.
+     * @return 로그인 기록 페이지.
+     */
+    @Transactional(readOnly = true)
+    public LoginHistoryPageDTO getRecentLogins(Long memberId, LocalDateTime beforeTime, Long beforeId, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        // 한 건을 더 읽어 다음 페이지 존재 여부를 판단
+        PageRequest page = PageRequest.of(0, pageSize + 1);
+        List<LoginHistoryDTO> items = beforeTime == null || beforeId == null
+                ? loginHistoryRepository.findRecent(memberId, page)
+                : loginHistoryRepository.findRecentBefore(memberId, beforeTime, beforeId, page);
+
+        boolean hasMore = items.size() > pageSize;
+        if (hasMore) {
+            items = items.subList(0, pageSize);
+        }
+        LoginHistoryDTO last = items.isEmpty() ? null : items.get(items.size() - 1);
+
+        return LoginHistoryPageDTO.builder()
+                .items(items)
+                .hasMore(hasMore)
+                .nextBeforeTime(hasMore ? last.getLoginTime() : null)
+                .nextBeforeId(hasMore ? last.getId() : null)
+                .build();
+    }
+
+    /**
+     * 기간별 활성 사용자 수, 로그인 수, 고유 IP 수(근사값)를 조회합니다.
+     *
+     * @param granularity 구간 단위.
+     * @param from 시작 시각 (구간 시작으로 내림).
+     * @param to 종료 시각 (포함하지 않음).
+     * @return 구간별 통계와 전체 기간 합계.
+     */
+    @Transactional(readOnly = true)
+    public LoginActivityDTO getActivity(RollupGranularity granularity, LocalDateTime from, LocalDateTime to) {
+        LocalDateTime start = granularity.bucketStart(from);
+        if (!start.isBefore(to)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "from must be before to");
+        }
+        if (granularity.getUnit().between(start, to) > MAX_BUCKETS) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Range exceeds " + MAX_BUCKETS + " buckets");
+        }
+
+        Map<LocalDateTime, LoginPeriodRollup> periods = loginPeriodRollupRepository.findRange(granularity, start, to).stream()
+                .collect(Collectors.toMap(LoginPeriodRollup::getBucketStart, Function.identity()));
+
+        List<LoginActivityDTO.Bucket> buckets = new ArrayList<>();
+        long logins = 0;
+        for (LoginMemberRollupRepository.BucketActivity activity : loginMemberRollupRepository.findActivity(granularity, start, to)) {
+            LoginPeriodRollup period = periods.get(activity.getBucketStart());
+            buckets.add(LoginActivityDTO.Bucket.builder()
+                    .start(activity.getBucketStart())
+                    .activeUsers(activity.getActiveUsers())
+                    .logins(activity.getLogins())
+                    .uniqueIps(period == null ? 0 : HyperLogLog.fromBytes(period.getIpSketch()).estimate())
+                    .build());
+            logins += activity.getLogins();
+        }
+
+        // 기간 전체의 고유 IP 수는 구간별 스케치를 합쳐서 계산
+        HyperLogLog ips = new HyperLogLog();
+        for (LoginPeriodRollup period : periods.values()) {
+            ips.merge(HyperLogLog.fromBytes(period.getIpSketch()));
+        }
+
+        return LoginActivityDTO.builder()
+                .granularity(granularity)
+                .buckets(buckets)
+                .activeUsers(loginMemberRollupRepository.countActiveMembers(granularity, start, to))
+                .logins(logins)
+                .uniqueIps(ips.estimate())
+                .build();
+    }
+
+    /**
+     * 새 로그인 기록을 집계 테이블에 반영합니다.
+     */
+    @Scheduled(fixedDelayString = "${echonet.analytics.rollup-interval-ms}")
+    public void rollup() {
+        for (int i = 0; i < rollupMaxBatchesPerRun; i++) {
+            Integer processed = transactionTemplate.execute(status -> rollupBatch());
+            if (processed == null || processed < rollupBatchSize) {
+                return;
+            }
+        }
+    }
+
+    private int rollupBatch() {
+        // 진행 위치를 잠가 다른 인스턴스와 같은 행을 두 번 집계하지 않음
+        RollupCheckpoint checkpoint = rollupCheckpointRepository.findForUpdate(CHECKPOINT_NAME)
+                .orElseThrow(() -> new IllegalStateException("Missing rollup checkpoint: " + CHECKPOINT_NAME));
+        LocalDateTime until = LocalDateTime.now().minusSeconds(rollupSettleSeconds);
+
+        List<LoginHistoryDTO> rows = loginHistoryRepository.findForRollup(checkpoint.getLastTime(), checkpoint.getLastId(),
+                until, PageRequest.of(0, rollupBatchSize));
+        if (rows.isEmpty()) {
+            return 0;
+        }
+
+        Map<MemberBucket, Long> memberCounts = new HashMap<>();
+        Map<PeriodBucket, PeriodDelta> periodDeltas = new HashMap<>();
+        for (LoginHistoryDTO row : rows) {
+            for (RollupGranularity granularity : RollupGranularity.values()) {
+                LocalDateTime bucketStart = granularity.bucketStart(row.getLoginTime());
+                if (row.getMemberId() != null) {
+                    memberCounts.merge(new MemberBucket(granularity, bucketStart, row.getMemberId()), 1L, Long::sum);
+                }
+                PeriodDelta delta = periodDeltas.computeIfAbsent(new PeriodBucket(granularity, bucketStart), key -> new PeriodDelta());
+                delta.logins++;
+                if (row.getIpAddress() != null) {
+                    delta.ips.add(row.getIpAddress());
+                }
+            }
+        }
+
+        upsertMemberRollups(memberCounts);
+        mergePeriodRollups(periodDeltas);
+
+        LoginHistoryDTO last = rows.get(rows.size() - 1);
+        checkpoint.setLastTime(last.getLoginTime());
+        checkpoint.setLastId(last.getId());
+        rollupCheckpointRepository.save(checkpoint);
+
+        log.debug("Rolled up {} login records up to {}", rows.size(), last.getLoginTime());
+        return rows.size();
+    }
+
+    private void upsertMemberRollups(Map<MemberBucket, Long> memberCounts) {
+        List<Object[]> args = new ArrayList<>(memberCounts.size());
+        memberCounts.forEach((key, count) ->
+                args.add(new Object[]{key.granularity().name(), Timestamp.valueOf(key.bucketStart()), key.memberId(), count}));
+        jdbcTemplate.batchUpdate(UPSERT_MEMBER_ROLLUP, args);
+    }
+
+    private void mergePeriodRollups(Map<PeriodBucket, PeriodDelta> periodDeltas) {
+        List<LoginPeriodRollup> changed = new ArrayList<>();
+        for (RollupGranularity granularity : RollupGranularity.values()) {
+            Set<LocalDateTime> starts = periodDeltas.keySet().stream()
+                    .filter(key -> key.granularity() == granularity)
+                    .map(PeriodBucket::bucketStart)
+                    .collect(Collectors.toSet());
+            Map<LocalDateTime, LoginPeriodRollup> existing = loginPeriodRollupRepository
+                    .findByGranularityAndBucketStartIn(granularity, starts).stream()
+                    .collect(Collectors.toMap(LoginPeriodRollup::getBucketStart, Function.identity()));
+
+            for (LocalDateTime start : starts) {
+                PeriodDelta delta = periodDeltas.get(new PeriodBucket(granularity, start));
+                LoginPeriodRollup rollup = existing.get(start);
+                if (rollup == null) {
+                    rollup = LoginPeriodRollup.builder()
+                            .granularity(granularity)
+                            .bucketStart(start)
+                            .loginCount(delta.logins)
+                            .ipSketch(delta.ips.toBytes())
+                            .build();
+                } else {
+                    HyperLogLog ips = HyperLogLog.fromBytes(rollup.getIpSketch());
+                    ips.merge(delta.ips);
+                    rollup.setLoginCount(rollup.getLoginCount() + delta.logins);
+                    rollup.setIpSketch(ips.toBytes());
+                }
+                changed.add(rollup);
+            }
+        }
+        loginPeriodRollupRepository.saveAll(changed);
+    }
+
+    /**
+     * 보관 기간이 지나고 집계가 끝난 원본 로그인 기록을 보관 테이블로 옮깁니다.
+     */
+    @Scheduled(cron = "${echonet.analytics.archive-cron}")
+    public void archive() {
+        RollupCheckpoint checkpoint = rollupCheckpointRepository.findById(CHECKPOINT_NAME).orElse(null);
+        if (checkpoint == null) {
+            return;
+        }
+        // 아직 집계하지 않은 행은 옮기지 않음
+        LocalDateTime retention = LocalDateTime.now().minusDays(archiveRetentionDays);
+        LocalDateTime cutoff = retention.isBefore(checkpoint.getLastTime()) ? retention : checkpoint.getLastTime();
+
+        long archived = 0;
+        while (true) {
+            List<Long> ids = loginHistoryRepository.findIdsBefore(cutoff, PageRequest.of(0, archiveBatchSize));
+            if (ids.isEmpty()) {
+                break;
+            }
+            transactionTemplate.executeWithoutResult(status -> {
+                loginHistoryRepository.copyToArchive(ids);
+                loginHistoryRepository.deleteAllByIdInBatch(ids);
+            });
+            archived += ids.size();
+            if (ids.size() < archiveBatchSize) {
+                break;
+            }
+        }
+        log.info("Archived {} login records older than {}", archived, cutoff);
+    }
+
+    private record MemberBucket(RollupGranularity granularity, LocalDateTime bucketStart, Long memberId) {
+    }
+
+    private record PeriodBucket(RollupGranularity granularity, LocalDateTime bucketStart) {
+    }
+
+    private static final class PeriodDelta {
+        private long logins;
+
+        private final HyperLogLog ips = new HyperLogLog();
+    }
+}
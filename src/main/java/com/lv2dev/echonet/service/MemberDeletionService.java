@@ -0,0 +1,213 @@
+package com.lv2dev.echonet.service;
+
+import com.lv2dev.echonet.model.Member;
+import com.lv2dev.echonet.model.StoredFile;
+import com.lv2dev.echonet.persistence.FeedbackRepository;
+import com.lv2dev.echonet.persistence.FileChangeRepository;
+import com.lv2dev.echonet.persistence.LoginHistoryRepository;
+import com.lv2dev.echonet.persistence.LoginMemberRollupRepository;
+import com.lv2dev.echonet.persistence.MemberRepository;
+import com.lv2dev.echonet.persistence.PasswordResetTokenRepository;
+import com.lv2dev.echonet.persistence.StoredFileRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntSupplier;
+
+/**
+ * 회원 탈퇴를 단계적으로 처리하는 서비스입니다.
+ *
+ * 탈퇴 요청 시에는 회원을 탈퇴 상태로 바꾸고 토큰을 폐기한 뒤 정리 작업을 등록하는 것까지만 한 트랜잭션에서 처리합니다.
+ * 로그인 기록과 집계, 피드백, 파일처럼 많을 수 있는 하위 데이터는 작업자가 배치 단위로 삭제하므로(배치마다 별도 트랜잭션),
+ * 기록이 수백만 건인 회원이라도 한 트랜잭션이 잡는 잠금은 배치 크기로 제한됩니다.
+ * 하위 데이터를 모두 지운 뒤 회원 행을 삭제하고 프로필 이미지 참조를 해제하며, S3 객체는 삭제 큐를 거쳐 지워집니다.
+ */
+@Slf4j
+@Service
+public class MemberDeletionService implements JobHandler {
+    static final String QUEUE = "account";
+
+    static final String TYPE = "member.purge";
+
+    record Purge(Long memberId) {
+    }
+
+    private final MemberRepository memberRepository;
+
+    private final LoginHistoryRepository loginHistoryRepository;
+
+    private final LoginMemberRollupRepository loginMemberRollupRepository;
+
+    private final FeedbackRepository feedbackRepository;
+
+    private final PasswordResetTokenRepository passwordResetTokenRepository;
+
+    private final StoredFileRepository storedFileRepository;
+
+    private final FileChangeRepository fileChangeRepository;
+
+    private final BlobService blobService;
+
+    private final JobService jobService;
+
+    private final TransactionTemplate transactionTemplate;
+
+    // 한 번에 삭제할 최대 행 수
+    @Value("${echonet.member-deletion.batch-size}")
+    private int batchSize;
+
+    // 배치 사이의 대기 시간 (복제 지연과 잠금 경합 완화)
+    @Value("${echonet.member-deletion.batch-delay-ms}")
+    private long batchDelayMs;
+
+    // 한 번의 실행 시간 제한. 작업 점유 기한(echonet.jobs.lock-minutes)보다 짧아야 다른 작업자가 중복 실행하지 않음
+    @Value("${echonet.member-deletion.max-run-seconds}")
+    private long maxRunSeconds;
+
+    private final AtomicLong requestedCount = new AtomicLong();
+
+    private final AtomicLong purgedCount = new AtomicLong();
+
+    private final AtomicLong deletedRowCount = new AtomicLong();
+
+    public MemberDeletionService(MemberRepository memberRepository, LoginHistoryRepository loginHistoryRepository,
+                                 LoginMemberRollupRepository loginMemberRollupRepository, FeedbackRepository feedbackRepository, PasswordResetTokenRepository passwordResetTokenRepository,
+                                 StoredFileRepository storedFileRepository, FileChangeRepository fileChangeRepository,
+                                 BlobService blobService, JobService jobService, PlatformTransactionManager transactionManager) {
+        this.memberRepository = memberRepository;
+        this.loginHistoryRepository = loginHistoryRepository;
+        this.loginMemberRollupRepository = loginMemberRollupRepository;
+        this.feedbackRepository = feedbackRepository;
+        this.passwordResetTokenRepository = passwordResetTokenRepository;
+        this.storedFileRepository = storedFileRepository;
+        this.fileChangeRepository = fileChangeRepository;
+        this.blobService = blobService;
+        this.jobService = jobService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * 탈퇴를 요청합니다. 회원은 바로 탈퇴 상태가 되어 로그인과 토큰 갱신, 발급된 액세스 토큰의 사용이 막히고, 나머지 정리는 백그라운드에서 진행됩니다.
+     * 이미 탈퇴 처리 중인 회원이면 아무것도 하지 않습니다.
+     *
+     * @param memberId 탈퇴하려는 회원의 ID.
+     * @throws IllegalArgumentException 해당 ID를 가진 회원이 없을 경우 발생합니다.
+     */
+    @Transactional
+    public void requestDeletion(Long memberId) {
+        if (memberRepository.markDeleted(memberId) == 0) {
+            if (!memberRepository.existsById(memberId)) {
+                throw new IllegalArgumentException("Member not found with id: " + memberId);
+            }
+            return;
+        }
+        // 재설정 토큰 폐기 (리프레시 토큰은 markDeleted에서 폐기)
+        passwordResetTokenRepository.deleteByMemberId(memberId);
+        // 같은 트랜잭션에서 등록하므로 상태 변경과 작업 등록이 함께 커밋되거나 함께 롤백됨
+        jobService.enqueue(QUEUE, TYPE, new Purge(memberId), TYPE + ":" + memberId);
+        requestedCount.incrementAndGet();
+        log.info("Member {} marked deleted, purge scheduled", memberId);
+    }
+
+    @Override
+    public String getType() {
+        return TYPE;
+    }
+
+    @Override
+    public String getQueue() {
+        return QUEUE;
+    }
+
+    /**
+     * 탈퇴한 회원의 데이터를 정리합니다. 단계마다 남은 행만 지우므로 중간에 중단되어도 다시 실행하면 이어서 처리됩니다.
+     */
+    @Override
+    public void handle(String payload) throws Exception {
+        purge(jobService.readPayload(payload, Purge.class).memberId());
+    }
+
+    void purge(Long memberId) throws InterruptedException {
+        Member member = memberRepository.findById(memberId).orElse(null);
+        if (member == null) {
+            return; // 이전 실행에서 이미 정리됨
+        }
+        if (member.getState() != Member.STATE_DELETED) {
+            log.warn("Skipping purge of member {} which is no longer marked deleted", memberId);
+            return;
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(maxRunSeconds);
+        List<IntSupplier> stages = List.of(
+                () -> loginHistoryRepository.deleteByMemberId(memberId, batchSize),
+                () -> loginHistoryRepository.deleteArchivedByMemberId(memberId, batchSize),
+                // 로그인 기록을 지운 뒤에 삭제해 집계 작업이 이미 읽은 기록으로 다시 만드는 행을 줄임
+                () -> loginMemberRollupRepository.deleteByMemberId(memberId, batchSize),
+                () -> feedbackRepository.deleteByUserId(memberId, batchSize),
+                () -> deleteFiles(memberId),
+                () -> fileChangeRepository.deleteByOwnerId(memberId, batchSize));
+        long rows = 0;
+        for (IntSupplier stage : stages) {
+            int deleted;
+            do {
+                if (System.nanoTime() > deadline) {
+                    // 시간 제한을 넘기면 이어서 처리할 작업을 등록하고 이번 실행은 성공으로 끝냄
+                    jobService.enqueue(QUEUE, TYPE, new Purge(memberId));
+                    log.info("Purge of member {} continues in a new job after deleting {} rows", memberId, rows);
+                    return;
+                }
+                deleted = stage.getAsInt();
+                rows += deleted;
+                deletedRowCount.addAndGet(deleted);
+                if (deleted == batchSize && batchDelayMs > 0) {
+                    Thread.sleep(batchDelayMs);
+                }
+            } while (deleted == batchSize);
+        }
+
+        // 회원 행 삭제와 프로필 참조 해제는 한 트랜잭션에서. 다시 실행되어도 참조를 두 번 해제하지 않음
+        transactionTemplate.executeWithoutResult(status -> {
+            passwordResetTokenRepository.deleteByMemberId(memberId);
+            if (memberRepository.deleteIfDeleted(memberId) == 1) {
+                blobService.release(member.getProfile());
+            }
+        });
+        purgedCount.incrementAndGet();
+        log.info("Purged member {} and {} dependent rows", memberId, rows);
+    }
+
+    /**
+     * 파일 메타데이터를 최대 batchSize개 삭제하고 저장된 객체의 참조를 해제합니다.
+     */
+    private int deleteFiles(Long memberId) {
+        Integer deleted = transactionTemplate.execute(status -> {
+            List<StoredFile> files = storedFileRepository.findByOwnerId(memberId, PageRequest.of(0, batchSize));
+            storedFileRepository.deleteAllInBatch(files);
+            for (StoredFile file : files) {
+                blobService.release(file.getStorageUrl());
+            }
+            return files.size();
+        });
+        return deleted == null ? 0 : deleted;
+    }
+
+    public long getRequestedCount() {
+        return requestedCount.get();
+    }
+
+    public long getPurgedCount() {
+        return purgedCount.get();
+    }
+
+    public long getDeletedRowCount() {
+        return deletedRowCount.get();
+    }
+}
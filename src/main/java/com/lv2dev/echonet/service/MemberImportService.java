@@ -0,0 +1,476 @@
+package com.lv2dev.echonet.service;
+
+import com.lv2dev.echonet.dto.MemberImportStatusDTO;
+import com.lv2dev.echonet.model.Member;
+import com.lv2dev.echonet.persistence.MemberRepository;
+import com.lv2dev.echonet.security.PasswordPolicy;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.regex.Pattern;
+
+/**
+ * CSV 파일로 여러 회원을 한 번에 가입시키는 일괄 가입 서비스입니다.
+ *
+ * 요청 본문은 임시 파일로 그대로 복사한 뒤 작업 번호를 바로 반환하고, 가입은 작업 스레드에서 청크 단위로 처리합니다.
+ * 청크마다 형식 검증은 fork-join 풀에서 병렬로, 중복 확인은 이메일과 닉네임을 함께 묻는 IN 쿼리 한 번으로,
+ * BCrypt 해시는 크기가 제한된 전용 풀에서, 저장은 JDBC 배치 INSERT로 처리합니다.
+ * 행별 실패 사유는 작업 상태 조회로 확인할 수 있고, 작업 상태는 메모리에만 보관되어 보관 기간이 지나면 삭제됩니다.
+ */
+@Slf4j
+@Service
+public class MemberImportService {
+    private static final Pattern EMAIL_PATTERN = Pattern.compile("^[^@\\s]+@[^@\\s]+\\.[^@\\s]+$");
+
+    private static final int MAX_EMAIL_LENGTH = 255;
+
+    private static final int MAX_NICKNAME_LENGTH = 255;
+
+    private final MemberRepository memberRepository;
+
+    private final PasswordEncoder passwordEncoder;
+
+    private final PasswordPolicy passwordPolicy;
+
+    private final TransactionTemplate transactionTemplate;
+
+    // 가입 작업 실행 (동시에 실행할 작업 수 제한)
+    private final ThreadPoolExecutor jobExecutor;
+
+    // 행 검증용 fork-join 풀
+    private final ForkJoinPool validationPool;
+
+    // BCrypt 해시 전용 풀. 큐가 차면 작업 스레드가 직접 계산해 자연스럽게 속도를 맞춤
+    private final ThreadPoolExecutor hashingPool;
+
+    private final Map<String, ImportJob> jobs = new ConcurrentHashMap<>();
+
+    @Value("${echonet.import.chunk-size}")
+    private int chunkSize;
+
+    @Value("${echonet.import.max-rows}")
+    private int maxRows;
+
+    // 요청 본문 최대 크기 (바이트). 임시 파일로 복사하는 동안 확인해 디스크를 채우지 못하게 함
+    @Value("${echonet.import.max-bytes}")
+    private long maxBytes;
+
+    @Value("${echonet.import.max-errors}")
+    private int maxErrors;
+
+    // 끝난 작업의 상태 보관 시간 (분 단위)
+    @Value("${echonet.import.job-retention-minutes}")
+    private int jobRetentionMinutes;
+
+    public MemberImportService(MemberRepository memberRepository, PasswordEncoder passwordEncoder, PasswordPolicy passwordPolicy,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${echonet.import.max-concurrent-jobs}") int maxConcurrentJobs,
+                               @Value("${echonet.import.validation-parallelism}") int validationParallelism,
+                               @Value("${echonet.import.hashing-threads}") int hashingThreads) {
+        this.memberRepository = memberRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.passwordPolicy = passwordPolicy;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.jobExecutor = new ThreadPoolExecutor(maxConcurrentJobs, maxConcurrentJobs, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(maxConcurrentJobs * 4), namedThreads("member-import-"));
+        this.validationPool = new ForkJoinPool(validationParallelism);
+        this.hashingPool = new ThreadPoolExecutor(hashingThreads, hashingThreads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(hashingThreads * 16), namedThreads("member-import-hash-"),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    /**
+     * CSV를 받아 가입 작업을 등록합니다.
+     * 첫 줄은 헤더이며 email, nickname, password 열이 필요하고 role(0: 학생, 1: 선생) 열은 선택입니다.
+     *
+     * @param csv 요청 본문 스트림.
+     * @return 등록된 작업의 상태.
+     * @throws ResponseStatusException 본문이 최대 크기를 넘으면 413, 대기 중인 작업이 너무 많으면 503.
+     */
+    public MemberImportStatusDTO submit(InputStream csv) throws IOException {
+        Path file = Files.createTempFile("member-import-", ".csv");
+        try {
+            copyLimited(csv, file);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+
+        ImportJob job = new ImportJob(UUID.randomUUID().toString());
+        jobs.put(job.id, job);
+        try {
+            jobExecutor.execute(() -> run(job, file));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.id);
+            Files.deleteIfExists(file);
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Too many imports in progress, try again later");
+        }
+        return job.toDTO();
+    }
+
+    private void copyLimited(InputStream in, Path file) throws IOException {
+        try (OutputStream out = Files.newOutputStream(file)) {
+            byte[] buffer = new byte[8192];
+            long total = 0;
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                total += read;
+                if (total > maxBytes) {
+                    throw new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE, "CSV must be at most " + maxBytes + " bytes");
+                }
+                out.write(buffer, 0, read);
+            }
+        }
+    }
+
+    /**
+     * 작업 상태를 조회합니다.
+     *
+     * @param jobId 작업 번호.
+     * @return 작업 상태.
+     */
+    public MemberImportStatusDTO getStatus(String jobId) {
+        ImportJob job = jobs.get(jobId);
+        if (job == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Import job not found");
+        }
+        return job.toDTO();
+    }
+
+    private void run(ImportJob job, Path file) {
+        job.start();
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String header = reader.readLine();
+            if (header == null) {
+                throw new IllegalArgumentException("CSV is empty");
+            }
+            Columns columns = Columns.of(parseLine(stripBom(header)));
+
+            // 파일 안에서의 중복 확인 (이메일, 닉네임 고유 인덱스는 대소문자를 구분하지 않음)
+            Set<String> seenEmails = new HashSet<>();
+            Set<String> seenNicknames = new HashSet<>();
+
+            List<Row> chunk = new ArrayList<>(chunkSize);
+            int lineNumber = 1;
+            int rowCount = 0;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                if (++rowCount > maxRows) {
+                    job.fail(lineNumber, null, "Too many rows, at most " + maxRows + " rows are imported");
+                    break;
+                }
+                chunk.add(columns.toRow(lineNumber, line));
+                if (chunk.size() == chunkSize) {
+                    importChunk(job, chunk, seenEmails, seenNicknames);
+                    chunk = new ArrayList<>(chunkSize);
+                }
+            }
+            if (!chunk.isEmpty()) {
+                importChunk(job, chunk, seenEmails, seenNicknames);
+            }
+            job.finish(true);
+            log.info("Member import {} finished: {} imported, {} failed", job.id, job.imported, job.failed);
+        } catch (RuntimeException | IOException e) {
+            log.warn("Member import {} failed", job.id, e);
+            job.fail(0, null, e.getMessage());
+            job.finish(false);
+        } finally {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                log.warn("Failed to delete import file {}", file, e);
+            }
+        }
+    }
+
+    private void importChunk(ImportJob job, List<Row> chunk, Set<String> seenEmails, Set<String> seenNicknames) {
+        // 1. 형식과 비밀번호 정책 검증 (병렬)
+        List<String> errors = validationPool.submit(() -> chunk.parallelStream().map(this::validate).toList()).join();
+
+        List<Row> valid = new ArrayList<>(chunk.size());
+        for (int i = 0; i < chunk.size(); i++) {
+            Row row = chunk.get(i);
+            if (errors.get(i) != null) {
+                job.fail(row.line, row.email, errors.get(i));
+            } else if (!seenEmails.add(row.email.toLowerCase(Locale.ROOT))) {
+                job.fail(row.line, row.email, "Duplicate email in file");
+            } else if (!seenNicknames.add(row.nickname.toLowerCase(Locale.ROOT))) {
+                job.fail(row.line, row.email, "Duplicate nickname in file");
+            } else {
+                valid.add(row);
+            }
+        }
+        if (valid.isEmpty()) {
+            return;
+        }
+
+        // 2. 이미 가입된 이메일, 닉네임 확인 (쿼리 한 번)
+        Set<String> takenEmails = new HashSet<>();
+        Set<String> takenNicknames = new HashSet<>();
+        for (MemberRepository.Identity identity : memberRepository.findIdentities(
+                valid.stream().map(Row::email).toList(), valid.stream().map(Row::nickname).toList())) {
+            takenEmails.add(identity.getEmail().toLowerCase(Locale.ROOT));
+            takenNicknames.add(identity.getNickname().toLowerCase(Locale.ROOT));
+        }
+
+        // 3. 비밀번호 해시 (제한된 풀에서 병렬)
+        List<Row> accepted = new ArrayList<>(valid.size());
+        List<Future<String>> hashes = new ArrayList<>(valid.size());
+        for (Row row : valid) {
+            if (takenEmails.contains(row.email.toLowerCase(Locale.ROOT))) {
+                job.fail(row.line, row.email, "Email already in use");
+            } else if (takenNicknames.contains(row.nickname.toLowerCase(Locale.ROOT))) {
+                job.fail(row.line, row.email, "Nickname already in use");
+            } else {
+                accepted.add(row);
+                hashes.add(hashingPool.submit(() -> passwordEncoder.encode(row.password)));
+            }
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Member> members = new ArrayList<>(accepted.size());
+        for (int i = 0; i < accepted.size(); i++) {
+            Row row = accepted.get(i);
+            members.add(Member.builder()
+                    .email(row.email)
+                    .nickname(row.nickname)
+                    .password(await(hashes.get(i)))
+                    .joinDay(now)
+                    .role(row.role)
+                    .state(0)
+                    .build());
+        }
+
+        // 4. 배치 INSERT. 그 사이 다른 요청이 같은 값으로 가입했다면 행 단위로 다시 저장해 실패한 행만 기록
+        try {
+            transactionTemplate.executeWithoutResult(status -> memberRepository.saveAll(members));
+            job.imported(members.size());
+        } catch (DataIntegrityViolationException e) {
+            for (int i = 0; i < members.size(); i++) {
+                Member member = members.get(i);
+                member.setId(null);
+                try {
+                    transactionTemplate.executeWithoutResult(status -> memberRepository.save(member));
+                    job.imported(1);
+                } catch (DataIntegrityViolationException rowError) {
+                    job.fail(accepted.get(i).line, member.getEmail(), "Email or nickname already in use");
+                }
+            }
+        }
+    }
+
+    /**
+     * @return 오류 메시지. 올바르면 null.
+     */
+    private String validate(Row row) {
+        if (row.error != null) {
+            return row.error;
+        }
+        if (row.email.isEmpty() || row.email.length() > MAX_EMAIL_LENGTH || !EMAIL_PATTERN.matcher(row.email).matches()) {
+            return "Invalid email";
+        }
+        if (row.nickname.isBlank() || row.nickname.length() > MAX_NICKNAME_LENGTH) {
+            return "Invalid nickname";
+        }
+        if (row.role != 0 && row.role != 1) {
+            return "Role must be 0 or 1";
+        }
+        PasswordPolicy.Result result = passwordPolicy.check(row.password);
+        if (result != PasswordPolicy.Result.OK) {
+            return "Password " + result.getMessage();
+        }
+        return null;
+    }
+
+    private static String await(Future<String> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while hashing passwords", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    /**
+     * 끝난 지 보관 기간이 지난 작업 상태를 삭제합니다.
+     */
+    @Scheduled(fixedDelayString = "${echonet.import.cleanup-interval-ms}")
+    public void cleanupJobs() {
+        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(jobRetentionMinutes);
+        jobs.values().removeIf(job -> job.isFinishedBefore(cutoff));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        jobExecutor.shutdownNow();
+        validationPool.shutdownNow();
+        hashingPool.shutdownNow();
+    }
+
+    private static ThreadFactory namedThreads(String prefix) {
+        return runnable -> {
+            Thread thread = new Thread(runnable);
+            thread.setName(prefix + thread.getId());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private static String stripBom(String line) {
+        return !line.isEmpty() && line.charAt(0) == '\uFEFF' ? line.substring(1) : line;
+    }
+
+    /**
+     * CSV 한 줄을 필드로 나눕니다. 큰따옴표로 감싼 필드와 이스케이프("")를 지원합니다. (필드 안 줄바꿈은 지원하지 않음)
+     */
+    static List<String> parseLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private record Row(int line, String email, String nickname, String password, int role, String error) {
+    }
+
+    /**
+     * 헤더에서 찾은 열 위치
+     */
+    private record Columns(int email, int nickname, int password, int role) {
+        static Columns of(List<String> header) {
+            List<String> names = header.stream().map(name -> name.trim().toLowerCase(Locale.ROOT)).toList();
+            int email = names.indexOf("email");
+            int nickname = names.indexOf("nickname");
+            int password = names.indexOf("password");
+            if (email < 0 || nickname < 0 || password < 0) {
+                throw new IllegalArgumentException("CSV header must contain email, nickname and password columns");
+            }
+            return new Columns(email, nickname, password, names.indexOf("role"));
+        }
+
+        Row toRow(int line, String text) {
+            List<String> fields = parseLine(text);
+            int required = Math.max(Math.max(email, nickname), Math.max(password, role)) + 1;
+            if (fields.size() < required) {
+                return new Row(line, fields.isEmpty() ? null : fields.get(0), "", "", 0, "Expected " + required + " columns");
+            }
+            String roleValue = role < 0 ? "" : fields.get(role).trim();
+            int parsedRole;
+            try {
+                parsedRole = roleValue.isEmpty() ? 0 : Integer.parseInt(roleValue);
+            } catch (NumberFormatException e) {
+                return new Row(line, fields.get(email).trim(), "", "", 0, "Role must be 0 or 1");
+            }
+            return new Row(line, fields.get(email).trim(), fields.get(nickname).trim(), fields.get(password), parsedRole, null);
+        }
+    }
+
+    /**
+     * 진행 중인 작업의 상태
+     */
+    private final class ImportJob {
+        private final String id;
+
+        private final LocalDateTime createdAt = LocalDateTime.now();
+
+        private final List<MemberImportStatusDTO.RowError> errors = new ArrayList<>();
+
+        private String state = "QUEUED";
+
+        private int imported;
+
+        private int failed;
+
+        private LocalDateTime finishedAt;
+
+        ImportJob(String id) {
+            this.id = id;
+        }
+
+        synchronized void start() {
+            state = "RUNNING";
+        }
+
+        synchronized void imported(int count) {
+            imported += count;
+        }
+
+        synchronized void fail(int line, String email, String message) {
+            if (line > 0) {
+                failed++;
+            }
+            if (errors.size() < maxErrors) {
+                errors.add(MemberImportStatusDTO.RowError.builder().line(line).email(email).message(message).build());
+            }
+        }
+
+        synchronized void finish(boolean completed) {
+            state = completed ? "COMPLETED" : "FAILED";
+            finishedAt = LocalDateTime.now();
+        }
+
+        synchronized boolean isFinishedBefore(LocalDateTime cutoff) {
+            return finishedAt != null && finishedAt.isBefore(cutoff);
+        }
+
+        synchronized MemberImportStatusDTO toDTO() {
+            return MemberImportStatusDTO.builder()
+                    .jobId(id)
+                    .state(state)
+                    .processedRows(imported + failed)
+                    .importedRows(imported)
+                    .failedRows(failed)
+                    .errors(List.copyOf(errors))
+                    .errorsTruncated(failed > errors.size())
+                    .createdAt(createdAt)
+                    .finishedAt(finishedAt)
+                    .build();
+        }
+    }
+}
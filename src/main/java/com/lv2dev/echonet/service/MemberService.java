@@ -1,14 +1,15 @@
 package com.lv2dev.echonet.service;
 
 import com.lv2dev.echonet.dto.MemberDTO;
+import com.lv2dev.echonet.dto.MemberProfileDTO;
 import com.lv2dev.echonet.model.LoginHistory;
 import com.lv2dev.echonet.model.Member;
-import com.lv2dev.echonet.model.PasswordResetToken;
 import com.lv2dev.echonet.persistence.LoginHistoryRepository;
 import com.lv2dev.echonet.persistence.MemberRepository;
-import com.lv2dev.echonet.persistence.PasswordResetTokenRepository;
+import com.lv2dev.echonet.security.PasswordPolicy;
+import io.micrometer.observation.annotation.Observed;
 import jakarta.servlet.http.HttpServletRequest;
-import org.springframework.beans.factory.annotation.Autowired;
+import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.authentication.BadCredentialsException;
@@ -16,30 +17,33 @@ import org.springframework.security.authentication.LockedException;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.io.IOException;
 import java.time.LocalDateTime;
-import java.util.Optional;
-import java.util.Random;
-import java.util.UUID;
+import java.util.*;
 
 @Service
+@RequiredArgsConstructor
+@Observed(name = "echonet.member.service") // 모든 public 메소드를 트레이스 span과 타이머(method 태그)로 기록
 public class MemberService {
-    private MemberRepository memberRepository;
+    private final MemberRepository memberRepository;
 
-    private PasswordEncoder passwordEncoder;
+    private final PasswordEncoder passwordEncoder;
 
-    private S3Service s3Service;
+    private final BlobService blobService;
 
-    private EmailService emailService;
+    private final EmailService emailService;
 
-    private PasswordResetTokenRepository passwordResetTokenRepository;
+    private final LoginHistoryRepository loginHistoryRepository;
 
-    private LoginHistoryRepository loginHistoryRepository;
+    private final UserAgentParser userAgentParser;
 
-    private NotificationService notificationService;
+    private final PasswordPolicy passwordPolicy;
+
+    private final MemberDeletionService memberDeletionService;
 
     // 최대 로그인 시도 횟수
     @Value("${maxLoginAttempt}")
@@ -49,17 +53,9 @@ public class MemberService {
     @Value("${lockTimeHours}")
     private int LOCK_TIME_HOURS;
 
-    //secretKey 추가
-    @Value("${secretKey}")
-    private String secretKey;
-
-    //port
-    @Value("${server.port}")
-    private String port;
-
-    //domain
-    @Value("${server.domain}")
-    private String domain;
+    // 한 번에 조회할 수 있는 최대 프로필 수
+    @Value("${echonet.profile.max-batch-ids}")
+    private int MAX_PROFILE_BATCH;
 
     public void signUp(MemberDTO memberDTO) throws IOException {
         // 이메일 중복 확인
@@ -73,9 +69,7 @@ public class MemberService {
         }
 
         // 비밀번호 규칙 검증
-        if (!isValidPassword(memberDTO.getPassword())) {
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Password does not meet the criteria");
-        }
+        requireValidPassword(memberDTO.getPassword());
 
         Member member = Member.builder()
                 .email(memberDTO.getEmail())
@@ -88,19 +82,26 @@ public class MemberService {
 
         // 이미지가 입력되었을 때만 처리
         if (memberDTO.getProfile() != null && !memberDTO.getProfile().isEmpty()) {
-            String uniqueFileName = UUID.randomUUID().toString() + "_" + System.currentTimeMillis();
-            String profileUrl = s3Service.uploadFile(memberDTO.getProfile(), "member/profile", uniqueFileName);
-            member.setProfile(profileUrl);
+            member.setProfile(uploadProfileImage(memberDTO.getProfile()));
         }
 
-        // 회원 정보 저장
-        memberRepository.save(member);
+        // 회원 정보 저장. 중복 가입 등으로 실패하면 획득한 프로필 이미지 참조를 돌려놓음
+        try {
+            memberRepository.save(member);
+        } catch (RuntimeException e) {
+            blobService.release(member.getProfile());
+            throw e;
+        }
     }
 
-    private boolean isValidPassword(String password) {
-        // 비밀번호 규칙: 특수문자 1개 이상, 대문자 1개 이상, 영문자, 소문자
-        String passwordPattern = "^(?=.*[0-9])(?=.*[a-z])(?=.*[A-Z])(?=.*[@#$%^&+=])(?=\\S+$).{8,}$";
-        return password.matches(passwordPattern);
+    /**
+     * 비밀번호 정책을 검사하고, 어긋나면 어긴 규칙을 담아 400 응답을 보냅니다.
+     */
+    private void requireValidPassword(String password) {
+        PasswordPolicy.Result result = passwordPolicy.check(password);
+        if (result != PasswordPolicy.Result.OK) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Password does not meet the criteria: password " + result.getMessage());
+        }
     }
 
 
@@ -117,17 +118,89 @@ public class MemberService {
     public Member updateMemberInfo(Long memberId, MemberDTO memberDTO, MultipartFile profileImage) throws IOException {
         Member existingMember = findMemberById(memberId);
         updateMemberDetails(existingMember, memberDTO);
-        updateProfileImageIfNeeded(existingMember, profileImage);
-        return memberRepository.save(existingMember);
+        String previousProfile = existingMember.getProfile();
+        boolean profileChanged = updateProfileImageIfNeeded(existingMember, profileImage);
+        // 다른 인스턴스가 캐시 항목을 지우도록 변경 시각을 기록 (MemberCacheInvalidator)
+        existingMember.setChangedAt(LocalDateTime.now());
+
+        // 저장에 성공한 뒤에 이전 이미지의 참조를 해제하고, 실패하면 새 이미지의 참조를 돌려놓음
+        Member saved;
+        try {
+            saved = memberRepository.save(existingMember);
+        } catch (RuntimeException e) {
+            if (profileChanged) {
+                blobService.release(existingMember.getProfile());
+            }
+            throw e;
+        }
+        if (profileChanged) {
+            blobService.release(previousProfile);
+        }
+        return saved;
     }
 
+    @Transactional(readOnly = true)
     public Member findMemberById(Long memberId) {
         return memberRepository.findById(memberId)
                 .orElseThrow(() -> new IllegalArgumentException("Member not found with id: " + memberId));
     }
 
+    /**
+     * 관리자(role 2)인지 확인합니다.
+     *
+     * @param memberId 확인할 회원의 ID.
+     * @throws ResponseStatusException 관리자가 아니면 403.
+     */
+    public void requireAdmin(Long memberId) {
+        Member member = memberRepository.findCredentialsById(memberId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.FORBIDDEN, "Admin only"));
+        if (member.getRole() != 2) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Admin only");
+        }
+    }
+
+    /**
+     * 회원 프로필을 조회합니다.
+     *
+     * @param memberId 조회할 회원의 ID.
+     * @return 닉네임과 프로필 이미지 URL.
+     * @throws ResponseStatusException 회원이 없거나 탈퇴 처리 중이면 404.
+     */
+    @Transactional(readOnly = true)
+    public MemberProfileDTO getProfile(Long memberId) {
+        return memberRepository.findProfile(memberId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Member not found"));
+    }
+
+    /**
+     * 여러 회원의 프로필을 한 번의 쿼리로 조회합니다. 결과는 요청한 ID 순서이며, 없는 회원은 빠집니다.
+     *
+     * @param memberIds 조회할 회원 ID 목록. 중복은 한 번만 조회합니다.
+     * @throws ResponseStatusException ID가 없거나 최대 개수를 넘으면 400.
+     */
+    @Transactional(readOnly = true)
+    public List<MemberProfileDTO> getProfiles(List<Long> memberIds) {
+        Set<Long> ids = new LinkedHashSet<>(memberIds);
+        if (ids.isEmpty() || ids.size() > MAX_PROFILE_BATCH) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Between 1 and " + MAX_PROFILE_BATCH + " ids are allowed");
+        }
+        Map<Long, MemberProfileDTO> found = new HashMap<>();
+        for (MemberProfileDTO profile : memberRepository.findProfiles(ids)) {
+            found.put(profile.id(), profile);
+        }
+        List<MemberProfileDTO> profiles = new ArrayList<>(found.size());
+        for (Long id : ids) {
+            MemberProfileDTO profile = found.get(id);
+            if (profile != null) {
+                profiles.add(profile);
+            }
+        }
+        return profiles;
+    }
+
     private void updateMemberDetails(Member member, MemberDTO memberDTO) {
         if (memberDTO.getPassword() != null && !memberDTO.getPassword().isEmpty()) {
+            requireValidPassword(memberDTO.getPassword());
             member.setPassword(passwordEncoder.encode(memberDTO.getPassword()));
         }
         if (memberDTO.getNickname() != null && !memberDTO.getNickname().isEmpty()) {
@@ -135,16 +208,20 @@ public class MemberService {
         }
     }
 
-    private void updateProfileImageIfNeeded(Member member, MultipartFile profileImage) throws IOException {
+    private boolean updateProfileImageIfNeeded(Member member, MultipartFile profileImage) throws IOException {
         if (profileImage != null && !profileImage.isEmpty()) {
-            String profileUrl = uploadProfileImage(profileImage);
-            member.setProfile(profileUrl);
+            member.setProfile(uploadProfileImage(profileImage));
+            return true;
         }
+        return false;
     }
 
+    /**
+     * 프로필 이미지를 내용 주소 기반 저장소에 업로드합니다.
+     * 같은 이미지가 이미 저장되어 있으면 새로 저장하지 않고 기존 객체의 참조만 늘어납니다.
+     */
     private String uploadProfileImage(MultipartFile profileImage) throws IOException {
-        String uniqueFileName = UUID.randomUUID().toString() + "_" + System.currentTimeMillis();
-        return s3Service.uploadFile(profileImage, "member/profile", uniqueFileName);
+        return blobService.store(profileImage).getStorageUrl();
     }
 
     /**
@@ -155,16 +232,15 @@ public class MemberService {
      * @throws ResponseStatusException 사용자를 찾을 수 없거나, 기타 오류 발생 시 예외를 발생시킵니다.
      */
     public void resetPassword(String email, String newPassword) {
-        // 사용자 이메일로 회원 정보 조회
-        Member member = memberRepository.findByEmail(email)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found with email: " + email));
+        requireValidPassword(newPassword);
 
         // 새 비밀번호를 암호화
         String encodedPassword = passwordEncoder.encode(newPassword);
 
-        // 암호화된 비밀번호로 회원 정보 업데이트
-        member.setPassword(encodedPassword);
-        memberRepository.save(member);
+        // 조회 없이 이메일로 바로 비밀번호 업데이트
+        if (memberRepository.updatePasswordByEmail(email, encodedPassword) == 0) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found with email: " + email);
+        }
 
         // 변경 성공 후 회원에게 이메일 전송
         emailService.sendEmailNotification(email, "비밀번호 변경 알림", "귀하의 비밀번호가 성공적으로 변경되었습니다.");
@@ -178,56 +254,12 @@ public class MemberService {
      * @return Member 이메일 주소를 가진 사용자입니다.
      * @throws ResponseStatusException 사용자를 찾을 수 없거나, 기타 오류 발생 시 예외를 발생시킵니다.
      */
+    @Transactional(readOnly = true)
     public Member findMemberByEmail(String email) {
         return memberRepository.findByEmail(email)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.BAD_REQUEST, "User not found"));
     }
 
-
-    /**
-     * 사용자가 비밀번호를 잊어버렸을 때, 이메일을 통해 비밀번호 재설정 링크를 요청할 수 있는 기능을 추가합니다.
-     * 이 메소드는 임시 비밀번호를 생성하고 이를 이메일로 전송하는 기능을 수행합니다.
-     *
-     * @param email 비밀번호를 재설정하려는 사용자의 이메일 주소입니다.
-     * @throws ResponseStatusException 사용자를 찾을 수 없거나, 기타 오류 발생 시 예외를 발생시킵니다.
-     */
-    public void requestPasswordReset(String email) {
-        // 사용자 이메일로 회원 정보 조회
-        Member member = findMemberByEmail(email);
-
-        // 임시 비밀번호 생성
-        String tempPassword = generateTempPassword();
-
-        // 임시 비밀번호를 암호화하여 회원 정보 업데이트
-        member.setPassword(passwordEncoder.encode(tempPassword));
-        memberRepository.save(member);
-
-        // 임시 비밀번호를 이메일로 전송
-        emailService.sendEmailNotification(email, "비밀번호 재설정 요청", "귀하의 임시 비밀번호는 " + tempPassword + "입니다.");
-    }
-
-    /**
-     * 임시 비밀번호를 생성하는 메소드입니다.
-     * 이 메소드는 8자리의 랜덤한 문자열을 생성하여 반환합니다.
-     *
-     * @return String 생성된 임시 비밀번호입니다.
-     */
-    private String generateTempPassword() {
-        // 비밀번호에 사용될 문자 세트
-        String chars = secretKey;
-
-        // 랜덤 객체 생성
-        Random rnd = new Random();
-
-        // 8자리의 랜덤 문자열 생성
-        StringBuilder tempPassword = new StringBuilder(8);
-        for (int i = 0; i < 8; i++) {
-            tempPassword.append(chars.charAt(rnd.nextInt(chars.length())));
-        }
-
-        return tempPassword.toString();
-    }
-
     /**
      * 사용자의 닉네임을 변경합니다.
      *
@@ -235,9 +267,9 @@ public class MemberService {
      * @param newNickname 사용자가 설정할 새로운 닉네임.
      */
     public void changeNickname(Long memberId, String newNickname) {
-        Member member = findMemberById(memberId);
-        member.setNickname(newNickname);
-        memberRepository.save(member);
+        if (memberRepository.updateNickname(memberId, newNickname) == 0) {
+            throw new IllegalArgumentException("Member not found with id: " + memberId);
+        }
     }
 
     /**
@@ -248,10 +280,21 @@ public class MemberService {
      * @throws IOException 프로필 이미지 업로드 중 오류 발생 시.
      */
     public void changeProfileImage(Long memberId, MultipartFile newProfileImage) throws IOException {
+        // 이전 프로필의 참조를 해제해야 하므로 현재 값과 버전을 읽음
         Member member = findMemberById(memberId);
+        String previousProfile = member.getProfile();
         String profileUrl = uploadProfileImage(newProfileImage);
-        member.setProfile(profileUrl);
-        memberRepository.save(member);
+        try {
+            if (memberRepository.updateProfile(memberId, profileUrl, member.getVersion()) == 0) {
+                // 그 사이 다른 요청이 회원 정보를 바꿈
+                throw new ResponseStatusException(HttpStatus.CONFLICT, "Member was modified concurrently");
+            }
+        } catch (RuntimeException e) {
+            // 변경하지 못했으므로 새로 올린 이미지의 참조를 되돌림
+            blobService.release(profileUrl);
+            throw e;
+        }
+        blobService.release(previousProfile);
     }
     /**
      * 사용자가 시스템에 로그인하는 메서드입니다.
@@ -265,33 +308,45 @@ public class MemberService {
      * @throws BadCredentialsException 입력한 비밀번호가 일치하지 않을 때 발생합니다.
      */
     public Member login(String email, String password) {
-        Member member = memberRepository.findByEmail(email)
+        Member member = memberRepository.findCredentialsByEmail(email)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + email));
+        if (member.getState() == Member.STATE_DELETED) {
+            throw new UsernameNotFoundException("User not found with email: " + email);
+        }
 
+        boolean lockExpired = false;
         if (member.getLoginAttempt() >= MAX_LOGIN_ATTEMPT) {
             if (member.getLastLoginAttempt().isBefore(LocalDateTime.now().minusHours(LOCK_TIME_HOURS))) {
-                member.setLoginAttempt(0);
+                lockExpired = true;
             } else {
                 throw new LockedException("Account is locked due to too many failed login attempts. Please try again later.");
             }
         }
 
+        // 시도 횟수는 UPDATE 문 안에서 증가시켜 동시 요청에도 누락되지 않음
         if (!passwordEncoder.matches(password, member.getPassword())) {
-            member.setLoginAttempt(member.getLoginAttempt() + 1);
-            member.setLastLoginAttempt(LocalDateTime.now());
-            memberRepository.save(member);
+            LocalDateTime now = LocalDateTime.now();
+            if (lockExpired) {
+                memberRepository.restartLoginAttempt(member.getId(), now);
+            } else {
+                memberRepository.incrementLoginAttempt(member.getId(), now);
+            }
             throw new BadCredentialsException("Invalid password");
         }
 
-        member.setLoginAttempt(0);
-        memberRepository.save(member);
+        // 초기화할 횟수가 없으면 쓰기를 생략
+        if (member.getLoginAttempt() != 0) {
+            memberRepository.resetLoginAttempt(member.getId());
+            member.setLoginAttempt(0);
+        }
 
         return member;
     }
 
     /**
      * 회원 탈퇴 기능을 수행하는 메소드입니다.
-     * 이 메소드는 회원의 ID를 인자로 받아 해당 회원을 데이터베이스에서 삭제합니다.
+     * 회원을 바로 탈퇴 상태로 바꾸고 토큰을 폐기하며, 로그인 기록 등 하위 데이터와 회원 행, 프로필 이미지는
+     * 백그라운드 작업이 배치 단위로 정리합니다. ({@link MemberDeletionService})
      *
      * 구현 시에는 비밀번호를 입력받아 인증을 수행하도록 구현한다.
      *
@@ -299,13 +354,7 @@ public class MemberService {
      * @throws IllegalArgumentException 해당 ID를 가진 회원이 없을 경우 발생합니다.
      */
     public void deleteMember(Long memberId) {
-        // 회원 존재 여부 확인
-        if (!memberRepository.existsById(memberId)) {
-            throw new IllegalArgumentException("Member not found with id: " + memberId);
-        }
-
-        // 회원 삭제
-        memberRepository.deleteById(memberId);
+        memberDeletionService.requestDeletion(memberId);
     }
 
 
@@ -329,11 +378,10 @@ public class MemberService {
         // IP 주소를 설정합니다.
         loginHistory.setIpAddress(request.getRemoteAddr());
 
-        // 브라우저 정보를 설정합니다.
-        loginHistory.setBrowserInfo(request.getHeader("User-Agent"));
-
-        // 디바이스 정보를 설정합니다. 실제 환경에서는 디바이스 정보를 얻는 라이브러리를 사용할 수 있습니다.
-        loginHistory.setDeviceInfo("Unknown");
+        // User-Agent를 분류해 브라우저와 디바이스 정보를 설정합니다. (예: Chrome 120, Mobile / Android 14)
+        UserAgentParser.Info agent = userAgentParser.parse(request.getHeader("User-Agent"));
+        loginHistory.setBrowserInfo(agent.browser());
+        loginHistory.setDeviceInfo(agent.device());
 
         // 로그인 기록을 저장합니다.
         loginHistoryRepository.save(loginHistory);
@@ -350,7 +398,7 @@ public class MemberService {
      */
     public void changePassword(String email, String currentPassword, String newPassword) {
         // 이메일을 통해 사용자를 찾습니다.
-        Optional<Member> memberOptional = memberRepository.findByEmail(email);
+        Optional<Member> memberOptional = memberRepository.findCredentialsByEmail(email);
 
         Member member = memberOptional.orElseThrow(() -> new IllegalArgumentException("User not found"));
 
@@ -364,24 +412,12 @@ public class MemberService {
             throw new IllegalArgumentException("Current password is incorrect");
         }
 
-        // 비밀번호가 일치하면 새로운 비밀번호로 변경합니다.
-        member.setPassword(passwordEncoder.encode(newPassword));
-        memberRepository.save(member);
-    }
-
+        requireValidPassword(newPassword);
 
-    /**
-     * 사용자를 위한 비밀번호 재설정 토큰을 생성하고, 이메일로 토큰을 보냅니다.
-     *
-     * @param user 토큰을 발급받는 사용자
-     * @param token 비밀번호 재설정 토큰 문자열
-     */
-    public void createPasswordResetTokenForUser(final Member user, final String token) {
-        final PasswordResetToken myToken = new PasswordResetToken(token, user);
-        passwordResetTokenRepository.save(myToken);
-        notificationService.sendEmailNotification(user.getEmail(), "Password reset request",
-                "To reset your password, click the link below:\n" +
-                        domain + port + "?token=" + token);
+        // 비밀번호가 일치하면 새로운 비밀번호로 변경합니다. 확인한 뒤 다른 요청이 먼저 바꿨다면 충돌로 처리합니다.
+        if (memberRepository.updatePassword(member.getId(), passwordEncoder.encode(newPassword), member.getVersion()) == 0) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Password was changed concurrently");
+        }
     }
 
 }
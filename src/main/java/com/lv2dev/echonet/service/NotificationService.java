@@ -1,23 +1,17 @@
 package com.lv2dev.echonet.service;
 
-import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.stereotype.Service;
 
 @Service
 public class NotificationService {
 
-    private final JavaMailSender emailSender;
+    private final EmailService emailService;
 
-    public NotificationService(JavaMailSender emailSender) {
-        this.emailSender = emailSender;
+    public NotificationService(EmailService emailService) {
+        this.emailService = emailService;
     }
 
     public void sendEmailNotification(String email, String subject, String message) {
-        SimpleMailMessage mailMessage = new SimpleMailMessage();
-        mailMessage.setTo(email);
-        mailMessage.setSubject(subject);
-        mailMessage.setText(message);
-        emailSender.send(mailMessage);
+        emailService.sendEmailNotification(email, subject, message);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,199 @@
+package com.lv2dev.echonet.service;
+
+import com.lv2dev.echonet.model.Member;
+import com.lv2dev.echonet.model.PasswordResetToken;
+import com.lv2dev.echonet.persistence.MemberRepository;
+import com.lv2dev.echonet.persistence.PasswordResetTokenRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.Optional;
+
+/**
+ * 비밀번호 재설정 토큰을 발급, 검증, 정리하는 서비스입니다.
+ *
+ * 토큰 원문은 이메일로만 보내고 데이터베이스에는 SHA-256 해시를 고유 인덱스 컬럼에 저장하므로,
+ * 테이블이 유출되어도 토큰을 사용할 수 없습니다. 회원당 토큰은 하나이며 새로 발급하면 이전 토큰은 무효가 됩니다.
+ * 토큰은 한 번만 사용할 수 있고, 만료된 토큰은 만료 시각 인덱스를 따라 배치 단위로 삭제합니다.
+ *
+ * 메일 작업(background_job.payload)에는 회원 ID만 저장하고, 토큰은 작업자가 메일을 보내는 시점에 발급합니다.
+ * 그래서 대기, 재시도, 실패 상태로 남은 작업에서도 토큰 원문을 읽을 수 없습니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PasswordResetService implements JobHandler {
+    static final String TYPE = "mail.password-reset";
+
+    record ResetMail(Long memberId) {
+    }
+
+    // 토큰 원문 길이 (바이트)
+    private static final int TOKEN_BYTES = 32;
+
+    private final PasswordResetTokenRepository passwordResetTokenRepository;
+
+    private final MemberRepository memberRepository;
+
+    private final MemberService memberService;
+
+    private final EmailService emailService;
+
+    private final JobService jobService;
+
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    // 토큰 유효 시간 (분 단위)
+    @Value("${echonet.password-reset.token-ttl-minutes}")
+    private int tokenTtlMinutes;
+
+    // 한 번의 DELETE로 지울 최대 행 수
+    @Value("${echonet.password-reset.purge-batch-size}")
+    private int purgeBatchSize;
+
+    // 한 번의 정리 작업에서 실행할 최대 배치 수
+    @Value("${echonet.password-reset.purge-max-batches}")
+    private int purgeMaxBatches;
+
+    //port
+    @Value("${server.port}")
+    private String port;
+
+    //domain
+    @Value("${server.domain}")
+    private String domain;
+
+    /**
+     * 이메일로 비밀번호 재설정 링크를 보냅니다. 메일은 백그라운드 작업으로 전송됩니다.
+     * 가입 여부를 노출하지 않도록 회원이 없어도 같은 방식으로 응답합니다.
+     *
+     * @param email 비밀번호를 재설정하려는 사용자의 이메일 주소입니다.
+     */
+    public void requestReset(String email) {
+        Optional<Member> member = memberRepository.findCredentialsByEmail(email);
+        if (member.isEmpty() || member.get().getState() == Member.STATE_DELETED) {
+            log.info("Password reset requested for unknown email");
+            return;
+        }
+        jobService.enqueue(EmailService.QUEUE, TYPE, new ResetMail(member.get().getId()));
+    }
+
+    @Override
+    public String getType() {
+        return TYPE;
+    }
+
+    @Override
+    public String getQueue() {
+        return EmailService.QUEUE;
+    }
+
+    /**
+     * 토큰을 발급하고 재설정 링크를 보냅니다. 재시도하면 새 토큰을 발급하므로 이전 시도의 토큰은 무효가 됩니다.
+     */
+    @Override
+    public void handle(String payload) throws Exception {
+        Long memberId = jobService.readPayload(payload, ResetMail.class).memberId();
+        Member member = memberRepository.findCredentialsById(memberId).orElse(null);
+        if (member == null || member.getState() == Member.STATE_DELETED) {
+            return; // 요청 후 탈퇴함
+        }
+        String token = issueToken(member);
+        emailService.send(member.getEmail(), "Password reset request",
+                "To reset your password, click the link below:\n" +
+                        domain + port + "?token=" + token);
+    }
+
+    /**
+     * 회원의 재설정 토큰을 발급합니다. 이미 토큰이 있으면 덮어씁니다.
+     * 같은 회원의 요청이 동시에 와도 한 문장의 upsert로 처리되어 마지막에 발급된 토큰만 유효합니다.
+     *
+     * @param member 토큰을 발급받는 사용자
+     * @return 토큰 원문 (저장하지 않으므로 이 값을 이메일로 전달해야 합니다)
+     */
+    public String issueToken(Member member) {
+        byte[] raw = new byte[TOKEN_BYTES];
+        secureRandom.nextBytes(raw);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(raw);
+        passwordResetTokenRepository.upsert(member.getId(), hash(token), LocalDateTime.now().plusMinutes(tokenTtlMinutes));
+        return token;
+    }
+
+    /**
+     * 재설정 토큰을 확인하고 비밀번호를 바꿉니다. 토큰은 사용 후 삭제됩니다.
+     * 비밀번호가 정책에 맞지 않으면 토큰 삭제도 함께 취소되어 다시 시도할 수 있습니다.
+     *
+     * @param token 이메일로 받은 토큰 원문
+     * @param newPassword 사용자가 설정할 새로운 비밀번호입니다.
+     * @throws ResponseStatusException 토큰이 없거나 만료되었거나 이미 사용된 경우
+     */
+    @Transactional
+    public void resetPassword(String token, String newPassword) {
+        if (token == null || token.isEmpty()) {
+            throw invalidToken();
+        }
+        // 해시로 고유 인덱스를 조회하므로 조회 시간은 토큰 원문에 대해 아무것도 알려주지 않음 (별도 비교 불필요)
+        String tokenHash = hash(token);
+        PasswordResetToken resetToken = passwordResetTokenRepository.findByTokenHash(tokenHash)
+                .orElseThrow(this::invalidToken);
+
+        if (resetToken.isExpired(LocalDateTime.now())) {
+            throw invalidToken();
+        }
+        // 동시에 같은 토큰으로 요청하면 한 요청만 통과
+        if (passwordResetTokenRepository.consume(resetToken.getId(), tokenHash) == 0) {
+            throw invalidToken();
+        }
+
+        memberService.resetPassword(resetToken.getMember().getEmail(), newPassword);
+    }
+
+    /**
+     * 만료된 토큰을 주기적으로 삭제합니다.
+     * 배치마다 별도 트랜잭션으로 실행해 잠금을 짧게 유지하고, 한 번의 실행에서 지우는 양을 제한합니다.
+     */
+    @Scheduled(cron = "${echonet.password-reset.purge-cron}")
+    public void purgeExpiredTokens() {
+        LocalDateTime now = LocalDateTime.now();
+        long purged = 0;
+        for (int i = 0; i < purgeMaxBatches; i++) {
+            int deleted = passwordResetTokenRepository.deleteExpired(now, purgeBatchSize);
+            purged += deleted;
+            if (deleted < purgeBatchSize) {
+                break;
+            }
+        }
+        if (purged > 0) {
+            log.info("Purged {} expired password reset tokens", purged);
+        }
+    }
+
+    private ResponseStatusException invalidToken() {
+        return new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid or expired password reset token");
+    }
+
+    /**
+     * 토큰의 SHA-256 해시 (16진수)
+     */
+    static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package com.lv2dev.echonet.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * S3 객체 삭제를 요청 스레드에서 분리해 모아서 처리하는 큐입니다.
+ *
+ * 삭제 요청은 메모리 큐에 쌓이고, 주기적인 작업이 최대 1000개씩 묶어 백그라운드 작업({@link JobService}) 하나로 등록합니다.
+ * 작업자가 배치를 다중 객체 삭제(DeleteObjects) 한 번으로 처리하고, 실패하면 백오프 후 배치 전체를 다시 시도합니다. (이미 삭제된 키를 다시 지워도 안전)
+ * storage 큐의 작업자 수와 한 번의 실행에서 등록하는 배치 수로 S3 요청 속도를 조절합니다.
+ * 작업으로 등록되기 전(플러시 간격 이내)의 키는 재시작 시 유실될 수 있지만, 남은 객체는 {@link S3OrphanReconciler}가 다시 찾아 정리합니다.
+ */
+@Slf4j
+@Service
+public class S3DeletionQueue implements JobHandler {
+    // S3 DeleteObjects 요청당 최대 키 수
+    static final int MAX_BATCH_SIZE = 1000;
+
+    static final String QUEUE = "storage";
+
+    static final String TYPE = "storage.s3.delete";
+
+    private final S3Service s3Service;
+
+    private final JobService jobService;
+
+    private final BlockingQueue<String> pendingKeys;
+
+    // 한 번의 실행에서 보낼 최대 배치 수 (속도 제한)
+    @Value("${echonet.storage.delete-max-batches-per-run}")
+    private int maxBatchesPerRun;
+
+    private final AtomicLong enqueuedCount = new AtomicLong();
+
+    private final AtomicLong deletedCount = new AtomicLong();
+
+    private final AtomicLong failedCount = new AtomicLong();
+
+    private final AtomicLong droppedCount = new AtomicLong();
+
+    public S3DeletionQueue(S3Service s3Service, JobService jobService, @Value("${echonet.storage.delete-queue-capacity}") int capacity) {
+        this.s3Service = s3Service;
+        this.jobService = jobService;
+        this.pendingKeys = new LinkedBlockingQueue<>(capacity);
+    }
+
+    /**
+     * 객체 키를 삭제 큐에 넣습니다.
+     *
+     * @param keyName 삭제할 객체 키.
+     */
+    public void enqueue(String keyName) {
+        if (keyName == null || keyName.isEmpty()) {
+            return;
+        }
+        if (pendingKeys.offer(keyName)) {
+            enqueuedCount.incrementAndGet();
+        } else {
+            // 큐가 가득 차면 버리고, 고아 객체 정리 작업에 맡김
+            droppedCount.incrementAndGet();
+            log.warn("S3 deletion queue is full, dropping {}", keyName);
+        }
+    }
+
+    /**
+     * URL이 가리키는 객체를 삭제 큐에 넣습니다.
+     *
+     * @param fileUrl 삭제할 객체의 URL.
+     */
+    public void enqueueUrl(String fileUrl) {
+        if (fileUrl == null || fileUrl.isEmpty()) {
+            return;
+        }
+        enqueue(s3Service.extractKeyFromUrl(fileUrl));
+    }
+
+    /**
+     * 큐에 쌓인 키를 배치 단위로 삭제 작업에 등록합니다.
+     */
+    @Scheduled(fixedDelayString = "${echonet.storage.delete-flush-interval-ms}")
+    public void flush() {
+        for (int i = 0; i < maxBatchesPerRun; i++) {
+            List<String> batch = new ArrayList<>(MAX_BATCH_SIZE);
+            pendingKeys.drainTo(batch, MAX_BATCH_SIZE);
+            if (batch.isEmpty()) {
+                return;
+            }
+            try {
+                jobService.enqueue(QUEUE, TYPE, batch);
+            } catch (RuntimeException e) {
+                // 등록에 실패하면 다음 실행에서 다시 시도
+                log.warn("Failed to enqueue S3 deletion of {} keys", batch.size(), e);
+                batch.forEach(this::enqueue);
+                return;
+            }
+        }
+    }
+
+    @Override
+    public String getType() {
+        return TYPE;
+    }
+
+    @Override
+    public String getQueue() {
+        return QUEUE;
+    }
+
+    /**
+     * 삭제 작업 하나(최대 1000개 키)를 처리합니다.
+     */
+    @Override
+    public void handle(String payload) throws Exception {
+        List<String> batch = List.of(jobService.readPayload(payload, String[].class));
+        List<String> failed = s3Service.deleteObjects(batch);
+
+        deletedCount.addAndGet(batch.size() - failed.size());
+        log.debug("Deleted {} S3 objects ({} failed, {} pending)", batch.size() - failed.size(), failed.size(), pendingKeys.size());
+        if (!failed.isEmpty()) {
+            failedCount.addAndGet(failed.size());
+            throw new IllegalStateException("Failed to delete " + failed.size() + " of " + batch.size() + " S3 objects");
+        }
+    }
+
+    public int getPendingCount() {
+        return pendingKeys.size();
+    }
+
+    public long getEnqueuedCount() {
+        return enqueuedCount.get();
+    }
+
+    public long getDeletedCount() {
+        return deletedCount.get();
+    }
+
+    public long getFailedCount() {
+        return failedCount.get();
+    }
+
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+}
@@ -0,0 +1,169 @@
+package com.lv2dev.echonet.service;
+
+import com.amazonaws.services.s3.model.ListObjectsV2Result;
+import com.amazonaws.services.s3.model.S3ObjectSummary;
+import com.lv2dev.echonet.persistence.MemberRepository;
+import com.lv2dev.echonet.persistence.StoredBlobRepository;
+import com.lv2dev.echonet.persistence.StoredFileRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 데이터베이스에서 더 이상 참조하지 않는 S3 객체(고아 객체)를 찾아 삭제 큐에 넣는 정리 작업입니다.
+ *
+ * 버킷 목록을 페이지 단위(최대 1000개)로 스트리밍하며, 페이지마다 IN 쿼리 한 번으로 참조 여부를 확인합니다.
+ * 업로드 직후 아직 DB에 반영되지 않은 객체를 지우지 않도록 유예 시간보다 오래된 객체만 대상으로 하고,
+ * 페이지 사이에 대기 시간을 두어 S3 LIST 요청 속도를 제한합니다.
+ */
+@Slf4j
+@Service
+public class S3OrphanReconciler {
+    static final String PROFILE_PREFIX = "member/profile/";
+
+    static final String BLOB_PREFIX = BlobService.BLOB_PREFIX + "/";
+
+    static final String STAGING_PREFIX = BlobService.STAGING_PREFIX + "/";
+
+    static final String UPLOAD_PREFIX = "uploads/";
+
+    private final S3Service s3Service;
+
+    private final S3DeletionQueue s3DeletionQueue;
+
+    private final MemberRepository memberRepository;
+
+    private final StoredBlobRepository storedBlobRepository;
+
+    private final StoredFileRepository storedFileRepository;
+
+    // 정리 대상이 되기까지의 최소 객체 나이 (시간 단위)
+    @Value("${echonet.storage.orphan-grace-hours}")
+    private int graceHours;
+
+    // 목록 페이지 사이의 대기 시간 (속도 제한)
+    @Value("${echonet.storage.orphan-scan-page-delay-ms}")
+    private long pageDelayMs;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    private final AtomicLong scannedCount = new AtomicLong();
+
+    private final AtomicLong orphanCount = new AtomicLong();
+
+    public S3OrphanReconciler(S3Service s3Service, S3DeletionQueue s3DeletionQueue, MemberRepository memberRepository,
+                              StoredBlobRepository storedBlobRepository, StoredFileRepository storedFileRepository) {
+        this.s3Service = s3Service;
+        this.s3DeletionQueue = s3DeletionQueue;
+        this.memberRepository = memberRepository;
+        this.storedBlobRepository = storedBlobRepository;
+        this.storedFileRepository = storedFileRepository;
+    }
+
+    /**
+     * 관리 대상 prefix 전체를 검사합니다.
+     */
+    @Scheduled(cron = "${echonet.storage.orphan-scan-cron}")
+    public void reconcile() {
+        if (!running.compareAndSet(false, true)) {
+            log.info("Orphan reconciliation is already running, skipping");
+            return;
+        }
+        try {
+            for (String prefix : List.of(PROFILE_PREFIX, BLOB_PREFIX, STAGING_PREFIX, UPLOAD_PREFIX)) {
+                reconcilePrefix(prefix);
+            }
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private void reconcilePrefix(String prefix) {
+        Instant cutoff = Instant.now().minus(graceHours, ChronoUnit.HOURS);
+        String continuationToken = null;
+        long scanned = 0;
+        long orphans = 0;
+
+        do {
+            ListObjectsV2Result page = s3Service.listObjects(prefix, continuationToken);
+            List<String> candidates = page.getObjectSummaries().stream()
+                    .filter(summary -> summary.getLastModified().toInstant().isBefore(cutoff))
+                    .map(S3ObjectSummary::getKey)
+                    .toList();
+
+            if (!candidates.isEmpty()) {
+                Set<String> referenced = findReferencedKeys(prefix, candidates);
+                for (String key : candidates) {
+                    if (!referenced.contains(key)) {
+                        s3DeletionQueue.enqueue(key);
+                        orphans++;
+                    }
+                }
+            }
+
+            scanned += page.getKeyCount();
+            scannedCount.addAndGet(page.getKeyCount());
+            continuationToken = page.getNextContinuationToken();
+            if (continuationToken != null) {
+                pause();
+            }
+        } while (continuationToken != null);
+
+        orphanCount.addAndGet(orphans);
+        log.info("Reconciled {}: scanned {} objects, found {} orphans", prefix, scanned, orphans);
+    }
+
+    /**
+     * prefix별로 데이터베이스가 참조하는 키를 조회합니다.
+     */
+    private Set<String> findReferencedKeys(String prefix, List<String> keys) {
+        switch (prefix) {
+            case BLOB_PREFIX:
+                return new HashSet<>(storedBlobRepository.findExistingKeys(keys));
+            case STAGING_PREFIX:
+                // 임시 객체는 업로드 직후 이동/삭제되므로 유예 시간이 지난 것은 모두 고아
+                return Set.of();
+            default:
+                // 프로필 이미지와 분할 업로드 결과는 URL로 저장되어 있음
+                Map<String, String> keyByUrl = new HashMap<>();
+                for (String key : keys) {
+                    keyByUrl.put(s3Service.getUrl(key), key);
+                }
+                List<String> referencedUrls = PROFILE_PREFIX.equals(prefix)
+                        ? memberRepository.findExistingProfiles(keyByUrl.keySet())
+                        : storedFileRepository.findExistingStorageUrls(keyByUrl.keySet());
+                Set<String> referenced = new HashSet<>();
+                for (String url : referencedUrls) {
+                    referenced.add(keyByUrl.get(url));
+                }
+                return referenced;
+        }
+    }
+
+    private void pause() {
+        try {
+            Thread.sleep(pageDelayMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public boolean isRunning() {
+        return running.get();
+    }
+
+    public long getScannedCount() {
+        return scannedCount.get();
+    }
+
+    public long getOrphanCount() {
+        return orphanCount.get();
+    }
+}
@@ -2,6 +2,10 @@ package com.lv2dev.echonet.service;
 
 import com.amazonaws.services.s3.AmazonS3;
 import com.amazonaws.services.s3.model.*;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
@@ -9,16 +13,40 @@ import org.springframework.web.multipart.MultipartFile;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
 import java.util.Objects;
+import java.util.function.Supplier;
 
 @Service
 public class S3Service {
 
     private final AmazonS3 s3Client;
 
+    private final ObservationRegistry observationRegistry;
+
+    // 업로드/다운로드 바이트 수 분포
+    private final DistributionSummary uploadBytes;
+
+    private final DistributionSummary downloadBytes;
+
     @Autowired
-    public S3Service(AmazonS3 s3Client) {
+    public S3Service(AmazonS3 s3Client, MeterRegistry meterRegistry, ObservationRegistry observationRegistry) {
         this.s3Client = s3Client;
+        this.observationRegistry = observationRegistry;
+        this.uploadBytes = DistributionSummary.builder("echonet.s3.transfer.bytes")
+                .baseUnit("bytes")
+                .tag("direction", "upload")
+                .register(meterRegistry);
+        this.downloadBytes = DistributionSummary.builder("echonet.s3.transfer.bytes")
+                .baseUnit("bytes")
+                .tag("direction", "download")
+                .register(meterRegistry);
     }
 
     // S3 버킷 이름
@@ -37,33 +65,223 @@ public class S3Service {
         ObjectMetadata metadata = new ObjectMetadata();
         metadata.setContentLength(file.getSize());
         metadata.setContentType(file.getContentType());
-        s3Client.putObject(new PutObjectRequest(bucketName, fullKeyName, file.getInputStream(), metadata));
+        InputStream inputStream = file.getInputStream();
+        timed("put", () -> s3Client.putObject(new PutObjectRequest(bucketName, fullKeyName, inputStream, metadata)));
+        uploadBytes.record(file.getSize());
 
         return s3Client.getUrl(bucketName, fullKeyName).toString();
     }
 
+    /**
+     * 업로드된 객체의 키와 업로드 중 계산된 SHA-256 해시입니다.
+     */
+    public record HashedObject(String key, String sha256, long size) {}
+
+    /**
+     * 파일을 업로드하면서 동시에 SHA-256 해시를 계산합니다.
+     * 업로드 스트림을 DigestInputStream으로 감싸므로 해시 계산을 위해 파일을 다시 읽지 않습니다.
+     *
+     * @param file 업로드할 파일.
+     * @param path 업로드할 경로(prefix).
+     * @param keyName 객체 이름.
+     * @return 업로드된 객체의 키와 해시.
+     * @throws IOException 파일 읽기 중 오류 발생 시.
+     */
+    public HashedObject uploadFileWithDigest(MultipartFile file, String path, String keyName) throws IOException {
+        if (file.isEmpty()) {
+            throw new IllegalArgumentException("File is empty");
+        }
+
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+
+        String fullKeyName = path + "/" + keyName;
+        ObjectMetadata metadata = new ObjectMetadata();
+        metadata.setContentLength(file.getSize());
+        metadata.setContentType(file.getContentType());
+        try (InputStream inputStream = new DigestInputStream(file.getInputStream(), digest)) {
+            timed("put", () -> s3Client.putObject(new PutObjectRequest(bucketName, fullKeyName, inputStream, metadata)));
+        }
+        uploadBytes.record(file.getSize());
+
+        return new HashedObject(fullKeyName, HexFormat.of().formatHex(digest.digest()), file.getSize());
+    }
+
+    /**
+     * 버킷 내에서 객체를 이동합니다. S3 서버 측 복사를 사용하므로 내용이 애플리케이션을 거치지 않습니다.
+     *
+     * @param sourceKey 원본 객체 키.
+     * @param targetKey 대상 객체 키.
+     * @return 대상 객체의 URL.
+     */
+    public String moveObject(String sourceKey, String targetKey) {
+        timed("copy", () -> s3Client.copyObject(new CopyObjectRequest(bucketName, sourceKey, bucketName, targetKey)));
+        timed("delete", () -> s3Client.deleteObject(new DeleteObjectRequest(bucketName, sourceKey)));
+        return getUrl(targetKey);
+    }
+
+    /**
+     * 멀티파트 업로드를 시작합니다.
+     *
+     * @param keyName 최종 객체 키.
+     * @param contentType 객체의 Content-Type.
+     * @return S3 멀티파트 업로드 ID.
+     */
+    public String initiateMultipartUpload(String keyName, String contentType) {
+        ObjectMetadata metadata = new ObjectMetadata();
+        if (contentType != null) {
+            metadata.setContentType(contentType);
+        }
+        return timed("initiate_multipart", () -> s3Client.initiateMultipartUpload(
+                new InitiateMultipartUploadRequest(bucketName, keyName, metadata))).getUploadId();
+    }
+
+    /**
+     * 스트림을 멀티파트 업로드의 파트 하나로 전송합니다.
+     * 길이를 미리 지정하므로 SDK가 파트 전체를 메모리에 올리지 않고 그대로 흘려보냅니다.
+     *
+     * @param keyName 최종 객체 키.
+     * @param uploadId S3 멀티파트 업로드 ID.
+     * @param partNumber 파트 번호 (1부터 시작).
+     * @param inputStream 파트 내용.
+     * @param partSize 파트 크기(바이트).
+     * @return 파트의 ETag.
+     */
+    public String uploadPart(String keyName, String uploadId, int partNumber, InputStream inputStream, long partSize) {
+        UploadPartRequest request = new UploadPartRequest()
+                .withBucketName(bucketName)
+                .withKey(keyName)
+                .withUploadId(uploadId)
+                .withPartNumber(partNumber)
+                .withInputStream(inputStream)
+                .withPartSize(partSize);
+        String etag = timed("upload_part", () -> s3Client.uploadPart(request)).getETag();
+        uploadBytes.record(partSize);
+        return etag;
+    }
+
+    /**
+     * 전송된 파트들을 하나의 객체로 조립합니다.
+     *
+     * @param keyName 최종 객체 키.
+     * @param uploadId S3 멀티파트 업로드 ID.
+     * @param partETags 파트 번호순 ETag 목록.
+     * @return 완성된 객체의 URL.
+     */
+    public String completeMultipartUpload(String keyName, String uploadId, List<PartETag> partETags) {
+        timed("complete_multipart", () -> s3Client.completeMultipartUpload(
+                new CompleteMultipartUploadRequest(bucketName, keyName, uploadId, partETags)));
+        return getUrl(keyName);
+    }
+
+    public void abortMultipartUpload(String keyName, String uploadId) {
+        timed("abort_multipart", () -> s3Client.abortMultipartUpload(new AbortMultipartUploadRequest(bucketName, keyName, uploadId)));
+    }
+
+    public String getUrl(String keyName) {
+        return s3Client.getUrl(bucketName, keyName).toString();
+    }
+
     public byte[] getFile(String keyName) throws IOException {
-        S3Object s3object = s3Client.getObject(new GetObjectRequest(bucketName, keyName));
-        S3ObjectInputStream inputStream = s3object.getObjectContent();
-        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-        int len;
-        byte[] buffer = new byte[1024];
-        while ((len = inputStream.read(buffer, 0, buffer.length)) != -1) {
-            outputStream.write(buffer, 0, len);
+        // 다운로드는 본문을 모두 읽을 때까지를 측정
+        Observation observation = requestObservation("get").start();
+        try (Observation.Scope scope = observation.openScope()) {
+            S3Object s3object = s3Client.getObject(new GetObjectRequest(bucketName, keyName));
+            S3ObjectInputStream inputStream = s3object.getObjectContent();
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+            int len;
+            byte[] buffer = new byte[1024];
+            while ((len = inputStream.read(buffer, 0, buffer.length)) != -1) {
+                outputStream.write(buffer, 0, len);
+            }
+            downloadBytes.record(outputStream.size());
+            return outputStream.toByteArray();
+        } catch (IOException | RuntimeException e) {
+            observation.error(e);
+            throw e;
+        } finally {
+            observation.stop();
         }
-        return outputStream.toByteArray();
     }
 
     public void deleteFile(String fileUrl) {
         // URL에서 객체의 키 추출
         String keyName = extractKeyFromUrl(fileUrl);
-        s3Client.deleteObject(new DeleteObjectRequest(bucketName, keyName));
+        timed("delete", () -> s3Client.deleteObject(new DeleteObjectRequest(bucketName, keyName)));
+    }
+
+    /**
+     * 여러 객체를 한 번의 요청으로 삭제합니다. S3는 요청당 최대 1000개까지 허용합니다.
+     *
+     * @param keyNames 삭제할 객체 키 목록 (최대 1000개).
+     * @return 삭제에 실패한 객체 키 목록.
+     */
+    public List<String> deleteObjects(List<String> keyNames) {
+        if (keyNames.isEmpty()) {
+            return List.of();
+        }
+        DeleteObjectsRequest request = new DeleteObjectsRequest(bucketName)
+                .withKeys(keyNames.toArray(new String[0]))
+                .withQuiet(true); // 성공한 키는 응답에서 생략
+        try {
+            timed("delete_batch", () -> s3Client.deleteObjects(request));
+            return List.of();
+        } catch (MultiObjectDeleteException e) {
+            return e.getErrors().stream()
+                    .map(MultiObjectDeleteException.DeleteError::getKey)
+                    .toList();
+        }
     }
 
-    private String extractKeyFromUrl(String fileUrl) {
-        // URL에서 S3 객체의 키를 추출하는 로직 구현
-        // 예: "https://s3.amazonaws.com/bucket-name/" 부분을 제거
-        // 이 부분은 실제 S3 URL 구조에 맞게 수정해야 함
-        return fileUrl.substring(fileUrl.indexOf(bucketName) + bucketName.length() + 1);
+    /**
+     * prefix 아래 객체 목록을 한 페이지(최대 1000개)씩 조회합니다.
+     *
+     * @param prefix 조회할 prefix.
+     * @param continuationToken 이전 페이지의 다음 토큰; 첫 페이지는 null.
+     * @return 객체 목록 페이지.
+     */
+    public ListObjectsV2Result listObjects(String prefix, String continuationToken) {
+        return timed("list", () -> s3Client.listObjectsV2(new ListObjectsV2Request()
+                .withBucketName(bucketName)
+                .withPrefix(prefix)
+                .withContinuationToken(continuationToken)));
+    }
+
+    public void deleteObject(String keyName) {
+        timed("delete", () -> s3Client.deleteObject(new DeleteObjectRequest(bucketName, keyName)));
+    }
+
+    /**
+     * S3 요청을 작업 종류별로 관측합니다. 요청 시간 메트릭과 트레이스 span이 함께 기록되며,
+     * 태그는 고정된 작업 이름만 사용합니다.
+     */
+    private <T> T timed(String operation, Supplier<T> call) {
+        return requestObservation(operation).observe(call);
+    }
+
+    private void timed(String operation, Runnable call) {
+        requestObservation(operation).observe(call);
+    }
+
+    private Observation requestObservation(String operation) {
+        return Observation.createNotStarted("echonet.s3.requests", observationRegistry)
+                .contextualName("s3 " + operation)
+                .lowCardinalityKeyValue("operation", operation);
+    }
+
+    public String extractKeyFromUrl(String fileUrl) {
+        // URL의 경로 부분이 객체 키입니다.
+        // 가상 호스트 방식(https://bucket-name.s3.region.amazonaws.com/key)과
+        // 경로 방식(https://s3.region.amazonaws.com/bucket-name/key)을 모두 처리
+        String path = URI.create(fileUrl).getPath();
+        String key = path.startsWith("/") ? path.substring(1) : path;
+        if (key.startsWith(bucketName + "/")) {
+            key = key.substring(bucketName.length() + 1);
+        }
+        return key;
     }
 }
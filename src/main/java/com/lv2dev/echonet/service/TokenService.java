@@ -5,16 +5,19 @@ import com.lv2dev.echonet.persistence.MemberRepository;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
+import io.micrometer.observation.annotation.Observed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Date;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
+@Observed(name = "echonet.token.service") // 모든 public 메소드를 트레이스 span과 타이머(method 태그)로 기록
 public class TokenService {
     private final MemberRepository memberRepository;
 
@@ -66,6 +69,17 @@ public class TokenService {
                 .compact();
     }
 
+    /**
+     * RefreshToken 저장하기
+     * 로그인에서 읽은 회원을 병합해 저장하므로 다시 조회하지 않고(병합할 상태는 2차 캐시에서 읽음) 리프레시 토큰 컬럼만 UPDATE 합니다.
+     * 엔티티를 수정해 저장하므로 캐시 영역을 비우지 않고 캐시 항목도 갱신됩니다.
+     * */
+    @Transactional
+    public void saveRefreshToken(Member member, String refreshToken) {
+        member.setRefreshToken(refreshToken);
+        memberRepository.save(member);
+    }
+
     /**
      * Refresh Token 유효성 검사하기
      * */
@@ -92,8 +106,13 @@ public class TokenService {
                 .setSigningKey(secretKey)
                 .build().parseClaimsJws(refreshToken).getBody();
 
+        // 2차 캐시에서 조회. 다른 인스턴스의 탈퇴 처리는 MemberCacheInvalidator가 캐시에서 지움
         Member member = memberRepository.findById(Long.parseLong(claims.getSubject()))
                 .orElseThrow(() -> new IllegalArgumentException("Invalid member id"));
+        // 탈퇴한 회원의 리프레시 토큰은 서명이 유효해도 거부
+        if (member.getState() == Member.STATE_DELETED) {
+            throw new IllegalArgumentException("Invalid refresh token");
+        }
 
         return createAccessToken(member);
     }
@@ -0,0 +1,291 @@
+package com.lv2dev.echonet.service;
+
+import com.amazonaws.services.s3.model.PartETag;
+import com.lv2dev.echonet.model.StoredFile;
+import com.lv2dev.echonet.model.UploadPart;
+import com.lv2dev.echonet.model.UploadSession;
+import com.lv2dev.echonet.persistence.UploadPartRepository;
+import com.lv2dev.echonet.persistence.UploadSessionRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 이어받기 가능한 분할 업로드(tus 방식)를 처리하는 서비스입니다.
+ *
+ * 클라이언트는 세션을 만든 뒤 현재 오프셋부터 청크를 PATCH로 보냅니다.
+ * 각 청크는 요청 본문 스트림 그대로 S3 멀티파트 업로드의 파트 하나로 전달되므로
+ * 업로드당 메모리 사용량은 파일 크기가 아닌 청크 전송 버퍼로 제한됩니다.
+ * 청크 전송이 중간에 끊기면 오프셋이 그대로 남으므로 같은 오프셋부터 다시 보내면 됩니다.
+ */
+@Slf4j
+@Service
+public class UploadService {
+    // S3 멀티파트 업로드의 마지막 파트를 제외한 최소 파트 크기
+    static final long MIN_PART_BYTES = 5L * 1024 * 1024;
+
+    // S3 멀티파트 업로드의 최대 파트 수
+    private static final int MAX_PARTS = 10000;
+
+    // 한 번의 정리 작업에서 처리할 최대 세션 수
+    private static final int CLEANUP_BATCH_SIZE = 100;
+
+    private final UploadSessionRepository uploadSessionRepository;
+
+    private final UploadPartRepository uploadPartRepository;
+
+    private final S3Service s3Service;
+
+    private final FileService fileService;
+
+    private final S3DeletionQueue s3DeletionQueue;
+
+    private final TransactionTemplate transactionTemplate;
+
+    // 청크 하나의 최대 크기 (바이트)
+    @Value("${echonet.upload.max-chunk-bytes}")
+    private long maxChunkBytes;
+
+    // 세션 유지 시간 (시간 단위)
+    @Value("${echonet.upload.session-ttl-hours}")
+    private int sessionTtlHours;
+
+    // 청크 수신 중 세션 점유 기한 (분 단위)
+    @Value("${echonet.upload.chunk-lease-minutes}")
+    private int chunkLeaseMinutes;
+
+    public UploadService(UploadSessionRepository uploadSessionRepository, UploadPartRepository uploadPartRepository,
+                         S3Service s3Service, FileService fileService, S3DeletionQueue s3DeletionQueue,
+                         PlatformTransactionManager transactionManager) {
+        this.uploadSessionRepository = uploadSessionRepository;
+        this.uploadPartRepository = uploadPartRepository;
+        this.s3Service = s3Service;
+        this.fileService = fileService;
+        this.s3DeletionQueue = s3DeletionQueue;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * 분할 업로드 세션을 생성합니다.
+     *
+     * @param ownerId 소유자 ID.
+     * @param parentPath 완료 후 파일을 등록할 폴더 경로.
+     * @param fileName 파일 이름.
+     * @param contentType 파일의 Content-Type.
+     * @param totalLength 전체 파일 크기(바이트).
+     * @return 생성된 세션.
+     */
+    public UploadSession createSession(Long ownerId, String parentPath, String fileName, String contentType, long totalLength) {
+        if (totalLength <= 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Upload-Length must be positive");
+        }
+        if (totalLength > maxChunkBytes * MAX_PARTS) {
+            throw new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE, "Upload is too large");
+        }
+        String parent = fileService.validateTarget(ownerId, parentPath, fileName);
+
+        String storageKey = "uploads/" + ownerId + "/" + UUID.randomUUID();
+        String s3UploadId = s3Service.initiateMultipartUpload(storageKey, contentType);
+
+        LocalDateTime now = LocalDateTime.now();
+        return uploadSessionRepository.save(UploadSession.builder()
+                .uploadId(UUID.randomUUID().toString())
+                .ownerId(ownerId)
+                .parentPath(parent)
+                .fileName(fileName)
+                .contentType(contentType)
+                .totalLength(totalLength)
+                .uploadOffset(0)
+                .nextPartNumber(1)
+                .storageKey(storageKey)
+                .s3UploadId(s3UploadId)
+                .createdAt(now)
+                .expiresAt(now.plusHours(sessionTtlHours))
+                .build());
+    }
+
+    /**
+     * 세션을 조회합니다. 클라이언트는 이 오프셋부터 이어서 업로드합니다.
+     *
+     * @param ownerId 소유자 ID.
+     * @param uploadId 세션 식별자.
+     * @return 업로드 세션.
+     */
+    public UploadSession getSession(Long ownerId, String uploadId) {
+        UploadSession session = uploadSessionRepository.findByUploadId(uploadId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Upload not found"));
+        if (!session.getOwnerId().equals(ownerId)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Upload not found");
+        }
+        return session;
+    }
+
+    /**
+     * 청크 하나를 받아 S3 파트로 전달합니다.
+     *
+     * @param ownerId 소유자 ID.
+     * @param uploadId 세션 식별자.
+     * @param offset 클라이언트가 보낸 Upload-Offset. 서버의 오프셋과 같아야 합니다.
+     * @param length 청크 크기(Content-Length).
+     * @param body 요청 본문 스트림.
+     * @return 청크 반영 후의 오프셋.
+     */
+    public long appendChunk(Long ownerId, String uploadId, long offset, long length, InputStream body) {
+        UploadSession session = getSession(ownerId, uploadId);
+        validateChunk(session, offset, length);
+
+        LocalDateTime now = LocalDateTime.now();
+        if (uploadSessionRepository.claim(uploadId, now, now.plusMinutes(chunkLeaseMinutes)) == 0) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Another chunk is being uploaded");
+        }
+
+        try {
+            // 점유 후 다시 읽어 그 사이 다른 요청이 오프셋을 옮기지 않았는지 확인
+            session = getSession(ownerId, uploadId);
+            validateChunk(session, offset, length);
+
+            int partNumber = session.getNextPartNumber();
+            String etag = s3Service.uploadPart(session.getStorageKey(), session.getS3UploadId(), partNumber, body, length);
+
+            Long sessionId = session.getId();
+            transactionTemplate.executeWithoutResult(status -> {
+                uploadPartRepository.save(UploadPart.builder()
+                        .sessionId(sessionId)
+                        .partNumber(partNumber)
+                        .etag(etag)
+                        .size(length)
+                        .build());
+                uploadSessionRepository.advance(sessionId, length);
+            });
+            return offset + length;
+        } catch (RuntimeException e) {
+            uploadSessionRepository.unclaim(session.getId());
+            throw e;
+        }
+    }
+
+    private void validateChunk(UploadSession session, long offset, long length) {
+        if (offset != session.getUploadOffset()) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Upload-Offset mismatch, expected " + session.getUploadOffset());
+        }
+        if (length <= 0 || length > maxChunkBytes) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Chunk size must be between 1 and " + maxChunkBytes + " bytes");
+        }
+        long end = offset + length;
+        if (end > session.getTotalLength()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Chunk exceeds Upload-Length");
+        }
+        if (end < session.getTotalLength() && length < MIN_PART_BYTES) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Only the last chunk may be smaller than " + MIN_PART_BYTES + " bytes");
+        }
+    }
+
+    /**
+     * 모든 청크를 받은 세션을 완료하고 파일로 등록합니다.
+     *
+     * @param ownerId 소유자 ID.
+     * @param uploadId 세션 식별자.
+     * @return 등록된 파일 메타데이터.
+     */
+    public StoredFile complete(Long ownerId, String uploadId) {
+        UploadSession session = getSession(ownerId, uploadId);
+        if (session.getUploadOffset() != session.getTotalLength()) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT,
+                    "Upload is incomplete: " + session.getUploadOffset() + "/" + session.getTotalLength());
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        if (uploadSessionRepository.claim(uploadId, now, now.plusMinutes(chunkLeaseMinutes)) == 0) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Upload is busy");
+        }
+
+        String storageUrl;
+        try {
+            List<PartETag> partETags = uploadPartRepository.findBySessionIdOrderByPartNumberAsc(session.getId()).stream()
+                    .map(part -> new PartETag(part.getPartNumber(), part.getEtag()))
+                    .toList();
+            storageUrl = s3Service.completeMultipartUpload(session.getStorageKey(), session.getS3UploadId(), partETags);
+        } catch (RuntimeException e) {
+            // S3 업로드가 아직 완료되지 않았으므로 점유만 해제해 다시 완료를 요청할 수 있게 함
+            uploadSessionRepository.unclaim(session.getId());
+            throw e;
+        }
+
+        StoredFile file;
+        try {
+            file = fileService.registerUploadedFile(ownerId, session.getParentPath(), session.getFileName(),
+                    session.getTotalLength(), session.getContentType(), storageUrl);
+        } catch (RuntimeException e) {
+            // S3 업로드 ID는 이미 사용되어 다시 완료할 수 없음. 조립된 객체는 삭제 큐에 넣고 세션을 정리 (클라이언트는 다시 업로드)
+            s3DeletionQueue.enqueueUrl(storageUrl);
+            removeSession(session);
+            throw e;
+        }
+        removeSession(session);
+        return file;
+    }
+
+    /**
+     * 세션을 취소하고 전송된 파트를 폐기합니다.
+     * 청크 수신이나 완료 처리 중인 세션은 취소할 수 없습니다.
+     *
+     * @param ownerId 소유자 ID.
+     * @param uploadId 세션 식별자.
+     */
+    public void abort(Long ownerId, String uploadId) {
+        UploadSession session = getSession(ownerId, uploadId);
+
+        LocalDateTime now = LocalDateTime.now();
+        if (uploadSessionRepository.claim(uploadId, now, now.plusMinutes(chunkLeaseMinutes)) == 0) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Upload is busy");
+        }
+
+        try {
+            s3Service.abortMultipartUpload(session.getStorageKey(), session.getS3UploadId());
+        } catch (RuntimeException e) {
+            uploadSessionRepository.unclaim(session.getId());
+            throw e;
+        }
+        removeSession(session);
+    }
+
+    /**
+     * 만료된 세션을 주기적으로 정리합니다.
+     * 점유 중인 세션은 건너뛰고, 점유가 끝난 뒤의 정리 작업에서 처리합니다.
+     */
+    @Scheduled(fixedDelayString = "${echonet.upload.cleanup-interval-ms}")
+    public void cleanupExpiredSessions() {
+        LocalDateTime now = LocalDateTime.now();
+        List<UploadSession> expired = uploadSessionRepository.findExpired(now, PageRequest.of(0, CLEANUP_BATCH_SIZE));
+        for (UploadSession session : expired) {
+            // 조회 후 다른 요청이 점유했을 수 있으므로 점유에 성공한 세션만 정리
+            if (uploadSessionRepository.claim(session.getUploadId(), now, now.plusMinutes(chunkLeaseMinutes)) == 0) {
+                continue;
+            }
+            try {
+                s3Service.abortMultipartUpload(session.getStorageKey(), session.getS3UploadId());
+            } catch (RuntimeException e) {
+                log.warn("Failed to abort multipart upload {}", session.getUploadId(), e);
+            }
+            removeSession(session);
+        }
+    }
+
+    private void removeSession(UploadSession session) {
+        transactionTemplate.executeWithoutResult(status -> {
+            uploadPartRepository.deleteBySessionId(session.getId());
+            uploadSessionRepository.deleteById(session.getId());
+        });
+    }
+}
@@ -0,0 +1,128 @@
+package com.lv2dev.echonet.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * User-Agent 문자열에서 기기 종류, 운영체제, 브라우저를 분류합니다.
+ *
+ * 정규식은 클래스 로딩 시 한 번만 컴파일하고, 분류 결과는 User-Agent 문자열 그대로를 키로 하는 LRU 캐시에 보관합니다.
+ * 실제 트래픽은 수백 개의 User-Agent가 대부분을 차지하므로 로그인 경로에서는 대부분 캐시 조회만 일어납니다.
+ */
+@Component
+public class UserAgentParser {
+    public static final String UNKNOWN = "Unknown";
+
+    // 앞에 있는 규칙이 우선 (Edge, Opera 등은 Chrome 토큰도 함께 보내고, Chrome은 Safari 토큰도 함께 보냄)
+    private static final List<Rule> BROWSER_RULES = List.of(
+            new Rule("Edge", Pattern.compile("Edg(?:e|A|iOS)?/(\\d+)")),
+            new Rule("Opera", Pattern.compile("(?:OPR|Opera)/(\\d+)")),
+            new Rule("Samsung Internet", Pattern.compile("SamsungBrowser/(\\d+)")),
+            new Rule("Firefox", Pattern.compile("(?:Firefox|FxiOS)/(\\d+)")),
+            new Rule("Chrome", Pattern.compile("(?:Chrome|CriOS)/(\\d+)")),
+            new Rule("Safari", Pattern.compile("Version/(\\d+)[^ ]* (?:Mobile/\\S+ )?Safari/")),
+            new Rule("Internet Explorer", Pattern.compile("(?:MSIE |Trident/.*rv:)(\\d+)"))
+    );
+
+    private static final List<Rule> OS_RULES = List.of(
+            new Rule("Windows", Pattern.compile("Windows NT (\\d+\\.\\d+)")),
+            new Rule("Android", Pattern.compile("Android (\\d+)")),
+            new Rule("iPadOS", Pattern.compile("iPad.*? OS (\\d+)")),
+            new Rule("iOS", Pattern.compile("(?:iPhone|CPU) OS (\\d+)")),
+            new Rule("macOS", Pattern.compile("Mac OS X")),
+            new Rule("ChromeOS", Pattern.compile("CrOS")),
+            new Rule("Linux", Pattern.compile("Linux"))
+    );
+
+    private static final Pattern BOT = Pattern.compile("(?i)bot|crawler|spider|slurp|curl/|wget/|python-requests");
+
+    private static final Pattern TABLET = Pattern.compile("iPad|Tablet|Android(?!.*Mobile)");
+
+    private static final Pattern MOBILE = Pattern.compile("Mobi|iPhone|iPod|Android.*Mobile");
+
+    private final Map<String, Info> cache;
+
+    public UserAgentParser(@Value("${echonet.login.user-agent-cache-size}") int cacheSize) {
+        // accessOrder=true인 LinkedHashMap: 조회할 때마다 순서가 갱신되어 가장 오래 쓰이지 않은 항목부터 제거
+        this.cache = new LinkedHashMap<>(cacheSize * 4 / 3 + 1, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Info> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
+    /**
+     * User-Agent를 분류합니다.
+     *
+     * @param userAgent User-Agent 헤더 값; 없으면 null.
+     * @return 분류 결과.
+     */
+    public Info parse(String userAgent) {
+        if (userAgent == null || userAgent.isBlank()) {
+            return Info.UNKNOWN_AGENT;
+        }
+        synchronized (cache) {
+            Info cached = cache.get(userAgent);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        Info info = classify(userAgent);
+        synchronized (cache) {
+            cache.put(userAgent, info);
+        }
+        return info;
+    }
+
+    static Info classify(String userAgent) {
+        String deviceType;
+        if (BOT.matcher(userAgent).find()) {
+            deviceType = "Bot";
+        } else if (TABLET.matcher(userAgent).find()) {
+            deviceType = "Tablet";
+        } else if (MOBILE.matcher(userAgent).find()) {
+            deviceType = "Mobile";
+        } else {
+            deviceType = "Desktop";
+        }
+        return new Info(deviceType, match(OS_RULES, userAgent), match(BROWSER_RULES, userAgent));
+    }
+
+    private static String match(List<Rule> rules, String userAgent) {
+        for (Rule rule : rules) {
+            Matcher matcher = rule.pattern().matcher(userAgent);
+            if (matcher.find()) {
+                return matcher.groupCount() > 0 && matcher.group(1) != null ? rule.name() + " " + matcher.group(1) : rule.name();
+            }
+        }
+        return UNKNOWN;
+    }
+
+    private record Rule(String name, Pattern pattern) {
+    }
+
+    /**
+     * 분류 결과입니다.
+     *
+     * @param deviceType Desktop, Mobile, Tablet, Bot 중 하나.
+     * @param os 운영체제와 주 버전 (예: Android 14).
+     * @param browser 브라우저와 주 버전 (예: Chrome 120).
+     */
+    public record Info(String deviceType, String os, String browser) {
+        static final Info UNKNOWN_AGENT = new Info(UNKNOWN, UNKNOWN, UNKNOWN);
+
+        /**
+         * 로그인 기록의 deviceInfo에 저장할 문자열 (예: Mobile / Android 14)
+         */
+        public String device() {
+            return deviceType + " / " + os;
+        }
+    }
+}
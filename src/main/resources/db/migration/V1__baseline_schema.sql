@@ -0,0 +1,159 @@
+-- 초기 스키마
+-- 이전에 hibernate ddl-auto로 만들어진 데이터베이스에도 적용할 수 있도록 모든 문장은 IF NOT EXISTS로 작성합니다.
+
+-- 회원
+CREATE TABLE IF NOT EXISTS member (
+    id                 BIGINT       NOT NULL,
+    refresh_token      VARCHAR(255),
+    password           VARCHAR(255),
+    email              VARCHAR(255),
+    nickname           VARCHAR(255),
+    join_day           DATETIME(6),
+    profile            VARCHAR(255),
+    role               INT          NOT NULL DEFAULT 0,
+    state              INT          NOT NULL DEFAULT 0,
+    login_attempt      INT          NOT NULL DEFAULT 0,
+    last_login_attempt DATETIME(6),
+    version            BIGINT       NOT NULL DEFAULT 0,
+    PRIMARY KEY (id)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
+
+ALTER TABLE member ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+
+-- 로그인/회원가입마다 실행되는 findByEmail, existsByEmail, existsByNickname
+CREATE UNIQUE INDEX IF NOT EXISTS ux_member_email ON member (email);
+CREATE UNIQUE INDEX IF NOT EXISTS ux_member_nickname ON member (nickname);
+
+-- 로그인 기록
+CREATE TABLE IF NOT EXISTS login_history (
+    id           BIGINT NOT NULL,
+    member_id    BIGINT,
+    login_time   DATETIME(6),
+    ip_address   VARCHAR(255),
+    browser_info VARCHAR(255),
+    device_info  VARCHAR(255),
+    PRIMARY KEY (id),
+    -- 외래 키가 별도 인덱스를 만들지 않도록 복합 인덱스를 먼저 선언
+    KEY ix_login_history_member_time (member_id, login_time),
+    CONSTRAINT fk_login_history_member FOREIGN KEY (member_id) REFERENCES member (id)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
+
+-- 회원별 최신 로그인 기록 조회 (member_id = ? ORDER BY login_time DESC)
+CREATE INDEX IF NOT EXISTS ix_login_history_member_time ON login_history (member_id, login_time);
+
+-- 피드백
+CREATE TABLE IF NOT EXISTS feedback (
+    id           BIGINT NOT NULL,
+    user_id      BIGINT,
+    content      VARCHAR(1000),
+    created_date DATETIME(6),
+    PRIMARY KEY (id)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
+
+CREATE INDEX IF NOT EXISTS ix_feedback_user_created ON feedback (user_id, created_date);
+CREATE INDEX IF NOT EXISTS ix_feedback_created ON feedback (created_date);
+
+-- 비밀번호 재설정 토큰
+CREATE TABLE IF NOT EXISTS password_reset_token (
+    id          BIGINT NOT NULL,
+    token       VARCHAR(255),
+    user_id     BIGINT NOT NULL,
+    expiry_date DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT ux_password_reset_token_user UNIQUE (user_id),
+    CONSTRAINT fk_password_reset_token_member FOREIGN KEY (user_id) REFERENCES member (id)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
+
+-- 파일 메타데이터
+CREATE TABLE IF NOT EXISTS stored_file (
+    id           BIGINT        NOT NULL AUTO_INCREMENT,
+    owner_id     BIGINT        NOT NULL,
+    path         VARCHAR(512)  NOT NULL,
+    parent_path  VARCHAR(512)  NOT NULL,
+    name         VARCHAR(200)  NOT NULL,
+    folder       BIT           NOT NULL,
+    size         BIGINT        NOT NULL DEFAULT 0,
+    content_type VARCHAR(255),
+    storage_url  VARCHAR(1024),
+    created_at   DATETIME(6),
+    modified_at  DATETIME(6),
+    PRIMARY KEY (id)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
+
+CREATE UNIQUE INDEX IF NOT EXISTS ux_stored_file_owner_path ON stored_file (owner_id, path);
+CREATE INDEX IF NOT EXISTS ix_stored_file_owner_parent_name ON stored_file (owner_id, parent_path, name);
+
+-- 파일 변경 저널
+CREATE TABLE IF NOT EXISTS file_change (
+    id          BIGINT       NOT NULL AUTO_INCREMENT,
+    owner_id    BIGINT       NOT NULL,
+    file_id     BIGINT,
+    path        VARCHAR(512) NOT NULL,
+    folder      BIT          NOT NULL,
+    change_type VARCHAR(16)  NOT NULL,
+    changed_at  DATETIME(6),
+    PRIMARY KEY (id)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
+
+CREATE INDEX IF NOT EXISTS ix_file_change_owner_id ON file_change (owner_id, id);
+
+-- 내용 주소 기반 객체
+CREATE TABLE IF NOT EXISTS stored_blob (
+    hash         VARCHAR(64)   NOT NULL,
+    storage_key  VARCHAR(255)  NOT NULL,
+    storage_url  VARCHAR(1024) NOT NULL,
+    size         BIGINT        NOT NULL DEFAULT 0,
+    content_type VARCHAR(255),
+    ref_count    INT           NOT NULL,
+    created_at   DATETIME(6),
+    released_at  DATETIME(6),
+    PRIMARY KEY (hash)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
+
+CREATE INDEX IF NOT EXISTS ix_stored_blob_gc ON stored_blob (ref_count, released_at);
+
+-- 분할 업로드 세션
+CREATE TABLE IF NOT EXISTS upload_session (
+    id               BIGINT        NOT NULL AUTO_INCREMENT,
+    upload_id        VARCHAR(36)   NOT NULL,
+    owner_id         BIGINT        NOT NULL,
+    parent_path      VARCHAR(512)  NOT NULL,
+    file_name        VARCHAR(200)  NOT NULL,
+    content_type     VARCHAR(255),
+    total_length     BIGINT        NOT NULL,
+    upload_offset    BIGINT        NOT NULL,
+    next_part_number INT           NOT NULL,
+    storage_key      VARCHAR(255)  NOT NULL,
+    s3_upload_id     VARCHAR(1024) NOT NULL,
+    locked_until     DATETIME(6),
+    created_at       DATETIME(6),
+    expires_at       DATETIME(6),
+    PRIMARY KEY (id)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
+
+CREATE UNIQUE INDEX IF NOT EXISTS ux_upload_session_upload_id ON upload_session (upload_id);
+CREATE INDEX IF NOT EXISTS ix_upload_session_expires_at ON upload_session (expires_at);
+
+CREATE TABLE IF NOT EXISTS upload_part (
+    id          BIGINT       NOT NULL AUTO_INCREMENT,
+    session_id  BIGINT       NOT NULL,
+    part_number INT          NOT NULL,
+    etag        VARCHAR(255) NOT NULL,
+    size        BIGINT       NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
+
+CREATE UNIQUE INDEX IF NOT EXISTS ux_upload_part_session_part ON upload_part (session_id, part_number);
+
+-- ID 시퀀스 (INCREMENT BY는 엔티티의 allocationSize와 같아야 함)
+CREATE SEQUENCE IF NOT EXISTS member_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS login_history_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS feedback_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS password_reset_token_seq START WITH 1 INCREMENT BY 50;
+
+-- 기존 데이터가 있으면 시퀀스를 현재 최대 ID 이후로 이동
+-- SETVAL(seq, n) 이후 NEXTVAL은 n + 50을 반환하고, Hibernate pooled 옵티마이저는 그 이전 50개(n+1 ~ n+50)를 ID로 사용
+EXECUTE IMMEDIATE CONCAT('SELECT SETVAL(member_seq, ', (SELECT COALESCE(MAX(id), 0) FROM member), ')');
+EXECUTE IMMEDIATE CONCAT('SELECT SETVAL(login_history_seq, ', (SELECT COALESCE(MAX(id), 0) FROM login_history), ')');
+EXECUTE IMMEDIATE CONCAT('SELECT SETVAL(feedback_seq, ', (SELECT COALESCE(MAX(id), 0) FROM feedback), ')');
+EXECUTE IMMEDIATE CONCAT('SELECT SETVAL(password_reset_token_seq, ', (SELECT COALESCE(MAX(id), 0) FROM password_reset_token), ')');
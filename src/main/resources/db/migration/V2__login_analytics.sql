@@ -0,0 +1,48 @@
+-- 로그인 기록 집계
+
+-- 집계와 보관 작업이 시각순으로 읽는 인덱스
+CREATE INDEX IF NOT EXISTS ix_login_history_login_time ON login_history (login_time, id);
+
+-- 회원별, 구간별 로그인 수
+CREATE TABLE IF NOT EXISTS login_member_rollup (
+    id           BIGINT      NOT NULL AUTO_INCREMENT,
+    granularity  VARCHAR(8)  NOT NULL,
+    bucket_start DATETIME(6) NOT NULL,
+    member_id    BIGINT      NOT NULL,
+    login_count  BIGINT      NOT NULL,
+    PRIMARY KEY (id),
+    UNIQUE KEY ux_login_member_rollup_bucket_member (granularity, bucket_start, member_id)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
+
+-- 구간별 전체 로그인 수와 고유 IP 스케치(HyperLogLog)
+CREATE TABLE IF NOT EXISTS login_period_rollup (
+    id           BIGINT          NOT NULL AUTO_INCREMENT,
+    granularity  VARCHAR(8)      NOT NULL,
+    bucket_start DATETIME(6)     NOT NULL,
+    login_count  BIGINT          NOT NULL,
+    ip_sketch    VARBINARY(4096) NOT NULL,
+    PRIMARY KEY (id),
+    UNIQUE KEY ux_login_period_rollup_bucket (granularity, bucket_start)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
+
+-- 증분 집계 진행 위치
+CREATE TABLE IF NOT EXISTS rollup_checkpoint (
+    name      VARCHAR(64) NOT NULL,
+    last_time DATETIME(6) NOT NULL,
+    last_id   BIGINT      NOT NULL,
+    PRIMARY KEY (name)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
+
+INSERT IGNORE INTO rollup_checkpoint (name, last_time, last_id) VALUES ('login_history', '1970-01-01 00:00:00', 0);
+
+-- 보관 기간이 지난 로그인 기록 (회원 삭제와 무관하게 남도록 외래 키 없음)
+CREATE TABLE IF NOT EXISTS login_history_archive (
+    id           BIGINT NOT NULL,
+    member_id    BIGINT,
+    login_time   DATETIME(6),
+    ip_address   VARCHAR(255),
+    browser_info VARCHAR(255),
+    device_info  VARCHAR(255),
+    PRIMARY KEY (id),
+    KEY ix_login_history_archive_member_time (member_id, login_time)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
@@ -0,0 +1,13 @@
+-- 비밀번호 재설정 토큰을 해시로 저장
+-- 기존 행은 평문 토큰이고 조회 경로도 없었으므로 모두 폐기합니다.
+DELETE FROM password_reset_token;
+
+ALTER TABLE password_reset_token DROP COLUMN IF EXISTS token;
+ALTER TABLE password_reset_token ADD COLUMN IF NOT EXISTS token_hash VARCHAR(64) NOT NULL;
+ALTER TABLE password_reset_token MODIFY expiry_date DATETIME(6) NOT NULL;
+
+-- 토큰 검증 (token_hash = ?)
+CREATE UNIQUE INDEX IF NOT EXISTS ux_password_reset_token_hash ON password_reset_token (token_hash);
+
+-- 만료 토큰 정리 (expiry_date < ? ORDER BY expiry_date LIMIT ?)
+CREATE INDEX IF NOT EXISTS ix_password_reset_token_expiry ON password_reset_token (expiry_date);
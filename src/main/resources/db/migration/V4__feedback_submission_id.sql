@@ -0,0 +1,4 @@
+-- 피드백 접수 번호
+ALTER TABLE feedback ADD COLUMN IF NOT EXISTS submission_id VARCHAR(36);
+
+CREATE UNIQUE INDEX IF NOT EXISTS ux_feedback_submission_id ON feedback (submission_id);
@@ -0,0 +1,30 @@
+-- 백그라운드 작업 큐
+CREATE TABLE IF NOT EXISTS background_job (
+    id              BIGINT        NOT NULL AUTO_INCREMENT,
+    queue           VARCHAR(64)   NOT NULL,
+    type            VARCHAR(64)   NOT NULL,
+    payload         MEDIUMTEXT,
+    idempotency_key VARCHAR(255),
+    status          VARCHAR(16)   NOT NULL,
+    attempts        INT           NOT NULL DEFAULT 0,
+    max_attempts    INT           NOT NULL,
+    run_at          DATETIME(6)   NOT NULL,
+    locked_by       VARCHAR(128),
+    locked_until    DATETIME(6),
+    last_error      VARCHAR(1000),
+    created_at      DATETIME(6)   NOT NULL,
+    finished_at     DATETIME(6),
+    PRIMARY KEY (id)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
+
+-- 같은 키로 두 번 등록되지 않도록 (NULL은 중복 허용)
+CREATE UNIQUE INDEX IF NOT EXISTS ux_background_job_idempotency_key ON background_job (idempotency_key);
+
+-- 작업 점유 (queue = ? AND status = 'PENDING' AND run_at <= ? ORDER BY run_at FOR UPDATE SKIP LOCKED)
+CREATE INDEX IF NOT EXISTS ix_background_job_claim ON background_job (queue, status, run_at);
+
+-- 점유 기한이 지난 작업 복구 (status = 'RUNNING' AND locked_until < ?)
+CREATE INDEX IF NOT EXISTS ix_background_job_lock ON background_job (status, locked_until);
+
+-- 끝난 작업 정리
+CREATE INDEX IF NOT EXISTS ix_background_job_finished ON background_job (finished_at);
@@ -0,0 +1,5 @@
+-- 회원 정보나 탈퇴 상태가 바뀐 시각. 각 인스턴스가 최근에 바뀐 회원을 주기적으로 조회해 2차 캐시에서 지움 (MemberCacheInvalidator)
+ALTER TABLE member ADD COLUMN IF NOT EXISTS changed_at DATETIME(6);
+
+-- 최근 변경 조회 (changed_at >= ?)
+CREATE INDEX IF NOT EXISTS ix_member_changed_at ON member (changed_at);
@@ -0,0 +1,2 @@
+-- 탈퇴 회원 정리 작업이 회원별 집계를 배치로 삭제 (MemberDeletionService)
+CREATE INDEX IF NOT EXISTS ix_login_member_rollup_member_id ON login_member_rollup (member_id);
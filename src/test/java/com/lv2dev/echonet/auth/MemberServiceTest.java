@@ -2,10 +2,12 @@ package com.lv2dev.echonet.auth;
 
 import com.lv2dev.echonet.dto.MemberDTO;
 import com.lv2dev.echonet.model.Member;
+import com.lv2dev.echonet.model.StoredBlob;
 import com.lv2dev.echonet.persistence.MemberRepository;
 import com.lv2dev.echonet.service.EmailService;
+import com.lv2dev.echonet.service.JobService;
 import com.lv2dev.echonet.service.MemberService;
-import com.lv2dev.echonet.service.S3Service;
+import com.lv2dev.echonet.service.BlobService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -15,8 +17,10 @@ import org.mockito.Mock;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.web.multipart.MultipartFile;
@@ -41,7 +45,7 @@ public class MemberServiceTest {
     private PasswordEncoder passwordEncoder;
 
     @MockBean
-    private S3Service s3Service;
+    private BlobService blobService;
 
     @Autowired
     @InjectMocks
@@ -52,6 +56,9 @@ public class MemberServiceTest {
     @MockBean
     private EmailService emailService;
 
+    @MockBean
+    private JobService jobService;
+
     /**
      * 성공적으로 회원가입을 처리하는 경우를 테스트합니다.
      * 이메일과 닉네임이 중복되지 않으며 비밀번호가 요구 사항을 충족하는 경우에 대한 검증을 포함합니다.
@@ -79,7 +86,7 @@ public class MemberServiceTest {
 
     /**
      * 프로필 이미지와 함께 성공적으로 회원가입을 처리하는 경우를 테스트합니다.
-     * 프로필 이미지가 S3에 업로드되고, 해당 URL이 Member 객체에 저장되는 과정을 검증합니다.
+     * 프로필 이미지가 내용 주소 기반 저장소에 업로드되고, 해당 URL이 Member 객체에 저장되는 과정을 검증합니다.
      */
     @Test
     public void signUp_Success_WithProfileImage() throws IOException {
@@ -95,14 +102,14 @@ public class MemberServiceTest {
         when(memberRepository.existsByEmail(anyString())).thenReturn(false);
         when(memberRepository.existsByNickname(anyString())).thenReturn(false);
         when(passwordEncoder.encode(anyString())).thenReturn("encodedPassword");
-        when(s3Service.uploadFile(any(MultipartFile.class), anyString(), anyString())).thenReturn("http://example.com/profile.jpg");
+        when(blobService.store(any(MultipartFile.class))).thenReturn(blob("http://example.com/profile.jpg"));
 
         // When: 실행할 작업
         memberService.signUp(memberDTO);
 
         // Then: 기대하는 결과 검증
         verify(memberRepository, times(1)).save(any(Member.class));
-        verify(s3Service, times(1)).uploadFile(any(MultipartFile.class), anyString(), anyString());
+        verify(blobService, times(1)).store(any(MultipartFile.class));
     }
 
     /**
@@ -146,9 +153,9 @@ public class MemberServiceTest {
         // 이렇게 함으로써, 실제 데이터베이스에 접근하지 않아도 테스트 케이스에서는 Member 객체가 정상적으로 조회되는 것처럼 동작합니다.
         when(memberRepository.findById(anyLong())).thenReturn(Optional.of(existingMember));
 
-        // S3Service의 uploadFile 메서드가 호출될 때, 어떤 MultipartFile 객체가 전달되든지 "updatedProfileUrl" 문자열을 반환하도록 설정합니다.
+        // BlobService의 store 메서드가 호출될 때, 어떤 MultipartFile 객체가 전달되든지 "updatedProfileUrl"을 가진 객체를 반환하도록 설정합니다.
         // 이는 실제로 외부 S3 스토리지에 파일을 업로드하지 않고도, 파일 업로드가 성공적으로 이루어진 것처럼 테스트를 진행할 수 있게 합니다.
-        when(s3Service.uploadFile(any(MultipartFile.class), anyString(), anyString())).thenReturn("updatedProfileUrl");
+        when(blobService.store(any(MultipartFile.class))).thenReturn(blob("updatedProfileUrl"));
 
         // MemberRepository의 save 메서드가 호출될 때, 전달된 Member 객체를 그대로 반환하도록 설정합니다.
         // 이는 save 메서드의 동작을 시뮬레이션하며, 실제로 데이터베이스에 데이터를 저장하지 않고도 save 메서드 호출 시
@@ -235,66 +242,64 @@ public class MemberServiceTest {
     void updateMemberProfileImage() throws IOException {
         MultipartFile newProfileImage = new MockMultipartFile("newProfile", "newProfile.jpg", "image/jpeg", "new image content".getBytes());
 
-        when(s3Service.uploadFile(any(MultipartFile.class), anyString(), anyString())).thenReturn("http://example.com/newProfile.jpg");
+        when(blobService.store(any(MultipartFile.class))).thenReturn(blob("http://example.com/newProfile.jpg"));
 
         memberService.updateMemberInfo(1L, new MemberDTO(), newProfileImage);
 
         assertEquals("http://example.com/newProfile.jpg", existingMember.getProfile());
-        verify(s3Service, times(1)).uploadFile(any(MultipartFile.class), anyString(), anyString());
+        verify(blobService, times(1)).store(any(MultipartFile.class));
+        // 이전 프로필 이미지의 참조가 해제되어야 합니다.
+        verify(blobService, times(1)).release("http://example.com/existingProfile.jpg");
         verify(memberRepository, times(1)).save(any(Member.class));
     }
 
     /**
-     * 비밀번호 재설정 요청이 성공적으로 이메일로 임시 비밀번호를 전송하는지 테스트합니다.
+     * 회원 정보 저장에 실패하면 새로 올린 이미지의 참조를 해제하고, 이전 이미지의 참조는 유지해야 합니다.
      */
     @Test
-    public void testRequestPasswordReset_Successful() {
-        // 모의 설정
-        String email = "user@example.com";
-        Member mockMember = new Member();
-        mockMember.setEmail(email);
-        when(memberRepository.findByEmail(email)).thenReturn(Optional.of(mockMember));
-        when(passwordEncoder.encode(anyString())).thenReturn("encryptedPassword");
-
-        // 테스트 대상 메소드 실행
-        memberService.requestPasswordReset(email);
-
-        // 상호작용 및 결과 검증
-        verify(memberRepository).save(any(Member.class));
-    }
+    @DisplayName("프로필 이미지 업데이트 저장 실패 테스트")
+    void updateMemberProfileImage_SaveFails() throws IOException {
+        MultipartFile newProfileImage = new MockMultipartFile("newProfile", "newProfile.jpg", "image/jpeg", "new image content".getBytes());
 
-    /**
-     * 존재하지 않는 이메일에 대한 비밀번호 재설정 요청 시 ResponseStatusException이 발생하는지 테스트합니다.
-     */
-    @Test
-    public void testRequestPasswordReset_UserNotFound_ThrowsException() {
-        // 존재하지 않는 사용자 설정
-        String email = "nonexistent@example.com";
-        when(memberRepository.findByEmail(email)).thenReturn(null);
+        when(blobService.store(any(MultipartFile.class))).thenReturn(blob("http://example.com/newProfile.jpg"));
+        when(memberRepository.save(any(Member.class))).thenThrow(new DataIntegrityViolationException("duplicate email"));
 
-        // 예외가 발생하는지 확인
-        assertThrows(ResponseStatusException.class, () -> memberService.requestPasswordReset(email));
+        assertThrows(DataIntegrityViolationException.class,
+                () -> memberService.updateMemberInfo(1L, new MemberDTO(), newProfileImage));
+
+        verify(blobService, times(1)).release("http://example.com/newProfile.jpg");
+        verify(blobService, never()).release("http://example.com/existingProfile.jpg");
     }
 
     /**
      * 회원 탈퇴 기능을 테스트하는 메소드입니다.
-     * 먼저, 테스트에 필요한 Member 객체를 생성하고 저장합니다.
-     * 그 다음, deleteMember 메소드를 호출하여 회원을 삭제합니다.
-     * 마지막으로, 해당 회원이 더 이상 데이터베이스에 존재하지 않는지 확인하여 deleteMember 메소드가 성공적으로 실행되었는지 확인합니다.
+     * deleteMember 메소드는 회원을 바로 삭제하지 않고 탈퇴 상태로 바꾼 뒤 정리 작업을 등록해야 합니다.
+     * 같은 회원에 대해 다시 호출하면 작업을 다시 등록하지 않는지도 확인합니다.
      */
     @Test
     public void testDeleteMember() {
-        // 테스트에 필요한 Member 객체를 생성하고 저장합니다.
-        Member member = new Member();
-        member.setId(1L);
-        when(memberRepository.findById(1L)).thenReturn(Optional.of(member));
-        doNothing().when(memberRepository).deleteById(any(Long.class));
+        // 처음 호출에서는 탈퇴 상태로 바뀌고, 두 번째 호출에서는 이미 탈퇴 상태인 것으로 시뮬레이션합니다.
+        when(memberRepository.markDeleted(1L)).thenReturn(1, 0);
+        when(memberRepository.existsById(1L)).thenReturn(true);
 
-        // deleteMember 메소드를 호출하여 회원을 삭제합니다.
+        memberService.deleteMember(1L);
         memberService.deleteMember(1L);
 
-        // 해당 회원이 더 이상 데이터베이스에 존재하지 않는지 확인하여 deleteMember 메소드가 성공적으로 실행되었는지 확인합니다.
-        assertFalse(memberRepository.findById(1L).isPresent());
+        // 회원 행은 바로 삭제되지 않고, 정리 작업은 한 번만 등록되어야 합니다.
+        verify(memberRepository, never()).deleteById(any(Long.class));
+        verify(jobService, times(1)).enqueue(eq("account"), eq("member.purge"), any(), eq("member.purge:1"));
+    }
+
+    /**
+     * 존재하지 않는 회원의 탈퇴를 요청하면 예외가 발생하는지 테스트합니다.
+     */
+    @Test
+    public void testDeleteMember_NotFound() {
+        when(memberRepository.markDeleted(2L)).thenReturn(0);
+        when(memberRepository.existsById(2L)).thenReturn(false);
+
+        assertThrows(IllegalArgumentException.class, () -> memberService.deleteMember(2L));
+        verify(jobService, never()).enqueue(anyString(), anyString(), any(), anyString());
     }
 
     /**
@@ -319,42 +324,22 @@ public class MemberServiceTest {
         verify(memberService).createLoginHistory(member, request);
     }
 
-
     /**
-     * 비밀번호 재설정 요청이 성공적으로 처리되는 경우를 테스트하는 메서드입니다.
-     * 이메일 주소를 인자로 받아 해당 이메일을 가진 사용자를 찾고, 임시 비밀번호를 생성하여 사용자의 비밀번호를 임시 비밀번호로 변경한 후,
-     * 이메일로 임시 비밀번호를 전송하는 과정을 검증합니다.
+     * 로그인 실패 시 회원 엔티티를 저장하지 않고 UPDATE 한 번으로 시도 횟수를 증가시키는지 테스트합니다.
      */
     @Test
-    public void requestPasswordReset_Successful() {
+    public void login_WrongPassword_IncrementsAttemptWithSingleUpdate() {
         // Given
-        String email = "user@example.com";
-        Member mockMember = new Member();
-        mockMember.setEmail(email);
-        when(memberRepository.findByEmail(email)).thenReturn(Optional.of(mockMember));
-        when(passwordEncoder.encode(anyString())).thenReturn("encryptedPassword");
+        when(memberRepository.findCredentialsByEmail("existing@example.com")).thenReturn(Optional.of(existingMember));
+        when(passwordEncoder.matches("wrongPassword", "existingPassword")).thenReturn(false);
 
-        // When
-        memberService.requestPasswordReset(email);
-
-        // Then
-        verify(memberRepository, times(1)).findByEmail(email);
-        verify(passwordEncoder, times(1)).encode(anyString());
-        verify(emailService, times(1)).sendEmailNotification(anyString(), anyString(), anyString());
+        // When & Then
+        assertThrows(BadCredentialsException.class, () -> memberService.login("existing@example.com", "wrongPassword"));
+        verify(memberRepository, times(1)).incrementLoginAttempt(eq(1L), any(LocalDateTime.class));
+        verify(memberRepository, never()).save(any(Member.class));
     }
 
-    /**
-     * 사용자를 찾을 수 없는 경우 비밀번호 재설정 요청이 실패하는지 테스트하는 메서드입니다.
-     * 존재하지 않는 이메일 주소를 인자로 받아 해당 이메일을 가진 사용자를 찾으려 할 때, 사용자를 찾을 수 없어서
-     * ResponseStatusException이 발생하는지 검증합니다.
-     */
-    @Test
-    public void requestPasswordReset_UserNotFound_ThrowsException() {
-        // Given
-        String email = "nonexistent@example.com";
-        when(memberRepository.findByEmail(email)).thenReturn(Optional.empty());
-
-        // When & Then
-        assertThrows(ResponseStatusException.class, () -> memberService.requestPasswordReset(email));
+    private static StoredBlob blob(String url) {
+        return StoredBlob.builder().storageUrl(url).build();
     }
-}
\ No newline at end of file
+}
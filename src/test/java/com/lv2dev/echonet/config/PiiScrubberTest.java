@@ -0,0 +1,46 @@
+package com.lv2dev.echonet.config;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PiiScrubberTest {
+
+    @Test
+    public void maskEmail_KeepsFirstCharacterAndDomain() {
+        assertEquals("a***@example.com", PiiScrubber.maskEmail("alice@example.com"));
+        assertEquals("***", PiiScrubber.maskEmail("@example.com"));
+    }
+
+    @Test
+    public void maskIp_DropsHostPart() {
+        assertEquals("203.0.113.0", PiiScrubber.maskIp("203.0.113.42"));
+        assertEquals("2001:db8:85a3::", PiiScrubber.maskIp("2001:db8:85a3:8d3:1319:8a2e:370:7348"));
+    }
+
+    @Test
+    public void scrubQuery_MasksSecretsEmailsAndTokens() {
+        assertEquals("token=***&page=2", PiiScrubber.scrubQuery("token=abc&page=2"));
+        assertEquals("email=a***@example.com", PiiScrubber.scrubQuery("email=alice%40example.com"));
+        assertEquals("next=***", PiiScrubber.scrubQuery("next=eyJhbGciOiJIUzUxMiJ9.eyJzdWIiOiIxIn0.sig"));
+        assertEquals("flag&size=20", PiiScrubber.scrubQuery("flag&size=20"));
+    }
+
+    @Test
+    public void scrubPath_MasksEmailSegment() {
+        assertEquals("/api/members/email/a***@example.com", PiiScrubber.scrubPath("/api/members/email/alice@example.com"));
+        assertEquals("/api/members/42", PiiScrubber.scrubPath("/api/members/42"));
+    }
+
+    @Test
+    public void accessLog_UsesFirstMatchingRouteRate() {
+        AccessLogFilter filter = new AccessLogFilter(true, 0.05, "/auth/**=1.0,/actuator/**=0", 1000);
+        assertEquals(1.0, filter.rateFor("/auth/login"));
+        assertEquals(0.0, filter.rateFor("/actuator/health"));
+        assertEquals(0.05, filter.rateFor("/api/members/42"));
+        // 5xx와 느린 요청은 비율과 관계없이 기록
+        assertTrue(filter.shouldLog("/actuator/health", 503, 0));
+        assertTrue(filter.shouldLog("/actuator/health", 200, 2_000_000_000L));
+        assertFalse(filter.shouldLog("/actuator/health", 200, 0));
+    }
+}
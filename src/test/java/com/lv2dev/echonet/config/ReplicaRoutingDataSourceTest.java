@@ -0,0 +1,79 @@
+package com.lv2dev.echonet.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 두 개의 내장 H2 데이터베이스를 주 데이터베이스와 복제본으로 사용해 읽기 전용 트랜잭션의 라우팅을 검증합니다.
+ */
+public class ReplicaRoutingDataSourceTest {
+
+    private DataSource primary;
+
+    private DataSource replica;
+
+    @BeforeEach
+    void setUp() {
+        primary = embedded("primary");
+        replica = embedded("replica");
+    }
+
+    @Test
+    public void readOnlyTransaction_GoesToReplica() {
+        ReplicaLagMonitor monitor = monitor("SELECT 0 AS Seconds_Behind_Master");
+
+        assertEquals("replica", currentNode(monitor, true));
+        assertEquals("primary", currentNode(monitor, false));
+    }
+
+    @Test
+    public void laggingReplica_FallsBackToPrimary() {
+        ReplicaLagMonitor monitor = monitor("SELECT 60 AS Seconds_Behind_Master");
+
+        assertFalse(monitor.isAvailable());
+        assertEquals("primary", currentNode(monitor, true));
+    }
+
+    @Test
+    public void brokenReplication_FallsBackToPrimary() {
+        // 복제가 멈추면 Seconds_Behind_Master가 NULL
+        ReplicaLagMonitor monitor = monitor("SELECT CAST(NULL AS BIGINT) AS Seconds_Behind_Master");
+
+        assertFalse(monitor.isAvailable());
+        assertEquals("primary", currentNode(monitor, true));
+    }
+
+    /**
+     * 트랜잭션 안에서 실제로 연결된 데이터베이스의 이름을 조회합니다.
+     */
+    private String currentNode(ReplicaLagMonitor monitor, boolean readOnly) {
+        DataSource routing = new LazyConnectionDataSourceProxy(new ReplicaRoutingDataSource(primary, replica, monitor));
+        TransactionTemplate template = new TransactionTemplate(new DataSourceTransactionManager(routing));
+        template.setReadOnly(readOnly);
+        return template.execute(status -> new JdbcTemplate(routing).queryForObject("SELECT name FROM node", String.class));
+    }
+
+    private ReplicaLagMonitor monitor(String lagQuery) {
+        ReplicaLagMonitor monitor = new ReplicaLagMonitor(replica, lagQuery, 5);
+        monitor.check();
+        return monitor;
+    }
+
+    private static DataSource embedded(String name) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS node (name VARCHAR(16))");
+        jdbcTemplate.execute("DELETE FROM node");
+        jdbcTemplate.update("INSERT INTO node (name) VALUES (?)", name);
+        return dataSource;
+    }
+}
@@ -0,0 +1,49 @@
+package com.lv2dev.echonet.persistence;
+
+import ch.vorburger.mariadb4j.DB;
+import ch.vorburger.mariadb4j.DBConfigurationBuilder;
+import org.springframework.test.context.DynamicPropertyRegistry;
+
+/**
+ * 스프링 컨텍스트를 쓰는 테스트가 공유하는 내장 MariaDB(MariaDB4j)입니다.
+ * 처음 사용할 때 한 번 시작하고 JVM이 끝날 때 정지합니다. 스키마는 애플리케이션과 같이 Flyway가 만듭니다.
+ *
+ * 사용법: @DataJpaTest에 @AutoConfigureTestDatabase(replace = NONE)를 붙이고
+ * @DynamicPropertySource 메소드에서 {@link #register(DynamicPropertyRegistry)}를 호출합니다.
+ */
+public final class EmbeddedMariaDB {
+    private static String url;
+
+    private EmbeddedMariaDB() {
+    }
+
+    public static synchronized String url() {
+        if (url == null) {
+            try {
+                DBConfigurationBuilder config = DBConfigurationBuilder.newBuilder();
+                config.setPort(0); // 사용 가능한 포트 자동 선택
+                DB db = DB.newEmbeddedDB(config.build());
+                db.start();
+                db.createDB("echonet_it");
+                url = config.getURL("echonet_it");
+                Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                    try {
+                        db.stop();
+                    } catch (Exception ignored) {
+                        // JVM 종료 중
+                    }
+                }));
+            } catch (Exception e) {
+                throw new IllegalStateException("Cannot start embedded MariaDB", e);
+            }
+        }
+        return url;
+    }
+
+    public static void register(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", EmbeddedMariaDB::url);
+        registry.add("spring.datasource.username", () -> "root");
+        registry.add("spring.datasource.password", () -> "");
+        registry.add("spring.flyway.enabled", () -> "true");
+    }
+}
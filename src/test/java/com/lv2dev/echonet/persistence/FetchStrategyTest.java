@@ -0,0 +1,111 @@
+package com.lv2dev.echonet.persistence;
+
+import com.lv2dev.echonet.dto.LoginHistoryDTO;
+import com.lv2dev.echonet.model.LoginHistory;
+import com.lv2dev.echonet.model.Member;
+import com.lv2dev.echonet.model.PasswordResetToken;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 연관 관계 조회가 추가 쿼리(N+1)를 만들지 않는지 Hibernate 통계로 검증합니다.
+ * 스키마는 내장 H2에 엔티티 기준으로 만들고, 쿼리 수만 확인합니다. (인덱스 사용은 SchemaIndexTest에서 확인)
+ */
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+public class FetchStrategyTest {
+    private static final int MEMBERS = 5;
+
+    private static final int HISTORY_PER_MEMBER = 100;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private LoginHistoryRepository loginHistoryRepository;
+
+    @Autowired
+    private PasswordResetTokenRepository passwordResetTokenRepository;
+
+    private final List<Member> members = new ArrayList<>();
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < MEMBERS; i++) {
+            Member member = Member.builder()
+                    .email("user" + i + "@example.com")
+                    .nickname("user" + i)
+                    .password("x")
+                    .joinDay(now)
+                    .build();
+            entityManager.persist(member);
+            members.add(member);
+            for (int j = 0; j < HISTORY_PER_MEMBER; j++) {
+                entityManager.persist(LoginHistory.builder()
+                        .member(member)
+                        .loginTime(now.minusMinutes(j))
+                        .ipAddress("203.0.113." + j)
+                        .build());
+            }
+            entityManager.persist(new PasswordResetToken("hash" + i, member, now.plusHours(1)));
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    public void historyPage_IsOneQuery() {
+        List<LoginHistoryDTO> page = loginHistoryRepository.findRecent(members.get(0).getId(), PageRequest.of(0, HISTORY_PER_MEMBER));
+
+        assertEquals(HISTORY_PER_MEMBER, page.size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    public void historyEntities_DoNotLoadMembers() {
+        List<LoginHistory> all = loginHistoryRepository.findAll();
+
+        assertEquals(MEMBERS * HISTORY_PER_MEMBER, all.size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityStatistics(Member.class.getName()).getLoadCount());
+        assertFalse(Hibernate.isInitialized(all.get(0).getMember()));
+    }
+
+    @Test
+    public void tokenByHash_FetchesMemberInSameQuery() {
+        PasswordResetToken token = passwordResetTokenRepository.findByTokenHash("hash3").orElseThrow();
+
+        assertEquals("user3@example.com", token.getMember().getEmail());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    public void tokenByMember_DoesNotLoadMember() {
+        PasswordResetToken token = passwordResetTokenRepository.findByMemberId(members.get(2).getId()).orElseThrow();
+
+        assertFalse(Hibernate.isInitialized(token.getMember()));
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+}
@@ -0,0 +1,187 @@
+package com.lv2dev.echonet.persistence;
+
+import com.lv2dev.echonet.config.CacheConfig;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lv2dev.echonet.config.MemberCacheInvalidator;
+import com.lv2dev.echonet.model.Member;
+import com.lv2dev.echonet.service.JobService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 로그인과 토큰 갱신에 쓰이는 회원 조회가 2차 캐시에서 처리되는지 내장 MariaDB에서 Hibernate 통계로 검증합니다.
+ * 캐시는 커밋된 변경만 반영하므로 테스트 트랜잭션 없이 실제로 커밋합니다.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(CacheConfig.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class MemberCacheTest {
+    @DynamicPropertySource
+    static void mariaDb(DynamicPropertyRegistry registry) {
+        EmbeddedMariaDB.register(registry);
+    }
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private BackgroundJobRepository backgroundJobRepository;
+
+    @Autowired
+    private PasswordResetTokenRepository passwordResetTokenRepository;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    private Member saveMember(String name) {
+        return memberRepository.save(Member.builder()
+                .email(name + "@example.com")
+                .nickname(name)
+                .password("x")
+                .joinDay(LocalDateTime.now())
+                .build());
+    }
+
+    @Test
+    public void findByEmail_ServedFromCacheAfterFirstLoad() {
+        Member saved = saveMember("cached");
+        entityManagerFactory.getCache().evictAll();
+        statistics.clear();
+
+        assertTrue(memberRepository.findByEmail("cached@example.com").isPresent());
+        assertTrue(statistics.getPrepareStatementCount() > 0);
+
+        statistics.clear();
+        Member member = memberRepository.findByEmail("cached@example.com").orElseThrow();
+        memberRepository.findById(saved.getId()).orElseThrow();
+
+        assertEquals(saved.getId(), member.getId());
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getNaturalIdCacheHitCount());
+    }
+
+    @Test
+    public void refreshTokenUpdate_KeepsMemberCached() {
+        Member saved = saveMember("refresh");
+        // 로그인과 같이 캐시에서 읽은 회원을 병합해 저장 (TokenService.saveRefreshToken)
+        Member loggedIn = memberRepository.findByEmail("refresh@example.com").orElseThrow();
+        statistics.clear();
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            loggedIn.setRefreshToken("token");
+            memberRepository.save(loggedIn);
+        });
+        assertEquals(1, statistics.getPrepareStatementCount()); // 다시 조회하지 않고 UPDATE만
+        statistics.clear();
+
+        Member member = memberRepository.findById(saved.getId()).orElseThrow();
+
+        assertEquals("token", member.getRefreshToken());
+        assertEquals(saved.getVersion(), member.getVersion()); // 상태 값 변경은 버전을 올리지 않음
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    public void nativeWrites_KeepMemberCached() {
+        Member saved = saveMember("native");
+        memberRepository.findById(saved.getId()).orElseThrow(); // 캐시에 올림
+        JobService jobService = new JobService(backgroundJobRepository, new ObjectMapper(), new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(jobService, "defaultMaxAttempts", 3);
+
+        // 메일 발송, S3 삭제 등 네이티브 쓰기 쿼리는 선언한 테이블의 영역만 비움
+        assertTrue(jobService.enqueue("cache-test", "noop", "payload"));
+        passwordResetTokenRepository.deleteExpired(LocalDateTime.now(), 10);
+        statistics.clear();
+
+        memberRepository.findById(saved.getId()).orElseThrow();
+
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getSecondLevelCacheHitCount());
+    }
+
+    @Test
+    public void invalidator_EvictsMembersChangedOnOtherInstances() throws SQLException {
+        Member saved = saveMember("invalidated");
+        Member untouched = saveMember("untouched");
+        memberRepository.findById(saved.getId()).orElseThrow(); // 캐시에 올림
+        memberRepository.findById(untouched.getId()).orElseThrow();
+
+        // 다른 인스턴스가 탈퇴 처리한 경우. 캐시에는 이전 값이 남아 있음
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("UPDATE member SET state = ?, changed_at = NOW(6) WHERE id = ?")) {
+            statement.setInt(1, Member.STATE_DELETED);
+            statement.setLong(2, saved.getId());
+            assertEquals(1, statement.executeUpdate());
+        }
+        assertEquals(Member.STATE_ACTIVE, memberRepository.findById(saved.getId()).orElseThrow().getState());
+
+        new MemberCacheInvalidator(memberRepository, entityManagerFactory, 60).evictChanged();
+
+        statistics.clear();
+        assertEquals(Member.STATE_DELETED, memberRepository.findById(saved.getId()).orElseThrow().getState());
+        memberRepository.findById(untouched.getId()).orElseThrow();
+        assertEquals(1, statistics.getPrepareStatementCount()); // 바뀌지 않은 회원은 캐시에 남음
+    }
+
+    @Test
+    public void credentialLookups_BypassCacheAndRefreshIt() throws SQLException {
+        Member saved = saveMember("credentials");
+        memberRepository.findById(saved.getId()).orElseThrow(); // 캐시에 올림
+
+        // 다른 인스턴스가 비밀번호를 바꾸고 탈퇴 처리한 경우 (이 인스턴스의 캐시는 알지 못함)
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("UPDATE member SET password = ?, state = ? WHERE id = ?")) {
+            statement.setString(1, "changed");
+            statement.setInt(2, Member.STATE_DELETED);
+            statement.setLong(3, saved.getId());
+            assertEquals(1, statement.executeUpdate());
+        }
+        assertEquals("x", memberRepository.findById(saved.getId()).orElseThrow().getPassword());
+
+        statistics.clear();
+        Member byEmail = memberRepository.findCredentialsByEmail("credentials@example.com").orElseThrow();
+        Member byId = memberRepository.findCredentialsById(saved.getId()).orElseThrow();
+
+        assertEquals("changed", byEmail.getPassword());
+        assertEquals(Member.STATE_DELETED, byId.getState());
+        assertEquals(2, statistics.getPrepareStatementCount());
+        // 읽은 값으로 캐시 항목도 갱신됨
+        assertEquals(Member.STATE_DELETED, memberRepository.findById(saved.getId()).orElseThrow().getState());
+    }
+}
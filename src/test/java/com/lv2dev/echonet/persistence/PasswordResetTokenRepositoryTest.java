@@ -0,0 +1,94 @@
+package com.lv2dev.echonet.persistence;
+
+import com.lv2dev.echonet.model.PasswordResetToken;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 재설정 토큰 upsert가 회원당 한 행을 유지하고, 동시에 발급해도 고유 제약 위반이 나지 않는지 내장 MariaDB에서 검증합니다.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class PasswordResetTokenRepositoryTest {
+
+    @DynamicPropertySource
+    static void mariaDb(DynamicPropertyRegistry registry) {
+        EmbeddedMariaDB.register(registry);
+    }
+
+    @Autowired
+    private PasswordResetTokenRepository passwordResetTokenRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private void insertMember(long id) {
+        jdbcTemplate.update("INSERT INTO member (id, email, nickname, password, join_day) VALUES (?, ?, ?, 'x', ?)",
+                id, "reset" + id + "@example.com", "reset" + id, LocalDateTime.now());
+    }
+
+    private static String hash(long n) {
+        return String.format("%064x", n);
+    }
+
+    @Test
+    public void upsert_ReplacesExistingTokenOfMember() {
+        insertMember(9401);
+        LocalDateTime expiry = LocalDateTime.now().plusMinutes(30).withNano(0);
+
+        passwordResetTokenRepository.upsert(9401L, hash(1), expiry);
+        passwordResetTokenRepository.upsert(9401L, hash(2), expiry.plusMinutes(5));
+
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM password_reset_token WHERE user_id = 9401", Integer.class));
+        assertTrue(passwordResetTokenRepository.findByTokenHash(hash(1)).isEmpty());
+        PasswordResetToken token = passwordResetTokenRepository.findByTokenHash(hash(2)).orElseThrow();
+        assertEquals(expiry.plusMinutes(5), token.getExpiryDate());
+    }
+
+    @Test
+    public void upsert_ConcurrentRequestsForSameMemberKeepOneToken() throws Exception {
+        insertMember(9402);
+        int requests = 8;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(requests);
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int i = 0; i < requests; i++) {
+                long n = 100 + i;
+                Callable<Integer> issue = () -> {
+                    start.await();
+                    return passwordResetTokenRepository.upsert(9402L, hash(n), LocalDateTime.now().plusMinutes(30));
+                };
+                results.add(executor.submit(issue));
+            }
+            start.countDown();
+            for (Future<Integer> result : results) {
+                // 고유 제약 위반이 있으면 여기서 ExecutionException
+                assertTrue(result.get() > 0);
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM password_reset_token WHERE user_id = 9402", Integer.class));
+    }
+}
@@ -0,0 +1,247 @@
+package com.lv2dev.echonet.persistence;
+
+import ch.vorburger.mariadb4j.DB;
+import ch.vorburger.mariadb4j.DBConfigurationBuilder;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Flyway 마이그레이션으로 만든 스키마에서 자주 실행되는 조회가 의도한 인덱스를 사용하는지 EXPLAIN으로 검증합니다.
+ * 내장 MariaDB(MariaDB4j)를 사용하므로 외부 데이터베이스나 Docker가 필요하지 않습니다.
+ */
+public class SchemaIndexTest {
+
+    private static DB db;
+
+    private static String url;
+
+    @BeforeAll
+    static void startDatabase() throws Exception {
+        DBConfigurationBuilder config = DBConfigurationBuilder.newBuilder();
+        config.setPort(0); // 사용 가능한 포트 자동 선택
+        db = DB.newEmbeddedDB(config.build());
+        db.start();
+        db.createDB("echonet");
+        url = config.getURL("echonet");
+
+        Flyway.configure()
+                .dataSource(url, "root", "")
+                .locations("classpath:db/migration")
+                .load()
+                .migrate();
+
+        try (Connection connection = connect()) {
+            insertSampleData(connection);
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("ANALYZE TABLE member, login_history, login_member_rollup, feedback, password_reset_token, background_job");
+            }
+        }
+    }
+
+    @AfterAll
+    static void stopDatabase() throws Exception {
+        if (db != null) {
+            db.stop();
+        }
+    }
+
+    @Test
+    public void findByEmail_UsesUniqueEmailIndex() throws SQLException {
+        assertEquals("ux_member_email", explainKey("SELECT * FROM member WHERE email = 'user42@example.com'"));
+    }
+
+    @Test
+    public void existsByNickname_UsesUniqueNicknameIndex() throws SQLException {
+        assertEquals("ux_member_nickname", explainKey("SELECT id FROM member WHERE nickname = 'user42' LIMIT 1"));
+    }
+
+    @Test
+    public void recentlyChangedMembers_UseChangedAtIndex() throws SQLException {
+        // 모든 인스턴스가 주기적으로 실행하므로 회원 수와 관계없이 인덱스 범위만 읽어야 함
+        assertEquals("ix_member_changed_at",
+                explainKey("SELECT id FROM member WHERE changed_at >= NOW(6) - INTERVAL 60 SECOND"));
+    }
+
+    @Test
+    public void recentLoginHistory_UsesMemberTimeIndex() throws SQLException {
+        assertEquals("ix_login_history_member_time",
+                explainKey("SELECT * FROM login_history WHERE member_id = 42 ORDER BY login_time DESC LIMIT 20"));
+    }
+
+    @Test
+    public void feedbackByUser_UsesUserCreatedIndex() throws SQLException {
+        assertEquals("ix_feedback_user_created",
+                explainKey("SELECT * FROM feedback WHERE user_id = 42 ORDER BY created_date DESC LIMIT 20"));
+    }
+
+    @Test
+    public void resetTokenLookup_UsesUniqueHashIndex() throws SQLException {
+        assertEquals("ux_password_reset_token_hash",
+                explainKey("SELECT * FROM password_reset_token WHERE token_hash = '" + tokenHash(42) + "'"));
+    }
+
+    @Test
+    public void expiredTokenPurge_ReadsOnlyOneBatch() throws SQLException {
+        String purge = "DELETE FROM password_reset_token WHERE expiry_date < NOW() ORDER BY expiry_date LIMIT 50";
+        assertEquals("ix_password_reset_token_expiry", explainKey(purge));
+
+        // 테이블 크기(500행)와 관계없이 배치 크기만큼만 읽는지 핸들러 카운터로 확인
+        try (Connection connection = connect(); Statement statement = connection.createStatement()) {
+            statement.execute("FLUSH STATUS");
+            assertEquals(50, statement.executeUpdate(purge));
+            long read = rowsRead(statement);
+            assertTrue(read <= 60, "purge batch read " + read + " rows");
+        }
+    }
+
+    @Test
+    public void memberPurgeBatches_UseMemberIndexes() throws SQLException {
+        // 탈퇴 정리 배치는 회원의 행만 인덱스로 찾아 잠가야 함
+        assertEquals("ix_login_history_member_time", explainKey("DELETE FROM login_history WHERE member_id = 42 LIMIT 1000"));
+        assertEquals("ix_login_member_rollup_member_id", explainKey("DELETE FROM login_member_rollup WHERE member_id = 42 LIMIT 1000"));
+        assertEquals("ix_feedback_user_created", explainKey("DELETE FROM feedback WHERE user_id = 42 LIMIT 1000"));
+    }
+
+    @Test
+    public void jobClaim_SkipsRowsLockedByAnotherWorker() throws SQLException {
+        String claim = "SELECT id FROM background_job WHERE queue = 'mail' AND status = 'PENDING' AND run_at <= NOW() " +
+                "ORDER BY run_at, id LIMIT 1 FOR UPDATE SKIP LOCKED";
+        assertEquals("ix_background_job_claim", explainKey(claim.replace(" FOR UPDATE SKIP LOCKED", "")));
+
+        // 두 작업자가 동시에 점유하면 서로 다른 작업을 받아야 함
+        try (Connection first = connect(); Connection second = connect()) {
+            first.setAutoCommit(false);
+            second.setAutoCommit(false);
+            long firstId = claimOne(first, claim);
+            long secondId = claimOne(second, claim);
+            assertNotEquals(firstId, secondId);
+            first.rollback();
+            second.rollback();
+        }
+    }
+
+    private static long claimOne(Connection connection, String sql) throws SQLException {
+        try (Statement statement = connection.createStatement(); ResultSet rs = statement.executeQuery(sql)) {
+            assertTrue(rs.next());
+            return rs.getLong(1);
+        }
+    }
+
+    /**
+     * 현재 세션에서 스토리지 엔진이 읽은 행 수
+     */
+    private static long rowsRead(Statement statement) throws SQLException {
+        long total = 0;
+        try (ResultSet rs = statement.executeQuery("SHOW SESSION STATUS WHERE Variable_name IN "
+                + "('Handler_read_first', 'Handler_read_key', 'Handler_read_next', 'Handler_read_prev', 'Handler_read_rnd_next')")) {
+            while (rs.next()) {
+                total += rs.getLong("Value");
+            }
+        }
+        return total;
+    }
+
+    private static String tokenHash(long id) {
+        return String.format("%064x", id);
+    }
+
+    /**
+     * EXPLAIN 결과에서 첫 번째 테이블 접근에 사용된 인덱스 이름을 반환합니다.
+     */
+    private static String explainKey(String sql) throws SQLException {
+        try (Connection connection = connect();
+             Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("EXPLAIN " + sql)) {
+            assertTrue(rs.next());
+            assertNotEquals("ALL", rs.getString("type"), "full table scan: " + sql);
+            return rs.getString("key");
+        }
+    }
+
+    private static void insertSampleData(Connection connection) throws SQLException {
+        LocalDateTime now = LocalDateTime.now();
+        try (PreparedStatement member = connection.prepareStatement(
+                "INSERT INTO member (id, email, nickname, password, join_day) VALUES (?, ?, ?, 'x', ?)")) {
+            for (long id = 1; id <= 500; id++) {
+                member.setLong(1, id);
+                member.setString(2, "user" + id + "@example.com");
+                member.setString(3, "user" + id);
+                member.setTimestamp(4, Timestamp.valueOf(now));
+                member.addBatch();
+            }
+            member.executeBatch();
+        }
+        try (PreparedStatement history = connection.prepareStatement(
+                "INSERT INTO login_history (id, member_id, login_time, ip_address) VALUES (?, ?, ?, '127.0.0.1')");
+             PreparedStatement feedback = connection.prepareStatement(
+                     "INSERT INTO feedback (id, user_id, content, created_date) VALUES (?, ?, 'feedback', ?)")) {
+            for (long id = 1; id <= 5000; id++) {
+                Timestamp time = Timestamp.valueOf(now.minusMinutes(id));
+                history.setLong(1, id);
+                history.setLong(2, id % 500 + 1);
+                history.setTimestamp(3, time);
+                history.addBatch();
+                feedback.setLong(1, id);
+                feedback.setLong(2, id % 500 + 1);
+                feedback.setTimestamp(3, time);
+                feedback.addBatch();
+            }
+            history.executeBatch();
+            feedback.executeBatch();
+        }
+        // 회원당 최근 10시간의 시간별 집계
+        try (PreparedStatement rollup = connection.prepareStatement(
+                "INSERT INTO login_member_rollup (granularity, bucket_start, member_id, login_count) VALUES ('HOUR', ?, ?, 1)")) {
+            LocalDateTime hour = now.truncatedTo(ChronoUnit.HOURS);
+            for (long id = 1; id <= 500; id++) {
+                for (int i = 0; i < 10; i++) {
+                    rollup.setTimestamp(1, Timestamp.valueOf(hour.minusHours(i)));
+                    rollup.setLong(2, id);
+                    rollup.addBatch();
+                }
+            }
+            rollup.executeBatch();
+        }
+        // 회원당 토큰 하나, 대부분은 이미 만료
+        try (PreparedStatement token = connection.prepareStatement(
+                "INSERT INTO password_reset_token (id, token_hash, user_id, expiry_date) VALUES (?, ?, ?, ?)")) {
+            for (long id = 1; id <= 500; id++) {
+                token.setLong(1, id);
+                token.setString(2, tokenHash(id));
+                token.setLong(3, id);
+                token.setTimestamp(4, Timestamp.valueOf(id % 5 == 0 ? now.plusMinutes(30) : now.minusHours(id)));
+                token.addBatch();
+            }
+            token.executeBatch();
+        }
+        try (PreparedStatement job = connection.prepareStatement(
+                "INSERT INTO background_job (queue, type, payload, status, max_attempts, run_at, created_at) VALUES (?, 'test', '{}', ?, 8, ?, ?)")) {
+            for (int i = 0; i < 2000; i++) {
+                job.setString(1, i % 2 == 0 ? "mail" : "storage");
+                job.setString(2, i % 10 == 0 ? "PENDING" : "SUCCEEDED");
+                job.setTimestamp(3, Timestamp.valueOf(now.minusMinutes(i)));
+                job.setTimestamp(4, Timestamp.valueOf(now.minusMinutes(i)));
+                job.addBatch();
+            }
+            job.executeBatch();
+        }
+    }
+
+    private static Connection connect() throws SQLException {
+        return DriverManager.getConnection(url, "root", "");
+    }
+}
@@ -0,0 +1,62 @@
+package com.lv2dev.echonet.security;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BreachIndexCheckerTest {
+
+    @TempDir
+    Path dir;
+
+    private static String sha1(String password) throws Exception {
+        byte[] hash = MessageDigest.getInstance("SHA-1").digest(password.getBytes(StandardCharsets.UTF_8));
+        return HexFormat.of().withUpperCase().formatHex(hash);
+    }
+
+    @Test
+    public void isBreached_FindsHashesAcrossSegments() throws Exception {
+        List<String> breached = List.of("123456", "password", "Qwerty@123", "비밀번호123!", "P@ssw0rd", "letmein");
+        List<String> lines = Stream.concat(breached.stream(), Stream.of("123456"))
+                .map(password -> {
+                    try {
+                        return sha1(password) + ":42";
+                    } catch (Exception e) {
+                        throw new IllegalStateException(e);
+                    }
+                })
+                .sorted()
+                .toList();
+        Path corpus = Files.write(dir.resolve("corpus.txt"), lines);
+        Path index = dir.resolve("breach-index.bin");
+
+        assertEquals(breached.size(), BreachIndexBuilder.build(corpus, index));
+
+        // 구간 경계를 검증하기 위해 구간당 레코드 수를 줄여서 매핑
+        BreachIndexChecker checker = new BreachIndexChecker(index, 4);
+        assertEquals(breached.size(), checker.size());
+        for (String password : breached) {
+            assertTrue(checker.isBreached(password), password);
+        }
+        assertFalse(checker.isBreached("Password@123"));
+        assertFalse(checker.isBreached(""));
+    }
+
+    @Test
+    public void build_RejectsUnsortedCorpus() throws Exception {
+        Path corpus = Files.write(dir.resolve("corpus.txt"), List.of(sha1("b"), sha1("a")).stream()
+                .sorted((a, b) -> b.compareTo(a)).toList());
+
+        assertThrows(IllegalArgumentException.class, () -> BreachIndexBuilder.build(corpus, dir.resolve("index.bin")));
+        assertFalse(Files.exists(dir.resolve("index.bin")));
+    }
+}
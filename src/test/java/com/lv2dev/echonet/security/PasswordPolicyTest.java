@@ -0,0 +1,32 @@
+package com.lv2dev.echonet.security;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PasswordPolicyTest {
+
+    private final CommonPasswordChecker checker = new CommonPasswordChecker(new long[]{CommonPasswordChecker.hash("Password123!")});
+
+    private final PasswordPolicy policy = new PasswordPolicy(8, 64, true, true, true, true, "!@#$%^&*()-_+=", checker);
+
+    @Test
+    public void check_ValidPassword() {
+        assertEquals(PasswordPolicy.Result.OK, policy.check("Password@123"));
+    }
+
+    @Test
+    public void check_ReportsFirstViolatedRule() {
+        assertEquals(PasswordPolicy.Result.TOO_SHORT, policy.check("Aa1!"));
+        assertEquals(PasswordPolicy.Result.TOO_LONG, policy.check("Aa1!".repeat(20)));
+        assertEquals(PasswordPolicy.Result.WHITESPACE, policy.check("Pass word@123"));
+        assertEquals(PasswordPolicy.Result.MISSING_UPPERCASE, policy.check("password@123"));
+        assertEquals(PasswordPolicy.Result.MISSING_DIGIT, policy.check("Password@abc"));
+        assertEquals(PasswordPolicy.Result.MISSING_SPECIAL, policy.check("Password1234"));
+    }
+
+    @Test
+    public void check_BreachedPassword() {
+        assertEquals(PasswordPolicy.Result.BREACHED, policy.check("Password123!"));
+    }
+}
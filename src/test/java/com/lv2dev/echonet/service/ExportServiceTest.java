@@ -0,0 +1,143 @@
+package com.lv2dev.echonet.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lv2dev.echonet.dto.FeedbackExportDTO;
+import com.lv2dev.echonet.dto.LoginHistoryDTO;
+import com.lv2dev.echonet.dto.MemberExportDTO;
+import com.lv2dev.echonet.persistence.FeedbackRepository;
+import com.lv2dev.echonet.persistence.LoginHistoryRepository;
+import com.lv2dev.echonet.persistence.MemberRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class ExportServiceTest {
+
+    private static final LocalDateTime TIME = LocalDateTime.of(2024, 3, 1, 9, 30, 15);
+
+    private final MemberRepository memberRepository = mock(MemberRepository.class);
+
+    private final FeedbackRepository feedbackRepository = mock(FeedbackRepository.class);
+
+    private final LoginHistoryRepository loginHistoryRepository = mock(LoginHistoryRepository.class);
+
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final ExportService exportService = new ExportService(memberRepository, feedbackRepository, loginHistoryRepository,
+            objectMapper, transactionManager);
+
+    @Test
+    public void exportMembers_WritesCsvInReadOnlyTransactionAndClosesStream() throws IOException {
+        AtomicBoolean closed = new AtomicBoolean();
+        when(memberRepository.streamForExport()).thenReturn(Stream.of(
+                new MemberExportDTO(1L, "a@example.com", "alice", TIME, 0, 0),
+                new MemberExportDTO(2L, "b@example.com", "bob", null, 1, 1)).onClose(() -> closed.set(true)));
+
+        String csv = write(exportService.exportMembers(ExportService.Format.CSV, false));
+
+        assertEquals("id,email,nickname,joinDay,role,state\r\n" +
+                "1,a@example.com,alice,2024-03-01T09:30:15,0,0\r\n" +
+                "2,b@example.com,bob,,1,1\r\n", csv);
+        assertTrue(closed.get());
+        verify(transactionManager).getTransaction(argThat(definition -> definition != null && definition.isReadOnly()));
+    }
+
+    @Test
+    public void exportFeedback_QuotesSpecialCharactersAndEscapesFormulas() throws IOException {
+        when(feedbackRepository.streamForExport()).thenReturn(Stream.of(
+                new FeedbackExportDTO(1L, 7L, "plain text", TIME),
+                new FeedbackExportDTO(2L, 7L, "a, \"quoted\"\nline", TIME),
+                new FeedbackExportDTO(3L, 7L, "=HYPERLINK(\"http://evil\")", TIME),
+                new FeedbackExportDTO(4L, 7L, "+1", TIME),
+                new FeedbackExportDTO(5L, 7L, "-2", TIME),
+                new FeedbackExportDTO(6L, 7L, "@SUM(A1)", TIME),
+                new FeedbackExportDTO(7L, null, null, null)));
+
+        String[] lines = write(exportService.exportFeedback(ExportService.Format.CSV, false)).split("\r\n");
+
+        assertEquals("id,userId,content,createdDate", lines[0]);
+        assertEquals("1,7,plain text,2024-03-01T09:30:15", lines[1]);
+        assertEquals("2,7,\"a, \"\"quoted\"\"\nline\",2024-03-01T09:30:15", lines[2]);
+        assertEquals("3,7,\"'=HYPERLINK(\"\"http://evil\"\")\",2024-03-01T09:30:15", lines[3]);
+        assertEquals("4,7,\"'+1\",2024-03-01T09:30:15", lines[4]);
+        assertEquals("5,7,\"'-2\",2024-03-01T09:30:15", lines[5]);
+        assertEquals("6,7,\"'@SUM(A1)\",2024-03-01T09:30:15", lines[6]);
+        assertEquals("7,,,", lines[7]);
+    }
+
+    @Test
+    public void exportLoginHistory_WritesOneJsonObjectPerLine() throws IOException {
+        LocalDateTime from = TIME.minusDays(1);
+        when(loginHistoryRepository.streamForExport(from, TIME)).thenReturn(Stream.of(
+                new LoginHistoryDTO(10L, 1L, TIME, "203.0.113.7", "Chrome 120", "Desktop"),
+                new LoginHistoryDTO(11L, 2L, TIME, "198.51.100.1", null, "Mobile \"iOS\"")));
+
+        String[] lines = write(exportService.exportLoginHistory(ExportService.Format.NDJSON, false, from, TIME)).split("\n");
+
+        assertEquals(2, lines.length);
+        JsonNode first = objectMapper.readTree(lines[0]);
+        assertTrue(first.get("id").isNumber());
+        assertEquals(10L, first.get("id").asLong());
+        assertEquals(1L, first.get("memberId").asLong());
+        assertEquals("2024-03-01T09:30:15", first.get("loginTime").asText());
+        assertEquals("Chrome 120", first.get("browserInfo").asText());
+        JsonNode second = objectMapper.readTree(lines[1]);
+        assertTrue(second.get("browserInfo").isNull());
+        assertEquals("Mobile \"iOS\"", second.get("deviceInfo").asText());
+    }
+
+    @Test
+    public void export_GzipMatchesUncompressedOutput() throws IOException {
+        when(memberRepository.streamForExport()).thenAnswer(invocation -> Stream.of(
+                new MemberExportDTO(1L, "a@example.com", "alice", TIME, 0, 0),
+                new MemberExportDTO(2L, "b@example.com", "bob", TIME, 1, 0)));
+
+        String plain = write(exportService.exportMembers(ExportService.Format.NDJSON, false));
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        exportService.exportMembers(ExportService.Format.NDJSON, true).writeTo(compressed);
+
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed.toByteArray()))) {
+            assertEquals(plain, new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    public void export_FailureMidStreamLeavesGzipUnfinished() throws IOException {
+        when(memberRepository.streamForExport()).thenReturn(Stream.concat(
+                Stream.of(new MemberExportDTO(1L, "a@example.com", "alice", TIME, 0, 0)),
+                Stream.<MemberExportDTO>generate(() -> {
+                    throw new IllegalStateException("connection lost");
+                })));
+
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        StreamingResponseBody body = exportService.exportMembers(ExportService.Format.NDJSON, true);
+        assertThrows(IllegalStateException.class, () -> body.writeTo(compressed));
+
+        // 트레일러가 없으므로 클라이언트는 완전한 파일로 읽을 수 없음
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed.toByteArray()))) {
+            assertThrows(IOException.class, in::readAllBytes);
+        }
+    }
+
+    private static String write(StreamingResponseBody body) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        body.writeTo(out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,86 @@
+package com.lv2dev.echonet.service;
+
+import com.lv2dev.echonet.dto.FeedbackSubmissionDTO;
+import com.lv2dev.echonet.model.Feedback;
+import com.lv2dev.echonet.persistence.FeedbackRepository;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class FeedbackServiceTest {
+
+    private final FeedbackRepository feedbackRepository = mock(FeedbackRepository.class);
+
+    private final FeedbackService feedbackService = new FeedbackService(feedbackRepository, 3, 100, 10, 60, 1000, 5, 10, 2);
+
+    @Test
+    public void submitFeedback_NearDuplicateReturnsFirstSubmission() {
+        FeedbackSubmissionDTO first = feedbackService.submitFeedback(1L, "The upload button is broken!");
+        FeedbackSubmissionDTO second = feedbackService.submitFeedback(1L, "  the upload button is BROKEN ");
+        FeedbackSubmissionDTO otherUser = feedbackService.submitFeedback(2L, "The upload button is broken!");
+
+        assertFalse(first.isDuplicate());
+        assertTrue(second.isDuplicate());
+        assertEquals(first.getSubmissionId(), second.getSubmissionId());
+        assertFalse(otherUser.isDuplicate());
+        assertEquals(2, feedbackService.getPendingCount());
+    }
+
+    @Test
+    public void submitFeedback_ThrottlesAfterBurst() {
+        for (int i = 0; i < 5; i++) {
+            feedbackService.submitFeedback(1L, "feedback " + i);
+            feedbackService.flush();
+        }
+
+        ResponseStatusException e = assertThrows(ResponseStatusException.class, () -> feedbackService.submitFeedback(1L, "one more"));
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, e.getStatusCode());
+    }
+
+    @Test
+    public void submitFeedback_RejectsWhenQueueIsFull() {
+        for (long userId = 1; userId <= 3; userId++) {
+            feedbackService.submitFeedback(userId, "feedback");
+        }
+
+        ResponseStatusException e = assertThrows(ResponseStatusException.class, () -> feedbackService.submitFeedback(4L, "feedback"));
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, e.getStatusCode());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void flush_WritesQueuedFeedbackInOneBatch() {
+        feedbackService.submitFeedback(1L, "first");
+        feedbackService.submitFeedback(1L, "second");
+
+        feedbackService.flush();
+
+        ArgumentCaptor<List<Feedback>> batch = ArgumentCaptor.forClass(List.class);
+        verify(feedbackRepository, times(1)).saveAll(batch.capture());
+        assertEquals(2, batch.getValue().size());
+        assertEquals(0, feedbackService.getPendingCount());
+    }
+
+    @Test
+    public void flush_RetriesFailedBatchInNextRunAndDropsAfterMaxAttempts() {
+        when(feedbackRepository.saveAll(any())).thenThrow(new IllegalStateException("database down"));
+        feedbackService.submitFeedback(1L, "first");
+
+        // 실패하면 같은 실행에서 다시 시도하지 않음
+        feedbackService.flush();
+        verify(feedbackRepository, times(1)).saveAll(any());
+        assertEquals(1, feedbackService.getPendingCount());
+        assertEquals(0, feedbackService.getFailedCount());
+
+        feedbackService.flush();
+        verify(feedbackRepository, times(2)).saveAll(any());
+        assertEquals(0, feedbackService.getPendingCount());
+        assertEquals(1, feedbackService.getFailedCount());
+    }
+}
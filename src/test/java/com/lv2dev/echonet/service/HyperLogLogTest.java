@@ -0,0 +1,73 @@
+package com.lv2dev.echonet.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HyperLogLogTest {
+
+    /**
+     * 많은 고유 값의 개수를 표준 오차의 몇 배 이내로 추정하는지 테스트합니다.
+     */
+    @Test
+    public void estimate_LargeCardinality_WithinErrorBound() {
+        HyperLogLog sketch = new HyperLogLog();
+        int distinct = 100_000;
+        for (int i = 0; i < distinct; i++) {
+            String ip = "10." + (i >> 16 & 0xff) + "." + (i >> 8 & 0xff) + "." + (i & 0xff);
+            sketch.add(ip);
+            sketch.add(ip); // 중복은 개수에 영향을 주지 않아야 함
+        }
+
+        assertEquals(distinct, sketch.estimate(), distinct * 0.05);
+    }
+
+    /**
+     * 값이 적을 때 선형 계수로 거의 정확한 개수를 반환하는지 테스트합니다.
+     */
+    @Test
+    public void estimate_SmallCardinality_IsNearlyExact() {
+        HyperLogLog sketch = new HyperLogLog();
+        for (int i = 0; i < 100; i++) {
+            sketch.add("192.168.0." + i);
+        }
+
+        assertEquals(100, sketch.estimate(), 2);
+    }
+
+    /**
+     * 두 스케치를 합치면 합집합의 개수를 추정하는지 테스트합니다.
+     */
+    @Test
+    public void merge_EstimatesUnion() {
+        HyperLogLog first = new HyperLogLog();
+        HyperLogLog second = new HyperLogLog();
+        for (int i = 0; i < 20_000; i++) {
+            first.add("user-" + i);
+        }
+        for (int i = 10_000; i < 30_000; i++) {
+            second.add("user-" + i);
+        }
+
+        first.merge(second);
+
+        assertEquals(30_000, first.estimate(), 30_000 * 0.05);
+    }
+
+    /**
+     * 레지스터를 저장했다가 복원해도 같은 스케치가 되는지 테스트합니다.
+     */
+    @Test
+    public void toBytes_RoundTrip() {
+        HyperLogLog sketch = new HyperLogLog();
+        for (int i = 0; i < 1000; i++) {
+            sketch.add("10.0.0." + i);
+        }
+
+        HyperLogLog restored = HyperLogLog.fromBytes(sketch.toBytes());
+
+        assertEquals(sketch, restored);
+        assertEquals(sketch.estimate(), restored.estimate());
+        assertThrows(IllegalArgumentException.class, () -> HyperLogLog.fromBytes(new byte[100]));
+    }
+}
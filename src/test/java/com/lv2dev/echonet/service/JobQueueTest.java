@@ -0,0 +1,218 @@
+package com.lv2dev.echonet.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lv2dev.echonet.model.BackgroundJob;
+import com.lv2dev.echonet.model.BackgroundJobStatus;
+import com.lv2dev.echonet.persistence.BackgroundJobRepository;
+import com.lv2dev.echonet.persistence.EmbeddedMariaDB;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 백그라운드 작업 큐를 내장 MariaDB에서 실제 작업자 스레드로 실행해 검증합니다.
+ * 점유(SKIP LOCKED), 재시도와 백오프, 점유 기한 복구, 멱등성 키를 확인합니다.
+ * 작업자 스레드가 커밋된 작업만 볼 수 있으므로 테스트 트랜잭션 없이 실행합니다.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class JobQueueTest {
+    private static final long BACKOFF_BASE_MS = 60_000;
+
+    @DynamicPropertySource
+    static void mariaDb(DynamicPropertyRegistry registry) {
+        EmbeddedMariaDB.register(registry);
+    }
+
+    @Autowired
+    private BackgroundJobRepository backgroundJobRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private JobService jobService;
+
+    private final List<JobWorker> workers = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        jobService = new JobService(backgroundJobRepository, new ObjectMapper(), new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(jobService, "defaultMaxAttempts", 3);
+    }
+
+    @AfterEach
+    void stopWorkers() {
+        workers.forEach(JobWorker::stop);
+    }
+
+    /**
+     * 테스트마다 다른 큐를 사용하므로 다른 테스트의 작업을 가져가지 않음
+     */
+    private JobWorker startWorker(String queue, int threads, JobHandler handler) {
+        JobWorker worker = new JobWorker(backgroundJobRepository, transactionManager, new SimpleMeterRegistry(),
+                List.of(handler), queue + ":" + threads, true);
+        ReflectionTestUtils.setField(worker, "pollIntervalMs", 20L);
+        ReflectionTestUtils.setField(worker, "lockMinutes", 10);
+        ReflectionTestUtils.setField(worker, "backoffBaseMs", BACKOFF_BASE_MS);
+        ReflectionTestUtils.setField(worker, "backoffMaxMs", 3_600_000L);
+        ReflectionTestUtils.setField(worker, "shutdownTimeoutSeconds", 5);
+        worker.start();
+        workers.add(worker);
+        return worker;
+    }
+
+    private interface Body {
+        void handle(String payload) throws Exception;
+    }
+
+    private static JobHandler handler(String queue, String type, Body body) {
+        return new JobHandler() {
+            @Override
+            public String getType() {
+                return type;
+            }
+
+            @Override
+            public String getQueue() {
+                return queue;
+            }
+
+            @Override
+            public void handle(String payload) throws Exception {
+                body.handle(payload);
+            }
+        };
+    }
+
+    private List<BackgroundJob> jobs(String queue) {
+        return backgroundJobRepository.findAll().stream().filter(job -> job.getQueue().equals(queue)).toList();
+    }
+
+    private void await(String queue, Predicate<List<BackgroundJob>> condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!condition.test(jobs(queue))) {
+            assertTrue(System.currentTimeMillis() < deadline, "timed out waiting for jobs in " + queue + ": " + jobs(queue));
+            Thread.sleep(20);
+        }
+    }
+
+    @Test
+    public void enqueue_SameIdempotencyKeyIsInsertedOnce() {
+        assertTrue(jobService.enqueue("idempotent", "test", "first", "key-1"));
+        assertFalse(jobService.enqueue("idempotent", "test", "second", "key-1"));
+        assertTrue(jobService.enqueue("idempotent", "test", "third", "key-2"));
+
+        assertEquals(2, jobs("idempotent").size());
+    }
+
+    @Test
+    public void enqueue_RolledBackWithCallerTransaction() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            jobService.enqueue("rollback", "test", "payload");
+            status.setRollbackOnly();
+        });
+
+        assertTrue(jobs("rollback").isEmpty());
+    }
+
+    @Test
+    public void workers_RunEveryJobExactlyOnce() throws InterruptedException {
+        int count = 50;
+        for (int i = 0; i < count; i++) {
+            jobService.enqueue("parallel", "count", i);
+        }
+        AtomicInteger handled = new AtomicInteger();
+        // 여러 스레드가 SKIP LOCKED로 서로 다른 작업을 점유해야 중복 실행이 없음
+        startWorker("parallel", 4, handler("parallel", "count", payload -> handled.incrementAndGet()));
+
+        await("parallel", jobs -> jobs.stream().allMatch(job -> job.getStatus() == BackgroundJobStatus.SUCCEEDED));
+        assertEquals(count, handled.get());
+        for (BackgroundJob job : jobs("parallel")) {
+            assertEquals(1, job.getAttempts());
+            assertNull(job.getPayload()); // 성공하면 작업 내용을 비움
+            assertNull(job.getLockedBy());
+        }
+    }
+
+    @Test
+    public void failedJob_IsRetriedLaterWithBackoff() throws InterruptedException {
+        jobService.enqueue("retry", "flaky", "payload");
+        LocalDateTime before = LocalDateTime.now();
+        startWorker("retry", 1, handler("retry", "flaky", payload -> {
+            throw new IllegalStateException("smtp down");
+        }));
+
+        await("retry", jobs -> jobs.get(0).getAttempts() == 1 && jobs.get(0).getStatus() == BackgroundJobStatus.PENDING);
+        BackgroundJob job = jobs("retry").get(0);
+        assertEquals("IllegalStateException: smtp down", job.getLastError());
+        assertNull(job.getLockedBy());
+        // 첫 재시도는 base 이후 (최대 20% 지터)
+        assertTrue(job.getRunAt().isAfter(before.plusNanos(BACKOFF_BASE_MS * 900_000)), "runAt " + job.getRunAt());
+        assertTrue(job.getRunAt().isBefore(LocalDateTime.now().plusNanos(BACKOFF_BASE_MS * 1_300_000)), "runAt " + job.getRunAt());
+    }
+
+    @Test
+    public void failedJob_IsMarkedFailedAfterMaxAttempts() throws InterruptedException {
+        LocalDateTime now = LocalDateTime.now();
+        backgroundJobRepository.insertIfAbsent("exhausted", "broken", "\"payload\"", null, 1, now, now);
+        startWorker("exhausted", 1, handler("exhausted", "broken", payload -> {
+            throw new IllegalArgumentException("bad payload");
+        }));
+
+        await("exhausted", jobs -> jobs.get(0).getStatus() == BackgroundJobStatus.FAILED);
+        BackgroundJob job = jobs("exhausted").get(0);
+        assertEquals(1, job.getAttempts());
+        assertNotNull(job.getFinishedAt());
+    }
+
+    @Test
+    public void expiredLock_IsRecoveredAndStaleWorkerCannotRecordResult() {
+        LocalDateTime now = LocalDateTime.now();
+        jobService.enqueue("lease", "slow", "payload");
+        Long id = jobs("lease").get(0).getId();
+        // 작업자가 점유한 뒤 중단되어 점유 기한이 지난 상황
+        backgroundJobRepository.markRunning(List.of(id), "crashed-worker", now.minusMinutes(1));
+
+        jobService.recoverExpiredLocks();
+
+        BackgroundJob job = backgroundJobRepository.findById(id).orElseThrow();
+        assertEquals(BackgroundJobStatus.PENDING, job.getStatus());
+        assertEquals("Lock expired", job.getLastError());
+        // 다시 점유된 뒤에는 이전 작업자의 결과 기록이 반영되지 않음
+        backgroundJobRepository.markRunning(List.of(id), "new-worker", now.plusMinutes(10));
+        assertEquals(0, backgroundJobRepository.markSucceeded(id, "crashed-worker", now));
+        assertEquals(1, backgroundJobRepository.markSucceeded(id, "new-worker", now));
+    }
+
+    @Test
+    public void expiredLock_WithoutAttemptsLeftIsFailed() {
+        LocalDateTime now = LocalDateTime.now();
+        backgroundJobRepository.insertIfAbsent("lease-final", "slow", "\"payload\"", null, 1, now, now);
+        Long id = jobs("lease-final").get(0).getId();
+        backgroundJobRepository.markRunning(List.of(id), "crashed-worker", now.minusMinutes(1));
+
+        jobService.recoverExpiredLocks();
+
+        assertEquals(BackgroundJobStatus.FAILED, backgroundJobRepository.findById(id).orElseThrow().getStatus());
+    }
+}
@@ -0,0 +1,223 @@
+package com.lv2dev.echonet.service;
+
+import com.lv2dev.echonet.model.Member;
+import com.lv2dev.echonet.persistence.EmbeddedMariaDB;
+import com.lv2dev.echonet.persistence.FeedbackRepository;
+import com.lv2dev.echonet.persistence.FileChangeRepository;
+import com.lv2dev.echonet.persistence.LoginHistoryRepository;
+import com.lv2dev.echonet.persistence.LoginMemberRollupRepository;
+import com.lv2dev.echonet.persistence.MemberRepository;
+import com.lv2dev.echonet.persistence.PasswordResetTokenRepository;
+import com.lv2dev.echonet.persistence.StoredFileRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * 탈퇴 회원 정리 작업을 내장 MariaDB에서 배치 크기보다 많은 행으로 검증합니다.
+ * 단계별 배치 삭제, 시간 제한을 넘겼을 때의 이어하기, 프로필 참조를 한 번만 해제하는지 확인합니다.
+ * 배치마다 별도 트랜잭션으로 커밋되므로 테스트 트랜잭션 없이 실행합니다.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class MemberDeletionServiceTest {
+    private static final int BATCH_SIZE = 10;
+
+    private static final String PROFILE = "https://echonet.s3.amazonaws.com/blobs/ab/profile.png";
+
+    @DynamicPropertySource
+    static void mariaDb(DynamicPropertyRegistry registry) {
+        EmbeddedMariaDB.register(registry);
+    }
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Autowired
+    private LoginHistoryRepository loginHistoryRepository;
+
+    @Autowired
+    private LoginMemberRollupRepository loginMemberRollupRepository;
+
+    @Autowired
+    private FeedbackRepository feedbackRepository;
+
+    @Autowired
+    private PasswordResetTokenRepository passwordResetTokenRepository;
+
+    @Autowired
+    private StoredFileRepository storedFileRepository;
+
+    @Autowired
+    private FileChangeRepository fileChangeRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final BlobService blobService = mock(BlobService.class);
+
+    private final JobService jobService = mock(JobService.class);
+
+    private MemberDeletionService deletionService;
+
+    @BeforeEach
+    void setUp() {
+        deletionService = new MemberDeletionService(memberRepository, loginHistoryRepository, loginMemberRollupRepository, feedbackRepository,
+                passwordResetTokenRepository, storedFileRepository, fileChangeRepository, blobService, jobService,
+                transactionManager);
+        ReflectionTestUtils.setField(deletionService, "batchSize", BATCH_SIZE);
+        ReflectionTestUtils.setField(deletionService, "batchDelayMs", 0L);
+        ReflectionTestUtils.setField(deletionService, "maxRunSeconds", 300L);
+    }
+
+    @Test
+    public void purge_DeletesAllDependentRowsInBatchesAndReleasesProfileOnce() throws Exception {
+        insertMember(9101, Member.STATE_DELETED);
+        insertDependents(9101);
+        insertMember(9102, Member.STATE_ACTIVE);
+        insertDependents(9102);
+
+        deletionService.purge(9101L);
+
+        assertEquals(0, remaining(9101));
+        assertEquals(0, count("SELECT COUNT(*) FROM member WHERE id = 9101"));
+        assertEquals(0, count("SELECT COUNT(*) FROM password_reset_token WHERE user_id = 9101"));
+        assertEquals(25 + 23 + 12 + 22 + 21 + 24, deletionService.getDeletedRowCount());
+        assertEquals(1, deletionService.getPurgedCount());
+        // 파일 객체 참조는 파일마다, 프로필 참조는 한 번 해제
+        for (int i = 0; i < 21; i++) {
+            verify(blobService, times(1)).release(fileUrl(9101, i));
+        }
+        verify(blobService, times(1)).release(PROFILE);
+        verify(jobService, never()).enqueue(anyString(), anyString(), any());
+
+        // 다른 회원의 데이터는 그대로
+        assertEquals(25 + 23 + 12 + 22 + 21 + 24, remaining(9102));
+
+        // 같은 작업이 다시 실행되어도 참조를 다시 해제하지 않음
+        deletionService.purge(9101L);
+        verify(blobService, times(1)).release(PROFILE);
+        assertEquals(1, deletionService.getPurgedCount());
+    }
+
+    @Test
+    public void purge_ContinuesInNewJobAfterTimeLimit() throws Exception {
+        insertMember(9201, Member.STATE_DELETED);
+        insertDependents(9201);
+        // 배치마다 400ms를 기다리고 1초 제한: 로그인 기록 3배치, 보관 기록 1배치 뒤 시간 초과
+        ReflectionTestUtils.setField(deletionService, "batchDelayMs", 400L);
+        ReflectionTestUtils.setField(deletionService, "maxRunSeconds", 1L);
+
+        deletionService.purge(9201L);
+
+        verify(jobService, times(1)).enqueue(MemberDeletionService.QUEUE, MemberDeletionService.TYPE,
+                new MemberDeletionService.Purge(9201L));
+        assertEquals(0, count("SELECT COUNT(*) FROM login_history WHERE member_id = 9201"));
+        int archived = count("SELECT COUNT(*) FROM login_history_archive WHERE member_id = 9201");
+        assertTrue(archived > 0 && archived % BATCH_SIZE == 3, "archive rows left: " + archived);
+        assertEquals(12, count("SELECT COUNT(*) FROM login_member_rollup WHERE member_id = 9201"));
+        assertEquals(22, count("SELECT COUNT(*) FROM feedback WHERE user_id = 9201"));
+        assertEquals(21, count("SELECT COUNT(*) FROM stored_file WHERE owner_id = 9201"));
+        assertEquals(1, count("SELECT COUNT(*) FROM member WHERE id = 9201"));
+        verify(blobService, never()).release(anyString());
+        assertEquals(0, deletionService.getPurgedCount());
+
+        // 이어서 실행된 작업이 남은 행을 지우고 회원을 삭제
+        ReflectionTestUtils.setField(deletionService, "batchDelayMs", 0L);
+        ReflectionTestUtils.setField(deletionService, "maxRunSeconds", 300L);
+        deletionService.purge(9201L);
+
+        assertEquals(0, remaining(9201));
+        assertEquals(0, count("SELECT COUNT(*) FROM member WHERE id = 9201"));
+        verify(blobService, times(1)).release(PROFILE);
+        verify(blobService, times(21)).release(startsWith("https://echonet.s3.amazonaws.com/blobs/9201/"));
+    }
+
+    @Test
+    public void purge_SkipsMemberNoLongerMarkedDeleted() throws Exception {
+        insertMember(9301, Member.STATE_ACTIVE);
+        insertDependents(9301);
+
+        deletionService.purge(9301L);
+
+        assertEquals(25 + 23 + 12 + 22 + 21 + 24, remaining(9301));
+        verifyNoInteractions(blobService);
+    }
+
+    private void insertMember(long id, int state) {
+        jdbcTemplate.update("INSERT INTO member (id, email, nickname, password, join_day, profile, role, state) VALUES (?, ?, ?, 'x', ?, ?, 0, ?)",
+                id, "purge" + id + "@example.com", "purge" + id, LocalDateTime.now(), PROFILE, state);
+    }
+
+    /**
+     * 단계마다 배치 크기의 배수가 아닌 행 수를 넣어 마지막 배치가 일부만 차도록 함
+     */
+    private void insertDependents(long memberId) {
+        LocalDateTime now = LocalDateTime.now();
+        long base = memberId * 1000;
+        for (int i = 0; i < 25; i++) {
+            jdbcTemplate.update("INSERT INTO login_history (id, member_id, login_time, ip_address) VALUES (?, ?, ?, '127.0.0.1')",
+                    base + i, memberId, now.minusMinutes(i));
+        }
+        for (int i = 0; i < 23; i++) {
+            jdbcTemplate.update("INSERT INTO login_history_archive (id, member_id, login_time, ip_address) VALUES (?, ?, ?, '127.0.0.1')",
+                    base + i, memberId, now.minusDays(400).minusMinutes(i));
+        }
+        for (int i = 0; i < 12; i++) {
+            jdbcTemplate.update("INSERT INTO login_member_rollup (granularity, bucket_start, member_id, login_count) VALUES ('HOUR', ?, ?, 1)",
+                    now.truncatedTo(ChronoUnit.HOURS).minusHours(i), memberId);
+        }
+        for (int i = 0; i < 22; i++) {
+            jdbcTemplate.update("INSERT INTO feedback (id, user_id, content, created_date) VALUES (?, ?, 'feedback', ?)",
+                    base + i, memberId, now);
+        }
+        for (int i = 0; i < 21; i++) {
+            jdbcTemplate.update("INSERT INTO stored_file (owner_id, path, parent_path, name, folder, size, storage_url) " +
+                    "VALUES (?, ?, '/', ?, 0, 1, ?)", memberId, "/file" + i, "file" + i, fileUrl(memberId, i));
+        }
+        for (int i = 0; i < 24; i++) {
+            jdbcTemplate.update("INSERT INTO file_change (owner_id, path, folder, change_type, changed_at) VALUES (?, ?, 0, 'CREATED', ?)",
+                    memberId, "/file" + i, now);
+        }
+        jdbcTemplate.update("INSERT INTO password_reset_token (id, token_hash, user_id, expiry_date) VALUES (?, ?, ?, ?)",
+                base, String.format("%064x", memberId), memberId, now.plusHours(1));
+    }
+
+    private static String fileUrl(long memberId, int index) {
+        return "https://echonet.s3.amazonaws.com/blobs/" + memberId + "/" + index;
+    }
+
+    private int remaining(long memberId) {
+        return count("SELECT COUNT(*) FROM login_history WHERE member_id = " + memberId)
+                + count("SELECT COUNT(*) FROM login_history_archive WHERE member_id = " + memberId)
+                + count("SELECT COUNT(*) FROM login_member_rollup WHERE member_id = " + memberId)
+                + count("SELECT COUNT(*) FROM feedback WHERE user_id = " + memberId)
+                + count("SELECT COUNT(*) FROM stored_file WHERE owner_id = " + memberId)
+                + count("SELECT COUNT(*) FROM file_change WHERE owner_id = " + memberId);
+    }
+
+    private int count(String sql) {
+        Integer count = jdbcTemplate.queryForObject(sql, Integer.class);
+        return count == null ? 0 : count;
+    }
+}
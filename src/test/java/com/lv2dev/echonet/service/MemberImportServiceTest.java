@@ -0,0 +1,189 @@
+package com.lv2dev.echonet.service;
+
+import com.lv2dev.echonet.dto.MemberImportStatusDTO;
+import com.lv2dev.echonet.model.Member;
+import com.lv2dev.echonet.persistence.MemberRepository;
+import com.lv2dev.echonet.security.BreachedPasswordChecker;
+import com.lv2dev.echonet.security.PasswordPolicy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class MemberImportServiceTest {
+
+    private static final String PASSWORD = "Password@123";
+
+    private final MemberRepository memberRepository = mock(MemberRepository.class);
+
+    private MemberImportService importService;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        ObjectProvider<BreachedPasswordChecker> noChecker = mock(ObjectProvider.class);
+        PasswordPolicy passwordPolicy = new PasswordPolicy(8, 64, true, true, true, true, "!@#$%^&*()-_+=", noChecker);
+        PasswordEncoder passwordEncoder = mock(PasswordEncoder.class);
+        when(passwordEncoder.encode(anyString())).thenAnswer(invocation -> "hash:" + invocation.getArgument(0));
+
+        importService = new MemberImportService(memberRepository, passwordEncoder, passwordPolicy,
+                mock(PlatformTransactionManager.class), 1, 2, 1);
+        // 청크 경계를 넘는 중복도 확인하도록 작은 청크
+        ReflectionTestUtils.setField(importService, "chunkSize", 2);
+        ReflectionTestUtils.setField(importService, "maxRows", 100);
+        ReflectionTestUtils.setField(importService, "maxErrors", 100);
+        ReflectionTestUtils.setField(importService, "maxBytes", 4096L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        importService.shutdown();
+    }
+
+    @Test
+    public void parseLine_HandlesQuotedFieldsAndEscapedQuotes() {
+        assertEquals(List.of("a", "b,c", "say \"hi\"", ""), MemberImportService.parseLine("a,\"b,c\",\"say \"\"hi\"\"\","));
+        assertEquals(List.of("", ""), MemberImportService.parseLine(","));
+        assertEquals(List.of("x y"), MemberImportService.parseLine("\"x y\""));
+    }
+
+    @Test
+    public void import_MissingRequiredColumnFailsJob() throws Exception {
+        MemberImportStatusDTO status = runImport("email,nickname\na@example.com,alice\n");
+
+        assertEquals("FAILED", status.getState());
+        assertEquals(0, status.getImportedRows());
+        assertTrue(status.getErrors().get(0).getMessage().contains("email, nickname and password"));
+        verify(memberRepository, never()).saveAll(any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void import_ReportsEachInvalidRowWithItsLine() throws Exception {
+        MemberImportStatusDTO status = runImport("""
+                Email,Nickname,Password,Role
+                ok@example.com,ok,%1$s,1
+                not-an-email,bad-email,%1$s,0
+                role2@example.com,role2,%1$s,2
+                roleX@example.com,roleX,%1$s,x
+
+                short@example.com,short
+                weak@example.com,weak,password,0
+                """.formatted(PASSWORD));
+
+        assertEquals("COMPLETED", status.getState());
+        assertEquals(1, status.getImportedRows());
+        assertEquals(5, status.getFailedRows());
+        assertEquals(List.of(
+                error(3, "not-an-email", "Invalid email"),
+                error(4, "role2@example.com", "Role must be 0 or 1"),
+                error(5, "roleX@example.com", "Role must be 0 or 1"),
+                error(7, "short@example.com", "Expected 4 columns"),
+                error(8, "weak@example.com", "Password must contain an uppercase letter")), status.getErrors());
+        verify(memberRepository).saveAll(argThat(members -> {
+            List<Member> saved = (List<Member>) members;
+            return saved.size() == 1 && saved.get(0).getRole() == 1 && saved.get(0).getPassword().equals("hash:" + PASSWORD);
+        }));
+    }
+
+    @Test
+    public void import_RejectsDuplicatesWithinFileIgnoringCase() throws Exception {
+        MemberImportStatusDTO status = runImport("""
+                email,nickname,password
+                first@example.com,first,%1$s
+                second@example.com,second,%1$s
+                FIRST@example.com,third,%1$s
+                fourth@example.com,Second,%1$s
+                """.formatted(PASSWORD));
+
+        assertEquals(2, status.getImportedRows());
+        assertEquals(List.of(
+                error(4, "FIRST@example.com", "Duplicate email in file"),
+                error(5, "fourth@example.com", "Duplicate nickname in file")), status.getErrors());
+    }
+
+    @Test
+    public void import_RejectsRowsAlreadyRegistered() throws Exception {
+        MemberRepository.Identity taken = mock(MemberRepository.Identity.class);
+        when(taken.getEmail()).thenReturn("Taken@example.com");
+        when(taken.getNickname()).thenReturn("someone");
+        when(memberRepository.findIdentities(anyCollection(), anyCollection())).thenReturn(List.of(taken));
+
+        MemberImportStatusDTO status = runImport("""
+                email,nickname,password
+                taken@example.com,new,%1$s
+                new@example.com,SOMEONE,%1$s
+                """.formatted(PASSWORD));
+
+        assertEquals(0, status.getImportedRows());
+        assertEquals(List.of(
+                error(2, "taken@example.com", "Email already in use"),
+                error(3, "new@example.com", "Nickname already in use")), status.getErrors());
+    }
+
+    @Test
+    public void import_FallsBackToRowByRowAfterConstraintViolation() throws Exception {
+        // 중복 확인 뒤 다른 요청이 같은 이메일로 먼저 가입한 경우
+        when(memberRepository.saveAll(any())).thenThrow(new DataIntegrityViolationException("ux_member_email"));
+        when(memberRepository.save(any(Member.class))).thenAnswer(invocation -> {
+            Member member = invocation.getArgument(0);
+            if (member.getEmail().equals("raced@example.com")) {
+                throw new DataIntegrityViolationException("ux_member_email");
+            }
+            return member;
+        });
+
+        MemberImportStatusDTO status = runImport("""
+                email,nickname,password
+                raced@example.com,raced,%1$s
+                fine@example.com,fine,%1$s
+                """.formatted(PASSWORD));
+
+        assertEquals("COMPLETED", status.getState());
+        assertEquals(1, status.getImportedRows());
+        assertEquals(List.of(error(2, "raced@example.com", "Email or nickname already in use")), status.getErrors());
+        verify(memberRepository, times(2)).save(any(Member.class));
+    }
+
+    @Test
+    public void submit_RejectsBodyOverByteLimit() {
+        byte[] body = ("email,nickname,password\n" + "a@example.com,a,Password@123\n".repeat(200)).getBytes(StandardCharsets.UTF_8);
+
+        ResponseStatusException e = assertThrows(ResponseStatusException.class,
+                () -> importService.submit(new ByteArrayInputStream(body)));
+        assertEquals(HttpStatus.PAYLOAD_TOO_LARGE, e.getStatusCode());
+        verifyNoInteractions(memberRepository);
+    }
+
+    private MemberImportStatusDTO runImport(String csv) throws IOException, InterruptedException {
+        String jobId = importService.submit(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8))).getJobId();
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (System.currentTimeMillis() < deadline) {
+            MemberImportStatusDTO status = importService.getStatus(jobId);
+            if (status.getFinishedAt() != null) {
+                return status;
+            }
+            Thread.sleep(20);
+        }
+        return fail("Import did not finish");
+    }
+
+    private static MemberImportStatusDTO.RowError error(int line, String email, String message) {
+        return MemberImportStatusDTO.RowError.builder().line(line).email(email).message(message).build();
+    }
+}
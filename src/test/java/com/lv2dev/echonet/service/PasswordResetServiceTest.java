@@ -0,0 +1,82 @@
+package com.lv2dev.echonet.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lv2dev.echonet.model.Member;
+import com.lv2dev.echonet.persistence.BackgroundJobRepository;
+import com.lv2dev.echonet.persistence.MemberRepository;
+import com.lv2dev.echonet.persistence.PasswordResetTokenRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class PasswordResetServiceTest {
+
+    private final MemberRepository memberRepository = mock(MemberRepository.class);
+
+    private final PasswordResetTokenRepository tokenRepository = mock(PasswordResetTokenRepository.class);
+
+    private final EmailService emailService = mock(EmailService.class);
+
+    private final JobService jobService = spy(new JobService(mock(BackgroundJobRepository.class), new ObjectMapper(), new SimpleMeterRegistry()));
+
+    private PasswordResetService passwordResetService;
+
+    private Member member;
+
+    @BeforeEach
+    void setUp() {
+        passwordResetService = new PasswordResetService(tokenRepository, memberRepository, mock(MemberService.class), emailService, jobService);
+        ReflectionTestUtils.setField(passwordResetService, "tokenTtlMinutes", 30);
+        ReflectionTestUtils.setField(passwordResetService, "domain", "https://echonet.example/reset");
+        ReflectionTestUtils.setField(passwordResetService, "port", "");
+
+        member = new Member();
+        member.setId(7L);
+        member.setEmail("reset@example.com");
+        when(memberRepository.findCredentialsByEmail("reset@example.com")).thenReturn(Optional.of(member));
+        when(memberRepository.findCredentialsById(7L)).thenReturn(Optional.of(member));
+    }
+
+    @Test
+    public void requestReset_QueuesOnlyTheMemberId() {
+        doReturn(true).when(jobService).enqueue(anyString(), anyString(), any());
+
+        passwordResetService.requestReset("reset@example.com");
+
+        // 작업 내용에는 토큰이 없고, 요청 시점에는 토큰을 발급하지 않음
+        verify(jobService).enqueue(EmailService.QUEUE, PasswordResetService.TYPE, new PasswordResetService.ResetMail(7L));
+        verifyNoInteractions(tokenRepository, emailService);
+    }
+
+    @Test
+    public void handle_IssuesTokenWhenSending() throws Exception {
+        passwordResetService.handle("{\"memberId\":7}");
+
+        ArgumentCaptor<String> hash = ArgumentCaptor.forClass(String.class);
+        verify(tokenRepository).upsert(eq(7L), hash.capture(), any(LocalDateTime.class));
+        ArgumentCaptor<String> text = ArgumentCaptor.forClass(String.class);
+        verify(emailService).send(eq("reset@example.com"), anyString(), text.capture());
+
+        // 메일의 토큰 원문과 저장된 해시가 일치
+        String token = text.getValue().substring(text.getValue().indexOf("?token=") + "?token=".length());
+        assertEquals(PasswordResetService.hash(token), hash.getValue());
+    }
+
+    @Test
+    public void handle_SkipsMemberDeletedAfterRequest() throws Exception {
+        member.setState(Member.STATE_DELETED);
+
+        passwordResetService.handle("{\"memberId\":7}");
+
+        verifyNoInteractions(tokenRepository, emailService);
+    }
+}
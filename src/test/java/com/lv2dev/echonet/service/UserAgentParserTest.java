@@ -0,0 +1,51 @@
+package com.lv2dev.echonet.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class UserAgentParserTest {
+
+    private final UserAgentParser parser = new UserAgentParser(16);
+
+    @Test
+    public void parse_DesktopEdge_IsNotClassifiedAsChrome() {
+        UserAgentParser.Info info = parser.parse("Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 " +
+                "(KHTML, like Gecko) Chrome/120.0.0.0 Safari/537.36 Edg/120.0.2210.91");
+
+        assertEquals("Desktop", info.deviceType());
+        assertEquals("Windows 10.0", info.os());
+        assertEquals("Edge 120", info.browser());
+    }
+
+    @Test
+    public void parse_IPhoneSafari() {
+        UserAgentParser.Info info = parser.parse("Mozilla/5.0 (iPhone; CPU iPhone OS 17_1 like Mac OS X) AppleWebKit/605.1.15 " +
+                "(KHTML, like Gecko) Version/17.1 Mobile/15E148 Safari/604.1");
+
+        assertEquals("Mobile / iOS 17", info.device());
+        assertEquals("Safari 17", info.browser());
+    }
+
+    @Test
+    public void parse_AndroidTablet() {
+        UserAgentParser.Info info = parser.parse("Mozilla/5.0 (Linux; Android 13; SM-X700) AppleWebKit/537.36 " +
+                "(KHTML, like Gecko) Chrome/120.0.0.0 Safari/537.36");
+
+        assertEquals("Tablet / Android 13", info.device());
+        assertEquals("Chrome 120", info.browser());
+    }
+
+    @Test
+    public void parse_MissingHeader_IsUnknown() {
+        assertEquals(UserAgentParser.UNKNOWN, parser.parse(null).browser());
+        assertEquals(UserAgentParser.UNKNOWN, parser.parse(" ").deviceType());
+    }
+
+    @Test
+    public void parse_SameAgent_ReturnsCachedResult() {
+        String userAgent = "Mozilla/5.0 (X11; Linux x86_64; rv:121.0) Gecko/20100101 Firefox/121.0";
+
+        assertSame(parser.parse(userAgent), parser.parse(userAgent));
+    }
+}